@@ -0,0 +1,60 @@
+package stress;
+
+import domain.Avaliacao;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.Trabalho;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import repository.IdGenerator;
+import repository.Uid;
+
+/**
+ * Fábrica dos objetos usados nos testes jcstress. IDs sequenciais simples: os testes não dependem
+ * de unicidade global, e {@link Uid#random()} custaria mais que a ação medida.
+ */
+final class Agregados {
+
+    private static final Participante ORGANIZADOR = new Participante(new Uid(0, 1), "Organizador", "org@sgea.br",
+            "SGEA", TipoPerfil.ORGANIZADOR);
+    private static final Participante AUTOR = new Participante(new Uid(0, 2), "Autor", "autor@sgea.br",
+            "SGEA", TipoPerfil.PARTICIPANTE);
+    private static final Participante AVALIADOR = new Participante(new Uid(0, 3), "Avaliador", "avaliador@sgea.br",
+            "SGEA", TipoPerfil.AVALIADOR);
+
+    private Agregados() {
+    }
+
+    static Evento evento() {
+        return evento(100);
+    }
+
+    static Evento evento(int capacidade) {
+        LocalDate hoje = LocalDate.now();
+        return new Evento(new Uid(1, 1), "Evento", "", hoje.plusDays(10), hoje.plusDays(12), "Local", capacidade, ORGANIZADOR);
+    }
+
+    static Participante participante(long n) {
+        return new Participante(new Uid(4, n), "Participante " + n, "p" + n + "@sgea.br", "SGEA", TipoPerfil.PARTICIPANTE);
+    }
+
+    static Inscricao inscricao(Evento evento, Participante participante, long n) {
+        return new Inscricao(new Uid(5, n), LocalDate.now(), evento, participante);
+    }
+
+    // Gerador de IDs de um só teste: sequencial, para as inscrições criadas nas promoções da lista de espera.
+    static IdGenerator ids() {
+        AtomicLong sequencia = new AtomicLong();
+        return () -> new Uid(6, sequencia.incrementAndGet());
+    }
+
+    static Trabalho trabalho(Evento evento, long n) {
+        return new Trabalho(new Uid(2, n), "Trabalho " + n, "trabalho.pdf", evento, AUTOR);
+    }
+
+    static Avaliacao avaliacao(Trabalho trabalho, long n, double nota) {
+        return new Avaliacao(new Uid(3, n), nota, "Parecer " + n, trabalho, AVALIADOR);
+    }
+}
@@ -0,0 +1,49 @@
+package stress;
+
+import domain.Evento;
+import domain.Trabalho;
+import domain.enums.StatusTrabalho;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Uma avaliação chega enquanto o organizador aprova o trabalho. Ou a avaliação entra antes e a
+ * aprovação prevalece, ou ela é recusada; a avaliação nunca pode devolver um trabalho aprovado
+ * para EM_AVALIACAO (r1 = avaliação aceita, r2 = avaliações registradas, r3 = trabalho aprovado).
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 1", expect = Expect.ACCEPTABLE, desc = "Avaliação antes da aprovação.")
+@Outcome(id = "0, 0, 1", expect = Expect.ACCEPTABLE, desc = "Aprovação antes; avaliação recusada.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Verificação de status e inclusão não foram atômicas.")
+@State
+public class AvaliacaoVersusDecisaoStress {
+
+    private final Evento evento = Agregados.evento();
+    private final Trabalho trabalho = Agregados.trabalho(evento, 1);
+
+    @Actor
+    public void avaliar(III_Result r) {
+        try {
+            trabalho.adicionarAvaliacaoInterna(Agregados.avaliacao(trabalho, 1, 8.0));
+            r.r1 = 1;
+        } catch (IllegalStateException e) {
+            r.r1 = 0;
+        }
+    }
+
+    @Actor
+    public void aprovar() {
+        trabalho.setStatus(StatusTrabalho.APROVADO);
+    }
+
+    @Arbiter
+    public void verificar(III_Result r) {
+        r.r2 = trabalho.getAvaliacoes().size();
+        r.r3 = trabalho.getStatus() == StatusTrabalho.APROVADO ? 1 : 0;
+    }
+}
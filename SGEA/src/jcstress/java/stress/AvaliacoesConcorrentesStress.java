@@ -0,0 +1,42 @@
+package stress;
+
+import domain.Evento;
+import domain.Trabalho;
+import domain.enums.StatusTrabalho;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Dois avaliadores registram avaliações do mesmo trabalho ao mesmo tempo: as duas ficam registradas
+ * e o trabalho termina EM_AVALIACAO (r1 = avaliações registradas, r2 = trabalho EM_AVALIACAO).
+ */
+@JCStressTest
+@Outcome(id = "2, 1", expect = Expect.ACCEPTABLE, desc = "Duas avaliações, trabalho EM_AVALIACAO.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Avaliação perdida ou status incorreto.")
+@State
+public class AvaliacoesConcorrentesStress {
+
+    private final Evento evento = Agregados.evento();
+    private final Trabalho trabalho = Agregados.trabalho(evento, 1);
+
+    @Actor
+    public void avaliador1() {
+        trabalho.adicionarAvaliacaoInterna(Agregados.avaliacao(trabalho, 1, 7.0));
+    }
+
+    @Actor
+    public void avaliador2() {
+        trabalho.adicionarAvaliacaoInterna(Agregados.avaliacao(trabalho, 2, 9.0));
+    }
+
+    @Arbiter
+    public void verificar(II_Result r) {
+        r.r1 = trabalho.getAvaliacoes().size();
+        r.r2 = trabalho.getStatus() == StatusTrabalho.EM_AVALIACAO ? 1 : 0;
+    }
+}
@@ -0,0 +1,51 @@
+package stress;
+
+import domain.Evento;
+import domain.Trabalho;
+import domain.enums.StatusTrabalho;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Um trabalho com uma avaliação (nota 9) recebe a segunda (nota 1) enquanto a decisão automática roda
+ * com mínimo de 2 avaliações e média 6. Ou a decisão vê as duas notas e reprova, ou vê só uma e não
+ * decide; ela nunca pode aprovar com a contagem nova e a soma antiga (r1 = 0 indeciso, 1 aprovado,
+ * 2 reprovado; r2 = avaliações no resumo de notas; r3 = avaliações registradas).
+ */
+@JCStressTest
+@Outcome(id = "2, 2, 2", expect = Expect.ACCEPTABLE, desc = "Avaliação antes da decisão; reprovado.")
+@Outcome(id = "0, 2, 2", expect = Expect.ACCEPTABLE, desc = "Decisão antes da avaliação; segue em avaliação.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Resumo de notas e decisão não foram atômicos.")
+@State
+public class DecisaoPorNotasStress {
+
+    private final Evento evento = Agregados.evento();
+    private final Trabalho trabalho = Agregados.trabalho(evento, 1);
+
+    public DecisaoPorNotasStress() {
+        trabalho.adicionarAvaliacaoInterna(Agregados.avaliacao(trabalho, 1, 9.0));
+    }
+
+    @Actor
+    public void avaliar() {
+        trabalho.adicionarAvaliacaoInterna(Agregados.avaliacao(trabalho, 2, 1.0));
+    }
+
+    @Actor
+    public void decidir() {
+        trabalho.decidirPorNotas(2, 6.0);
+    }
+
+    @Arbiter
+    public void verificar(III_Result r) {
+        StatusTrabalho status = trabalho.getStatus();
+        r.r1 = status == StatusTrabalho.EM_AVALIACAO ? 0 : status == StatusTrabalho.APROVADO ? 1 : 2;
+        r.r2 = trabalho.getResumoNotas().quantidade();
+        r.r3 = trabalho.getAvaliacoes().size();
+    }
+}
@@ -0,0 +1,49 @@
+package stress;
+
+import domain.Evento;
+import domain.Trabalho;
+import java.util.ConcurrentModificationException;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * Listagem dos trabalhos de um evento enquanto outro trabalho é submetido: a leitura vê o estado
+ * anterior ou o posterior, nunca lança {@link ConcurrentModificationException}.
+ */
+@JCStressTest
+@Outcome(id = {"1", "2"}, expect = Expect.ACCEPTABLE, desc = "Leitura antes ou depois da submissão.")
+@Outcome(id = "-1", expect = Expect.FORBIDDEN, desc = "ConcurrentModificationException na leitura.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Leitura inconsistente.")
+@State
+public class LeituraDeTrabalhosStress {
+
+    private final Evento evento = Agregados.evento();
+
+    public LeituraDeTrabalhosStress() {
+        evento.adicionarTrabalhoInterno(Agregados.trabalho(evento, 1));
+    }
+
+    @Actor
+    public void submeter() {
+        evento.adicionarTrabalhoInterno(Agregados.trabalho(evento, 2));
+    }
+
+    @Actor
+    public void listar(I_Result r) {
+        try {
+            int vistos = 0;
+            for (Trabalho t : evento.getTrabalhos()) {
+                if (t != null) {
+                    vistos++;
+                }
+            }
+            r.r1 = vistos;
+        } catch (ConcurrentModificationException e) {
+            r.r1 = -1;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package stress;
+
+import domain.Evento;
+import domain.Inscricao;
+import domain.enums.StatusInscricao;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+import repository.IdGenerator;
+
+/**
+ * Evento com 2 vagas ocupadas (A e B) e C na lista de espera. A e B cancelam enquanto D e E tentam se
+ * inscrever: a primeira vaga liberada vai direto para C, e só a segunda pode ir para D ou E. Nunca há
+ * mais inscrições ativas que vagas, e o contador bate com as inscrições ATIVA da lista
+ * (r1 = D inscrito, r2 = E inscrito, r3 = contador de ativas, r4 = inscrições ATIVA na lista).
+ */
+@JCStressTest
+@Outcome(id = "0, 0, 1, 1", expect = Expect.ACCEPTABLE, desc = "D e E tentaram antes da segunda vaga ser liberada.")
+@Outcome(id = {"1, 0, 2, 2", "0, 1, 2, 2"}, expect = Expect.ACCEPTABLE, desc = "Um deles ficou com a segunda vaga.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Vaga vendida duas vezes ou contador divergente da lista.")
+@State
+public class ReservaCancelamentoPromocaoStress {
+
+    private final Evento evento = Agregados.evento(2);
+    private final IdGenerator ids = Agregados.ids();
+    private final Inscricao a = Agregados.inscricao(evento, Agregados.participante(1), 1);
+    private final Inscricao b = Agregados.inscricao(evento, Agregados.participante(2), 2);
+    private final Inscricao d = Agregados.inscricao(evento, Agregados.participante(4), 4);
+    private final Inscricao e = Agregados.inscricao(evento, Agregados.participante(5), 5);
+
+    public ReservaCancelamentoPromocaoStress() {
+        evento.reservarVaga(a);
+        evento.reservarVaga(b);
+        evento.entrarListaEspera(Agregados.participante(3));
+    }
+
+    @Actor
+    public void cancelarA() {
+        evento.cancelarInscricao(a, ids);
+    }
+
+    @Actor
+    public void cancelarB() {
+        evento.cancelarInscricao(b, ids);
+    }
+
+    @Actor
+    public void inscreverD(IIII_Result r) {
+        r.r1 = reservar(d);
+    }
+
+    @Actor
+    public void inscreverE(IIII_Result r) {
+        r.r2 = reservar(e);
+    }
+
+    @Arbiter
+    public void verificar(IIII_Result r) {
+        r.r3 = evento.getTotalInscricoesAtivas();
+        r.r4 = (int) evento.getInscricoes().stream().filter(i -> i.getStatus() == StatusInscricao.ATIVA).count();
+    }
+
+    private int reservar(Inscricao inscricao) {
+        try {
+            evento.reservarVaga(inscricao);
+            return 1;
+        } catch (IllegalStateException lotado) {
+            return 0;
+        }
+    }
+}
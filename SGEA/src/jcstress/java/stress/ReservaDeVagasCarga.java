@@ -0,0 +1,166 @@
+package stress;
+
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.StatusInscricao;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import repository.IdGenerator;
+import repository.Uid;
+
+/**
+ * Carga de 64 threads sobre um mesmo evento, complementar aos testes jcstress (que exploram poucas
+ * threads em todas as intercalações): inscrições, cancelamentos, entradas na lista de espera e promoções
+ * misturadas, rodada após rodada. Depois de cada operação, o contador de ativas nunca passa da capacidade;
+ * ao fim de cada rodada, ele bate com as inscrições ATIVA da lista, sem participante repetido.
+ * <p>
+ * Roda fora do jcstress, com o mesmo jar:
+ * {@code java -cp target/jcstress.jar stress.ReservaDeVagasCarga [rodadas]}. Termina com código 1 se
+ * encontrar alguma violação.
+ */
+public final class ReservaDeVagasCarga {
+
+    private static final int THREADS = 64;
+    private static final int OPERACOES_POR_THREAD = 2_000;
+    private static final int CAPACIDADE = 32;
+    private static final int PARTICIPANTES = 256;
+
+    private ReservaDeVagasCarga() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int rodadas = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        Participante[] participantes = new Participante[PARTICIPANTES];
+        for (int i = 0; i < PARTICIPANTES; i++) {
+            participantes[i] = Agregados.participante(i);
+        }
+        AtomicLong sequencia = new AtomicLong();
+        IdGenerator ids = () -> new Uid(7, sequencia.incrementAndGet());
+
+        long inscricoes = 0;
+        long promocoes = 0;
+        int violacoes = 0;
+        for (int rodada = 0; rodada < rodadas; rodada++) {
+            Rodada r = new Rodada(Agregados.evento(CAPACIDADE), participantes, ids);
+            r.executar();
+            List<String> erros = r.verificar();
+            erros.forEach(erro -> System.err.println("Violação: " + erro));
+            violacoes += r.violacoes.get() + erros.size();
+            inscricoes += r.inscricoes.get();
+            promocoes += r.promocoes.get();
+        }
+        System.out.printf("%d rodadas, %d threads: %d inscrições, %d promoções, %d violações.%n",
+                rodadas, THREADS, inscricoes, promocoes, violacoes);
+        if (violacoes > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static final class Rodada {
+        private final Evento evento;
+        private final Participante[] participantes;
+        private final IdGenerator ids;
+        // Inscrições ativas conhecidas: cada cancelamento retira uma da fila, então nenhuma é cancelada duas vezes.
+        private final Queue<Inscricao> ativas = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger violacoes = new AtomicInteger();
+        private final AtomicInteger inscricoes = new AtomicInteger();
+        private final AtomicInteger promocoes = new AtomicInteger();
+
+        Rodada(Evento evento, Participante[] participantes, IdGenerator ids) {
+            this.evento = evento;
+            this.participantes = participantes;
+            this.ids = ids;
+        }
+
+        void executar() throws InterruptedException {
+            CountDownLatch largada = new CountDownLatch(1);
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int op = 0; op < OPERACOES_POR_THREAD; op++) {
+                        operar(ThreadLocalRandom.current());
+                        if (evento.getTotalInscricoesAtivas() > CAPACIDADE) {
+                            violacoes.incrementAndGet();
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            largada.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        private void operar(ThreadLocalRandom aleatorio) {
+            int sorteio = aleatorio.nextInt(100);
+            Participante participante = participantes[aleatorio.nextInt(participantes.length)];
+            try {
+                if (sorteio < 45) {
+                    Inscricao inscricao = new Inscricao(ids.nextId(), LocalDate.now(), evento, participante);
+                    evento.reservarVaga(inscricao);
+                    ativas.add(inscricao);
+                    inscricoes.incrementAndGet();
+                } else if (sorteio < 75) {
+                    Inscricao cancelada = ativas.poll();
+                    if (cancelada != null) {
+                        Optional<Inscricao> promovida = evento.cancelarInscricao(cancelada, ids);
+                        promovida.ifPresent(this::promovida);
+                    }
+                } else if (sorteio < 90) {
+                    evento.entrarListaEspera(participante);
+                } else {
+                    evento.promoverListaEspera(ids).forEach(this::promovida);
+                }
+            } catch (IllegalStateException recusada) {
+                // Lotado, já inscrito ou já na fila: recusas esperadas.
+            }
+        }
+
+        private void promovida(Inscricao inscricao) {
+            ativas.add(inscricao);
+            promocoes.incrementAndGet();
+        }
+
+        // Com todas as threads paradas, o contador deve refletir exatamente a lista do evento.
+        List<String> verificar() {
+            List<Inscricao> listadas = evento.getInscricoes().stream()
+                    .filter(i -> i.getStatus() == StatusInscricao.ATIVA)
+                    .toList();
+            Set<Uid> participantesAtivos = new HashSet<>();
+            listadas.forEach(i -> participantesAtivos.add(i.getParticipante().getId()));
+            int contador = evento.getTotalInscricoesAtivas();
+            List<String> erros = new ArrayList<>();
+            if (contador > CAPACIDADE) {
+                erros.add("contador de ativas " + contador + " acima da capacidade " + CAPACIDADE);
+            }
+            if (contador != listadas.size()) {
+                erros.add("contador de ativas " + contador + " diferente das " + listadas.size() + " inscrições ATIVA");
+            }
+            if (participantesAtivos.size() != listadas.size()) {
+                erros.add("participante com mais de uma inscrição ativa");
+            }
+            if (listadas.size() != ativas.size()) {
+                erros.add(ativas.size() + " inscrições aceitas ainda ativas, mas " + listadas.size() + " na lista");
+            }
+            return erros;
+        }
+    }
+}
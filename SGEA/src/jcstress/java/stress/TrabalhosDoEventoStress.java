@@ -0,0 +1,37 @@
+package stress;
+
+import domain.Evento;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * Duas submissões simultâneas no mesmo evento: nenhuma pode se perder.
+ */
+@JCStressTest
+@Outcome(id = "2", expect = Expect.ACCEPTABLE, desc = "Os dois trabalhos foram registrados.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Trabalho perdido.")
+@State
+public class TrabalhosDoEventoStress {
+
+    private final Evento evento = Agregados.evento();
+
+    @Actor
+    public void autor1() {
+        evento.adicionarTrabalhoInterno(Agregados.trabalho(evento, 1));
+    }
+
+    @Actor
+    public void autor2() {
+        evento.adicionarTrabalhoInterno(Agregados.trabalho(evento, 2));
+    }
+
+    @Arbiter
+    public void contar(I_Result r) {
+        r.r1 = evento.getTrabalhos().size();
+    }
+}
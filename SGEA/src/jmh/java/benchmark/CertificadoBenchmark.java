@@ -0,0 +1,72 @@
+package benchmark;
+
+import controller.CertificadoController;
+import controller.ResultadoEmissao;
+import domain.Certificado;
+import domain.Evento;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Emissão de certificados pelo {@link CertificadoController}. Antes de cada chamada os certificados
+ * do evento medido são removidos, para toda chamada emitir o lote completo (e não só conferir que já
+ * foi emitido); por isso o estado é refeito por invocação.
+ * <p>
+ * A emissão de certificados de apresentação não é medida: nenhum trabalho é ao mesmo tempo aprovado e
+ * apresentado (são status distintos), então ela nunca emite nada. A conferência dos já emitidos é medida
+ * em {@link CertificadoReemissaoBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CertificadoBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int participantes;
+
+    private DadosSinteticos dados;
+    private CertificadoController certificadoController;
+    // O evento encerrado com mais presenças confirmadas.
+    private Evento evento;
+
+    @Setup
+    public void preparar() {
+        dados = DadosSinteticos.gerar(participantes, 42);
+        certificadoController = dados.certificadoController();
+        evento = dados.eventosEncerrados.stream()
+                .max(Comparator.comparingInt(e -> e.getInscritosComPresencaConfirmada().size()))
+                .orElseThrow();
+    }
+
+    @Setup(Level.Invocation)
+    public void removerCertificadosDoEvento() {
+        List<Certificado> emitidos = dados.certificadoRepository.findAllByEventoId(evento.getId());
+        dados.certificadoRepository.deleteAllById(emitidos.stream().map(Certificado::getId).toList());
+    }
+
+    @Benchmark
+    public ResultadoEmissao emitirCertificadosParticipacaoEvento() {
+        return certificadoController.emitirCertificadosParticipacaoEvento(evento.getId());
+    }
+
+    @Benchmark
+    public Certificado emitirCertificadoOrganizador() {
+        return certificadoController.emitirCertificadoOrganizador(evento.getId(), evento.getOrganizadorResponsavel().getId());
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import controller.CertificadoController;
+import controller.ResultadoEmissao;
+import domain.Evento;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Nova emissão de certificados de participação para um evento em que todos os presentes já têm
+ * certificado: mede só a conferência dos já emitidos, que toda emissão repetida paga. Os certificados
+ * são emitidos uma vez na preparação e nenhuma chamada medida emite outro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CertificadoReemissaoBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int participantes;
+
+    private CertificadoController certificadoController;
+    // O evento encerrado com mais presenças confirmadas.
+    private Evento evento;
+
+    @Setup
+    public void preparar() {
+        DadosSinteticos dados = DadosSinteticos.gerar(participantes, 42);
+        certificadoController = dados.certificadoController();
+        evento = dados.eventosEncerrados.stream()
+                .max(Comparator.comparingInt(e -> e.getInscritosComPresencaConfirmada().size()))
+                .orElseThrow();
+        certificadoController.emitirCertificadosParticipacaoEvento(evento.getId());
+    }
+
+    @Benchmark
+    public ResultadoEmissao reemitirCertificadosParticipacaoEvento() {
+        return certificadoController.emitirCertificadosParticipacaoEvento(evento.getId());
+    }
+}
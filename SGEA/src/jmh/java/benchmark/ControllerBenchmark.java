@@ -0,0 +1,110 @@
+package benchmark;
+
+import controller.InscricaoController;
+import controller.ParticipanteController;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.Identifiable;
+import repository.Uid;
+
+/**
+ * Casos de uso de escrita dos controllers. As entidades criadas numa iteração são removidas ao fim
+ * dela, para o tamanho da massa de dados continuar o do parâmetro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ControllerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int participantes;
+
+    private DadosSinteticos dados;
+    private ParticipanteController participanteController;
+    private InscricaoController inscricaoController;
+    private Participante[] listaParticipantes;
+
+    // Estado das escritas da iteração atual (os benchmarks rodam numa única thread).
+    private long proximoEmail;
+    private long inicioEmails;
+    private final List<Evento> eventosCriados = new ArrayList<>();
+    private Evento eventoAtual;
+    private int proximoInscrito;
+
+    @Setup
+    public void preparar() {
+        dados = DadosSinteticos.gerar(participantes, 42);
+        participanteController = dados.participanteController();
+        inscricaoController = dados.inscricaoController();
+        listaParticipantes = dados.participantes.toArray(Participante[]::new);
+    }
+
+    @Setup(Level.Iteration)
+    public void iniciarIteracao() {
+        inicioEmails = proximoEmail;
+        proximoInscrito = listaParticipantes.length; // força um evento novo na primeira inscrição
+    }
+
+    @TearDown(Level.Iteration)
+    public void desfazerIteracao() {
+        for (long i = inicioEmails; i < proximoEmail; i++) {
+            dados.participanteRepository.findByEmail(email(i))
+                    .ifPresent(p -> dados.participanteRepository.deleteById(p.getId()));
+        }
+        for (Evento e : eventosCriados) {
+            dados.inscricaoRepository.deleteAllById(ids(dados.inscricaoRepository.findAllByEventoId(e.getId())));
+            dados.eventoRepository.deleteById(e.getId());
+        }
+        eventosCriados.clear();
+    }
+
+    @Benchmark
+    public Participante cadastrarParticipante() {
+        return participanteController.cadastrarParticipante("Novo participante", email(proximoEmail++),
+                "Instituição", TipoPerfil.PARTICIPANTE);
+    }
+
+    // Percorre os participantes da massa; ao esgotá-los, passa para um evento novo.
+    @Benchmark
+    public Inscricao realizarInscricao() {
+        if (proximoInscrito == listaParticipantes.length) {
+            eventoAtual = dados.novoEventoFuturo("Evento de inscrições " + eventosCriados.size());
+            eventosCriados.add(eventoAtual);
+            proximoInscrito = 0;
+        }
+        return inscricaoController.realizarInscricao(listaParticipantes[proximoInscrito++].getId(), eventoAtual.getId());
+    }
+
+    private static String email(long i) {
+        return "novo" + i + "@benchmark.test";
+    }
+
+    private static List<Uid> ids(List<? extends Identifiable<Uid>> entidades) {
+        List<Uid> ids = new ArrayList<>(entidades.size());
+        for (Identifiable<Uid> e : entidades) {
+            ids.add(e.getId());
+        }
+        return ids;
+    }
+}
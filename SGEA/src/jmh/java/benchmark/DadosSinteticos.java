@@ -0,0 +1,208 @@
+package benchmark;
+
+import controller.CertificadoController;
+import controller.EstatisticasEventos;
+import controller.InscricaoController;
+import controller.ParticipanteController;
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.Trabalho;
+import domain.enums.StatusTrabalho;
+import domain.enums.TipoCertificado;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import repository.AvaliacaoRepository;
+import repository.CertificadoRepository;
+import repository.DuplicateKeyException;
+import repository.EventoRepository;
+import repository.IdGenerator;
+import repository.InscricaoRepository;
+import repository.ParticipanteRepository;
+import repository.TrabalhoRepository;
+import repository.ValidationCodeGenerator;
+
+/**
+ * Massa de dados sintética para os benchmarks, montada direto nos repositórios (sem passar pelas
+ * regras dos controllers, para a geração de 1M participantes levar segundos).
+ * <p>
+ * Proporções para N participantes: N/1000 organizadores e avaliadores, N/100 eventos (metade já
+ * encerrada), 2 inscrições por participante, N/10 trabalhos com 2 avaliações nos que estão em avaliação,
+ * e certificados de participação para metade dos presentes nos eventos encerrados. A estrutura é
+ * determinística pela semente; os IDs (UUIDv7) mudam a cada execução.
+ */
+final class DadosSinteticos {
+
+    final IdGenerator ids = IdGenerator.uuidV7();
+    final ValidationCodeGenerator codigos = ValidationCodeGenerator.hex();
+
+    final ParticipanteRepository participanteRepository = new ParticipanteRepository();
+    final EventoRepository eventoRepository = new EventoRepository();
+    final InscricaoRepository inscricaoRepository = new InscricaoRepository();
+    final TrabalhoRepository trabalhoRepository = new TrabalhoRepository();
+    final AvaliacaoRepository avaliacaoRepository = new AvaliacaoRepository();
+    final CertificadoRepository certificadoRepository = new CertificadoRepository();
+    final EstatisticasEventos estatisticas = new EstatisticasEventos(eventoRepository, inscricaoRepository,
+            trabalhoRepository, avaliacaoRepository, certificadoRepository);
+
+    final List<Participante> participantes = new ArrayList<>();
+    final List<Participante> organizadores = new ArrayList<>();
+    final List<Participante> avaliadores = new ArrayList<>();
+    final List<Evento> eventosEncerrados = new ArrayList<>();
+    final List<Evento> eventosFuturos = new ArrayList<>();
+    final List<Trabalho> trabalhos = new ArrayList<>();
+    final List<Certificado> certificados = new ArrayList<>();
+
+    private final Random random;
+
+    private DadosSinteticos(long semente) {
+        this.random = new Random(semente);
+    }
+
+    /**
+     * Gera a massa de dados.
+     * @param quantidadeParticipantes O número de participantes (N).
+     * @param semente A semente das escolhas aleatórias.
+     * @return Os repositórios preenchidos e as entidades geradas.
+     */
+    static DadosSinteticos gerar(int quantidadeParticipantes, long semente) {
+        if (quantidadeParticipantes < 100) {
+            throw new IllegalArgumentException("A massa de dados precisa de pelo menos 100 participantes.");
+        }
+        DadosSinteticos dados = new DadosSinteticos(semente);
+        dados.gerarParticipantes(quantidadeParticipantes);
+        dados.gerarEventos(Math.max(10, quantidadeParticipantes / 100));
+        dados.gerarInscricoes();
+        dados.gerarTrabalhos(quantidadeParticipantes / 10);
+        dados.gerarCertificados();
+        // A massa vai direto aos repositórios, sem passar pelos controllers.
+        dados.estatisticas.reconstruir();
+        return dados;
+    }
+
+    ParticipanteController participanteController() {
+        return new ParticipanteController(participanteRepository, ids);
+    }
+
+    InscricaoController inscricaoController() {
+        return new InscricaoController(inscricaoRepository, eventoRepository, participanteRepository, estatisticas, ids);
+    }
+
+    CertificadoController certificadoController() {
+        return new CertificadoController(certificadoRepository, eventoRepository, inscricaoRepository,
+                trabalhoRepository, participanteRepository, estatisticas, ids, codigos);
+    }
+
+    /**
+     * @return Um evento futuro novo, sem inscrições e com capacidade ilimitada na prática.
+     */
+    Evento novoEventoFuturo(String nome) {
+        LocalDate inicio = LocalDate.now().plusDays(30);
+        return eventoRepository.save(new Evento(ids.nextId(), nome, "Evento de benchmark", inicio, inicio.plusDays(1),
+                "Local", Integer.MAX_VALUE, organizadores.get(0)));
+    }
+
+    <T> T sortear(List<T> lista) {
+        return lista.get(random.nextInt(lista.size()));
+    }
+
+    private void gerarParticipantes(int quantidade) {
+        int especiais = quantidade / 1000 + 1;
+        for (int i = 0; i < quantidade; i++) {
+            TipoPerfil perfil = i < especiais ? TipoPerfil.ORGANIZADOR
+                    : i < 2 * especiais ? TipoPerfil.AVALIADOR : TipoPerfil.PARTICIPANTE;
+            Participante p = participanteRepository.save(new Participante(ids.nextId(), "Participante " + i,
+                    "participante" + i + "@sgea.test", "Instituição " + (i % 50), perfil));
+            participantes.add(p);
+            if (perfil == TipoPerfil.ORGANIZADOR) {
+                organizadores.add(p);
+            } else if (perfil == TipoPerfil.AVALIADOR) {
+                avaliadores.add(p);
+            }
+        }
+    }
+
+    private void gerarEventos(int quantidade) {
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < quantidade; i++) {
+            boolean encerrado = i % 2 == 0;
+            LocalDate inicio = encerrado ? hoje.minusDays(30) : hoje.plusDays(30);
+            Evento e = new Evento(ids.nextId(), "Evento " + i, "Descrição do evento " + i, inicio, inicio.plusDays(2),
+                    "Auditório " + (i % 20), Integer.MAX_VALUE, organizadores.get(i % organizadores.size()));
+            e.setPeriodoSubmissao(inicio.minusDays(60), inicio.minusDays(10));
+            eventoRepository.save(e);
+            (encerrado ? eventosEncerrados : eventosFuturos).add(e);
+        }
+    }
+
+    private void gerarInscricoes() {
+        List<Evento> todos = new ArrayList<>(eventosEncerrados);
+        todos.addAll(eventosFuturos);
+        LocalDate data = LocalDate.now().minusDays(40);
+        for (Participante p : participantes) {
+            Evento primeiro = sortear(todos);
+            Evento segundo = sortear(todos);
+            inscrever(p, primeiro, data);
+            if (segundo != primeiro) {
+                inscrever(p, segundo, data);
+            }
+        }
+    }
+
+    private void inscrever(Participante p, Evento e, LocalDate data) {
+        Inscricao inscricao = new Inscricao(ids.nextId(), data, e, p);
+        e.reservarVaga(inscricao);
+        if (e.getDataFim().isBefore(LocalDate.now()) && random.nextBoolean()) {
+            inscricao.setPresencaConfirmada(true);
+        }
+        inscricaoRepository.save(inscricao);
+    }
+
+    private void gerarTrabalhos(int quantidade) {
+        StatusTrabalho[] status = {StatusTrabalho.SUBMETIDO, StatusTrabalho.EM_AVALIACAO, StatusTrabalho.APROVADO,
+                StatusTrabalho.APRESENTADO};
+        for (int i = 0; i < quantidade; i++) {
+            Evento e = random.nextBoolean() ? sortear(eventosEncerrados) : sortear(eventosFuturos);
+            Trabalho t = new Trabalho(ids.nextId(), "Trabalho " + i, "trabalho" + i + ".pdf", e, sortear(participantes));
+            e.adicionarTrabalhoInterno(t);
+            trabalhoRepository.save(t);
+            StatusTrabalho alvo = status[i % status.length];
+            if (alvo == StatusTrabalho.EM_AVALIACAO) {
+                for (int k = 0; k < 2; k++) {
+                    Avaliacao a = new Avaliacao(ids.nextId(), 5 + random.nextInt(6), "Parecer " + k, t, sortear(avaliadores));
+                    t.adicionarAvaliacaoInterna(a);
+                    avaliacaoRepository.save(a);
+                }
+            } else {
+                t.setStatus(alvo);
+            }
+            trabalhos.add(t);
+        }
+    }
+
+    private void gerarCertificados() {
+        for (Evento e : eventosEncerrados) {
+            for (Inscricao i : e.getInscritosComPresencaConfirmada()) {
+                if (random.nextBoolean()) {
+                    certificados.add(salvarCertificado(e, i.getParticipante()));
+                }
+            }
+        }
+    }
+
+    private Certificado salvarCertificado(Evento e, Participante p) {
+        while (true) {
+            try {
+                return certificadoRepository.save(new Certificado(ids.nextId(), codigos.nextCode(),
+                        TipoCertificado.PARTICIPACAO, p, e));
+            } catch (DuplicateKeyException colisao) {
+                // código já usado: sorteia outro
+            }
+        }
+    }
+}
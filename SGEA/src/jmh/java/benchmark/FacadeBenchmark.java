@@ -0,0 +1,107 @@
+package benchmark;
+
+import controller.DadosParticipante;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import facade.SGEAFacade;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.Pagina;
+
+/**
+ * Consultas pela fachada, com os IDs em texto como chegam da interface: inclui a conversão do ID
+ * na fronteira. A massa é montada pela própria fachada (importação e inscrição em lote).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class FacadeBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int participantes;
+
+    private SGEAFacade facade;
+    private String[] participanteIds;
+    private String[] eventoIds;
+
+    @Setup
+    public void preparar() {
+        facade = new SGEAFacade();
+        Participante organizador = facade.cadastrarParticipante("Organizador", "organizador@benchmark.test",
+                "Instituição", TipoPerfil.ORGANIZADOR);
+        facade.importarParticipantes(IntStream.range(0, participantes).mapToObj(i -> new DadosParticipante(
+                "Participante " + i, "participante" + i + "@benchmark.test", "Instituição", TipoPerfil.PARTICIPANTE)));
+        participanteIds = facade.listarTodosParticipantes().stream().map(p -> p.getId().toString()).toArray(String[]::new);
+
+        // Cada participante em até dois dos N/100 eventos, inscritos em lotes contíguos.
+        int eventos = Math.max(10, participantes / 100);
+        int porEvento = 2 * participanteIds.length / eventos;
+        LocalDate inicio = LocalDate.now().plusDays(30);
+        List<String> ids = List.of(participanteIds);
+        eventoIds = new String[eventos];
+        for (int e = 0; e < eventos; e++) {
+            Evento evento = facade.cadastrarEvento("Evento " + e, "Descrição", inicio, inicio.plusDays(1), "Local",
+                    Integer.MAX_VALUE, organizador.getId().toString(), null, null);
+            eventoIds[e] = evento.getId().toString();
+            int base = (int) ((long) e * porEvento / 2 % ids.size());
+            List<String> lote = new ArrayList<>(ids.subList(base, Math.min(ids.size(), base + porEvento)));
+            facade.inscreverEmLote(eventoIds[e], lote);
+        }
+    }
+
+    private static String sortear(String[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Optional<Participante> getParticipanteById() {
+        return facade.getParticipanteById(sortear(participanteIds));
+    }
+
+    @Benchmark
+    public Optional<Evento> getEventoById() {
+        return facade.getEventoById(sortear(eventoIds));
+    }
+
+    @Benchmark
+    public List<Inscricao> listarInscricoesPorParticipante() {
+        return facade.listarInscricoesPorParticipante(sortear(participanteIds));
+    }
+
+    @Benchmark
+    public List<Inscricao> visualizarInscritosEvento() {
+        return facade.visualizarInscritosEvento(sortear(eventoIds));
+    }
+
+    @Benchmark
+    public Pagina<Inscricao> paginarInscritosEvento() {
+        return facade.paginarInscritosEvento(sortear(eventoIds), null, 20);
+    }
+
+    @Benchmark
+    public Pagina<Participante> paginarTodosParticipantes() {
+        // O cursor das listagens gerais é o ID do último item: começa a página num ponto qualquer da lista.
+        return facade.paginarTodosParticipantes(sortear(participanteIds), 20);
+    }
+}
@@ -0,0 +1,165 @@
+package benchmark;
+
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.Trabalho;
+import domain.enums.StatusTrabalho;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.Uid;
+
+/**
+ * Operações dos repositórios: save/findById e todos os finders findAllBy*, sobre a massa de
+ * {@link DadosSinteticos}. Cada chamada usa uma entidade sorteada, para não medir só o cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int participantes;
+
+    private DadosSinteticos dados;
+    private Participante[] listaParticipantes;
+    private Participante[] listaAvaliadores;
+    private Participante[] listaOrganizadores;
+    private Evento[] listaEventos;
+    private Trabalho[] listaTrabalhos;
+    private String[] codigos;
+
+    @Setup
+    public void preparar() {
+        dados = DadosSinteticos.gerar(participantes, 42);
+        listaParticipantes = dados.participantes.toArray(Participante[]::new);
+        listaAvaliadores = dados.avaliadores.toArray(Participante[]::new);
+        listaOrganizadores = dados.organizadores.toArray(Participante[]::new);
+        List<Evento> eventos = new ArrayList<>(dados.eventosEncerrados);
+        eventos.addAll(dados.eventosFuturos);
+        listaEventos = eventos.toArray(Evento[]::new);
+        listaTrabalhos = dados.trabalhos.toArray(Trabalho[]::new);
+        codigos = dados.certificados.stream().map(Certificado::getCodigoValidacao).toArray(String[]::new);
+    }
+
+    private static <T> T sortear(T[] lista) {
+        return lista[ThreadLocalRandom.current().nextInt(lista.length)];
+    }
+
+    @Benchmark
+    public Participante participanteSave() {
+        return dados.participanteRepository.save(sortear(listaParticipantes));
+    }
+
+    @Benchmark
+    public Optional<Participante> participanteFindById() {
+        return dados.participanteRepository.findById(sortear(listaParticipantes).getId());
+    }
+
+    @Benchmark
+    public Optional<Participante> participanteFindByIdAusente() {
+        return dados.participanteRepository.findById(Uid.random());
+    }
+
+    @Benchmark
+    public Optional<Participante> participanteFindByEmail() {
+        return dados.participanteRepository.findByEmail(sortear(listaParticipantes).getEmail());
+    }
+
+    @Benchmark
+    public List<Participante> participanteFindByNomeContendo() {
+        // "Participante 123": o prefixo casa com todos; o número restringe a poucos.
+        String nome = sortear(listaParticipantes).getNomeCompleto();
+        return dados.participanteRepository.findByNomeContendo(nome.substring(nome.length() - 3), 0, 20);
+    }
+
+    @Benchmark
+    public List<Participante> participanteFindByNomeContendoComum() {
+        return dados.participanteRepository.findByNomeContendo("partic", 0, 20);
+    }
+
+    @Benchmark
+    public Optional<Evento> eventoFindById() {
+        return dados.eventoRepository.findById(sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public List<Evento> eventoFindAllByOrganizadorId() {
+        return dados.eventoRepository.findAllByOrganizadorId(sortear(listaOrganizadores).getId());
+    }
+
+    @Benchmark
+    public List<Inscricao> inscricaoFindAllByEventoId() {
+        return dados.inscricaoRepository.findAllByEventoId(sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public List<Inscricao> inscricaoFindAllByParticipanteId() {
+        return dados.inscricaoRepository.findAllByParticipanteId(sortear(listaParticipantes).getId());
+    }
+
+    @Benchmark
+    public Optional<Inscricao> inscricaoFindByParticipanteIdAndEventoId() {
+        return dados.inscricaoRepository.findByParticipanteIdAndEventoId(sortear(listaParticipantes).getId(),
+                sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public List<Trabalho> trabalhoFindAllByEventoId() {
+        return dados.trabalhoRepository.findAllByEventoId(sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public List<Trabalho> trabalhoFindAllByAutorId() {
+        return dados.trabalhoRepository.findAllByAutorId(sortear(listaTrabalhos).getAutor().getId());
+    }
+
+    @Benchmark
+    public List<Trabalho> trabalhoFindAllByStatusAndEventoId() {
+        return dados.trabalhoRepository.findAllByStatusAndEventoId(StatusTrabalho.APROVADO, sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public List<Avaliacao> avaliacaoFindAllByTrabalhoId() {
+        return dados.avaliacaoRepository.findAllByTrabalhoId(sortear(listaTrabalhos).getId());
+    }
+
+    @Benchmark
+    public List<Avaliacao> avaliacaoFindAllByAvaliadorId() {
+        return dados.avaliacaoRepository.findAllByAvaliadorId(sortear(listaAvaliadores).getId());
+    }
+
+    @Benchmark
+    public List<Certificado> certificadoFindAllByParticipanteId() {
+        return dados.certificadoRepository.findAllByParticipanteId(sortear(listaParticipantes).getId());
+    }
+
+    @Benchmark
+    public List<Certificado> certificadoFindAllByEventoId() {
+        return dados.certificadoRepository.findAllByEventoId(sortear(listaEventos).getId());
+    }
+
+    @Benchmark
+    public Optional<Certificado> certificadoFindByCodigoValidacao() {
+        return dados.certificadoRepository.findByCodigoValidacao(sortear(codigos));
+    }
+}
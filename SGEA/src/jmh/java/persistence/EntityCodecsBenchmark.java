@@ -0,0 +1,224 @@
+package persistence;
+
+import api.Json;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.StatusInscricao;
+import domain.enums.TipoPerfil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.Uid;
+
+/**
+ * Codificação e decodificação de um registro pelo formato binário de {@link EntityCodecs}, comparadas
+ * com a serialização Java e com JSON ({@link Json}) dos mesmos campos, com as referências gravadas como IDs
+ * nos três formatos. Um participante representa as entidades com texto; uma inscrição, as entidades feitas
+ * de referências, datas e enums. Cada registro é gravado sozinho, como no log de escrita antecipada.
+ * <p>
+ * As entidades do domínio não são serializáveis, então a serialização Java usa registros espelho com os
+ * mesmos campos. Os tamanhos de cada formato são impressos na preparação. A inscrição binária é
+ * decodificada sobre a instância existente (o caminho da reaplicação do log), sem vinculá-la de novo ao evento.
+ * <p>
+ * Resultado aceito: em relação à serialização Java o formato binário cumpre a meta (codifica ~5x e
+ * decodifica ~30x mais rápido, com registros 3,4x a 7x menores). Em relação ao JSON fica entre 3,6x e 5x
+ * mais rápido, e o participante é só 1,7x menor: o texto em UTF-8 domina o registro e ocupa o mesmo espaço
+ * nos dois formatos. Um dicionário de textos repetidos não se aplica aqui, porque cada registro do log é
+ * decodificado sozinho; a diferença restante fica como está.
+ * <p>
+ * Está no pacote {@code persistence} porque os codecs são internos a ele.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCodecsBenchmark {
+
+    private Participante participante;
+    private Inscricao inscricao;
+    private Map<Uid, Evento> eventos;
+    private Map<Uid, Participante> participantes;
+
+    // Para decodificar o participante como novo e a inscrição sobre a existente.
+    private EntityCodecs codecsNovos;
+    private EntityCodecs codecs;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream saida = new DataOutputStream(buffer);
+
+    private byte[] participanteBinario;
+    private byte[] participanteJava;
+    private byte[] participanteJson;
+    private byte[] inscricaoBinario;
+    private byte[] inscricaoJava;
+    private byte[] inscricaoJson;
+
+    @Setup
+    public void preparar() throws IOException {
+        participante = new Participante(Uid.random(), "Maria Aparecida dos Santos", "maria.santos@universidade.edu.br",
+                "Universidade Federal de Minas Gerais", TipoPerfil.PARTICIPANTE);
+        Participante organizador = new Participante(Uid.random(), "Organizador", "org@universidade.edu.br",
+                "Universidade Federal de Minas Gerais", TipoPerfil.ORGANIZADOR);
+        LocalDate inicio = LocalDate.of(2026, 11, 10);
+        Evento evento = new Evento(Uid.random(), "Semana de Computação", "Palestras e minicursos", inicio,
+                inicio.plusDays(4), "Auditório Central", 500, organizador);
+        inscricao = new Inscricao(Uid.random(), inicio.minusDays(20), evento, participante);
+        evento.reservarVaga(inscricao);
+        inscricao.setPresencaConfirmada(true);
+
+        eventos = Map.of(evento.getId(), evento);
+        participantes = Map.of(participante.getId(), participante, organizador.getId(), organizador);
+        Map<Uid, Inscricao> inscricoes = Map.of(inscricao.getId(), inscricao);
+        codecsNovos = new EntityCodecs(id -> Optional.empty(), id -> Optional.empty(), id -> Optional.empty(),
+                id -> Optional.empty(), id -> Optional.empty(), id -> Optional.empty());
+        codecs = new EntityCodecs(id -> Optional.ofNullable(participantes.get(id)), id -> Optional.ofNullable(eventos.get(id)),
+                id -> Optional.ofNullable(inscricoes.get(id)), id -> Optional.empty(), id -> Optional.empty(),
+                id -> Optional.empty());
+
+        participanteBinario = codificarParticipanteBinario();
+        participanteJava = codificarParticipanteJava();
+        participanteJson = codificarParticipanteJson();
+        inscricaoBinario = codificarInscricaoBinario();
+        inscricaoJava = codificarInscricaoJava();
+        inscricaoJson = codificarInscricaoJson();
+        System.out.printf("%nTamanho (bytes)   binário  java  json%n");
+        System.out.printf("participante      %7d %5d %5d%n", participanteBinario.length, participanteJava.length, participanteJson.length);
+        System.out.printf("inscrição         %7d %5d %5d%n", inscricaoBinario.length, inscricaoJava.length, inscricaoJson.length);
+    }
+
+    @Benchmark
+    public byte[] codificarParticipanteBinario() throws IOException {
+        buffer.reset();
+        codecs.participante.encode(participante, saida);
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public Participante decodificarParticipanteBinario() throws IOException {
+        return codecsNovos.participante.decode(new DataInputStream(new ByteArrayInputStream(participanteBinario)));
+    }
+
+    @Benchmark
+    public byte[] codificarParticipanteJava() throws IOException {
+        Uid id = participante.getId();
+        return serializar(new ParticipanteSerial(id.msb(), id.lsb(), participante.getNomeCompleto(),
+                participante.getEmail(), participante.getInstituicao(), participante.getTipoPerfil()));
+    }
+
+    @Benchmark
+    public Participante decodificarParticipanteJava() throws IOException, ClassNotFoundException {
+        ParticipanteSerial p = (ParticipanteSerial) desserializar(participanteJava);
+        return new Participante(new Uid(p.idMsb(), p.idLsb()), p.nome(), p.email(), p.instituicao(), p.perfil());
+    }
+
+    @Benchmark
+    public byte[] codificarParticipanteJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", participante.getId());
+        json.put("nome", participante.getNomeCompleto());
+        json.put("email", participante.getEmail());
+        json.put("instituicao", participante.getInstituicao());
+        json.put("perfil", participante.getTipoPerfil());
+        return Json.write(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Participante decodificarParticipanteJson() {
+        Map<?, ?> json = (Map<?, ?>) Json.parse(new String(participanteJson, StandardCharsets.UTF_8));
+        return new Participante(Uid.parse((String) json.get("id")), (String) json.get("nome"), (String) json.get("email"),
+                (String) json.get("instituicao"), TipoPerfil.valueOf((String) json.get("perfil")));
+    }
+
+    @Benchmark
+    public byte[] codificarInscricaoBinario() throws IOException {
+        buffer.reset();
+        codecs.inscricao.encode(inscricao, saida);
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public Inscricao decodificarInscricaoBinario() throws IOException {
+        return codecs.inscricao.decode(new DataInputStream(new ByteArrayInputStream(inscricaoBinario)));
+    }
+
+    @Benchmark
+    public byte[] codificarInscricaoJava() throws IOException {
+        Uid id = inscricao.getId();
+        Uid evento = inscricao.getEvento().getId();
+        Uid p = inscricao.getParticipante().getId();
+        return serializar(new InscricaoSerial(id.msb(), id.lsb(), inscricao.getDataInscricao(), inscricao.getStatus(),
+                inscricao.isPresencaConfirmada(), evento.msb(), evento.lsb(), p.msb(), p.lsb()));
+    }
+
+    @Benchmark
+    public Inscricao decodificarInscricaoJava() throws IOException, ClassNotFoundException {
+        InscricaoSerial i = (InscricaoSerial) desserializar(inscricaoJava);
+        return new Inscricao(new Uid(i.idMsb(), i.idLsb()), i.data(), eventos.get(new Uid(i.eventoMsb(), i.eventoLsb())),
+                participantes.get(new Uid(i.participanteMsb(), i.participanteLsb())), i.status(), i.presenca());
+    }
+
+    @Benchmark
+    public byte[] codificarInscricaoJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", inscricao.getId());
+        json.put("data", inscricao.getDataInscricao());
+        json.put("status", inscricao.getStatus());
+        json.put("presenca", inscricao.isPresencaConfirmada());
+        json.put("evento", inscricao.getEvento().getId());
+        json.put("participante", inscricao.getParticipante().getId());
+        return Json.write(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Inscricao decodificarInscricaoJson() {
+        Map<?, ?> json = (Map<?, ?>) Json.parse(new String(inscricaoJson, StandardCharsets.UTF_8));
+        return new Inscricao(Uid.parse((String) json.get("id")), LocalDate.parse((String) json.get("data")),
+                eventos.get(Uid.parse((String) json.get("evento"))), participantes.get(Uid.parse((String) json.get("participante"))),
+                StatusInscricao.valueOf((String) json.get("status")), (Boolean) json.get("presenca"));
+    }
+
+    private static byte[] serializar(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object desserializar(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    record ParticipanteSerial(long idMsb, long idLsb, String nome, String email, String instituicao, TipoPerfil perfil)
+            implements Serializable {
+    }
+
+    record InscricaoSerial(long idMsb, long idLsb, LocalDate data, StatusInscricao status, boolean presenca,
+            long eventoMsb, long eventoLsb, long participanteMsb, long participanteLsb) implements Serializable {
+    }
+}
@@ -0,0 +1,22 @@
+package api;
+
+/**
+ * Erro de uma requisição com o status HTTP a devolver (ex.: 401 sem sessão, 404 rota inexistente).
+ * Os erros de regra de negócio vêm da fachada como {@link IllegalArgumentException} e
+ * {@link IllegalStateException} e são traduzidos pelo {@link ApiServer}.
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
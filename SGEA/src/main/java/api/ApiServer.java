@@ -0,0 +1,583 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import controller.CriterioDecisao;
+import controller.ResultadoEmissao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import facade.SGEAFacade;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import repository.DuplicateKeyException;
+import repository.Pagina;
+import repository.Uid;
+
+/**
+ * API HTTP/JSON da {@link SGEAFacade}, sobre o {@link HttpServer} do JDK: cada requisição roda numa
+ * thread virtual própria, então conexões paradas em I/O não prendem threads do sistema operacional.
+ * <p>
+ * Não há estado de usuário no servidor além das sessões: o login ({@code POST /sessoes}) devolve um
+ * token, e as rotas autenticadas identificam o participante pelo cabeçalho
+ * {@code Authorization: Bearer <token>}. O participante da sessão é sempre quem age (organizador,
+ * autor, avaliador); a API não aceita o ID do ator no corpo.
+ * <p>
+ * Como no console, o login pede só o ID do participante, sem senha: o servidor deve escutar apenas na
+ * interface de loopback, e as rotas públicas não devolvem IDs de participantes.
+ * <p>
+ * As listagens são paginadas por cursor: devolvem {@code {"itens": [...], "proximoCursor": "..."}}, e a
+ * página seguinte é pedida repassando {@code ?cursor=} (com {@code ?limite=}, até 1000 itens por página).
+ * <p>
+ * Erros voltam como {@code {"erro": "mensagem"}}: 400 para dados inválidos, 401 sem sessão válida,
+ * 403 sem permissão, 404 para o que não existe e 409 para regras de negócio violadas
+ * (evento lotado, prazo expirado, inscrição repetida etc.).
+ */
+public final class ApiServer implements AutoCloseable {
+
+    private static final int TAMANHO_MAXIMO_CORPO = 1 << 20;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int LIMITE_PADRAO = 20;
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private final SGEAFacade facade;
+    private final SessionStore sessoes;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Rota> rotas = new ArrayList<>();
+
+    /**
+     * Cria o servidor (ainda parado).
+     * @param facade A fachada atendida.
+     * @param endereco O endereço de escuta (porta 0 escolhe uma porta livre).
+     * @param backlog O tamanho da fila de conexões ainda não aceitas.
+     * @param validadeSessao Por quanto tempo uma sessão sem uso continua válida.
+     * @throws IOException se a porta não puder ser aberta.
+     */
+    public ApiServer(SGEAFacade facade, InetSocketAddress endereco, int backlog, Duration validadeSessao) throws IOException {
+        if (facade == null || endereco == null) {
+            throw new IllegalArgumentException("Fachada e endereço não podem ser nulos.");
+        }
+        this.facade = facade;
+        this.sessoes = new SessionStore(validadeSessao);
+        this.server = HttpServer.create(endereco, backlog);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::tratar);
+        registrarRotas();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Para de aceitar conexões, espera até 2 segundos pelas requisições em andamento e encerra.
+     */
+    @Override
+    public void close() {
+        server.stop(2);
+        executor.close();
+    }
+
+    // --- Rotas ---
+
+    private void registrarRotas() {
+        // Públicas
+        rota("POST", "/participantes", this::cadastrarParticipante);
+        rota("POST", "/sessoes", this::login);
+        rota("GET", "/eventos", this::listarEventos);
+        rota("GET", "/eventos/{id}", r -> JsonViews.evento(evento(r.parametro("id"))));
+        rota("GET", "/certificados/{codigo}", this::validarCertificado);
+        rota("GET", "/metricas", r -> new Resposta(200, "text/plain; version=0.0.4; charset=utf-8", facade.exportarMetricas()));
+
+        // Do participante da sessão
+        rota("DELETE", "/sessoes", this::logout);
+        rota("GET", "/eu", r -> JsonViews.participante(r.usuario()));
+        rota("GET", "/eu/inscricoes", r -> JsonViews.pagina(facade.paginarInscricoesPorParticipante(
+                r.usuarioId().toString(), r.consulta("cursor"), r.limite()), JsonViews::inscricao));
+        rota("GET", "/eu/trabalhos", r -> JsonViews.pagina(facade.paginarTrabalhosPorAutor(
+                r.usuarioId().toString(), r.consulta("cursor"), r.limite()), JsonViews::trabalho));
+        rota("GET", "/eu/certificados", r -> JsonViews.pagina(facade.paginarCertificadosPorParticipante(
+                r.usuarioId().toString(), r.consulta("cursor"), r.limite()), JsonViews::certificado));
+        rota("GET", "/eu/eventos", r -> JsonViews.pagina(facade.paginarEventosPorOrganizador(
+                r.usuarioId().toString(), r.consulta("cursor"), r.limite()), JsonViews::evento));
+        rota("POST", "/eventos/{id}/inscricoes", r -> new Resposta(201,
+                JsonViews.inscricao(facade.inscreverEmEvento(r.usuarioId().toString(), r.parametro("id")))));
+        rota("POST", "/eventos/{id}/lista-espera", r -> Map.of("posicao", facade.entrarListaEspera(r.usuarioId().toString(), r.parametro("id"))));
+        rota("DELETE", "/inscricoes/{id}", this::cancelarInscricao);
+        rota("POST", "/eventos/{id}/trabalhos", r -> new Resposta(201, JsonViews.trabalho(facade.submeterTrabalho(
+                r.usuarioId().toString(), r.parametro("id"), r.texto("titulo"), r.texto("arquivo")))));
+
+        // Do organizador
+        rota("GET", "/participantes", this::buscarParticipantes);
+        rota("POST", "/eventos", this::cadastrarEvento);
+        rota("PATCH", "/eventos/{id}", this::atualizarEvento);
+        rota("GET", "/eventos/{id}/inscricoes", r -> JsonViews.pagina(facade.paginarInscritosEvento(
+                eventoDoOrganizador(r).getId().toString(), r.consulta("cursor"), r.limite()), JsonViews::inscricao));
+        rota("GET", "/eventos/{id}/estatisticas", r -> JsonViews.estatisticas(
+                facade.obterEstatisticasEvento(eventoDoOrganizador(r).getId().toString())));
+        rota("POST", "/eventos/{id}/inscricoes-em-lote", this::inscreverEmLote);
+        rota("POST", "/inscricoes/{id}/presenca", r -> JsonViews.inscricao(facade.confirmarPresenca(r.parametro("id"), r.usuarioId().toString())));
+        rota("POST", "/eventos/{id}/certificados", this::emitirCertificados);
+        rota("POST", "/eventos/{id}/decisoes", this::decidirTrabalhos);
+        rota("POST", "/trabalhos/{id}/avaliadores", r -> JsonViews.trabalho(facade.designarAvaliadorParaTrabalho(
+                r.parametro("id"), r.texto("avaliadorId"), r.usuarioId().toString())));
+
+        // Do organizador do evento ou de avaliadores
+        rota("GET", "/eventos/{id}/trabalhos", this::listarTrabalhosDoEvento);
+        rota("GET", "/trabalhos/{id}/avaliacoes", r -> JsonViews.pagina(facade.paginarAvaliacoesPorTrabalho(
+                r.parametro("id"), r.consulta("cursor"), r.limite()), JsonViews::avaliacao));
+        rota("POST", "/trabalhos/{id}/avaliacoes", r -> new Resposta(201, JsonViews.avaliacao(facade.registrarAvaliacao(
+                r.parametro("id"), r.usuarioId().toString(), r.numero("nota"), r.textoOpcional("parecer")))));
+    }
+
+    private Object cadastrarParticipante(Requisicao r) {
+        // Como no console, o autocadastro cria sempre um participante comum.
+        Participante p = facade.cadastrarParticipante(r.texto("nomeCompleto"), r.texto("email"), r.texto("instituicao"),
+                TipoPerfil.PARTICIPANTE);
+        return new Resposta(201, JsonViews.participante(p));
+    }
+
+    private Object login(Requisicao r) {
+        Participante p = facade.getParticipanteById(r.texto("participanteId"))
+                .orElseThrow(() -> new ApiException(401, "Participante não encontrado."));
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("token", sessoes.abrir(p.getId()));
+        corpo.put("participante", JsonViews.participante(p));
+        return new Resposta(201, corpo);
+    }
+
+    private Object logout(Requisicao r) {
+        r.usuarioId();
+        sessoes.encerrar(r.token());
+        return Resposta.SEM_CONTEUDO;
+    }
+
+    private Object validarCertificado(Requisicao r) {
+        Certificado c = facade.getCertificadoByCodigoValidacao(r.parametro("codigo"))
+                .orElseThrow(() -> new ApiException(404, "Certificado não encontrado ou inválido."));
+        return JsonViews.certificado(c);
+    }
+
+    private Object cancelarInscricao(Requisicao r) {
+        String inscricaoId = r.parametro("id");
+        Uid usuario = r.usuarioId();
+        boolean propria = facade.listarInscricoesPorParticipante(usuario.toString()).stream()
+                .anyMatch(i -> i.getId().toString().equals(inscricaoId));
+        if (!propria) {
+            throw new ApiException(404, "Inscrição não encontrada entre as suas.");
+        }
+        facade.cancelarInscricao(inscricaoId);
+        return Resposta.SEM_CONTEUDO;
+    }
+
+    // Sem janela de datas, lista os eventos abertos para inscrição; com "de" e/ou "ate", os que começam nela.
+    private Object listarEventos(Requisicao r) {
+        int limite = r.limite();
+        String cursor = r.consulta("cursor");
+        LocalDate de = r.consultaData("de");
+        LocalDate ate = r.consultaData("ate");
+        Pagina<Evento> pagina = (de == null && ate == null)
+                ? facade.paginarEventosDisponiveisParaInscricao(cursor, limite)
+                : facade.paginarEventosPorPeriodo(de, ate, cursor, limite);
+        return JsonViews.pagina(pagina, JsonViews::evento);
+    }
+
+    private Object buscarParticipantes(Requisicao r) {
+        if (r.usuario().getTipoPerfil() != TipoPerfil.ORGANIZADOR) {
+            throw new ApiException(403, "Apenas organizadores podem buscar participantes.");
+        }
+        String nome = r.consulta("nome");
+        if (nome == null) {
+            throw new ApiException(400, "Parâmetro 'nome' é obrigatório.");
+        }
+        return JsonViews.lista(facade.buscarParticipantesPorNome(nome, r.consultaInteira("offset", 0), r.limite()),
+                JsonViews::participante);
+    }
+
+    private Object cadastrarEvento(Requisicao r) {
+        Evento e = facade.cadastrarEvento(r.texto("nome"), r.textoOpcional("descricao"), r.data("dataInicio"),
+                r.data("dataFim"), r.textoOpcional("local"), (int) r.inteiro("capacidadeMaxima"), r.usuarioId().toString(),
+                r.dataOpcional("periodoSubmissaoInicio"), r.dataOpcional("periodoSubmissaoFim"));
+        return new Resposta(201, JsonViews.evento(e));
+    }
+
+    private Object atualizarEvento(Requisicao r) {
+        String eventoId = r.parametro("id");
+        String organizador = r.usuarioId().toString();
+        Long capacidade = r.inteiroOpcional("capacidadeMaxima");
+        Evento e = facade.atualizarDetalhesEvento(eventoId, organizador, r.textoOpcional("nome"),
+                r.textoOpcional("descricao"), r.dataOpcional("dataInicio"), r.dataOpcional("dataFim"),
+                r.textoOpcional("local"), capacidade == null ? null : capacidade.intValue());
+        LocalDate inicioSubmissao = r.dataOpcional("periodoSubmissaoInicio");
+        if (inicioSubmissao != null) {
+            e = facade.definirPeriodoSubmissaoTrabalhos(eventoId, organizador, inicioSubmissao, r.data("periodoSubmissaoFim"));
+        }
+        return JsonViews.evento(e);
+    }
+
+    private Object inscreverEmLote(Requisicao r) {
+        Evento e = eventoDoOrganizador(r);
+        List<String> ids = r.listaDeTextos("participanteIds");
+        return JsonViews.lista(facade.inscreverEmLote(e.getId().toString(), ids), JsonViews::resultadoInscricao);
+    }
+
+    private Object emitirCertificados(Requisicao r) {
+        Evento e = eventoDoOrganizador(r);
+        String eventoId = e.getId().toString();
+        ResultadoEmissao participacao = facade.emitirCertificadosParticipacaoEvento(eventoId);
+        ResultadoEmissao apresentacao = facade.emitirCertificadosApresentacaoTrabalhoEvento(eventoId);
+        Certificado organizador = facade.emitirCertificadoOrganizadorEvento(eventoId, r.usuarioId().toString());
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("participacao", JsonViews.lista(participacao.certificados(), JsonViews::certificado));
+        corpo.put("apresentacao", JsonViews.lista(apresentacao.certificados(), JsonViews::certificado));
+        corpo.put("organizador", JsonViews.certificado(organizador));
+        return new Resposta(201, corpo);
+    }
+
+    private Object decidirTrabalhos(Requisicao r) {
+        Evento e = eventoDoOrganizador(r);
+        CriterioDecisao padrao = CriterioDecisao.padrao();
+        Long minimo = r.inteiroOpcional("minimoAvaliacoes");
+        Double notaMinima = r.numeroOpcional("notaMinimaAprovacao");
+        CriterioDecisao criterio = new CriterioDecisao(
+                minimo == null ? padrao.minimoAvaliacoes() : (int) Math.max(Integer.MIN_VALUE, Math.min(minimo, Integer.MAX_VALUE)),
+                notaMinima == null ? padrao.notaMinimaAprovacao() : notaMinima);
+        return JsonViews.resultadoDecisao(facade.decidirTrabalhosDoEvento(e.getId().toString(), r.usuarioId().toString(), criterio));
+    }
+
+    private Object listarTrabalhosDoEvento(Requisicao r) {
+        Evento e = evento(r.parametro("id"));
+        Participante usuario = r.usuario();
+        if (usuario.getTipoPerfil() != TipoPerfil.AVALIADOR && !e.getOrganizadorResponsavel().getId().equals(usuario.getId())) {
+            throw new ApiException(403, "Apenas o organizador do evento e avaliadores podem listar os trabalhos.");
+        }
+        return JsonViews.pagina(facade.paginarTrabalhosPorEvento(e.getId().toString(), r.consulta("cursor"), r.limite()),
+                JsonViews::trabalho);
+    }
+
+    private Evento evento(String id) {
+        return facade.getEventoById(id).orElseThrow(() -> new ApiException(404, "Evento não encontrado."));
+    }
+
+    private Evento eventoDoOrganizador(Requisicao r) {
+        Uid usuario = r.usuarioId();
+        Evento e = evento(r.parametro("id"));
+        if (!e.getOrganizadorResponsavel().getId().equals(usuario)) {
+            throw new ApiException(403, "Apenas o organizador responsável pelo evento pode fazer isso.");
+        }
+        return e;
+    }
+
+    // --- Despacho ---
+
+    private void rota(String metodo, String caminho, Handler handler) {
+        List<String> nomes = new ArrayList<>();
+        Matcher m = Pattern.compile("\\{(\\w+)}").matcher(caminho);
+        StringBuilder regex = new StringBuilder();
+        int fim = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(caminho.substring(fim, m.start()))).append("([^/]+)");
+            nomes.add(m.group(1));
+            fim = m.end();
+        }
+        regex.append(Pattern.quote(caminho.substring(fim)));
+        rotas.add(new Rota(metodo, Pattern.compile(regex.toString()), List.copyOf(nomes), handler));
+    }
+
+    private void tratar(HttpExchange troca) throws IOException {
+        try (troca) {
+            Resposta resposta;
+            try {
+                resposta = despachar(troca);
+            } catch (ApiException e) {
+                resposta = Resposta.erro(e.getStatus(), e.getMessage());
+            } catch (DuplicateKeyException e) {
+                resposta = Resposta.erro(409, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                // Os controllers sinalizam entidade inexistente com IllegalArgumentException "... não encontrado(a)."
+                String msg = e.getMessage() == null ? "Requisição inválida." : e.getMessage();
+                resposta = Resposta.erro(msg.contains("não encontrad") ? 404 : 400, msg);
+            } catch (IllegalStateException e) {
+                resposta = Resposta.erro(409, e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("Erro interno em " + troca.getRequestMethod() + " " + troca.getRequestURI() + ": " + e);
+                resposta = Resposta.erro(500, "Erro interno.");
+            }
+            enviar(troca, resposta);
+        }
+    }
+
+    private Resposta despachar(HttpExchange troca) {
+        String caminho = troca.getRequestURI().getPath();
+        if (caminho.length() > 1 && caminho.endsWith("/")) {
+            caminho = caminho.substring(0, caminho.length() - 1);
+        }
+        boolean caminhoExiste = false;
+        for (Rota rota : rotas) {
+            Matcher m = rota.padrao().matcher(caminho);
+            if (!m.matches()) {
+                continue;
+            }
+            caminhoExiste = true;
+            if (!rota.metodo().equals(troca.getRequestMethod())) {
+                continue;
+            }
+            Map<String, String> parametros = new LinkedHashMap<>();
+            for (int i = 0; i < rota.parametros().size(); i++) {
+                parametros.put(rota.parametros().get(i), m.group(i + 1));
+            }
+            Object resultado = rota.handler().tratar(new Requisicao(troca, parametros));
+            return resultado instanceof Resposta r ? r : new Resposta(200, JSON, resultado);
+        }
+        throw caminhoExiste ? new ApiException(405, "Método não permitido.") : new ApiException(404, "Rota não encontrada.");
+    }
+
+    private static void enviar(HttpExchange troca, Resposta resposta) throws IOException {
+        if (resposta.status() == 204) {
+            troca.sendResponseHeaders(204, -1);
+            return;
+        }
+        byte[] corpo = (resposta.corpo() instanceof String texto && !resposta.tipo().startsWith("application/json")
+                ? texto : Json.write(resposta.corpo())).getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", resposta.tipo());
+        troca.sendResponseHeaders(resposta.status(), corpo.length);
+        try (OutputStream out = troca.getResponseBody()) {
+            out.write(corpo);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object tratar(Requisicao requisicao);
+    }
+
+    private record Rota(String metodo, Pattern padrao, List<String> parametros, Handler handler) {
+    }
+
+    private record Resposta(int status, String tipo, Object corpo) {
+
+        static final Resposta SEM_CONTEUDO = new Resposta(204, JSON, null);
+
+        Resposta(int status, Object corpo) {
+            this(status, JSON, corpo);
+        }
+
+        static Resposta erro(int status, String mensagem) {
+            return new Resposta(status, JSON, Map.of("erro", mensagem == null ? "" : mensagem));
+        }
+    }
+
+    /**
+     * Uma requisição em tratamento: parâmetros do caminho, corpo JSON (lido sob demanda) e sessão.
+     */
+    private final class Requisicao {
+
+        private final HttpExchange troca;
+        private final Map<String, String> parametros;
+        private Map<String, Object> corpo;
+        private Participante usuario;
+
+        Requisicao(HttpExchange troca, Map<String, String> parametros) {
+            this.troca = troca;
+            this.parametros = parametros;
+        }
+
+        String parametro(String nome) {
+            return parametros.get(nome);
+        }
+
+        // Parâmetro da query string (?nome=valor), decodificado; null se ausente.
+        String consulta(String nome) {
+            String query = troca.getRequestURI().getRawQuery();
+            if (query == null) {
+                return null;
+            }
+            for (String par : query.split("&")) {
+                int igual = par.indexOf('=');
+                String chave = URLDecoder.decode(igual < 0 ? par : par.substring(0, igual), StandardCharsets.UTF_8);
+                if (chave.equals(nome)) {
+                    return igual < 0 ? "" : URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+                }
+            }
+            return null;
+        }
+
+        int consultaInteira(String nome, int padrao) {
+            String valor = consulta(nome);
+            if (valor == null) {
+                return padrao;
+            }
+            try {
+                return Integer.parseInt(valor);
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Parâmetro '" + nome + "' deve ser um número inteiro.");
+            }
+        }
+
+        // O parâmetro "limite" das listagens paginadas.
+        int limite() {
+            int limite = consultaInteira("limite", LIMITE_PADRAO);
+            if (limite > LIMITE_MAXIMO) {
+                throw new ApiException(400, "Parâmetro 'limite' não pode passar de " + LIMITE_MAXIMO + ".");
+            }
+            return limite;
+        }
+
+        LocalDate consultaData(String nome) {
+            String valor = consulta(nome);
+            try {
+                return valor == null ? null : LocalDate.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new ApiException(400, "Parâmetro '" + nome + "' deve ser uma data no formato yyyy-MM-dd.");
+            }
+        }
+
+        String token() {
+            String cabecalho = troca.getRequestHeaders().getFirst("Authorization");
+            if (cabecalho == null || !cabecalho.regionMatches(true, 0, "Bearer ", 0, 7)) {
+                return null;
+            }
+            return cabecalho.substring(7).trim();
+        }
+
+        Uid usuarioId() {
+            return sessoes.resolver(token()).orElseThrow(() -> new ApiException(401, "Sessão ausente ou expirada."));
+        }
+
+        Participante usuario() {
+            if (usuario == null) {
+                Uid id = usuarioId();
+                usuario = facade.getParticipanteById(id.toString())
+                        .orElseThrow(() -> new ApiException(401, "Participante da sessão não existe mais."));
+            }
+            return usuario;
+        }
+
+        Map<String, Object> corpo() {
+            if (corpo == null) {
+                byte[] bytes;
+                try (InputStream in = troca.getRequestBody()) {
+                    bytes = in.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+                } catch (IOException e) {
+                    throw new ApiException(400, "Falha ao ler o corpo da requisição.");
+                }
+                if (bytes.length > TAMANHO_MAXIMO_CORPO) {
+                    throw new ApiException(413, "Corpo da requisição muito grande.");
+                }
+                String texto = new String(bytes, StandardCharsets.UTF_8);
+                if (texto.isBlank()) {
+                    corpo = Map.of();
+                } else if (Json.parse(texto) instanceof Map<?, ?> mapa) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> objeto = (Map<String, Object>) mapa;
+                    corpo = objeto;
+                } else {
+                    throw new ApiException(400, "O corpo da requisição deve ser um objeto JSON.");
+                }
+            }
+            return corpo;
+        }
+
+        String texto(String campo) {
+            String valor = textoOpcional(campo);
+            if (valor == null) {
+                throw new ApiException(400, "Campo '" + campo + "' é obrigatório.");
+            }
+            return valor;
+        }
+
+        String textoOpcional(String campo) {
+            Object valor = corpo().get(campo);
+            if (valor == null || valor instanceof String) {
+                return (String) valor;
+            }
+            throw new ApiException(400, "Campo '" + campo + "' deve ser texto.");
+        }
+
+        long inteiro(String campo) {
+            Long valor = inteiroOpcional(campo);
+            if (valor == null) {
+                throw new ApiException(400, "Campo '" + campo + "' é obrigatório.");
+            }
+            return valor;
+        }
+
+        Long inteiroOpcional(String campo) {
+            Object valor = corpo().get(campo);
+            if (valor == null || valor instanceof Long) {
+                return (Long) valor;
+            }
+            throw new ApiException(400, "Campo '" + campo + "' deve ser um número inteiro.");
+        }
+
+        double numero(String campo) {
+            Double valor = numeroOpcional(campo);
+            if (valor == null) {
+                throw new ApiException(400, "Campo '" + campo + "' deve ser um número.");
+            }
+            return valor;
+        }
+
+        Double numeroOpcional(String campo) {
+            Object valor = corpo().get(campo);
+            if (valor == null || valor instanceof Number) {
+                return valor == null ? null : ((Number) valor).doubleValue();
+            }
+            throw new ApiException(400, "Campo '" + campo + "' deve ser um número.");
+        }
+
+        LocalDate data(String campo) {
+            LocalDate valor = dataOpcional(campo);
+            if (valor == null) {
+                throw new ApiException(400, "Campo '" + campo + "' é obrigatório.");
+            }
+            return valor;
+        }
+
+        LocalDate dataOpcional(String campo) {
+            String valor = textoOpcional(campo);
+            try {
+                return valor == null ? null : LocalDate.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new ApiException(400, "Campo '" + campo + "' deve ser uma data no formato yyyy-MM-dd.");
+            }
+        }
+
+        List<String> listaDeTextos(String campo) {
+            if (!(corpo().get(campo) instanceof List<?> lista)) {
+                throw new ApiException(400, "Campo '" + campo + "' deve ser uma lista.");
+            }
+            List<String> textos = new ArrayList<>(lista.size());
+            for (Object item : lista) {
+                if (!(item instanceof String s)) {
+                    throw new ApiException(400, "Campo '" + campo + "' deve conter apenas textos.");
+                }
+                textos.add(s);
+            }
+            return textos;
+        }
+    }
+}
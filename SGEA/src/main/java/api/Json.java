@@ -0,0 +1,296 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e escrita de JSON, no mínimo que a API precisa (o projeto não tem dependências externas).
+ * <p>
+ * Na leitura, objetos viram {@code Map<String, Object>} (na ordem do texto), arrays viram {@code List},
+ * números viram {@code Long} ou {@code Double}. Na escrita, além desses tipos, datas e enums viram texto
+ * e qualquer outro objeto é escrito pelo seu {@code toString()} (ex.: os IDs).
+ */
+public final class Json {
+
+    private final String texto;
+    private int pos;
+
+    private Json(String texto) {
+        this.texto = texto;
+    }
+
+    /**
+     * Lê um documento JSON.
+     * @param texto O documento.
+     * @return O valor lido.
+     * @throws IllegalArgumentException se o texto não for JSON válido.
+     */
+    public static Object parse(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("JSON não pode ser nulo.");
+        }
+        Json leitor = new Json(texto);
+        leitor.espacos();
+        Object valor = leitor.valor(0);
+        leitor.espacos();
+        if (leitor.pos != texto.length()) {
+            throw leitor.erro("conteúdo após o fim do documento");
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve um valor como JSON.
+     * @param valor O valor (mapas, coleções, textos, números, booleanos, datas, enums ou null).
+     * @return O documento JSON.
+     */
+    public static String write(Object valor) {
+        StringBuilder sb = new StringBuilder();
+        escrever(sb, valor);
+        return sb.toString();
+    }
+
+    // --- Leitura ---
+
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private Object valor(int profundidade) {
+        if (profundidade > PROFUNDIDADE_MAXIMA) {
+            throw erro("aninhamento excessivo");
+        }
+        if (pos >= texto.length()) {
+            throw erro("fim inesperado");
+        }
+        char c = texto.charAt(pos);
+        switch (c) {
+            case '{':
+                return objeto(profundidade);
+            case '[':
+                return array(profundidade);
+            case '"':
+                return string();
+            case 't':
+                return literal("true", Boolean.TRUE);
+            case 'f':
+                return literal("false", Boolean.FALSE);
+            case 'n':
+                return literal("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return numero();
+                }
+                throw erro("caractere inesperado '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> objeto(int profundidade) {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        pos++; // {
+        espacos();
+        if (consumir('}')) {
+            return mapa;
+        }
+        do {
+            espacos();
+            if (pos >= texto.length() || texto.charAt(pos) != '"') {
+                throw erro("chave esperada");
+            }
+            String chave = string();
+            espacos();
+            if (!consumir(':')) {
+                throw erro("':' esperado");
+            }
+            espacos();
+            mapa.put(chave, valor(profundidade + 1));
+            espacos();
+        } while (consumir(','));
+        if (!consumir('}')) {
+            throw erro("'}' esperado");
+        }
+        return mapa;
+    }
+
+    private List<Object> array(int profundidade) {
+        List<Object> lista = new ArrayList<>();
+        pos++; // [
+        espacos();
+        if (consumir(']')) {
+            return lista;
+        }
+        do {
+            espacos();
+            lista.add(valor(profundidade + 1));
+            espacos();
+        } while (consumir(','));
+        if (!consumir(']')) {
+            throw erro("']' esperado");
+        }
+        return lista;
+    }
+
+    private String string() {
+        pos++; // "
+        StringBuilder sb = new StringBuilder();
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c == '\\') {
+                if (pos >= texto.length()) {
+                    break;
+                }
+                char e = texto.charAt(pos++);
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > texto.length()) {
+                            throw erro("escape unicode incompleto");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw erro("escape unicode inválido");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw erro("escape inválido '\\" + e + "'");
+                }
+            } else if (c < 0x20) {
+                throw erro("caractere de controle em texto");
+            } else {
+                sb.append(c);
+            }
+        }
+        throw erro("texto não terminado");
+    }
+
+    private Object numero() {
+        int inicio = pos;
+        if (texto.charAt(pos) == '-') {
+            pos++;
+        }
+        boolean decimal = false;
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                pos++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                decimal = true;
+                pos++;
+            } else {
+                break;
+            }
+        }
+        String numero = texto.substring(inicio, pos);
+        try {
+            return decimal ? (Object) Double.parseDouble(numero) : (Object) Long.parseLong(numero);
+        } catch (NumberFormatException e) {
+            throw erro("número inválido '" + numero + "'");
+        }
+    }
+
+    private Object literal(String palavra, Object valor) {
+        if (!texto.startsWith(palavra, pos)) {
+            throw erro("literal inválido");
+        }
+        pos += palavra.length();
+        return valor;
+    }
+
+    private boolean consumir(char c) {
+        if (pos < texto.length() && texto.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void espacos() {
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException erro(String motivo) {
+        return new IllegalArgumentException("JSON inválido na posição " + pos + ": " + motivo + ".");
+    }
+
+    // --- Escrita ---
+
+    private static void escrever(StringBuilder sb, Object valor) {
+        if (valor == null) {
+            sb.append("null");
+        } else if (valor instanceof Map<?, ?> mapa) {
+            sb.append('{');
+            boolean primeiro = true;
+            for (Map.Entry<?, ?> e : mapa.entrySet()) {
+                if (!primeiro) {
+                    sb.append(',');
+                }
+                primeiro = false;
+                escreverTexto(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                escrever(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (valor instanceof Iterable<?> lista) {
+            sb.append('[');
+            boolean primeiro = true;
+            for (Object item : lista) {
+                if (!primeiro) {
+                    sb.append(',');
+                }
+                primeiro = false;
+                escrever(sb, item);
+            }
+            sb.append(']');
+        } else if (valor instanceof Boolean || valor instanceof Integer || valor instanceof Long) {
+            sb.append(valor);
+        } else if (valor instanceof Number numero) {
+            double d = numero.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                sb.append("null");
+            } else {
+                sb.append(d);
+            }
+        } else if (valor instanceof Enum<?> e) {
+            escreverTexto(sb, e.name());
+        } else {
+            escreverTexto(sb, valor.toString());
+        }
+    }
+
+    private static void escreverTexto(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
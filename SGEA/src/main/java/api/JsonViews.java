@@ -0,0 +1,175 @@
+package api;
+
+import controller.EstatisticasEvento;
+import controller.ResultadoDecisao;
+import controller.ResultadoInscricao;
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.ResumoNotas;
+import domain.Trabalho;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import repository.Pagina;
+
+/**
+ * Representações JSON das entidades. As referências a outras entidades vão só com ID e nome, para a
+ * resposta não puxar o grafo inteiro (um evento não lista as inscrições, por exemplo).
+ * <p>
+ * Eventos e certificados também saem em rotas públicas, então neles o organizador e o participante vão
+ * só com o nome: o ID de um participante é o que identifica a sessão dele no login.
+ */
+final class JsonViews {
+
+    private JsonViews() {
+    }
+
+    static Map<String, Object> participante(Participante p) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", p.getId());
+        m.put("nomeCompleto", p.getNomeCompleto());
+        m.put("email", p.getEmail());
+        m.put("instituicao", p.getInstituicao());
+        m.put("tipoPerfil", p.getTipoPerfil());
+        return m;
+    }
+
+    static Map<String, Object> evento(Evento e) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", e.getId());
+        m.put("nome", e.getNome());
+        m.put("descricao", e.getDescricao());
+        m.put("dataInicio", e.getDataInicio());
+        m.put("dataFim", e.getDataFim());
+        m.put("local", e.getLocal());
+        m.put("capacidadeMaxima", e.getCapacidadeMaxima());
+        m.put("inscricoesAtivas", e.getTotalInscricoesAtivas());
+        m.put("listaEspera", e.getTamanhoListaEspera());
+        m.put("periodoSubmissaoInicio", e.getPeriodoSubmissaoInicio());
+        m.put("periodoSubmissaoFim", e.getPeriodoSubmissaoFim());
+        m.put("organizador", apenasNome(e.getOrganizadorResponsavel().getNomeCompleto()));
+        return m;
+    }
+
+    static Map<String, Object> inscricao(Inscricao i) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", i.getId());
+        m.put("dataInscricao", i.getDataInscricao());
+        m.put("status", i.getStatus());
+        m.put("presencaConfirmada", i.isPresencaConfirmada());
+        m.put("evento", resumo(i.getEvento().getId(), i.getEvento().getNome()));
+        m.put("participante", resumo(i.getParticipante().getId(), i.getParticipante().getNomeCompleto()));
+        return m;
+    }
+
+    static Map<String, Object> trabalho(Trabalho t) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", t.getId());
+        m.put("titulo", t.getTitulo());
+        m.put("arquivo", t.getArquivo());
+        m.put("status", t.getStatus());
+        m.put("dataSubmissao", t.getDataSubmissao());
+        m.put("evento", resumo(t.getEvento().getId(), t.getEvento().getNome()));
+        m.put("autor", resumo(t.getAutor().getId(), t.getAutor().getNomeCompleto()));
+        m.put("notas", notas(t.getResumoNotas()));
+        return m;
+    }
+
+    static Map<String, Object> notas(ResumoNotas r) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("avaliacoes", r.quantidade());
+        boolean vazio = r.quantidade() == 0;
+        m.put("media", vazio ? null : r.getMedia().getAsDouble());
+        m.put("desvioPadrao", vazio ? null : r.getDesvioPadrao().getAsDouble());
+        m.put("minima", vazio ? null : r.minima());
+        m.put("maxima", vazio ? null : r.maxima());
+        return m;
+    }
+
+    static Map<String, Object> avaliacao(Avaliacao a) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", a.getId());
+        m.put("nota", a.getNota());
+        m.put("comentarios", a.getComentarios());
+        m.put("dataAvaliacao", a.getDataAvaliacao());
+        m.put("trabalho", resumo(a.getTrabalho().getId(), a.getTrabalho().getTitulo()));
+        m.put("avaliador", resumo(a.getAvaliador().getId(), a.getAvaliador().getNomeCompleto()));
+        return m;
+    }
+
+    static Map<String, Object> certificado(Certificado c) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", c.getId());
+        m.put("codigoValidacao", c.getCodigoValidacao());
+        m.put("tipo", c.getTipo());
+        m.put("dataEmissao", c.getDataEmissao());
+        m.put("participante", apenasNome(c.getParticipante().getNomeCompleto()));
+        m.put("evento", resumo(c.getEvento().getId(), c.getEvento().getNome()));
+        if (c.getTrabalho() != null) {
+            m.put("trabalho", resumo(c.getTrabalho().getId(), c.getTrabalho().getTitulo()));
+        }
+        return m;
+    }
+
+    static Map<String, Object> resultadoInscricao(ResultadoInscricao r) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("participanteId", r.participanteId());
+        if (r.isSucesso()) {
+            m.put("inscricao", inscricao(r.inscricao()));
+        } else {
+            m.put("erro", r.erro());
+        }
+        return m;
+    }
+
+    static Map<String, Object> estatisticas(EstatisticasEvento e) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("eventoId", e.eventoId());
+        m.put("inscricoesAtivas", e.inscricoesAtivas());
+        m.put("inscricoesCanceladas", e.inscricoesCanceladas());
+        m.put("listaEspera", e.listaEspera());
+        m.put("presencasConfirmadas", e.presencasConfirmadas());
+        m.put("taxaPresenca", e.getTaxaPresenca());
+        m.put("trabalhosPorStatus", e.trabalhosPorStatus());
+        m.put("avaliacoes", e.avaliacoes());
+        m.put("notaMedia", e.getNotaMedia().isPresent() ? e.getNotaMedia().getAsDouble() : null);
+        m.put("certificadosPorTipo", e.certificadosPorTipo());
+        return m;
+    }
+
+    static Map<String, Object> resultadoDecisao(ResultadoDecisao r) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("aprovados", lista(r.aprovados(), JsonViews::trabalho));
+        m.put("reprovados", lista(r.reprovados(), JsonViews::trabalho));
+        m.put("aguardandoAvaliacoes", r.aguardandoAvaliacoes());
+        return m;
+    }
+
+    static <T> List<Map<String, Object>> lista(List<T> itens, Function<T, Map<String, Object>> view) {
+        return itens.stream().map(view).toList();
+    }
+
+    static <T> Map<String, Object> pagina(Pagina<T> pagina, Function<T, Map<String, Object>> view) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("itens", lista(pagina.itens(), view));
+        m.put("proximoCursor", pagina.proximoCursor());
+        return m;
+    }
+
+    private static Map<String, Object> apenasNome(String nome) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("nome", nome);
+        return m;
+    }
+
+    private static Map<String, Object> resumo(Object id, String nome) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", id);
+        m.put("nome", nome);
+        return m;
+    }
+}
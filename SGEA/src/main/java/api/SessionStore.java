@@ -0,0 +1,112 @@
+package api;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import repository.Uid;
+
+/**
+ * Sessões da API: cada login gera um token opaco e aleatório (256 bits), enviado pelo cliente no
+ * cabeçalho {@code Authorization: Bearer <token>}. A sessão guarda só o ID do participante; o perfil
+ * é relido a cada requisição, para alterações valerem na hora.
+ * <p>
+ * A expiração é deslizante: cada uso renova o prazo. Sessões vencidas são descartadas ao serem usadas
+ * e, de tempos em tempos, numa varredura feita pelo próprio login.
+ */
+public final class SessionStore {
+
+    private static final int VARREDURA_A_CADA_LOGINS = 1024;
+
+    private final Map<String, Sessao> sessoes = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long validadeNanos;
+    private int loginsDesdeVarredura;
+
+    /**
+     * @param validade Por quanto tempo uma sessão sem uso continua válida.
+     */
+    public SessionStore(Duration validade) {
+        if (validade == null || validade.isNegative() || validade.isZero()) {
+            throw new IllegalArgumentException("Validade da sessão deve ser positiva.");
+        }
+        this.validadeNanos = validade.toNanos();
+    }
+
+    /**
+     * Abre uma sessão para o participante.
+     * @param participanteId O ID do participante autenticado.
+     * @return O token da sessão.
+     */
+    public String abrir(Uid participanteId) {
+        if (participanteId == null) {
+            throw new IllegalArgumentException("ID do participante não pode ser nulo.");
+        }
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessoes.put(token, new Sessao(participanteId, System.nanoTime() + validadeNanos));
+        varrerSeNecessario();
+        return token;
+    }
+
+    /**
+     * Resolve um token, renovando a validade da sessão.
+     * @param token O token recebido.
+     * @return O ID do participante da sessão, ou vazio se o token for desconhecido ou estiver vencido.
+     */
+    public Optional<Uid> resolver(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Sessao sessao = sessoes.get(token);
+        if (sessao == null) {
+            return Optional.empty();
+        }
+        long agora = System.nanoTime();
+        if (agora - sessao.expiraEm > 0) {
+            sessoes.remove(token, sessao);
+            return Optional.empty();
+        }
+        sessao.expiraEm = agora + validadeNanos;
+        return Optional.of(sessao.participanteId);
+    }
+
+    /**
+     * Encerra a sessão do token, se existir.
+     */
+    public void encerrar(String token) {
+        if (token != null) {
+            sessoes.remove(token);
+        }
+    }
+
+    public int size() {
+        return sessoes.size();
+    }
+
+    private void varrerSeNecessario() {
+        synchronized (this) {
+            if (++loginsDesdeVarredura < VARREDURA_A_CADA_LOGINS) {
+                return;
+            }
+            loginsDesdeVarredura = 0;
+        }
+        long agora = System.nanoTime();
+        sessoes.values().removeIf(s -> agora - s.expiraEm > 0);
+    }
+
+    private static final class Sessao {
+
+        final Uid participanteId;
+        // Renovada sem trava: duas requisições simultâneas gravam praticamente o mesmo instante.
+        volatile long expiraEm;
+
+        Sessao(Uid participanteId, long expiraEm) {
+            this.participanteId = participanteId;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
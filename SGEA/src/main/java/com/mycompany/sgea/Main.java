@@ -1,5 +1,10 @@
 package com.mycompany.sgea;
 
+import api.ApiServer;
+import controller.CriterioDecisao;
+import controller.EstatisticasEvento;
+import controller.ResultadoDecisao;
+import controller.ResultadoEmissao;
 import domain.Avaliacao;
 import domain.Certificado;
 import domain.Evento;
@@ -9,14 +14,20 @@ import domain.Trabalho;
 import domain.enums.StatusTrabalho;
 import domain.enums.TipoPerfil;
 import facade.SGEAFacade;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.stream.Collectors;
+import persistence.WalConfig;
+import repository.Pagina;
 
 /**
  *
@@ -24,15 +35,50 @@ import java.util.stream.Collectors;
  */
 public class Main {
 
-    private static final SGEAFacade facade = new SGEAFacade();
+    private static final SGEAFacade facade = criarFacade();
     private static final Scanner scanner = new Scanner(System.in);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE; // yyyy-MM-dd
+    private static final int BACKLOG_CONEXOES = 16_384;
+    private static final Duration VALIDADE_SESSAO = Duration.ofHours(8);
+    private static final int EVENTOS_POR_PAGINA = 10;
 
+    // Só o modo console usa: a API guarda o usuário de cada requisição na sessão do token.
     private static Participante participanteLogado = null;
 
-    public static void main(String[] args) {
-        seedInitialData(); // Para facilitar testes
+    /**
+     * Roda o menu interativo no terminal. Com {@code --api}, sobe em vez dele a API HTTP (porta em
+     * -Dsgea.porta, padrão 8080), só na interface de loopback: o login da API é pelo ID do participante,
+     * sem senha, como no console, então ela não pode ficar exposta na rede.
+     */
+    public static void main(String[] args) throws IOException {
+        if (facade.percorrerTodosParticipantes().findAny().isEmpty()) {
+            seedInitialData(); // Para facilitar testes
+        }
+        if (List.of(args).contains("--api")) {
+            executarServidor();
+        } else {
+            executarConsole();
+        }
+    }
+
+    private static void executarServidor() throws IOException {
+        int porta = Integer.getInteger("sgea.porta", 8080);
+        InetSocketAddress endereco = new InetSocketAddress(InetAddress.getLoopbackAddress(), porta);
+        ApiServer servidor = new ApiServer(facade, endereco, BACKLOG_CONEXOES, VALIDADE_SESSAO);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.close();
+            try {
+                facade.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao gravar os dados: " + e.getMessage());
+            }
+        }, "sgea-shutdown"));
+        servidor.start();
+        System.out.println("SGEA - API HTTP ouvindo em " + endereco.getHostString() + ":" + servidor.getPort()
+                + " (Ctrl+C encerra).");
+    }
 
+    private static void executarConsole() {
         int choice;
         do {
             exibirMenuPrincipal();
@@ -47,6 +93,24 @@ public class Main {
 
         System.out.println("FIM!");
         scanner.close();
+        try {
+            facade.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar os dados: " + e.getMessage());
+        }
+    }
+
+    // Com -Dsgea.dados=<diretório>, os dados são persistidos em disco; sem ela, o sistema roda apenas em memória.
+    private static SGEAFacade criarFacade() {
+        String diretorio = System.getProperty("sgea.dados");
+        if (diretorio == null || diretorio.isBlank()) {
+            return new SGEAFacade();
+        }
+        try {
+            return new SGEAFacade(WalConfig.padrao(Path.of(diretorio)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível abrir os dados em " + diretorio + ": " + e.getMessage(), e);
+        }
     }
 
     private static void exibirMenuPrincipal() {
@@ -220,11 +284,15 @@ public class Main {
     private static void visualizarEventosDisponiveisPublico() {
         System.out.println("\n--- Eventos Disponíveis ---");
         try {
-            List<Evento> eventos = facade.listarEventosDisponiveisParaInscricao();
-            if (eventos.isEmpty()) {
+            Pagina<Evento> pagina = facade.paginarEventosDisponiveisParaInscricao(null, EVENTOS_POR_PAGINA);
+            if (pagina.itens().isEmpty()) {
                 System.out.println("Nenhum evento disponível no momento.");
-            } else {
-                eventos.forEach(e -> System.out.println(e));
+                return;
+            }
+            pagina.itens().forEach(e -> System.out.println(e));
+            while (pagina.temProxima() && lerString("Ver mais eventos? (s/N): ").equalsIgnoreCase("s")) {
+                pagina = facade.paginarEventosDisponiveisParaInscricao(pagina.proximoCursor(), EVENTOS_POR_PAGINA);
+                pagina.itens().forEach(e -> System.out.println(e));
             }
         } catch (Exception e) {
             System.err.println("Erro ao listar eventos: " + e.getMessage());
@@ -260,10 +328,26 @@ public class Main {
         visualizarEventosDisponiveisPublico();
         String eventoId = lerString("ID do Evento para inscrição: ");
         try {
-            Inscricao insc = facade.inscreverEmEvento(participanteLogado.getId(), eventoId);
+            Inscricao insc = facade.inscreverEmEvento(participanteLogado.getId().toString(), eventoId);
             System.out.println("Inscrição realizada com sucesso! ID da Inscrição: " + insc.getId());
         } catch (Exception e) {
             System.err.println("Erro na inscrição: " + e.getMessage());
+            if (facade.getEventoById(eventoId).map(Evento::isLotado).orElse(false)) {
+                entrarListaEspera(eventoId);
+            }
+        }
+    }
+
+    private static void entrarListaEspera(String eventoId) {
+        String resposta = lerString("Deseja entrar na lista de espera do evento? (s/n): ");
+        if (!resposta.trim().equalsIgnoreCase("s")) {
+            return;
+        }
+        try {
+            int posicao = facade.entrarListaEspera(participanteLogado.getId().toString(), eventoId);
+            System.out.println("Você entrou na lista de espera (posição " + posicao + "). A inscrição será feita automaticamente quando uma vaga for liberada.");
+        } catch (Exception e) {
+            System.err.println("Erro ao entrar na lista de espera: " + e.getMessage());
         }
     }
 
@@ -271,7 +355,7 @@ public class Main {
     private static void verMinhasInscricoes() {
         System.out.println("\n--- Minhas Inscrições ---");
         try {
-            List<Inscricao> inscricoes = facade.listarInscricoesPorParticipante(participanteLogado.getId());
+            List<Inscricao> inscricoes = facade.listarInscricoesPorParticipante(participanteLogado.getId().toString());
             if (inscricoes.isEmpty()) {
                 System.out.println("Você não possui inscrições.");
             } else {
@@ -302,7 +386,7 @@ public class Main {
     private static void submeterTrabalho() {
         System.out.println("\n--- Submeter Trabalho ---");
         try {
-            List<Inscricao> inscricoes = facade.listarInscricoesPorParticipante(participanteLogado.getId());
+            List<Inscricao> inscricoes = facade.listarInscricoesPorParticipante(participanteLogado.getId().toString());
             if (inscricoes.isEmpty()) {
                 System.out.println("Você não está inscrito em nenhum evento. Inscreva-se em um evento primeiro para submeter um trabalho.");
                 return;
@@ -315,7 +399,7 @@ public class Main {
         String eventoId = lerString("ID do Evento para submissão: ");
         String titulo = lerString("Título do Trabalho: ");
         String arquivo = lerString("Nome do Arquivo: ");
-        String autor = participanteLogado.getId();
+        String autor = participanteLogado.getId().toString();
 
         try {
             Trabalho t = facade.submeterTrabalho(autor, eventoId, titulo, arquivo);
@@ -329,7 +413,7 @@ public class Main {
     private static void verMeusTrabalhos() {
         System.out.println("\n--- Meus Trabalhos Submetidos ---");
         try {
-            List<Trabalho> trabalhos = facade.listarTrabalhosPorAutor(participanteLogado.getId());
+            List<Trabalho> trabalhos = facade.listarTrabalhosPorAutor(participanteLogado.getId().toString());
             if (trabalhos.isEmpty()) {
                 System.out.println("Você não submeteu trabalhos.");
             } else {
@@ -344,7 +428,7 @@ public class Main {
     private static void verMeusCertificados() {
         System.out.println("\n--- Meus Certificados ---");
         try {
-            List<Certificado> certificados = facade.listarCertificadosPorParticipante(participanteLogado.getId());
+            List<Certificado> certificados = facade.listarCertificadosPorParticipante(participanteLogado.getId().toString());
             if (certificados.isEmpty()) {
                 System.out.println("Você não possui certificados.");
             } else {
@@ -377,7 +461,7 @@ public class Main {
         }
 
         try {
-            Evento evento = facade.cadastrarEvento(nome, desc, dataInicio, dataFim, local, capacidade, participanteLogado.getId(), subInicio, subFim);
+            Evento evento = facade.cadastrarEvento(nome, desc, dataInicio, dataFim, local, capacidade, participanteLogado.getId().toString(), subInicio, subFim);
             System.out.println("Evento '" + evento.getNome() + "' cadastrado com sucesso! ID: " + evento.getId());
         } catch (Exception e) {
             System.err.println("Erro ao cadastrar evento: " + e.getMessage());
@@ -386,7 +470,7 @@ public class Main {
 
     private static void gerenciarMeusEventos() {
         System.out.println("\n--- Gerenciar Meus Eventos ---");
-        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId());
+        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId().toString());
         if (meusEventos.isEmpty()) {
             System.out.println("Você não organizou nenhum evento.");
             return;
@@ -394,7 +478,7 @@ public class Main {
         System.out.println("Seus Eventos:");
         meusEventos.forEach(e -> System.out.println(e.getId() + " - " + e.getNome()));
         String eventoId = lerString("ID do Evento para gerenciar: ");
-        Optional<Evento> optEvento = meusEventos.stream().filter(e -> e.getId().equals(eventoId)).findFirst();
+        Optional<Evento> optEvento = meusEventos.stream().filter(e -> e.getId().toString().equals(eventoId)).findFirst();
 
         if (optEvento.isEmpty()) {
             System.out.println("Evento não encontrado ou não pertence a você.");
@@ -405,6 +489,8 @@ public class Main {
         System.out.println("1. Visualizar Inscritos");
         System.out.println("2. Confirmar Presença de Participante");
         System.out.println("3. Editar Detalhes do Evento");
+        System.out.println("4. Ver Estatísticas do Evento");
+        System.out.println("5. Decidir Trabalhos pelas Notas");
         System.out.println("0. Voltar");
         int escolha = lerInteiro("Sua escolha: ");
 
@@ -429,7 +515,7 @@ public class Main {
                         inscricoes.forEach(i -> System.out.println(i.getParticipante().getNomeCompleto() + " (ID Inscrição: " + i.getId() + ", Status: " + i.getStatus() + (i.isPresencaConfirmada() ? ", PRESENTE" : "") + ")"));
                     }
                     String inscricaoId = lerString("ID da Inscrição para confirmar presença: ");
-                    facade.confirmarPresenca(inscricaoId, participanteLogado.getId());
+                    facade.confirmarPresenca(inscricaoId, participanteLogado.getId().toString());
                     System.out.println("Presença confirmada.");
                     break;
                 case 3:
@@ -446,12 +532,27 @@ public class Main {
                         novoPeriodoSubmissaoFim = lerDataOpcional("Nova Data de Fim da Submissão (yyyy-MM-dd): ");
                     }
 
-                    facade.atualizarDetalhesEvento(eventoId, participanteLogado.getId(), novoNome, novaDesc,
+                    facade.atualizarDetalhesEvento(eventoId, participanteLogado.getId().toString(), novoNome, novaDesc,
                             novaDataInicio, novaDataFim, novoLocal, novaCapacidade);
-                    facade.definirPeriodoSubmissaoTrabalhos(eventoId, participanteLogado.getId(),
+                    facade.definirPeriodoSubmissaoTrabalhos(eventoId, participanteLogado.getId().toString(),
                             novoPeriodoSubmissaoInicio, novoPeriodoSubmissaoFim);
                     System.out.println("Detalhes do evento e período de submissão atualizados.");
                     break;
+                case 4:
+                    exibirEstatisticas(facade.obterEstatisticasEvento(eventoId));
+                    break;
+                case 5:
+                    CriterioDecisao padrao = CriterioDecisao.padrao();
+                    Integer minimo = lerInteiroOpcional("Mínimo de avaliações (" + padrao.minimoAvaliacoes() + "): ");
+                    String notaMinima = lerStringOpcional("Média mínima para aprovação (" + padrao.notaMinimaAprovacao() + "): ");
+                    CriterioDecisao criterio = new CriterioDecisao(minimo == null ? padrao.minimoAvaliacoes() : minimo,
+                            notaMinima == null ? padrao.notaMinimaAprovacao() : Double.parseDouble(notaMinima));
+                    ResultadoDecisao decisao = facade.decidirTrabalhosDoEvento(eventoId, participanteLogado.getId().toString(), criterio);
+                    decisao.aprovados().forEach(t -> System.out.printf("APROVADO: %s (média %.2f)%n", t.getTitulo(), t.getResumoNotas().getMedia().getAsDouble()));
+                    decisao.reprovados().forEach(t -> System.out.printf("REPROVADO: %s (média %.2f)%n", t.getTitulo(), t.getResumoNotas().getMedia().getAsDouble()));
+                    System.out.println(decisao.getTotalDecididos() + " trabalhos decididos; " + decisao.aguardandoAvaliacoes()
+                            + " ainda aguardam avaliações.");
+                    break;
                 case 0:
                     break;
                 default:
@@ -466,7 +567,7 @@ public class Main {
     private static void designarAvaliador() {
         System.out.println("\n--- Designar Avaliador para Trabalho ---");
         // Listar eventos do organizador
-        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId());
+        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId().toString());
         if (meusEventos.isEmpty()) {
             System.out.println("Nenhum evento seu para gerenciar trabalhos.");
             return;
@@ -474,7 +575,7 @@ public class Main {
         meusEventos.forEach(e -> System.out.println(e.getId() + " - " + e.getNome()));
         String eventoId = lerString("ID do Evento do trabalho: ");
 
-        List<Trabalho> trabalhos = facade.listarTrabalhosPorEvento(eventoId).stream()
+        List<Trabalho> trabalhos = facade.percorrerTrabalhosPorEvento(eventoId)
                 .filter(t -> t.getStatus() == StatusTrabalho.SUBMETIDO || t.getStatus() == StatusTrabalho.EM_AVALIACAO)
                 .collect(Collectors.toList());
 
@@ -487,23 +588,35 @@ public class Main {
         String trabalhoId = lerString("ID do Trabalho: ");
 
         System.out.println("Avaliadores disponíveis:");
-        facade.listarTodosParticipantes().stream()
+        facade.percorrerTodosParticipantes()
                 .filter(p -> p.getTipoPerfil() == TipoPerfil.AVALIADOR)
                 .forEach(p -> System.out.println(p.getId() + " - " + p.getNomeCompleto()));
         String avaliadorId = lerString("ID do Avaliador: ");
 
         try {
-            facade.designarAvaliadorParaTrabalho(trabalhoId, avaliadorId, participanteLogado.getId());
+            facade.designarAvaliadorParaTrabalho(trabalhoId, avaliadorId, participanteLogado.getId().toString());
             System.out.println("Avaliador designado com sucesso!");
         } catch (Exception e) {
             System.err.println("Erro ao designar avaliador: " + e.getMessage());
         }
     }
 
+    private static void exibirEstatisticas(EstatisticasEvento est) {
+        System.out.println("Inscrições ativas: " + est.inscricoesAtivas() + " (canceladas: " + est.inscricoesCanceladas()
+                + ", lista de espera: " + est.listaEspera() + ")");
+        System.out.printf("Presenças confirmadas: %d (%.1f%%)%n", est.presencasConfirmadas(), est.getTaxaPresenca() * 100);
+        System.out.println("Trabalhos: " + est.getTotalTrabalhos());
+        est.trabalhosPorStatus().forEach((status, total) -> System.out.println("  " + status + ": " + total));
+        System.out.println("Avaliações: " + est.avaliacoes() + (est.getNotaMedia().isPresent()
+                ? String.format(" (nota média %.2f)", est.getNotaMedia().getAsDouble()) : ""));
+        System.out.println("Certificados emitidos: " + est.getTotalCertificados());
+        est.certificadosPorTipo().forEach((tipo, total) -> System.out.println("  " + tipo + ": " + total));
+    }
+
     // UC15: Emitir Certificados
     private static void emitirCertificadosDoEvento() {
         System.out.println("\n--- Emitir Certificados do Evento ---");
-        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId());
+        List<Evento> meusEventos = facade.listarEventosPorOrganizador(participanteLogado.getId().toString());
         if (meusEventos.isEmpty()) {
             System.out.println("Nenhum evento seu para emitir certificados.");
             return;
@@ -513,13 +626,15 @@ public class Main {
 
         System.out.println("Emitindo certificados...");
         try {
-            List<Certificado> cParticipacao = facade.emitirCertificadosParticipacaoEvento(eventoId);
-            System.out.println(cParticipacao.size() + " certificados de participação emitidos/verificados.");
+            ResultadoEmissao cParticipacao = facade.emitirCertificadosParticipacaoEvento(eventoId);
+            System.out.println(cParticipacao.getTotalEmitidos() + " certificados de participação emitidos ("
+                    + cParticipacao.jaEmitidos() + " já existentes, " + String.format("%.0f", cParticipacao.getCertificadosPorSegundo()) + " cert/s).");
 
-            List<Certificado> cApresentacao = facade.emitirCertificadosApresentacaoTrabalhoEvento(eventoId);
-            System.out.println(cApresentacao.size() + " certificados de apresentação de trabalho emitidos/verificados.");
+            ResultadoEmissao cApresentacao = facade.emitirCertificadosApresentacaoTrabalhoEvento(eventoId);
+            System.out.println(cApresentacao.getTotalEmitidos() + " certificados de apresentação de trabalho emitidos ("
+                    + cApresentacao.jaEmitidos() + " já existentes, " + String.format("%.0f", cApresentacao.getCertificadosPorSegundo()) + " cert/s).");
 
-            Certificado cOrg = facade.emitirCertificadoOrganizadorEvento(eventoId, participanteLogado.getId());
+            Certificado cOrg = facade.emitirCertificadoOrganizadorEvento(eventoId, participanteLogado.getId().toString());
             System.out.println("Certificado de organização emitido para você (ID: " + cOrg.getId() + ")");
 
         } catch (Exception e) {
@@ -532,12 +647,8 @@ public class Main {
     private static void listarTrabalhosParaAvaliar() {
         System.out.println("\n--- Trabalhos Designados para Avaliação (Simplificado) ---");
         try {
-            List<Trabalho> todosTrabalhos = new ArrayList<>();
-            facade.listarTodosEventos().forEach(evento
-                    -> todosTrabalhos.addAll(facade.listarTrabalhosPorEvento(evento.getId()))
-            );
-
-            List<Trabalho> paraAvaliar = todosTrabalhos.stream()
+            List<Trabalho> paraAvaliar = facade.percorrerTodosEventos()
+                    .flatMap(evento -> facade.percorrerTrabalhosPorEvento(evento.getId().toString()))
                     .filter(t -> t.getStatus() == StatusTrabalho.EM_AVALIACAO).collect(Collectors.toList());
 
             if (paraAvaliar.isEmpty()) {
@@ -558,7 +669,7 @@ public class Main {
         double nota = lerDouble("Nota (0.0 - 10.0): ");
         String parecer = lerString("Parecer/Comentários: ");
         try {
-            Avaliacao aval = facade.registrarAvaliacao(trabalhoId, participanteLogado.getId(), nota, parecer);
+            Avaliacao aval = facade.registrarAvaliacao(trabalhoId, participanteLogado.getId().toString(), nota, parecer);
             System.out.println("Avaliação registrada com sucesso! ID da Avaliação: " + aval.getId());
         } catch (Exception e) {
             System.err.println("Erro ao registrar avaliação: " + e.getMessage());
@@ -698,7 +809,7 @@ public class Main {
                     LocalDate.now().plusDays(8),
                     "Auditório Principal IFNMG",
                     5,
-                    org.getId(),
+                    org.getId().toString(),
                     LocalDate.now().minusDays(1),
                     LocalDate.now().plusDays(7)
             );
@@ -711,7 +822,7 @@ public class Main {
                     LocalDate.now().plusDays(2),
                     "Sala de Conferências IFNMG",
                     8,
-                    org.getId(),
+                    org.getId().toString(),
                     LocalDate.now().minusDays(2),
                     LocalDate.now().plusDays(1)
             );
@@ -724,23 +835,23 @@ public class Main {
                     LocalDate.now().minusDays(21),
                     "Laboratório de Informática IFNMG",
                     6,
-                    org.getId(),
+                    org.getId().toString(),
                     LocalDate.now().minusDays(25),
                     LocalDate.now().minusDays(22)
             );
             System.out.println("  Criado Evento: " + evento3.getNome() + " (ID: " + evento3.getId() + ")");
 
-            facade.inscreverEmEvento(aluno1.getId(), evento1.getId());
+            facade.inscreverEmEvento(aluno1.getId().toString(), evento1.getId().toString());
             System.out.println("  " + aluno1.getNomeCompleto() + " inscrito na " + evento1.getNome());
-            facade.inscreverEmEvento(aluno2.getId(), evento1.getId());
+            facade.inscreverEmEvento(aluno2.getId().toString(), evento1.getId().toString());
             System.out.println("  " + aluno2.getNomeCompleto() + " inscrito na " + evento1.getNome());
 
             try {
-                Trabalho trabalho1 = facade.submeterTrabalho(aluno1.getId(), evento1.getId(), "Introdução à Programação Orientada a Objetos", "poo_iniciantes.pdf");
+                Trabalho trabalho1 = facade.submeterTrabalho(aluno1.getId().toString(), evento1.getId().toString(), "Introdução à Programação Orientada a Objetos", "poo_iniciantes.pdf");
                 System.out.println("  Trabalho: '" + trabalho1.getTitulo() + "' submetido por " + aluno1.getNomeCompleto() + " no evento '" + evento1.getNome() + "'.");
                 trabalho1.setStatus(StatusTrabalho.EM_AVALIACAO);
                 
-                Trabalho trabalho2 = facade.submeterTrabalho(aluno2.getId(), evento1.getId(), "Desenvolvimento Web com Spring Boot", "spring_web.docx");
+                Trabalho trabalho2 = facade.submeterTrabalho(aluno2.getId().toString(), evento1.getId().toString(), "Desenvolvimento Web com Spring Boot", "spring_web.docx");
                 System.out.println("  Trabalho: '" + trabalho2.getTitulo() + "' submetido por " + aluno2.getNomeCompleto() + " no evento '" + evento1.getNome() + "'.");
 
             } catch (Exception e) {
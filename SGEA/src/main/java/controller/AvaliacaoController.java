@@ -6,9 +6,13 @@ import domain.Trabalho;
 import domain.enums.StatusTrabalho;
 import domain.enums.TipoPerfil;
 import java.util.List;
+import java.util.stream.Stream;
 import repository.AvaliacaoRepository;
+import repository.IdGenerator;
+import repository.Pagina;
 import repository.ParticipanteRepository;
 import repository.TrabalhoRepository;
+import repository.Uid;
 
 /**
  *
@@ -19,15 +23,20 @@ public class AvaliacaoController {
     private final AvaliacaoRepository avaliacaoRepository;
     private final TrabalhoRepository trabalhoRepository;
     private final ParticipanteRepository participanteRepository;
+    private final EstatisticasEventos estatisticas;
+    private final IdGenerator ids;
 
-    public AvaliacaoController(AvaliacaoRepository avaliacaoRepository, TrabalhoRepository trabalhoRepository, ParticipanteRepository participanteRepository) {
+    public AvaliacaoController(AvaliacaoRepository avaliacaoRepository, TrabalhoRepository trabalhoRepository,
+            ParticipanteRepository participanteRepository, EstatisticasEventos estatisticas, IdGenerator ids) {
         this.avaliacaoRepository = avaliacaoRepository;
         this.trabalhoRepository = trabalhoRepository;
         this.participanteRepository = participanteRepository;
+        this.estatisticas = estatisticas;
+        this.ids = ids;
     }
 
-    public Avaliacao registrarAvaliacao(String trabalhoId, String avaliadorId, double nota, String parecer) {
-        Trabalho trabalho = trabalhoRepository.findById(trabalhoId)
+    public Avaliacao registrarAvaliacao(Uid trabalhoId, Uid avaliadorId, double nota, String parecer) {
+        Trabalho trabalho = trabalhoRepository.findForUpdateById(trabalhoId)
                 .orElseThrow(() -> new IllegalArgumentException("Trabalho com ID " + trabalhoId + " não encontrado."));
         Participante avaliador = participanteRepository.findById(avaliadorId)
                 .orElseThrow(() -> new IllegalArgumentException("Avaliador com ID " + avaliadorId + " não encontrado."));
@@ -44,14 +53,35 @@ public class AvaliacaoController {
             throw new IllegalStateException("Nota enviada fora do intervalo permitido.");
         }
 
-        Avaliacao novaAvaliacao = new Avaliacao(nota, parecer, trabalho, avaliador);
-        trabalho.adicionarAvaliacaoInterna(novaAvaliacao);
+        Avaliacao novaAvaliacao = new Avaliacao(ids.nextId(), nota, parecer, trabalho, avaliador);
+        boolean iniciou = trabalho.adicionarAvaliacaoInterna(novaAvaliacao);
 
         trabalhoRepository.save(trabalho);
-        return avaliacaoRepository.save(novaAvaliacao);
+        Avaliacao salva = avaliacaoRepository.save(novaAvaliacao);
+        if (iniciou) {
+            estatisticas.statusTrabalhoAlterado(trabalho, StatusTrabalho.SUBMETIDO, StatusTrabalho.EM_AVALIACAO);
+        }
+        estatisticas.avaliacaoRegistrada(novaAvaliacao);
+        return salva;
     }
 
-    public List<Avaliacao> listarAvaliacoesPorTrabalho(String trabalhoId) {
+    public List<Avaliacao> listarAvaliacoesPorTrabalho(Uid trabalhoId) {
         return avaliacaoRepository.findAllByTrabalhoId(trabalhoId);
     }
+
+    /**
+     * Versão paginada por cursor de {@link #listarAvaliacoesPorTrabalho}, em ordem de ID.
+     * @param trabalhoId O ID do trabalho.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Avaliacao> paginarAvaliacoesPorTrabalho(Uid trabalhoId, String cursor, int limite) {
+        return avaliacaoRepository.findByTrabalhoId(trabalhoId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarAvaliacoesPorTrabalho: percorre os itens sem copiá-los para uma lista.
+    public Stream<Avaliacao> percorrerAvaliacoesPorTrabalho(Uid trabalhoId) {
+        return avaliacaoRepository.streamByTrabalhoId(trabalhoId);
+    }
 }
@@ -9,12 +9,21 @@ import domain.enums.TipoCertificado;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import repository.CertificadoRepository;
+import repository.DuplicateKeyException;
 import repository.EventoRepository;
+import repository.IdGenerator;
 import repository.InscricaoRepository;
 import repository.ParticipanteRepository;
 import repository.TrabalhoRepository;
+import repository.Uid;
+import repository.ValidationCodeGenerator;
 
 /**
  *
@@ -22,24 +31,36 @@ import repository.TrabalhoRepository;
  */
 public class CertificadoController {
 
+    private static final int MAX_TENTATIVAS_CODIGO = 5;
+    // A partir deste tamanho, os certificados de um lote são construídos em paralelo.
+    private static final int LOTE_MINIMO_PARALELO = 1024;
+
     private final CertificadoRepository certificadoRepository;
     private final EventoRepository eventoRepository;
     private final InscricaoRepository inscricaoRepository;
     private final TrabalhoRepository trabalhoRepository;
     private final ParticipanteRepository participanteRepository; 
+    private final EstatisticasEventos estatisticas;
+    private final IdGenerator ids;
+    private final ValidationCodeGenerator codigos;
 
     public CertificadoController(CertificadoRepository certificadoRepository, EventoRepository eventoRepository,
             InscricaoRepository inscricaoRepository, TrabalhoRepository trabalhoRepository,
-            ParticipanteRepository participanteRepository) {
+            ParticipanteRepository participanteRepository, EstatisticasEventos estatisticas, IdGenerator ids,
+            ValidationCodeGenerator codigos) {
         this.certificadoRepository = certificadoRepository;
         this.eventoRepository = eventoRepository;
         this.inscricaoRepository = inscricaoRepository;
         this.trabalhoRepository = trabalhoRepository;
         this.participanteRepository = participanteRepository;
+        this.estatisticas = estatisticas;
+        this.ids = ids;
+        this.codigos = codigos;
     }
 
-    public List<Certificado> emitirCertificadosParticipacaoEvento(String eventoId) {
-        Evento evento = eventoRepository.findById(eventoId)
+    public ResultadoEmissao emitirCertificadosParticipacaoEvento(Uid eventoId) {
+        long inicio = System.nanoTime();
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
         // Regra de Negócio 5: Certificados de participação só são emitidos após a data de término do evento
@@ -47,24 +68,29 @@ public class CertificadoController {
             throw new IllegalStateException("Certificados de participação só podem ser emitidos após o término do evento.");
         }
 
-        List<Certificado> certificadosEmitidos = new ArrayList<>();
-        List<Inscricao> inscricoesComPresenca = evento.getInscritosComPresencaConfirmada();
-
-        for (Inscricao inscricao : inscricoesComPresenca) {
-            // Evitar duplicidade de certificados
-            boolean jaEmitido = certificadoRepository.findAllByParticipanteId(inscricao.getParticipante().getId()).stream()
-                    .anyMatch(c -> c.getEvento().getId().equals(eventoId) && c.getTipo() == TipoCertificado.PARTICIPACAO);
-
-            if (!jaEmitido) {
-                Certificado cert = new Certificado(TipoCertificado.PARTICIPACAO, inscricao.getParticipante(), evento);
-                certificadosEmitidos.add(certificadoRepository.save(cert));
-            }
-        }
-        return certificadosEmitidos;
+        // Evitar duplicidade de certificados: participantes que já têm certificado de participação no evento, calculados uma vez.
+        Set<Uid> jaCertificados = certificadoRepository.findAllByEventoId(eventoId).stream()
+                .filter(c -> c.getTipo() == TipoCertificado.PARTICIPACAO)
+                .map(c -> c.getParticipante().getId())
+                .collect(Collectors.toSet());
+
+        List<Participante> elegiveis = evento.getInscritosComPresencaConfirmada().stream()
+                .map(Inscricao::getParticipante)
+                .collect(Collectors.toList());
+        List<Participante> pendentes = elegiveis.stream()
+                .filter(p -> !jaCertificados.contains(p.getId()))
+                .collect(Collectors.toList());
+
+        List<Certificado> certificadosEmitidos = salvarEmLote(pendentes,
+                (p, id, codigo) -> new Certificado(id, codigo, TipoCertificado.PARTICIPACAO, p, evento));
+        // Os ignorados incluem os emitidos por uma emissão concorrente, barrados pelo índice de emissão.
+        return new ResultadoEmissao(certificadosEmitidos, elegiveis.size(), elegiveis.size() - certificadosEmitidos.size(),
+                System.nanoTime() - inicio);
     }
 
-    public List<Certificado> emitirCertificadosApresentacaoTrabalhoEvento(String eventoId) {
-        Evento evento = eventoRepository.findById(eventoId)
+    public ResultadoEmissao emitirCertificadosApresentacaoTrabalhoEvento(Uid eventoId) {
+        long inicio = System.nanoTime();
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
         // Rgra de Negócio 6: Certificados de apresentação de trabalho só são emitidos para trabalhos aprovados e após a data de término do evento.
@@ -72,27 +98,29 @@ public class CertificadoController {
             throw new IllegalStateException("Certificados de apresentação só podem ser emitidos após o término do evento.");
         }
 
-        List<Certificado> certificadosEmitidos = new ArrayList<>();
-        List<Trabalho> trabalhosNoEvento = trabalhoRepository.findAllByEventoId(eventoId);
-
-        for (Trabalho trabalho : trabalhosNoEvento) {
-            if (trabalho.foiAprovado() && trabalho.foiApresentado()) {
-                Participante autor = trabalho.getAutor();
-                boolean jaEmitido = certificadoRepository.findAllByParticipanteId(autor.getId()).stream()
-                        .anyMatch(c -> c.getTrabalho() != null && c.getTrabalho().getId().equals(trabalho.getId())
-                        && c.getTipo() == TipoCertificado.APRESENTACAO_TRABALHO);
-                if (!jaEmitido) {
-                    Certificado cert = new Certificado(autor, evento, trabalho);
-                    certificadosEmitidos.add(certificadoRepository.save(cert));
-
-                }
-            }
-        }
-        return certificadosEmitidos;
+        // Trabalhos do evento que já têm certificado de apresentação, calculados uma vez.
+        Set<Uid> jaCertificados = certificadoRepository.findAllByEventoId(eventoId).stream()
+                .filter(c -> c.getTipo() == TipoCertificado.APRESENTACAO_TRABALHO && c.getTrabalho() != null)
+                .map(c -> c.getTrabalho().getId())
+                .collect(Collectors.toSet());
+
+        // Com um único status por trabalho, nenhum é ao mesmo tempo aprovado e apresentado: hoje a lista sai vazia.
+        List<Trabalho> elegiveis = trabalhoRepository.findAllByEventoId(eventoId).stream()
+                .filter(t -> t.foiAprovado() && t.foiApresentado())
+                .collect(Collectors.toList());
+        List<Trabalho> pendentes = elegiveis.stream()
+                .filter(t -> !jaCertificados.contains(t.getId()))
+                .collect(Collectors.toList());
+
+        List<Certificado> certificadosEmitidos = salvarEmLote(pendentes,
+                (t, id, codigo) -> new Certificado(id, codigo, t.getAutor(), evento, t));
+        // Os ignorados incluem os emitidos por uma emissão concorrente, barrados pelo índice de emissão.
+        return new ResultadoEmissao(certificadosEmitidos, elegiveis.size(), elegiveis.size() - certificadosEmitidos.size(),
+                System.nanoTime() - inicio);
     }
 
-    public Certificado emitirCertificadoOrganizador(String eventoId, String organizadorId) {
-        Evento evento = eventoRepository.findById(eventoId)
+    public Certificado emitirCertificadoOrganizador(Uid eventoId, Uid organizadorId) {
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
         Participante organizador = participanteRepository.findById(organizadorId)
                 .orElseThrow(() -> new IllegalArgumentException("Organizador com ID " + organizadorId + " não encontrado."));
@@ -110,7 +138,99 @@ public class CertificadoController {
             throw new IllegalStateException("Certificado de organização já emitido para este organizador neste evento.");
         }
 
-        Certificado cert = new Certificado(TipoCertificado.ORGANIZACAO, organizador, evento);
-        return certificadoRepository.save(cert);
+        Uid id = ids.nextId();
+        Certificado salvo;
+        try {
+            salvo = salvarComCodigoUnico(codigo -> new Certificado(id, codigo, TipoCertificado.ORGANIZACAO, organizador, evento));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("Certificado de organização já emitido para este organizador neste evento.");
+        }
+        estatisticas.certificadoEmitido(salvo);
+        return salvo;
+    }
+
+    // Emite os certificados de uma vez: cada um recebe um ID e um código livre (no índice e no próprio lote),
+    // construídos em paralelo nos lotes grandes, e todos são salvos com uma única espera pelo log.
+    // Se o lote falhar no índice (um código ou a mesma emissão pegos por uma emissão concorrente),
+    // os certificados que ficaram sem salvar são salvos de novo, um a um.
+    private <E> List<Certificado> salvarEmLote(List<E> pendentes, NovoCertificado<E> novoCertificado) {
+        Set<String> codigosDoLote = ConcurrentHashMap.newKeySet();
+        Stream<E> origens = pendentes.size() >= LOTE_MINIMO_PARALELO ? pendentes.parallelStream() : pendentes.stream();
+        List<Certificado> lote = origens
+                .map(origem -> novoCertificado.criar(origem, ids.nextId(), codigoLivre(codigosDoLote)))
+                .collect(Collectors.toList());
+        List<Certificado> emitidos = lote;
+        try {
+            certificadoRepository.saveAll(lote);
+        } catch (DuplicateKeyException e) {
+            emitidos = new ArrayList<>(lote.size());
+            for (Certificado certificado : lote) {
+                if (certificadoRepository.existsById(certificado.getId())) {
+                    emitidos.add(certificado);
+                } else {
+                    salvarNovamente(certificado).ifPresent(emitidos::add);
+                }
+            }
+        }
+        emitidos.forEach(estatisticas::certificadoEmitido);
+        return emitidos;
+    }
+
+    // Salva de novo um certificado do lote, com o mesmo ID e código; se o código tiver sido pego, com outro código.
+    // Vazio se a mesma emissão já existir.
+    private Optional<Certificado> salvarNovamente(Certificado certificado) {
+        try {
+            return Optional.of(certificadoRepository.save(certificado));
+        } catch (DuplicateKeyException e) {
+            if (certificadoRepository.existsByEmissao(certificado)) {
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.of(salvarComCodigoUnico(codigo -> new Certificado(certificado.getId(), codigo,
+                    certificado.getDataEmissao(), certificado.getTipo(), certificado.getParticipante(),
+                    certificado.getEvento(), certificado.getTrabalho())));
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String codigoLivre(Set<String> codigosDoLote) {
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_CODIGO; tentativa++) {
+            String codigo = codigos.nextCode();
+            if (!certificadoRepository.existsByCodigoValidacao(codigo) && codigosDoLote.add(codigo)) {
+                return codigo;
+            }
+        }
+        throw new IllegalStateException("Não foi possível gerar um código de validação único para o certificado.");
+    }
+
+    // O código de validação tem apenas 8 caracteres hexadecimais: cada candidato é conferido no índice único
+    // (inclusive no histórico arquivado) antes de criar o certificado, e uma emissão concorrente que pegue o
+    // mesmo código entre a conferência e o save ainda é barrada pelo índice. Se o mesmo certificado
+    // (participante, evento, tipo e trabalho) já existir, a DuplicateKeyException é repassada.
+    private Certificado salvarComCodigoUnico(Function<String, Certificado> novoCertificado) {
+        for (int tentativa = 1; ; tentativa++) {
+            String codigo = codigos.nextCode();
+            if (!certificadoRepository.existsByCodigoValidacao(codigo)) {
+                Certificado certificado = novoCertificado.apply(codigo);
+                try {
+                    return certificadoRepository.save(certificado);
+                } catch (DuplicateKeyException e) {
+                    if (certificadoRepository.existsByEmissao(certificado)) {
+                        throw e;
+                    }
+                    // colisão de código com uma emissão concorrente: tenta outro código
+                }
+            }
+            if (tentativa >= MAX_TENTATIVAS_CODIGO) {
+                throw new IllegalStateException("Não foi possível gerar um código de validação único para o certificado.");
+            }
+        }
+    }
+
+    // Cria o certificado de uma origem (participante ou trabalho) com o ID e o código de validação dados.
+    private interface NovoCertificado<E> {
+        Certificado criar(E origem, Uid id, String codigo);
     }
 }
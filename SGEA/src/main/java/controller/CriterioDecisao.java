@@ -0,0 +1,26 @@
+package controller;
+
+/**
+ * Critério da decisão automática dos trabalhos de um evento pelas notas recebidas.
+ *
+ * @param minimoAvaliacoes Número de avaliações que um trabalho precisa ter para ser decidido.
+ * @param notaMinimaAprovacao Média mínima para APROVADO; abaixo dela o trabalho é REPROVADO.
+ */
+public record CriterioDecisao(int minimoAvaliacoes, double notaMinimaAprovacao) {
+
+    public CriterioDecisao {
+        if (minimoAvaliacoes < 1) {
+            throw new IllegalArgumentException("Número mínimo de avaliações deve ser positivo.");
+        }
+        if (Double.isNaN(notaMinimaAprovacao) || notaMinimaAprovacao < 0 || notaMinimaAprovacao > 10) {
+            throw new IllegalArgumentException("Nota mínima de aprovação deve estar entre 0 e 10.");
+        }
+    }
+
+    /**
+     * Critério padrão: três avaliações e média 7 para aprovar.
+     */
+    public static CriterioDecisao padrao() {
+        return new CriterioDecisao(3, 7.0);
+    }
+}
@@ -0,0 +1,9 @@
+package controller;
+
+import domain.enums.TipoPerfil;
+
+/**
+ * Linha de entrada para a importação em lote de participantes.
+ */
+public record DadosParticipante(String nomeCompleto, String email, String instituicao, TipoPerfil tipoPerfil) {
+}
@@ -0,0 +1,48 @@
+package controller;
+
+import domain.enums.StatusTrabalho;
+import domain.enums.TipoCertificado;
+import java.util.Map;
+import java.util.OptionalDouble;
+import repository.Uid;
+
+/**
+ * Painel de um evento num instante: inscrições, presença, trabalhos, avaliações e certificados.
+ *
+ * @param eventoId O ID do evento.
+ * @param inscricoesAtivas Número de inscrições ativas.
+ * @param inscricoesCanceladas Número de inscrições canceladas.
+ * @param listaEspera Número de participantes na lista de espera.
+ * @param presencasConfirmadas Número de inscrições ativas com presença confirmada.
+ * @param trabalhosPorStatus Número de trabalhos submetidos em cada status (todos os status presentes).
+ * @param avaliacoes Número de avaliações registradas nos trabalhos do evento.
+ * @param somaNotas Soma das notas dessas avaliações.
+ * @param certificadosPorTipo Número de certificados emitidos de cada tipo (todos os tipos presentes).
+ */
+public record EstatisticasEvento(Uid eventoId, int inscricoesAtivas, int inscricoesCanceladas, int listaEspera,
+        int presencasConfirmadas, Map<StatusTrabalho, Long> trabalhosPorStatus, long avaliacoes, double somaNotas,
+        Map<TipoCertificado, Long> certificadosPorTipo) {
+
+    /**
+     * @return A fração das inscrições ativas com presença confirmada, entre 0 e 1 (0 sem inscrições).
+     */
+    public double getTaxaPresenca() {
+        // Limitada a [0, 1]: a contagem de ativas vem do evento e pode estar um passo à frente ou atrás.
+        return inscricoesAtivas == 0 ? 0 : Math.max(0, Math.min(1.0, (double) presencasConfirmadas / inscricoesAtivas));
+    }
+
+    /**
+     * @return A média das notas das avaliações, ou vazio se nenhum trabalho foi avaliado.
+     */
+    public OptionalDouble getNotaMedia() {
+        return avaliacoes == 0 ? OptionalDouble.empty() : OptionalDouble.of(somaNotas / avaliacoes);
+    }
+
+    public long getTotalTrabalhos() {
+        return trabalhosPorStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getTotalCertificados() {
+        return certificadosPorTipo.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
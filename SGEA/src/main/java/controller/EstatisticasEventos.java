@@ -0,0 +1,230 @@
+package controller;
+
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Trabalho;
+import domain.enums.StatusInscricao;
+import domain.enums.StatusTrabalho;
+import domain.enums.TipoCertificado;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import repository.AvaliacaoRepository;
+import repository.CertificadoRepository;
+import repository.EventoRepository;
+import repository.InscricaoRepository;
+import repository.TrabalhoRepository;
+import repository.Uid;
+
+/**
+ * Estatísticas de cada evento, mantidas incrementalmente pelos controllers: cada alteração bem-sucedida
+ * (cancelamento, presença, submissão, mudança de status de trabalho, avaliação, certificado) ajusta os
+ * contadores do evento logo depois de salva, e a leitura do painel é O(1), sem varrer os repositórios.
+ * <p>
+ * As transições vêm das próprias entidades, que as fazem de forma atômica (ex.: {@link Trabalho#trocarStatus}),
+ * então alterações concorrentes nunca são contadas duas vezes nem perdidas. Os contadores de um evento são
+ * lidos e alterados sob o mesmo monitor, então o painel nunca mistura metade de uma alteração. As inscrições
+ * ativas e a lista de espera vêm dos contadores que o próprio {@link Evento} já mantém.
+ * <p>
+ * Só os eventos em memória têm contadores. Os de um evento arquivado são recalculados a cada leitura a
+ * partir dos repositórios (que consultam o arquivo).
+ */
+public class EstatisticasEventos {
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final TrabalhoRepository trabalhoRepository;
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final CertificadoRepository certificadoRepository;
+    private final Map<Uid, Contadores> porEvento = new ConcurrentHashMap<>();
+
+    public EstatisticasEventos(EventoRepository eventoRepository, InscricaoRepository inscricaoRepository,
+            TrabalhoRepository trabalhoRepository, AvaliacaoRepository avaliacaoRepository,
+            CertificadoRepository certificadoRepository) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.trabalhoRepository = trabalhoRepository;
+        this.avaliacaoRepository = avaliacaoRepository;
+        this.certificadoRepository = certificadoRepository;
+    }
+
+    /**
+     * Recalcula os contadores de todos os eventos em memória a partir dos repositórios (ex.: depois de
+     * restaurá-los do disco). Não deve ser chamado com alterações concorrentes.
+     */
+    public void reconstruir() {
+        porEvento.clear();
+        eventoRepository.streamAll().forEach(e -> porEvento.put(e.getId(), new Contadores()));
+        inscricaoRepository.streamAll().forEach(i -> contar(porEvento.get(i.getEvento().getId()), i));
+        trabalhoRepository.streamAll().forEach(t -> contar(porEvento.get(t.getEvento().getId()), t));
+        avaliacaoRepository.streamAll().forEach(a -> contar(porEvento.get(a.getTrabalho().getEvento().getId()), a));
+        certificadoRepository.streamAll().forEach(c -> contar(porEvento.get(c.getEvento().getId()), c));
+    }
+
+    /**
+     * Retorna o painel atual de um evento.
+     * @param eventoId O ID do evento.
+     * @return As estatísticas do evento.
+     * @throws IllegalArgumentException se o evento não existir.
+     */
+    public EstatisticasEvento obter(Uid eventoId) {
+        Evento evento = eventoRepository.findById(eventoId)
+                .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
+        Contadores contadores = porEvento.get(eventoId);
+        return (contadores != null ? contadores : calcular(eventoId)).instantaneo(evento);
+    }
+
+    /**
+     * Descarta os contadores de um evento que saiu da memória (arquivado ou removido). As estatísticas dele
+     * passam a ser recalculadas a cada leitura.
+     * @param eventoId O ID do evento.
+     */
+    public void eventoRemovido(Uid eventoId) {
+        porEvento.remove(eventoId);
+    }
+
+    // --- Alterações, chamadas pelos controllers depois de salvar ---
+
+    void eventoCadastrado(Uid eventoId) {
+        porEvento.putIfAbsent(eventoId, new Contadores());
+    }
+
+    void inscricaoCancelada(Inscricao inscricao) {
+        Contadores c = porEvento.get(inscricao.getEvento().getId());
+        if (c != null) {
+            // A presença não muda depois do cancelamento, então a leitura aqui é estável.
+            c.cancelamento(inscricao.isPresencaConfirmada());
+        }
+    }
+
+    void presencaConfirmada(Inscricao inscricao) {
+        Contadores c = porEvento.get(inscricao.getEvento().getId());
+        if (c != null) {
+            c.presenca();
+        }
+    }
+
+    void trabalhoSubmetido(Trabalho trabalho) {
+        // Todo trabalho nasce SUBMETIDO; o status atual pode já ter mudado por uma designação concorrente.
+        statusTrabalhoAlterado(trabalho, null, StatusTrabalho.SUBMETIDO);
+    }
+
+    void statusTrabalhoAlterado(Trabalho trabalho, StatusTrabalho anterior, StatusTrabalho novo) {
+        Contadores c = porEvento.get(trabalho.getEvento().getId());
+        if (c != null && anterior != novo) {
+            c.transicao(anterior, novo);
+        }
+    }
+
+    void avaliacaoRegistrada(Avaliacao avaliacao) {
+        Contadores c = porEvento.get(avaliacao.getTrabalho().getEvento().getId());
+        if (c != null) {
+            c.nota(avaliacao.getNota());
+        }
+    }
+
+    void certificadoEmitido(Certificado certificado) {
+        Contadores c = porEvento.get(certificado.getEvento().getId());
+        if (c != null) {
+            c.certificado(certificado.getTipo());
+        }
+    }
+
+    // Contadores de um evento arquivado (ou de um evento ainda sem contadores), direto dos repositórios.
+    private Contadores calcular(Uid eventoId) {
+        Contadores c = new Contadores();
+        inscricaoRepository.streamByEventoId(eventoId).forEach(i -> contar(c, i));
+        trabalhoRepository.streamByEventoId(eventoId).forEach(t -> {
+            contar(c, t);
+            avaliacaoRepository.streamByTrabalhoId(t.getId()).forEach(a -> contar(c, a));
+        });
+        certificadoRepository.findAllByEventoId(eventoId).forEach(cert -> contar(c, cert));
+        return c;
+    }
+
+    private static void contar(Contadores c, Inscricao inscricao) {
+        if (c == null) {
+            return;
+        }
+        if (inscricao.getStatus() == StatusInscricao.CANCELADA) {
+            c.cancelamento(false);
+        } else if (inscricao.isPresencaConfirmada()) {
+            c.presenca();
+        }
+    }
+
+    private static void contar(Contadores c, Trabalho trabalho) {
+        if (c != null) {
+            c.transicao(null, trabalho.getStatus());
+        }
+    }
+
+    private static void contar(Contadores c, Avaliacao avaliacao) {
+        if (c != null) {
+            c.nota(avaliacao.getNota());
+        }
+    }
+
+    private static void contar(Contadores c, Certificado certificado) {
+        if (c != null) {
+            c.certificado(certificado.getTipo());
+        }
+    }
+
+    // Os contadores de um evento; alterações e leituras sincronizam no próprio objeto.
+    private static final class Contadores {
+        private static final StatusTrabalho[] STATUS = StatusTrabalho.values();
+        private static final TipoCertificado[] TIPOS = TipoCertificado.values();
+
+        private int canceladas;
+        private int presencas;
+        private final long[] trabalhosPorStatus = new long[STATUS.length];
+        private long avaliacoes;
+        private double somaNotas;
+        private final long[] certificadosPorTipo = new long[TIPOS.length];
+
+        synchronized void cancelamento(boolean tinhaPresenca) {
+            canceladas++;
+            if (tinhaPresenca) {
+                presencas--;
+            }
+        }
+
+        synchronized void presenca() {
+            presencas++;
+        }
+
+        synchronized void transicao(StatusTrabalho anterior, StatusTrabalho novo) {
+            if (anterior != null) {
+                trabalhosPorStatus[anterior.ordinal()]--;
+            }
+            trabalhosPorStatus[novo.ordinal()]++;
+        }
+
+        synchronized void nota(double nota) {
+            avaliacoes++;
+            somaNotas += nota;
+        }
+
+        synchronized void certificado(TipoCertificado tipo) {
+            certificadosPorTipo[tipo.ordinal()]++;
+        }
+
+        synchronized EstatisticasEvento instantaneo(Evento evento) {
+            Map<StatusTrabalho, Long> trabalhos = new EnumMap<>(StatusTrabalho.class);
+            for (StatusTrabalho status : STATUS) {
+                trabalhos.put(status, trabalhosPorStatus[status.ordinal()]);
+            }
+            Map<TipoCertificado, Long> certificados = new EnumMap<>(TipoCertificado.class);
+            for (TipoCertificado tipo : TIPOS) {
+                certificados.put(tipo, certificadosPorTipo[tipo.ordinal()]);
+            }
+            return new EstatisticasEvento(evento.getId(), evento.getTotalInscricoesAtivas(), canceladas,
+                    evento.getTamanhoListaEspera(), presencas, Collections.unmodifiableMap(trabalhos), avaliacoes,
+                    somaNotas, Collections.unmodifiableMap(certificados));
+        }
+    }
+}
@@ -6,8 +6,13 @@ import domain.enums.TipoPerfil;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import repository.EventoRepository;
+import repository.IdGenerator;
+import repository.InscricaoRepository;
+import repository.Pagina;
 import repository.ParticipanteRepository;
+import repository.Uid;
 
 /**
  *
@@ -17,14 +22,21 @@ public class EventoController {
 
     private final EventoRepository eventoRepository;
     private final ParticipanteRepository participanteRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final EstatisticasEventos estatisticas;
+    private final IdGenerator ids;
 
-    public EventoController(EventoRepository eventoRepository, ParticipanteRepository participanteRepository) {
+    public EventoController(EventoRepository eventoRepository, ParticipanteRepository participanteRepository,
+            InscricaoRepository inscricaoRepository, EstatisticasEventos estatisticas, IdGenerator ids) {
         this.eventoRepository = eventoRepository;
         this.participanteRepository = participanteRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.estatisticas = estatisticas;
+        this.ids = ids;
     }
 
     public Evento cadastrarEvento(String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
-            String local, int capacidadeMaxima, String organizadorId,
+            String local, int capacidadeMaxima, Uid organizadorId,
             LocalDate periodoSubmissaoInicio, LocalDate periodoSubmissaoFim) {
 
         Participante organizador = participanteRepository.findById(organizadorId)
@@ -43,14 +55,17 @@ public class EventoController {
             throw new IllegalArgumentException("Capacidade máxima deve ser positiva.");
         }
 
-        Evento novoEvento = new Evento(nome, descricao, dataInicio, dataFim, local, capacidadeMaxima, organizador);
+        Evento novoEvento = new Evento(ids.nextId(), nome, descricao, dataInicio, dataFim, local, capacidadeMaxima, organizador);
         if (periodoSubmissaoInicio != null && periodoSubmissaoFim != null) {
             novoEvento.setPeriodoSubmissao(periodoSubmissaoInicio, periodoSubmissaoFim);
         }
-        return eventoRepository.save(novoEvento);
+        Evento salvo = eventoRepository.save(novoEvento);
+        // Só depois de salvo, para um save que falhe não deixar contadores de um evento inexistente.
+        estatisticas.eventoCadastrado(salvo.getId());
+        return salvo;
     }
 
-    public Optional<Evento> getEventoById(String id) {
+    public Optional<Evento> getEventoById(Uid id) {
         if (id == null) {
             throw new IllegalArgumentException("ID do evento não pode ser nulo.");
         }
@@ -61,12 +76,53 @@ public class EventoController {
         return eventoRepository.findAll();
     }
 
+    /**
+     * Versão paginada por cursor de {@link #listarTodosEventos}, em ordem de ID.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Evento> paginarTodosEventos(String cursor, int limite) {
+        return eventoRepository.findAll(cursor, limite);
+    }
+
+    // Versão preguiçosa de listarTodosEventos: percorre os itens sem copiá-los para uma lista.
+    public Stream<Evento> percorrerTodosEventos() {
+        return eventoRepository.streamAll();
+    }
+
     public List<Evento> listarEventosDisponiveisParaInscricao(LocalDate hoje) {
         return eventoRepository.findAllDisponiveisParaInscricao(hoje);
     }
 
-    public Evento definirPeriodoSubmissao(String eventoId, String organizadorIdVerificacao, LocalDate inicio, LocalDate fim) {
-        Evento evento = eventoRepository.findById(eventoId)
+    /**
+     * Lista uma página dos eventos que começam depois de hoje, do mais próximo ao mais distante.
+     * @param hoje A data de referência.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de eventos da página.
+     * @return A página de eventos.
+     */
+    public Pagina<Evento> paginarEventosDisponiveisParaInscricao(LocalDate hoje, String cursor, int limite) {
+        return eventoRepository.findDisponiveisParaInscricao(hoje, cursor, limite);
+    }
+
+    /**
+     * Lista uma página dos eventos que começam dentro de uma janela de datas, em ordem de data de início.
+     * @param de O primeiro dia da janela, ou null para não limitar.
+     * @param ate O último dia da janela, ou null para não limitar.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de eventos da página.
+     * @return A página de eventos.
+     */
+    public Pagina<Evento> paginarEventosPorPeriodo(LocalDate de, LocalDate ate, String cursor, int limite) {
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new IllegalArgumentException("Início do período não pode ser posterior ao fim.");
+        }
+        return eventoRepository.findIniciandoEntre(de, ate, cursor, limite);
+    }
+
+    public Evento definirPeriodoSubmissao(Uid eventoId, Uid organizadorIdVerificacao, LocalDate inicio, LocalDate fim) {
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
         // Verifica se quem está alterando é o organizador do evento
@@ -78,49 +134,71 @@ public class EventoController {
         return eventoRepository.save(evento);
     }
 
-    public Evento atualizarDetalhesEvento(String eventoId, String organizadorIdVerificacao, String nome, String descricao,
+    public Evento atualizarDetalhesEvento(Uid eventoId, Uid organizadorIdVerificacao, String nome, String descricao,
             LocalDate dataInicio, LocalDate dataFim, String local, Integer capacidade) {
-        Evento evento = eventoRepository.findById(eventoId)
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
         if (!evento.getOrganizadorResponsavel().getId().equals(organizadorIdVerificacao)) {
             throw new IllegalStateException("Apenas o organizador responsável pode alterar detalhes do evento.");
         }
 
+        // As datas são validadas antes de qualquer alteração: o evento (e o índice de datas) não pode ficar
+        // com datas que não foram salvas.
+        LocalDate novoInicio = dataInicio != null ? dataInicio : evento.getDataInicio();
+        LocalDate novoFim = dataFim != null ? dataFim : evento.getDataFim();
+        if (novoInicio.isAfter(novoFim)) {
+            throw new IllegalArgumentException("Data de início não pode ser posterior à data de fim.");
+        }
+        // Antes das demais alterações, pois rejeita uma capacidade abaixo das inscrições ativas;
+        // as vagas novas vão para a lista de espera.
+        if (capacidade != null) {
+            inscricaoRepository.saveAll(evento.alterarCapacidadeMaxima(capacidade, ids));
+        }
         if (nome != null && !nome.trim().isEmpty()) {
             evento.setNome(nome);
         }
         if (descricao != null) {
             evento.setDescricao(descricao);
         }
-        if (dataInicio != null) {
-            evento.setDataInicio(dataInicio); // Adicionar validação de dataFim se dataInicio mudar
-        }
-        if (dataFim != null) {
-            evento.setDataFim(dataFim); // Adicionar validação de dataInicio se dataFim mudar
-        }
+        evento.setDataInicio(novoInicio);
+        evento.setDataFim(novoFim);
         if (local != null && !local.trim().isEmpty()) {
             evento.setLocal(local);
         }
-        if (capacidade != null && capacidade > 0) {
-            evento.setCapacidadeMaxima(capacidade);
-        }
-
-        // Validar consistência das datas se ambas foram alteradas
-        if (evento.getDataInicio().isAfter(evento.getDataFim())) {
-            throw new IllegalArgumentException("Data de início não pode ser posterior à data de fim.");
-        }
 
         return eventoRepository.save(evento);
     }
 
-    public List<Evento> listarEventosPorOrganizador(String organizadorId) {
+    public List<Evento> listarEventosPorOrganizador(Uid organizadorId) {
+        validarOrganizador(organizadorId);
+        return eventoRepository.findAllByOrganizadorId(organizadorId);
+    }
+
+    /**
+     * Versão paginada por cursor de {@link #listarEventosPorOrganizador}, em ordem de ID.
+     * @param organizadorId O ID do organizador.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Evento> paginarEventosPorOrganizador(Uid organizadorId, String cursor, int limite) {
+        validarOrganizador(organizadorId);
+        return eventoRepository.findByOrganizadorId(organizadorId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarEventosPorOrganizador: percorre os itens sem copiá-los para uma lista.
+    public Stream<Evento> percorrerEventosPorOrganizador(Uid organizadorId) {
+        validarOrganizador(organizadorId);
+        return eventoRepository.streamByOrganizadorId(organizadorId);
+    }
+
+    private void validarOrganizador(Uid organizadorId) {
         if (organizadorId == null) {
             throw new IllegalArgumentException("ID do organizador não pode ser nulo.");
         }
         participanteRepository.findById(organizadorId)
                 .filter(p -> p.getTipoPerfil() == TipoPerfil.ORGANIZADOR)
                 .orElseThrow(() -> new IllegalArgumentException("Organizador com ID " + organizadorId + " não encontrado ou não é organizador."));
-        return eventoRepository.findAllByOrganizadorId(organizadorId);
     }
 }
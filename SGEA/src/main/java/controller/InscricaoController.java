@@ -4,11 +4,19 @@ import domain.Inscricao;
 import domain.Participante;
 import domain.enums.StatusInscricao;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import repository.EventoRepository;
+import repository.IdGenerator;
 import repository.InscricaoRepository;
+import repository.Pagina;
 import repository.ParticipanteRepository;
+import repository.Uid;
 /**
  *
  * @author enio1
@@ -17,38 +25,106 @@ public class InscricaoController {
     private final InscricaoRepository inscricaoRepository;
     private final EventoRepository eventoRepository;
     private final ParticipanteRepository participanteRepository;
+    private final EstatisticasEventos estatisticas;
+    private final IdGenerator ids;
 
-    public InscricaoController(InscricaoRepository inscricaoRepository, EventoRepository eventoRepository, ParticipanteRepository participanteRepository) {
+    public InscricaoController(InscricaoRepository inscricaoRepository, EventoRepository eventoRepository,
+            ParticipanteRepository participanteRepository, EstatisticasEventos estatisticas, IdGenerator ids) {
         this.inscricaoRepository = inscricaoRepository;
         this.eventoRepository = eventoRepository;
         this.participanteRepository = participanteRepository;
+        this.estatisticas = estatisticas;
+        this.ids = ids;
     }
 
-    public Inscricao realizarInscricao(String participanteId, String eventoId) {
+    public Inscricao realizarInscricao(Uid participanteId, Uid eventoId) {
         Participante participante = participanteRepository.findById(participanteId)
                 .orElseThrow(() -> new IllegalArgumentException("Participante com ID " + participanteId + " não encontrado."));
-        Evento evento = eventoRepository.findById(eventoId)
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
-        // Regra de Negócio 1: Capacidade máxima atingida
+        // Regra de Negócio 1: Capacidade máxima atingida (verificação rápida; a garantia é dada por reservarVaga)
         if (evento.isLotado()) {
             throw new IllegalStateException("Evento '" + evento.getNome() + "' atingiu a capacidade máxima.");
         }
 
-        Optional<Inscricao> inscricaoExistente = inscricaoRepository.findByParticipanteIdAndEventoId(participanteId, eventoId);
-        if (inscricaoExistente.isPresent() && inscricaoExistente.get().getStatus() == StatusInscricao.ATIVA) {
-            throw new IllegalStateException("Participante já está inscrito ativamente neste evento.");
-        }
-
-        Inscricao novaInscricao = new Inscricao(LocalDate.now(), evento, participante);
-        evento.adicionarInscricaoInterna(novaInscricao); 
+        // Capacidade, duplicidade e inclusão num único passo atômico, seguro sob inscrições concorrentes.
+        Inscricao novaInscricao = new Inscricao(ids.nextId(), LocalDate.now(), evento, participante);
+        evento.reservarVaga(novaInscricao);
         eventoRepository.save(evento);
 
         return inscricaoRepository.save(novaInscricao);
     }
 
-    public void cancelarInscricao(String inscricaoId) {
-        Inscricao inscricao = inscricaoRepository.findById(inscricaoId)
+    /**
+     * Inscreve vários participantes num evento de uma vez: o evento é buscado uma única vez,
+     * a lista de espera é atendida primeiro, as vagas restantes são reservadas num só passo e os
+     * duplicados são descartados pelo índice de inscrições ativas do evento. As inscrições novas são salvas juntas, com uma única espera pelo log.
+     * @param eventoId O ID do evento.
+     * @param participanteIds Os IDs dos participantes a inscrever.
+     * @return Um resultado por participante informado, na mesma ordem.
+     */
+    public List<ResultadoInscricao> realizarInscricoes(Uid eventoId, Collection<Uid> participanteIds) {
+        if (participanteIds == null) {
+            throw new IllegalArgumentException("Lista de participantes não pode ser nula.");
+        }
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
+                .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
+
+        // 1ª passada: resolve os participantes e descarta duplicados, sem ocupar vagas.
+        List<ResultadoInscricao> resultados = new ArrayList<>(participanteIds.size());
+        List<Participante> candidatos = new ArrayList<>(participanteIds.size());
+        Set<Uid> vistos = new HashSet<>();
+        for (Uid participanteId : participanteIds) {
+            Optional<Participante> participante = participanteRepository.findById(participanteId);
+            if (participante.isEmpty()) {
+                resultados.add(new ResultadoInscricao(participanteId, null, "Participante com ID " + participanteId + " não encontrado."));
+            } else if (!vistos.add(participanteId) || evento.isParticipanteInscritoAtivo(participante.get())) {
+                resultados.add(new ResultadoInscricao(participanteId, null, "Participante já está inscrito ativamente neste evento."));
+            } else {
+                candidatos.add(participante.get());
+                resultados.add(null); // preenchido na 2ª passada
+            }
+        }
+
+        // A lista de espera tem prioridade: só as vagas que sobrarem depois dela vão para o lote.
+        List<Inscricao> novas = new ArrayList<>(candidatos.size());
+        novas.addAll(evento.promoverListaEspera(ids));
+
+        // 2ª passada: reserva as vagas de uma vez e as ocupa na ordem informada.
+        int reservadas = evento.reservarVagas(candidatos.size());
+        int ocupadas = 0;
+        int proximoCandidato = 0;
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) != null) {
+                continue;
+            }
+            Participante participante = candidatos.get(proximoCandidato++);
+            if (ocupadas == reservadas) {
+                resultados.set(i, new ResultadoInscricao(participante.getId(), null, "Evento '" + evento.getNome() + "' atingiu a capacidade máxima."));
+                continue;
+            }
+            Inscricao novaInscricao = new Inscricao(ids.nextId(), hoje, evento, participante);
+            if (evento.ocuparVagaReservada(novaInscricao)) {
+                ocupadas++;
+                novas.add(novaInscricao);
+                resultados.set(i, new ResultadoInscricao(participante.getId(), novaInscricao, null));
+            } else {
+                // Inscrito por outra requisição concorrente depois da 1ª passada.
+                resultados.set(i, new ResultadoInscricao(participante.getId(), null, "Participante já está inscrito ativamente neste evento."));
+            }
+        }
+        evento.liberarVagasReservadas(reservadas - ocupadas);
+        // Vagas devolvidas (duplicados concorrentes) ou alguém que entrou na fila durante o lote.
+        novas.addAll(evento.promoverListaEspera(ids));
+        inscricaoRepository.saveAll(novas);
+        eventoRepository.save(evento);
+        return resultados;
+    }
+
+    public void cancelarInscricao(Uid inscricaoId) {
+        Inscricao inscricao = inscricaoRepository.findForUpdateById(inscricaoId)
                 .orElseThrow(() -> new IllegalArgumentException("Inscrição com ID " + inscricaoId + " não encontrada."));
 
         // Regra de Negócio 4: O cancelamento de inscrição só é permitido até X dias antes da data de início do evento (X a ser definido, ex: 2 dias).
@@ -56,12 +132,30 @@ public class InscricaoController {
             throw new IllegalStateException("Prazo para cancelamento da inscrição expirado ou inscrição não está ativa.");
         }
 
-        inscricao.setStatus(StatusInscricao.CANCELADA);
+        // A vaga liberada é repassada atomicamente ao primeiro da lista de espera, se houver.
+        Evento evento = inscricao.getEvento();
+        Optional<Inscricao> promovida = evento.cancelarInscricao(inscricao, ids);
         inscricaoRepository.save(inscricao);
+        promovida.ifPresent(inscricaoRepository::save);
+        eventoRepository.save(evento);
+        estatisticas.inscricaoCancelada(inscricao);
     }
 
-    public Inscricao confirmarPresenca(String inscricaoId, String organizadorId) {
-        Inscricao inscricao = inscricaoRepository.findById(inscricaoId)
+    public int entrarListaEspera(Uid participanteId, Uid eventoId) {
+        Participante participante = participanteRepository.findById(participanteId)
+                .orElseThrow(() -> new IllegalArgumentException("Participante com ID " + participanteId + " não encontrado."));
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
+                .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
+
+        int tamanhoFila = evento.entrarListaEspera(participante);
+        // Uma vaga pode ter sido liberada entre a verificação de lotação e a entrada na fila.
+        evento.promoverListaEspera(ids).forEach(inscricaoRepository::save);
+        eventoRepository.save(evento);
+        return tamanhoFila;
+    }
+
+    public Inscricao confirmarPresenca(Uid inscricaoId, Uid organizadorId) {
+        Inscricao inscricao = inscricaoRepository.findForUpdateById(inscricaoId)
             .orElseThrow(() -> new IllegalArgumentException("Inscrição com ID " + inscricaoId + " não encontrada."));
         
         Evento evento = inscricao.getEvento();
@@ -77,14 +171,51 @@ public class InscricaoController {
             throw new IllegalStateException("Não é possível confirmar presença para inscrição não ativa.");
         }
 
-        inscricao.setPresencaConfirmada(true);
-        return inscricaoRepository.save(inscricao);
+        boolean novaPresenca = inscricao.confirmarPresenca();
+        Inscricao salva = inscricaoRepository.save(inscricao);
+        if (novaPresenca) {
+            estatisticas.presencaConfirmada(inscricao);
+        }
+        return salva;
     }
 
-    public List<Inscricao> listarInscricoesPorEvento(String eventoId) {
+    public List<Inscricao> listarInscricoesPorEvento(Uid eventoId) {
         return inscricaoRepository.findAllByEventoId(eventoId);
     }
-     public List<Inscricao> listarInscricoesPorParticipante(String participanteId) {
+
+    /**
+     * Versão paginada por cursor de {@link #listarInscricoesPorEvento}, em ordem de ID.
+     * @param eventoId O ID do evento.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Inscricao> paginarInscricoesPorEvento(Uid eventoId, String cursor, int limite) {
+        return inscricaoRepository.findByEventoId(eventoId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarInscricoesPorEvento: percorre os itens sem copiá-los para uma lista.
+    public Stream<Inscricao> percorrerInscricoesPorEvento(Uid eventoId) {
+        return inscricaoRepository.streamByEventoId(eventoId);
+    }
+
+     public List<Inscricao> listarInscricoesPorParticipante(Uid participanteId) {
         return inscricaoRepository.findAllByParticipanteId(participanteId);
     }
+
+    /**
+     * Versão paginada por cursor de {@link #listarInscricoesPorParticipante}, em ordem de ID.
+     * @param participanteId O ID do participante.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Inscricao> paginarInscricoesPorParticipante(Uid participanteId, String cursor, int limite) {
+        return inscricaoRepository.findByParticipanteId(participanteId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarInscricoesPorParticipante: percorre os itens sem copiá-los para uma lista.
+    public Stream<Inscricao> percorrerInscricoesPorParticipante(Uid participanteId) {
+        return inscricaoRepository.streamByParticipanteId(participanteId);
+    }
 }
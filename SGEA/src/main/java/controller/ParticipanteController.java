@@ -2,39 +2,138 @@ package controller;
 
 import domain.Participante;
 import domain.enums.TipoPerfil;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import repository.DuplicateKeyException;
+import repository.IdGenerator;
+import repository.Pagina;
 import repository.ParticipanteRepository;
+import repository.Uid;
 /**
  *
  * @author enio1
  */
 public class ParticipanteController {
+    private static final int MAX_ERROS_DETALHADOS = 1000;
+    private static final int TAMANHO_LOTE_IMPORTACAO = 512;
+    private static final String EMAIL_JA_CADASTRADO = "Já existe um participante cadastrado com este email.";
+
     private final ParticipanteRepository participanteRepository;
+    private final IdGenerator ids;
 
-    public ParticipanteController(ParticipanteRepository participanteRepository) {
+    public ParticipanteController(ParticipanteRepository participanteRepository, IdGenerator ids) {
         this.participanteRepository = participanteRepository;
+        this.ids = ids;
     }
 
     public Participante cadastrarParticipante(String nomeCompleto, String email, String instituicao, TipoPerfil tipoPerfil) {
+        validarCadastro(nomeCompleto, email);
+
+        // O índice único de email torna o salvamento um "insere se ausente" atômico,
+        // cobrindo cadastros concorrentes que passaram pela verificação acima.
+        Participante novoParticipante = new Participante(ids.nextId(), nomeCompleto, email, instituicao, tipoPerfil);
+        try {
+            return participanteRepository.save(novoParticipante);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(EMAIL_JA_CADASTRADO);
+        }
+    }
+
+    private void validarCadastro(String nomeCompleto, String email) {
         if (nomeCompleto == null || nomeCompleto.trim().isEmpty()) {
             throw new IllegalArgumentException("Nome do participante não pode ser vazio.");
         }
         if (email == null || !email.contains("@")) { // Validação simples de email
             throw new IllegalArgumentException("Email inválido.");
         }
-        boolean emailJaExiste = participanteRepository.findAll().stream() 
-                                            .anyMatch(p -> p.getEmail().equalsIgnoreCase(email));
-        
-        if (emailJaExiste) {
-            throw new IllegalArgumentException("Já existe um participante cadastrado com este email.");
+        if (participanteRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException(EMAIL_JA_CADASTRADO);
+        }
+    }
+
+    /**
+     * Importa participantes em lote. As linhas são consumidas uma a uma (o stream não é materializado),
+     * cada uma validada contra o índice de email; linhas inválidas são reportadas sem abortar o lote.
+     * As linhas válidas são salvas em blocos, com uma única espera pelo log por bloco.
+     * @param linhas As linhas a importar.
+     * @return O resultado com as contagens e os erros por linha.
+     */
+    public ResultadoImportacao importarParticipantes(Stream<DadosParticipante> linhas) {
+        if (linhas == null) {
+            throw new IllegalArgumentException("Linhas da importação não podem ser nulas.");
+        }
+        long totalLinhas = 0;
+        long importados = 0;
+        List<ResultadoImportacao.Erro> erros = new ArrayList<>();
+        // Linhas válidas ainda não salvas, com o número de cada linha e os emails já usados no bloco.
+        List<Participante> lote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+        List<Long> linhasDoLote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+        Set<String> emailsDoLote = new HashSet<>();
+        Iterator<DadosParticipante> it = linhas.iterator();
+        while (it.hasNext()) {
+            DadosParticipante dados = it.next();
+            totalLinhas++;
+            try {
+                if (dados == null) {
+                    throw new IllegalArgumentException("Linha vazia.");
+                }
+                validarCadastro(dados.nomeCompleto(), dados.email());
+                if (!emailsDoLote.add(dados.email().toLowerCase(Locale.ROOT))) {
+                    throw new IllegalArgumentException(EMAIL_JA_CADASTRADO);
+                }
+                lote.add(new Participante(ids.nextId(), dados.nomeCompleto(), dados.email(), dados.instituicao(), dados.tipoPerfil()));
+                linhasDoLote.add(totalLinhas);
+            } catch (IllegalArgumentException e) {
+                adicionarErro(erros, totalLinhas, dados == null ? null : dados.email(), e.getMessage());
+            }
+            if (lote.size() == TAMANHO_LOTE_IMPORTACAO) {
+                importados += salvarLote(lote, linhasDoLote, erros);
+                lote.clear();
+                linhasDoLote.clear();
+                emailsDoLote.clear();
+            }
+        }
+        importados += salvarLote(lote, linhasDoLote, erros);
+        return new ResultadoImportacao(totalLinhas, importados, totalLinhas - importados, List.copyOf(erros));
+    }
+
+    // Salva um bloco da importação; retorna quantos participantes foram salvos. Se um cadastro concorrente
+    // pegar um dos emails depois da validação, os que ficaram sem salvar são salvos um a um, para o erro
+    // ser atribuído à linha certa.
+    private long salvarLote(List<Participante> lote, List<Long> linhasDoLote, List<ResultadoImportacao.Erro> erros) {
+        try {
+            participanteRepository.saveAll(lote);
+            return lote.size();
+        } catch (DuplicateKeyException e) {
+            long salvos = 0;
+            for (int i = 0; i < lote.size(); i++) {
+                Participante participante = lote.get(i);
+                try {
+                    if (!participanteRepository.existsById(participante.getId())) {
+                        participanteRepository.save(participante);
+                    }
+                    salvos++;
+                } catch (DuplicateKeyException duplicado) {
+                    adicionarErro(erros, linhasDoLote.get(i), participante.getEmail(), EMAIL_JA_CADASTRADO);
+                }
+            }
+            return salvos;
         }
+    }
 
-        Participante novoParticipante = new Participante(nomeCompleto, email, instituicao, tipoPerfil);
-        return participanteRepository.save(novoParticipante);
+    private static void adicionarErro(List<ResultadoImportacao.Erro> erros, long linha, String email, String mensagem) {
+        if (erros.size() < MAX_ERROS_DETALHADOS) {
+            erros.add(new ResultadoImportacao.Erro(linha, email, mensagem));
+        }
     }
 
-    public Optional<Participante> getParticipanteById(String id) {
+    public Optional<Participante> getParticipanteById(Uid id) {
         if (id == null) {
             throw new IllegalArgumentException("ID do participante não pode ser nulo.");
         }
@@ -45,15 +144,59 @@ public class ParticipanteController {
         return participanteRepository.findAll();
     }
 
-    public Participante atualizarParticipante(String id, String nome, String email, String instituicao, TipoPerfil perfil) {
+    /**
+     * Versão paginada por cursor de {@link #listarTodosParticipantes}, em ordem de ID.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Participante> paginarTodosParticipantes(String cursor, int limite) {
+        return participanteRepository.findAll(cursor, limite);
+    }
+
+    // Versão preguiçosa de listarTodosParticipantes: percorre os itens sem copiá-los para uma lista.
+    public Stream<Participante> percorrerTodosParticipantes() {
+        return participanteRepository.streamAll();
+    }
+
+    /**
+     * Busca participantes pelo trecho do nome (sem distinção de acentos e maiúsculas), do mais ao menos relevante.
+     * @param nome O trecho do nome.
+     * @param offset Quantos resultados pular.
+     * @param limite O número máximo de resultados.
+     * @return A página de participantes encontrados.
+     */
+    public List<Participante> buscarPorNome(String nome, int offset, int limite) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trecho do nome não pode ser vazio.");
+        }
+        if (offset < 0 || limite <= 0) {
+            throw new IllegalArgumentException("Offset deve ser não negativo e limite, positivo.");
+        }
+        return participanteRepository.findByNomeContendo(nome, offset, limite);
+    }
+
+    public Participante atualizarParticipante(Uid id, String nome, String email, String instituicao, TipoPerfil perfil) {
         Participante participante = participanteRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Participante com ID " + id + " não encontrado."));
 
-        if (nome != null && !nome.trim().isEmpty()) participante.setNomeCompleto(nome);
-        if (email != null && email.contains("@")) participante.setEmail(email); // Validação simples
-        if (instituicao != null) participante.setInstituicao(instituicao);
-        if (perfil != null) participante.setTipoPerfil(perfil);
+        if (email != null && participanteRepository.findByEmail(email).filter(p -> !p.getId().equals(id)).isPresent()) {
+            throw new IllegalArgumentException(EMAIL_JA_CADASTRADO);
+        }
 
-        return participanteRepository.save(participante);
+        // O novo email é reservado no índice único antes de o participante ser alterado: se um cadastro
+        // concorrente o pegar primeiro, o participante fica como estava.
+        try {
+            return participanteRepository.update(participante,
+                    p -> new Participante(p.getId(), p.getNomeCompleto(), p.getEmail(), p.getInstituicao(), p.getTipoPerfil()),
+                    p -> {
+                        if (nome != null && !nome.trim().isEmpty()) p.setNomeCompleto(nome);
+                        if (email != null && email.contains("@")) p.setEmail(email); // Validação simples
+                        if (instituicao != null) p.setInstituicao(instituicao);
+                        if (perfil != null) p.setTipoPerfil(perfil);
+                    });
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(EMAIL_JA_CADASTRADO);
+        }
     }
 }
@@ -0,0 +1,18 @@
+package controller;
+
+import domain.Trabalho;
+import java.util.List;
+
+/**
+ * Resultado da decisão automática dos trabalhos de um evento.
+ *
+ * @param aprovados Os trabalhos que passaram para APROVADO nesta execução.
+ * @param reprovados Os trabalhos que passaram para REPROVADO nesta execução.
+ * @param aguardandoAvaliacoes Número de trabalhos em avaliação que ainda não têm avaliações suficientes.
+ */
+public record ResultadoDecisao(List<Trabalho> aprovados, List<Trabalho> reprovados, int aguardandoAvaliacoes) {
+
+    public int getTotalDecididos() {
+        return aprovados.size() + reprovados.size();
+    }
+}
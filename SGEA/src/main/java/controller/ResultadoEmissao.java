@@ -0,0 +1,26 @@
+package controller;
+
+import domain.Certificado;
+import java.util.List;
+
+/**
+ * Resultado de uma emissão de certificados em lote, com as métricas da execução.
+ *
+ * @param certificados Os certificados emitidos nesta execução.
+ * @param elegiveis Número de participantes/trabalhos elegíveis ao certificado.
+ * @param jaEmitidos Número de elegíveis que já tinham certificado (ignorados).
+ * @param duracaoNanos Duração da emissão, em nanossegundos.
+ */
+public record ResultadoEmissao(List<Certificado> certificados, int elegiveis, int jaEmitidos, long duracaoNanos) {
+
+    public int getTotalEmitidos() {
+        return certificados.size();
+    }
+
+    /**
+     * @return A vazão da emissão, em certificados por segundo.
+     */
+    public double getCertificadosPorSegundo() {
+        return duracaoNanos == 0 ? 0 : certificados.size() * 1_000_000_000.0 / duracaoNanos;
+    }
+}
@@ -0,0 +1,24 @@
+package controller;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote.
+ * Para manter a memória limitada, só os primeiros erros são detalhados; os demais entram apenas na contagem.
+ *
+ * @param totalLinhas Número de linhas processadas.
+ * @param importados Número de linhas importadas com sucesso.
+ * @param rejeitados Número de linhas rejeitadas.
+ * @param erros Detalhe dos erros (limitado).
+ */
+public record ResultadoImportacao(long totalLinhas, long importados, long rejeitados, List<Erro> erros) {
+
+    /**
+     * Erro de uma linha da importação.
+     * @param linha O número da linha (a partir de 1).
+     * @param email O email informado na linha.
+     * @param mensagem O motivo da rejeição.
+     */
+    public record Erro(long linha, String email, String mensagem) {
+    }
+}
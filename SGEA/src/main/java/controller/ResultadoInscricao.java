@@ -0,0 +1,18 @@
+package controller;
+
+import domain.Inscricao;
+import repository.Uid;
+
+/**
+ * Resultado da inscrição de um participante numa inscrição em lote.
+ *
+ * @param participanteId O ID do participante informado.
+ * @param inscricao A inscrição criada, ou null se o participante foi rejeitado.
+ * @param erro O motivo da rejeição, ou null em caso de sucesso.
+ */
+public record ResultadoInscricao(Uid participanteId, Inscricao inscricao, String erro) {
+
+    public boolean isSucesso() {
+        return inscricao != null;
+    }
+}
@@ -6,11 +6,16 @@ import domain.Trabalho;
 import domain.enums.StatusTrabalho;
 import domain.enums.TipoPerfil;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import repository.EventoRepository;
+import repository.IdGenerator;
 import repository.InscricaoRepository;
+import repository.Pagina;
 import repository.ParticipanteRepository;
 import repository.TrabalhoRepository;
+import repository.Uid;
 
 /**
  *
@@ -22,17 +27,22 @@ public class TrabalhoController {
     private final EventoRepository eventoRepository;
     private final ParticipanteRepository participanteRepository;
     private final InscricaoRepository inscricaoRepository;
+    private final EstatisticasEventos estatisticas;
+    private final IdGenerator ids;
 
     public TrabalhoController(TrabalhoRepository trabalhoRepository, EventoRepository eventoRepository,
-            ParticipanteRepository participanteRepository, InscricaoRepository inscricaoRepository) {
+            ParticipanteRepository participanteRepository, InscricaoRepository inscricaoRepository,
+            EstatisticasEventos estatisticas, IdGenerator ids) {
         this.trabalhoRepository = trabalhoRepository;
         this.eventoRepository = eventoRepository;
         this.participanteRepository = participanteRepository;
         this.inscricaoRepository = inscricaoRepository;
+        this.estatisticas = estatisticas;
+        this.ids = ids;
     }
 
-    public Trabalho submeterTrabalho(String idAutor, String eventoId, String titulo, String arquivo) {
-        Evento evento = eventoRepository.findById(eventoId)
+    public Trabalho submeterTrabalho(Uid idAutor, Uid eventoId, String titulo, String arquivo) {
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
 
         // Regra de Negócio 2: Submissão de trabalhos só é permitida dentro do período de submissão
@@ -53,15 +63,17 @@ public class TrabalhoController {
             throw new IllegalStateException("O autor deve estar inscrito ativamente no evento para submeter um trabalho.");
         }
 
-        Trabalho novoTrabalho = new Trabalho(titulo, arquivo, evento, autor);
+        Trabalho novoTrabalho = new Trabalho(ids.nextId(), titulo, arquivo, evento, autor);
         novoTrabalho.setStatus(StatusTrabalho.SUBMETIDO);
         evento.adicionarTrabalhoInterno(novoTrabalho);
 
-        return trabalhoRepository.save(novoTrabalho);
+        Trabalho salvo = trabalhoRepository.save(novoTrabalho);
+        estatisticas.trabalhoSubmetido(novoTrabalho);
+        return salvo;
     }
 
-    public Trabalho designarAvaliadorParaTrabalho(String trabalhoId, String avaliadorId, String organizadorId) {
-        Trabalho trabalho = trabalhoRepository.findById(trabalhoId)
+    public Trabalho designarAvaliadorParaTrabalho(Uid trabalhoId, Uid avaliadorId, Uid organizadorId) {
+        Trabalho trabalho = trabalhoRepository.findForUpdateById(trabalhoId)
                 .orElseThrow(() -> new IllegalArgumentException("Trabalho com ID " + trabalhoId + " não encontrado."));
         Participante avaliador = participanteRepository.findById(avaliadorId)
                 .orElseThrow(() -> new IllegalArgumentException("Avaliador com ID " + avaliadorId + " não encontrado."));
@@ -76,28 +88,110 @@ public class TrabalhoController {
             throw new IllegalStateException("Participante " + avaliador.getNomeCompleto() + " não tem perfil de AVALIADOR.");
         }
 
-        if (trabalho.getStatus() == StatusTrabalho.SUBMETIDO) {
-            trabalho.setStatus(StatusTrabalho.EM_AVALIACAO);
+        boolean iniciou = trabalho.iniciarAvaliacao();
+        Trabalho salvo = trabalhoRepository.save(trabalho);
+        if (iniciou) {
+            estatisticas.statusTrabalhoAlterado(trabalho, StatusTrabalho.SUBMETIDO, StatusTrabalho.EM_AVALIACAO);
         }
-        return trabalhoRepository.save(trabalho);
+        return salvo;
     }
 
-    public Trabalho atualizarStatusTrabalho(String trabalhoId, StatusTrabalho novoStatus, String responsavelId) {
-        Trabalho trabalho = trabalhoRepository.findById(trabalhoId)
+    public Trabalho atualizarStatusTrabalho(Uid trabalhoId, StatusTrabalho novoStatus, Uid responsavelId) {
+        Trabalho trabalho = trabalhoRepository.findForUpdateById(trabalhoId)
                 .orElseThrow(() -> new IllegalArgumentException("Trabalho com ID " + trabalhoId + " não encontrado."));
 
-        trabalho.setStatus(novoStatus);
-        return trabalhoRepository.save(trabalho);
+        if (novoStatus == null) {
+            throw new IllegalArgumentException("Status do trabalho não pode ser nulo.");
+        }
+
+        StatusTrabalho anterior = trabalho.trocarStatus(novoStatus);
+        Trabalho salvo = trabalhoRepository.save(trabalho);
+        estatisticas.statusTrabalhoAlterado(trabalho, anterior, novoStatus);
+        return salvo;
+    }
+
+    /**
+     * Decide em lote os trabalhos em avaliação de um evento pelo resumo de notas que cada trabalho mantém:
+     * os que já têm avaliações suficientes passam para APROVADO ou REPROVADO, sem consultar as avaliações.
+     * @param eventoId O ID do evento.
+     * @param organizadorId O ID do organizador responsável pelo evento.
+     * @param criterio O número mínimo de avaliações e a média mínima de aprovação.
+     * @return Os trabalhos decididos e quantos ainda aguardam avaliações.
+     */
+    public ResultadoDecisao decidirTrabalhosDoEvento(Uid eventoId, Uid organizadorId, CriterioDecisao criterio) {
+        if (criterio == null) {
+            throw new IllegalArgumentException("Critério de decisão não pode ser nulo.");
+        }
+        Evento evento = eventoRepository.findForUpdateById(eventoId)
+                .orElseThrow(() -> new IllegalArgumentException("Evento com ID " + eventoId + " não encontrado."));
+        if (!evento.getOrganizadorResponsavel().getId().equals(organizadorId)) {
+            throw new IllegalStateException("Apenas o organizador responsável pelo evento pode decidir os trabalhos.");
+        }
+
+        List<Trabalho> aprovados = new ArrayList<>();
+        List<Trabalho> reprovados = new ArrayList<>();
+        int aguardando = 0;
+        for (Trabalho trabalho : evento.getTrabalhos()) {
+            StatusTrabalho decidido = trabalho.decidirPorNotas(criterio.minimoAvaliacoes(), criterio.notaMinimaAprovacao());
+            if (decidido == null) {
+                if (trabalho.getStatus() == StatusTrabalho.EM_AVALIACAO) {
+                    aguardando++;
+                }
+                continue;
+            }
+            trabalhoRepository.save(trabalho);
+            estatisticas.statusTrabalhoAlterado(trabalho, StatusTrabalho.EM_AVALIACAO, decidido);
+            (decidido == StatusTrabalho.APROVADO ? aprovados : reprovados).add(trabalho);
+        }
+        return new ResultadoDecisao(List.copyOf(aprovados), List.copyOf(reprovados), aguardando);
     }
 
-    public List<Trabalho> listarTrabalhosPorEvento(String eventoId) {
+    public List<Trabalho> listarTrabalhosPorEvento(Uid eventoId) {
         return trabalhoRepository.findAllByEventoId(eventoId);
     }
 
-    public List<Trabalho> listarTrabalhosPorAutor(String autorId) {
+    /**
+     * Versão paginada por cursor de {@link #listarTrabalhosPorEvento}, em ordem de ID.
+     * @param eventoId O ID do evento.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Trabalho> paginarTrabalhosPorEvento(Uid eventoId, String cursor, int limite) {
+        return trabalhoRepository.findByEventoId(eventoId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarTrabalhosPorEvento: percorre os itens sem copiá-los para uma lista.
+    public Stream<Trabalho> percorrerTrabalhosPorEvento(Uid eventoId) {
+        return trabalhoRepository.streamByEventoId(eventoId);
+    }
+
+    public List<Trabalho> listarTrabalhosPorAutor(Uid autorId) {
         if (autorId == null) {
             throw new IllegalArgumentException("ID do autor não pode ser nulo.");
         }
         return trabalhoRepository.findAllByAutorId(autorId);
     }
+
+    /**
+     * Versão paginada por cursor de {@link #listarTrabalhosPorAutor}, em ordem de ID.
+     * @param autorId O ID do autor.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limite O número máximo de itens da página.
+     * @return A página de itens.
+     */
+    public Pagina<Trabalho> paginarTrabalhosPorAutor(Uid autorId, String cursor, int limite) {
+        if (autorId == null) {
+            throw new IllegalArgumentException("ID do autor não pode ser nulo.");
+        }
+        return trabalhoRepository.findByAutorId(autorId, cursor, limite);
+    }
+
+    // Versão preguiçosa de listarTrabalhosPorAutor: percorre os itens sem copiá-los para uma lista.
+    public Stream<Trabalho> percorrerTrabalhosPorAutor(Uid autorId) {
+        if (autorId == null) {
+            throw new IllegalArgumentException("ID do autor não pode ser nulo.");
+        }
+        return trabalhoRepository.streamByAutorId(autorId);
+    }
 }
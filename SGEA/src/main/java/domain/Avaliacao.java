@@ -1,15 +1,14 @@
 package domain;
 
 import java.time.LocalDate;
-import java.util.Objects;
-import java.util.UUID;
 import repository.Identifiable;
+import repository.Uid;
 /**
  *
  * @author enio1
  */
-public class Avaliacao implements Identifiable<String> {
-     private String id;
+public class Avaliacao implements Identifiable<Uid> {
+     private Uid id;
     private double nota; 
     private String comentarios;
     private LocalDate dataAvaliacao;
@@ -17,18 +16,23 @@ public class Avaliacao implements Identifiable<String> {
     private Trabalho trabalho; 
     private Participante avaliador;
 
-    public Avaliacao(double nota, String comentarios, Trabalho trabalho, Participante avaliador) {
-        this.id = UUID.randomUUID().toString();
+    public Avaliacao(Uid id, double nota, String comentarios, Trabalho trabalho, Participante avaliador) {
+        this(id, nota, comentarios, LocalDate.now(), trabalho, avaliador);
+    }
+
+    // Reconstrução de uma avaliação já existente (ex.: carregada da persistência).
+    public Avaliacao(Uid id, double nota, String comentarios, LocalDate dataAvaliacao, Trabalho trabalho, Participante avaliador) {
+        this.id = id;
         this.nota = nota;
         this.comentarios = comentarios;
-        this.dataAvaliacao = LocalDate.now();
+        this.dataAvaliacao = dataAvaliacao;
         this.trabalho = trabalho;
         this.avaliador = avaliador;
     }
 
     // Getters
     @Override
-    public String getId() { return id; }
+    public Uid getId() { return id; }
     public double getNota() { return nota; }
     public String getComentarios() { return comentarios; }
     public LocalDate getDataAvaliacao() { return dataAvaliacao; }
@@ -50,11 +54,11 @@ public class Avaliacao implements Identifiable<String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Avaliacao avaliacao = (Avaliacao) o;
-        return Objects.equals(id, avaliacao.id);
+        return id.equals(avaliacao.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 }
@@ -3,14 +3,14 @@ package domain;
 import domain.enums.TipoCertificado;
 import java.time.LocalDate;
 import java.util.Objects;
-import java.util.UUID;
 import repository.Identifiable;
+import repository.Uid;
 /**
  *
  * @author enio1
  */
-public class Certificado implements Identifiable<String>{
-       private String id;
+public class Certificado implements Identifiable<Uid>{
+       private Uid id;
     private String codigoValidacao;
     private LocalDate dataEmissao;
     private TipoCertificado tipo;
@@ -19,12 +19,12 @@ public class Certificado implements Identifiable<String>{
     private Evento evento;
     private Trabalho trabalho;
 
-    public Certificado(TipoCertificado tipo, Participante participante, Evento evento) {
+    public Certificado(Uid id, String codigoValidacao, TipoCertificado tipo, Participante participante, Evento evento) {
         if (tipo == TipoCertificado.APRESENTACAO_TRABALHO) {
             throw new IllegalArgumentException("Use o construtor específico para certificado de apresentação de trabalho.");
         }
-        this.id = UUID.randomUUID().toString();
-        this.codigoValidacao = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        this.id = id;
+        this.codigoValidacao = codigoValidacao;
         this.dataEmissao = LocalDate.now();
         this.tipo = tipo;
         this.participante = participante;
@@ -32,9 +32,21 @@ public class Certificado implements Identifiable<String>{
         this.trabalho = null;
     }
 
-    public Certificado(Participante participante, Evento evento, Trabalho trabalho) {
-        this.id = UUID.randomUUID().toString();
-        this.codigoValidacao = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    // Reconstrução de um certificado já emitido (ex.: carregado da persistência).
+    public Certificado(Uid id, String codigoValidacao, LocalDate dataEmissao, TipoCertificado tipo,
+                       Participante participante, Evento evento, Trabalho trabalho) {
+        this.id = id;
+        this.codigoValidacao = codigoValidacao;
+        this.dataEmissao = dataEmissao;
+        this.tipo = tipo;
+        this.participante = participante;
+        this.evento = evento;
+        this.trabalho = trabalho;
+    }
+
+    public Certificado(Uid id, String codigoValidacao, Participante participante, Evento evento, Trabalho trabalho) {
+        this.id = id;
+        this.codigoValidacao = codigoValidacao;
         this.dataEmissao = LocalDate.now();
         this.tipo = TipoCertificado.APRESENTACAO_TRABALHO;
         this.participante = participante;
@@ -44,7 +56,7 @@ public class Certificado implements Identifiable<String>{
 
     // Getters
     @Override
-    public String getId() { return id; }
+    public Uid getId() { return id; }
     public String getCodigoValidacao() { return codigoValidacao; }
     public LocalDate getDataEmissao() { return dataEmissao; }
     public TipoCertificado getTipo() { return tipo; }
@@ -69,11 +81,11 @@ public class Certificado implements Identifiable<String>{
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Certificado that = (Certificado) o;
-        return Objects.equals(id, that.id);
+        return id.equals(that.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 }
@@ -3,35 +3,51 @@ package domain;
 import domain.enums.StatusInscricao;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import repository.IdGenerator;
 import repository.Identifiable;
+import repository.Uid;
 
 /**
  *
  * @author enio1
  */
-public class Evento implements Identifiable<String> {
-    private final String id;
+public class Evento implements Identifiable<Uid> {
+    private final Uid id;
     private String nome;
     private String descricao;
     private LocalDate dataInicio;
     private LocalDate dataFim;
     private String local;
-    private int capacidadeMaxima;
+    private volatile int capacidadeMaxima;
     private LocalDate periodoSubmissaoInicio;
     private LocalDate periodoSubmissaoFim;
     private Participante organizadorResponsavel;
 
-    private final List<Inscricao> inscricoes;
-    private final List<Trabalho> trabalhos;
+    // Filas sem trava: as inclusões concorrentes não se bloqueiam e os getters devolvem cópias,
+    // que nunca lançam ConcurrentModificationException.
+    private final Queue<Inscricao> inscricoes;
+    private final Queue<Trabalho> trabalhos;
+    // Contagem de inscrições ATIVAS, mantida a cada inclusão, remoção ou mudança de status.
+    private final AtomicInteger inscricoesAtivas = new AtomicInteger();
+    // Inscrição ATIVA de cada participante (por ID), para rejeitar duplicidade em O(1).
+    private final Map<Uid, Inscricao> inscricaoAtivaPorParticipante = new ConcurrentHashMap<>();
+    // Lista de espera FIFO para eventos lotados; o conjunto de IDs evita entradas duplicadas.
+    private final Queue<Participante> listaEspera = new ConcurrentLinkedQueue<>();
+    private final Set<Uid> participantesEmEspera = ConcurrentHashMap.newKeySet();
 
-    public Evento(String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
+    // O ID vem do IdGenerator (evento novo) ou da persistência (evento já existente).
+    public Evento(Uid id, String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
                   String local, int capacidadeMaxima, Participante organizadorResponsavel) {
-        this.id = UUID.randomUUID().toString();
+        this.id = id;
         this.nome = nome;
         this.descricao = descricao;
         this.dataInicio = dataInicio;
@@ -39,13 +55,13 @@ public class Evento implements Identifiable<String> {
         this.local = local;
         this.capacidadeMaxima = capacidadeMaxima;
         this.organizadorResponsavel = organizadorResponsavel;
-        this.inscricoes = new ArrayList<>();
-        this.trabalhos = new ArrayList<>();
+        this.inscricoes = new ConcurrentLinkedQueue<>();
+        this.trabalhos = new ConcurrentLinkedQueue<>();
     }
 
     // Getters
     @Override
-    public String getId() { return id; }
+    public Uid getId() { return id; }
     public String getNome() { return nome; }
     public String getDescricao() { return descricao; }
     public LocalDate getDataInicio() { return dataInicio; }
@@ -57,10 +73,19 @@ public class Evento implements Identifiable<String> {
     public Participante getOrganizadorResponsavel() { return organizadorResponsavel; }
 
     public List<Inscricao> getInscricoes() {
-        return Collections.unmodifiableList(inscricoes);
+        return List.copyOf(inscricoes);
     }
     public List<Trabalho> getTrabalhos() {
-        return Collections.unmodifiableList(trabalhos);
+        return List.copyOf(trabalhos);
+    }
+    public int getTotalInscricoesAtivas() {
+        return inscricoesAtivas.get();
+    }
+    public int getTamanhoListaEspera() {
+        return participantesEmEspera.size();
+    }
+    public List<Participante> getListaEspera() {
+        return List.copyOf(listaEspera);
     }
 
     // Setters (para edição de evento)
@@ -80,7 +105,7 @@ public class Evento implements Identifiable<String> {
     }
 
     public boolean isLotado() {
-        return inscricoes.stream().filter(i -> i.getStatus() == StatusInscricao.ATIVA).count() >= capacidadeMaxima;
+        return inscricoesAtivas.get() >= capacidadeMaxima;
     }
 
     public boolean isPeriodoSubmissaoAberto(LocalDate dataAtual) {
@@ -91,18 +116,255 @@ public class Evento implements Identifiable<String> {
     }
 
     public boolean isParticipanteInscritoAtivo(Participante participante) {
-        return inscricoes.stream()
-                .anyMatch(i -> i.getParticipante().equals(participante) && i.getStatus() == StatusInscricao.ATIVA);
+        return participante != null && inscricaoAtivaPorParticipante.containsKey(participante.getId());
+    }
+
+    /**
+     * Reserva uma vaga para uma nova inscrição ATIVA em um único passo atômico:
+     * rejeita participante já inscrito ativamente, verifica a capacidade e adiciona a inscrição.
+     * Não usa lock global: a duplicidade é resolvida por putIfAbsent e a vaga por CAS no contador.
+     * @param inscricao A nova inscrição (com status ATIVA).
+     * @throws IllegalStateException se o participante já estiver inscrito ou o evento estiver lotado.
+     */
+    public void reservarVaga(Inscricao inscricao) {
+        if (inscricao == null) throw new IllegalArgumentException("Inscrição não pode ser nula.");
+        if (inscricao.getStatus() != StatusInscricao.ATIVA) {
+            throw new IllegalArgumentException("Somente inscrições ativas ocupam vaga.");
+        }
+        ocuparVaga(inscricao);
+        synchronized (inscricao) {
+            inscricao.setVinculadaAoEventoInterno(true);
+        }
+        this.inscricoes.add(inscricao);
+    }
+
+    // Registra a inscrição como a ativa do participante e conta a vaga por CAS, ou desfaz e lança se não houver.
+    private void ocuparVaga(Inscricao inscricao) {
+        Uid participanteId = inscricao.getParticipante().getId();
+        if (inscricaoAtivaPorParticipante.putIfAbsent(participanteId, inscricao) != null) {
+            throw new IllegalStateException("Participante já está inscrito ativamente neste evento.");
+        }
+        int ativos;
+        do {
+            ativos = inscricoesAtivas.get();
+            if (ativos >= capacidadeMaxima) {
+                inscricaoAtivaPorParticipante.remove(participanteId, inscricao);
+                throw new IllegalStateException("Evento '" + nome + "' atingiu a capacidade máxima.");
+            }
+        } while (!inscricoesAtivas.compareAndSet(ativos, ativos + 1));
+    }
+
+    /**
+     * Reserva de uma só vez até {@code quantidade} vagas (CAS único no contador), para inscrições em lote.
+     * Cada vaga reservada deve depois ser ocupada com {@link #ocuparVagaReservada} ou devolvida
+     * com {@link #liberarVagasReservadas}.
+     * @param quantidade O número de vagas desejado.
+     * @return O número de vagas efetivamente reservadas (pode ser menor, conforme a capacidade).
+     */
+    public int reservarVagas(int quantidade) {
+        if (quantidade <= 0) {
+            return 0;
+        }
+        while (true) {
+            int ativos = inscricoesAtivas.get();
+            int concedidas = Math.min(quantidade, capacidadeMaxima - ativos);
+            if (concedidas <= 0) {
+                return 0;
+            }
+            if (inscricoesAtivas.compareAndSet(ativos, ativos + concedidas)) {
+                return concedidas;
+            }
+        }
+    }
+
+    /**
+     * Ocupa uma vaga previamente reservada com {@link #reservarVagas}.
+     * @param inscricao A nova inscrição (com status ATIVA).
+     * @return true se a inscrição foi adicionada; false se o participante já estava inscrito ativamente
+     *         (a vaga continua reservada).
+     */
+    public boolean ocuparVagaReservada(Inscricao inscricao) {
+        if (inscricao == null) throw new IllegalArgumentException("Inscrição não pode ser nula.");
+        if (inscricao.getStatus() != StatusInscricao.ATIVA) {
+            throw new IllegalArgumentException("Somente inscrições ativas ocupam vaga.");
+        }
+        if (inscricaoAtivaPorParticipante.putIfAbsent(inscricao.getParticipante().getId(), inscricao) != null) {
+            return false;
+        }
+        synchronized (inscricao) {
+            inscricao.setVinculadaAoEventoInterno(true);
+        }
+        this.inscricoes.add(inscricao);
+        return true;
+    }
+
+    /**
+     * Devolve vagas reservadas com {@link #reservarVagas} que não foram ocupadas.
+     * @param quantidade O número de vagas a devolver.
+     */
+    public void liberarVagasReservadas(int quantidade) {
+        if (quantidade > 0) {
+            inscricoesAtivas.addAndGet(-quantidade);
+        }
     }
 
     public void adicionarInscricaoInterna(Inscricao inscricao) { 
         if (inscricao == null) throw new IllegalArgumentException("Inscrição não pode ser nula.");
         this.inscricoes.add(inscricao);
+        synchronized (inscricao) {
+            inscricao.setVinculadaAoEventoInterno(true);
+            if (inscricao.getStatus() == StatusInscricao.ATIVA) {
+                inscricaoAtivaPorParticipante.put(inscricao.getParticipante().getId(), inscricao);
+                inscricoesAtivas.incrementAndGet();
+            }
+        }
     }
 
     public void removerInscricaoInterna(Inscricao inscricao) { 
          if (inscricao == null) throw new IllegalArgumentException("Inscrição não pode ser nula.");
-         this.inscricoes.remove(inscricao); 
+         if (this.inscricoes.remove(inscricao)) {
+             synchronized (inscricao) {
+                 inscricao.setVinculadaAoEventoInterno(false);
+                 if (inscricao.getStatus() == StatusInscricao.ATIVA) {
+                     inscricaoAtivaPorParticipante.remove(inscricao.getParticipante().getId(), inscricao);
+                     inscricoesAtivas.decrementAndGet();
+                 }
+             }
+         }
+    }
+
+    /**
+     * Coloca um participante no fim da lista de espera do evento. Só é permitido com o evento lotado.
+     * @param participante O participante que aguardará uma vaga.
+     * @return O tamanho da lista de espera após a entrada.
+     * @throws IllegalStateException se o evento tiver vagas, ou o participante já estiver inscrito ou na fila.
+     */
+    public int entrarListaEspera(Participante participante) {
+        if (participante == null) throw new IllegalArgumentException("Participante não pode ser nulo.");
+        if (!isLotado()) {
+            throw new IllegalStateException("Evento '" + nome + "' ainda possui vagas; realize a inscrição diretamente.");
+        }
+        if (isParticipanteInscritoAtivo(participante)) {
+            throw new IllegalStateException("Participante já está inscrito ativamente neste evento.");
+        }
+        if (!participantesEmEspera.add(participante.getId())) {
+            throw new IllegalStateException("Participante já está na lista de espera deste evento.");
+        }
+        listaEspera.add(participante);
+        return participantesEmEspera.size();
+    }
+
+    /**
+     * Cancela uma inscrição ativa. Se houver alguém na lista de espera, a vaga é repassada
+     * diretamente ao primeiro da fila: ela não volta ao contador, então nenhuma inscrição
+     * concorrente consegue tomá-la.
+     * @param inscricao A inscrição a ser cancelada.
+     * @param ids A fonte do ID da inscrição criada para o participante promovido.
+     * @return A nova inscrição ATIVA do participante promovido, se houver.
+     * @throws IllegalStateException se a inscrição não estiver ativa neste evento.
+     */
+    public Optional<Inscricao> cancelarInscricao(Inscricao inscricao, IdGenerator ids) {
+        if (inscricao == null) throw new IllegalArgumentException("Inscrição não pode ser nula.");
+        synchronized (inscricao) {
+            if (inscricao.getEvento() != this || !inscricao.isVinculadaAoEventoInterno()
+                    || inscricao.getStatus() != StatusInscricao.ATIVA) {
+                throw new IllegalStateException("Inscrição não está ativa neste evento.");
+            }
+            inscricao.definirStatusInterno(StatusInscricao.CANCELADA);
+            inscricaoAtivaPorParticipante.remove(inscricao.getParticipante().getId(), inscricao);
+        }
+        Inscricao promovida = promoverProximoDaEspera(ids);
+        if (promovida == null) {
+            inscricoesAtivas.decrementAndGet();
+        }
+        return Optional.ofNullable(promovida);
+    }
+
+    /**
+     * Promove participantes da lista de espera enquanto houver vagas livres
+     * (ex.: uma vaga liberada enquanto alguém entrava na fila).
+     * @param ids A fonte dos IDs das inscrições criadas.
+     * @return As inscrições criadas para os participantes promovidos.
+     */
+    public List<Inscricao> promoverListaEspera(IdGenerator ids) {
+        List<Inscricao> promovidas = new ArrayList<>();
+        while (!listaEspera.isEmpty()) {
+            int ativos = inscricoesAtivas.get();
+            if (ativos >= capacidadeMaxima) {
+                break;
+            }
+            if (!inscricoesAtivas.compareAndSet(ativos, ativos + 1)) {
+                continue;
+            }
+            Inscricao promovida = promoverProximoDaEspera(ids);
+            if (promovida == null) {
+                inscricoesAtivas.decrementAndGet();
+                break;
+            }
+            promovidas.add(promovida);
+        }
+        return promovidas;
+    }
+
+    /**
+     * Altera a capacidade máxima do evento. As vagas criadas por um aumento vão primeiro para a lista
+     * de espera, na ordem de chegada, antes de qualquer nova inscrição.
+     * @param capacidade A nova capacidade.
+     * @param ids A fonte dos IDs das inscrições criadas.
+     * @return As inscrições criadas para os participantes promovidos.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     * @throws IllegalStateException se a capacidade for menor que o número de inscrições ativas.
+     */
+    public List<Inscricao> alterarCapacidadeMaxima(int capacidade, IdGenerator ids) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade máxima deve ser positiva.");
+        }
+        int ativos = inscricoesAtivas.get();
+        if (capacidade < ativos) {
+            throw new IllegalStateException("Capacidade máxima não pode ser menor que as " + ativos + " inscrições ativas.");
+        }
+        this.capacidadeMaxima = capacidade;
+        return promoverListaEspera(ids);
+    }
+
+    // Inscreve o primeiro da fila numa vaga já contabilizada pelo chamador; pula quem já se inscreveu por outro caminho.
+    private Inscricao promoverProximoDaEspera(IdGenerator ids) {
+        Participante proximo;
+        while ((proximo = listaEspera.poll()) != null) {
+            participantesEmEspera.remove(proximo.getId());
+            Inscricao promovida = new Inscricao(ids.nextId(), LocalDate.now(), this, proximo);
+            if (inscricaoAtivaPorParticipante.putIfAbsent(proximo.getId(), promovida) == null) {
+                synchronized (promovida) {
+                    promovida.setVinculadaAoEventoInterno(true);
+                }
+                inscricoes.add(promovida);
+                return promovida;
+            }
+        }
+        return null;
+    }
+
+    // Chamado por Inscricao.setStatus, antes de alterar o status, para manter a contagem de inscrições ativas.
+    // A reativação ocupa uma vaga pelo mesmo caminho de reservarVaga: lança se o evento estiver lotado
+    // ou se o participante já tiver outra inscrição ativa.
+    void atualizarStatusInscricaoInterna(Inscricao inscricao, StatusInscricao anterior, StatusInscricao novo) {
+        if (anterior == StatusInscricao.ATIVA && novo != StatusInscricao.ATIVA) {
+            inscricaoAtivaPorParticipante.remove(inscricao.getParticipante().getId(), inscricao);
+            inscricoesAtivas.decrementAndGet();
+        } else if (anterior != StatusInscricao.ATIVA && novo == StatusInscricao.ATIVA) {
+            ocuparVaga(inscricao);
+        }
+    }
+
+    // Usado pela persistência para restaurar a fila gravada, na mesma ordem; não confere lotação nem inscrições.
+    public void definirListaEsperaInterna(List<Participante> participantes) {
+        listaEspera.clear();
+        participantesEmEspera.clear();
+        for (Participante participante : participantes) {
+            if (participantesEmEspera.add(participante.getId())) {
+                listaEspera.add(participante);
+            }
+        }
     }
 
     public void adicionarTrabalhoInterno(Trabalho trabalho) { 
@@ -119,13 +381,12 @@ public class Evento implements Identifiable<String> {
 
     @Override
     public String toString() {
-        long ativos = inscricoes.stream().filter(i -> i.getStatus() == StatusInscricao.ATIVA).count();
         return "Evento ID: " + id 
                 + "\nNome: '" + nome + '\'' 
                 + "\nData: " + dataInicio + " até " + dataFim 
                 + "\nLocal: '" + local + '\'' 
                 + "\nCapacidade: " + capacidadeMaxima  
-                +  "\nInscritos Ativos: " + ativos + "\n";
+                +  "\nInscritos Ativos: " + inscricoesAtivas.get() + "\n";
     }
 
     @Override
@@ -133,11 +394,11 @@ public class Evento implements Identifiable<String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Evento evento = (Evento) o;
-        return Objects.equals(id, evento.id);
+        return id.equals(evento.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 }
@@ -2,36 +2,42 @@ package domain;
 
 import domain.enums.StatusInscricao;
 import java.time.LocalDate;
-import java.util.Objects;
-import java.util.UUID;
 import repository.Identifiable;
+import repository.Uid;
 /**
  *
  * @author enio1
  */
-public class Inscricao implements Identifiable<String> {
-    private String id;
+public class Inscricao implements Identifiable<Uid> {
+    private Uid id;
     private LocalDate dataInscricao;
-    private StatusInscricao status;
+    private volatile StatusInscricao status;
     private boolean presencaConfirmada; 
+    private boolean vinculadaAoEvento; // se já está na lista de inscrições do evento
 
     private Evento evento; 
     private Participante participante; 
 
     private static final int DIAS_ANTECEDENCIA_PARA_CANCELAMENTO = 2;
 
-    public Inscricao(LocalDate dataInscricao, Evento evento, Participante participante) {
-        this.id = UUID.randomUUID().toString();
+    public Inscricao(Uid id, LocalDate dataInscricao, Evento evento, Participante participante) {
+        this(id, dataInscricao, evento, participante, StatusInscricao.ATIVA, false);
+    }
+
+    // Reconstrução de uma inscrição já existente (ex.: carregada da persistência).
+    public Inscricao(Uid id, LocalDate dataInscricao, Evento evento, Participante participante,
+                     StatusInscricao status, boolean presencaConfirmada) {
+        this.id = id;
         this.dataInscricao = dataInscricao;
-        this.status = StatusInscricao.ATIVA; 
-        this.presencaConfirmada = false;
+        this.status = status; 
+        this.presencaConfirmada = presencaConfirmada;
         this.evento = evento;
         this.participante = participante;
     }
 
     // Getters
     @Override
-    public String getId() { return id; }
+    public Uid getId() { return id; }
     public LocalDate getDataInscricao() { return dataInscricao; }
     public StatusInscricao getStatus() { return status; }
     public boolean isPresencaConfirmada() { return presencaConfirmada; }
@@ -39,7 +45,31 @@ public class Inscricao implements Identifiable<String> {
     public Participante getParticipante() { return participante; }
 
     // Setters
-    public void setStatus(StatusInscricao status) {
+    /**
+     * Altera o status. Se a inscrição já pertence ao evento, o evento é notificado antes, para ajustar a
+     * contagem de inscrições ativas.
+     * @throws IllegalStateException ao reativar a inscrição com o evento lotado ou com o participante
+     *         já inscrito ativamente por outra inscrição (o status não muda).
+     */
+    public synchronized void setStatus(StatusInscricao status) {
+        StatusInscricao anterior = this.status;
+        if (anterior != status && vinculadaAoEvento) {
+            evento.atualizarStatusInscricaoInterna(this, anterior, status);
+        }
+        this.status = status;
+    }
+
+    // Chamado pelo Evento (sob o monitor desta inscrição) ao incluí-la ou removê-la da sua lista.
+    void setVinculadaAoEventoInterno(boolean vinculadaAoEvento) {
+        this.vinculadaAoEvento = vinculadaAoEvento;
+    }
+
+    boolean isVinculadaAoEventoInterno() {
+        return vinculadaAoEvento;
+    }
+
+    // Altera o status sem notificar o evento; usado pelo Evento, que já ajusta as próprias contagens.
+    void definirStatusInterno(StatusInscricao status) {
         this.status = status;
     }
 
@@ -52,6 +82,16 @@ public class Inscricao implements Identifiable<String> {
         }
     }
 
+    // Confirma a presença sob o monitor da inscrição (o mesmo do cancelamento); retorna false se já estava confirmada.
+    public synchronized boolean confirmarPresenca() {
+        if (this.status != StatusInscricao.ATIVA) {
+            throw new IllegalStateException("Não é possível confirmar presença para inscrição não ativa.");
+        }
+        boolean nova = !this.presencaConfirmada;
+        this.presencaConfirmada = true;
+        return nova;
+    }
+
     public boolean podeCancelar(LocalDate dataAtual) {
         // Regra de Negócio 4: Cancelamento de inscrição só é permitido até X dias antes da data de início do evento
         if (this.status != StatusInscricao.ATIVA) {
@@ -76,12 +116,12 @@ public class Inscricao implements Identifiable<String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Inscricao inscricao = (Inscricao) o;
-        return Objects.equals(id, inscricao.id);
+        return id.equals(inscricao.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
     
     
@@ -3,22 +3,22 @@ package domain;
 import domain.enums.TipoPerfil;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
 import repository.Identifiable;
+import repository.Uid;
 /**
  *
  * @author enio1
  */
-public class Participante  implements Identifiable<String> {
-    private String id;
+public class Participante  implements Identifiable<Uid> {
+    private Uid id;
     private String nomeCompleto;
     private String email;
     private String instituicao;
     private TipoPerfil tipoPerfil;
 
-    public Participante(String nomeCompleto, String email, String instituicao, TipoPerfil tipoPerfil) {
-        this.id = UUID.randomUUID().toString();
+    // O ID vem do IdGenerator (participante novo) ou da persistência (participante já existente).
+    public Participante(Uid id, String nomeCompleto, String email, String instituicao, TipoPerfil tipoPerfil) {
+        this.id = id;
         this.nomeCompleto = nomeCompleto;
         this.email = email;
         this.instituicao = instituicao;
@@ -27,7 +27,7 @@ public class Participante  implements Identifiable<String> {
 
     // Getters
     @Override
-    public String getId() {
+    public Uid getId() {
         return id;
     }
 
@@ -78,11 +78,11 @@ public class Participante  implements Identifiable<String> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Participante that = (Participante) o;
-        return Objects.equals(id, that.id);
+        return id.equals(that.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 }
@@ -0,0 +1,53 @@
+package domain;
+
+import java.util.OptionalDouble;
+
+/**
+ * Resumo das notas recebidas por um trabalho num instante, mantido incrementalmente pelo próprio
+ * {@link Trabalho} a cada avaliação (sem percorrer as avaliações).
+ *
+ * @param quantidade Número de avaliações.
+ * @param soma Soma das notas.
+ * @param somaQuadrados Soma dos quadrados das notas.
+ * @param minima A menor nota (NaN sem avaliações).
+ * @param maxima A maior nota (NaN sem avaliações).
+ */
+public record ResumoNotas(int quantidade, double soma, double somaQuadrados, double minima, double maxima) {
+
+    public static final ResumoNotas VAZIO = new ResumoNotas(0, 0, 0, Double.NaN, Double.NaN);
+
+    /**
+     * @return O resumo com mais uma nota.
+     */
+    public ResumoNotas com(double nota) {
+        return new ResumoNotas(quantidade + 1, soma + nota, somaQuadrados + nota * nota,
+                quantidade == 0 ? nota : Math.min(minima, nota), quantidade == 0 ? nota : Math.max(maxima, nota));
+    }
+
+    /**
+     * @return A média das notas, ou vazio sem avaliações.
+     */
+    public OptionalDouble getMedia() {
+        return quantidade == 0 ? OptionalDouble.empty() : OptionalDouble.of(soma / quantidade);
+    }
+
+    /**
+     * @return A variância populacional das notas, ou vazio sem avaliações.
+     */
+    public OptionalDouble getVariancia() {
+        if (quantidade == 0) {
+            return OptionalDouble.empty();
+        }
+        double media = soma / quantidade;
+        // E[x²] - E[x]² pode dar um resíduo negativo por arredondamento quando as notas são iguais.
+        return OptionalDouble.of(Math.max(0, somaQuadrados / quantidade - media * media));
+    }
+
+    /**
+     * @return O desvio padrão populacional das notas, ou vazio sem avaliações.
+     */
+    public OptionalDouble getDesvioPadrao() {
+        OptionalDouble variancia = getVariancia();
+        return variancia.isPresent() ? OptionalDouble.of(Math.sqrt(variancia.getAsDouble())) : variancia;
+    }
+}
@@ -2,46 +2,55 @@ package domain;
 
 import domain.enums.StatusTrabalho;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import repository.Identifiable;
+import repository.Uid;
 
 
 /**
  *
  * @author enio1
  */
-public class Trabalho  implements Identifiable<String>{
-     private String id;
+public class Trabalho  implements Identifiable<Uid>{
+     private Uid id;
     private String titulo;
     private String arquivo; 
-    private StatusTrabalho status;
+    private volatile StatusTrabalho status;
     private LocalDate dataSubmissao;
 
     private Evento evento; 
     private Participante autor; 
-    private List<Avaliacao> avaliacoes; 
+    // Poucas avaliações por trabalho e muitas leituras: cópia na escrita, leituras sem trava.
+    // As mudanças de status e a inclusão de avaliações sincronizam no próprio trabalho.
+    private final List<Avaliacao> avaliacoes; 
+    // Agregado das notas, trocado junto com cada inclusão em avaliacoes: média e variância em O(1).
+    private volatile ResumoNotas resumoNotas = ResumoNotas.VAZIO;
 
-    public Trabalho(String titulo, String arquivo, Evento evento, Participante autor) {
+    public Trabalho(Uid id, String titulo, String arquivo, Evento evento, Participante autor) {
+        this(id, titulo, arquivo, StatusTrabalho.SUBMETIDO, LocalDate.now(), evento, autor);
+    }
+
+    // Reconstrução de um trabalho já existente (ex.: carregado da persistência).
+    public Trabalho(Uid id, String titulo, String arquivo, StatusTrabalho status, LocalDate dataSubmissao,
+                    Evento evento, Participante autor) {
         if (autor == null) {
             throw new IllegalArgumentException("Trabalho deve ter  autor.");
         }
-        this.id = UUID.randomUUID().toString();
+        this.id = id;
         this.titulo = titulo;
         this.arquivo = arquivo;
-        this.status = StatusTrabalho.SUBMETIDO; 
-        this.dataSubmissao = LocalDate.now();
+        this.status = status; 
+        this.dataSubmissao = dataSubmissao;
         this.evento = evento;
         this.autor = autor;
-        this.avaliacoes = new ArrayList<>();
+        this.avaliacoes = new CopyOnWriteArrayList<>();
     }
 
     // Getters
     @Override
-    public String getId() { return id; }
+    public Uid getId() { return id; }
     public String getTitulo() { return titulo; }
     public String getArquivo() { return arquivo; }
     public StatusTrabalho getStatus() { return status; }
@@ -49,22 +58,66 @@ public class Trabalho  implements Identifiable<String>{
     public Evento getEvento() { return evento; }
     public Participante getAutor() { return autor; }
     public List<Avaliacao> getAvaliacoes() { return Collections.unmodifiableList(avaliacoes); }
+    public ResumoNotas getResumoNotas() { return resumoNotas; }
 
     // Setters
     public void setTitulo(String titulo) { this.titulo = titulo; }
     public void setArquivo(String arquivo) { this.arquivo = arquivo; }
-    public void setStatus(StatusTrabalho status) { this.status = status; }
+    public synchronized void setStatus(StatusTrabalho status) { this.status = status; }
+
+    // Troca o status e devolve o anterior, num passo só (para quem acompanha as transições).
+    public synchronized StatusTrabalho trocarStatus(StatusTrabalho status) {
+        StatusTrabalho anterior = this.status;
+        this.status = status;
+        return anterior;
+    }
 
     // --- Métodos de Negócio (Information Expert) ---
-    public void adicionarAvaliacaoInterna(Avaliacao avaliacao) { 
+    // Retorna true se a avaliação tirou o trabalho de SUBMETIDO (passando-o para EM_AVALIACAO).
+    public synchronized boolean adicionarAvaliacaoInterna(Avaliacao avaliacao) {
         if (avaliacao == null) throw new IllegalArgumentException("Avaliação não pode ser nula.");
         if (this.status != StatusTrabalho.SUBMETIDO && this.status != StatusTrabalho.EM_AVALIACAO) {
             throw new IllegalStateException("Trabalho não pode ser avaliado neste status: " + this.status);
         }
         this.avaliacoes.add(avaliacao);
+        this.resumoNotas = resumoNotas.com(avaliacao.getNota());
+        if (this.status == StatusTrabalho.SUBMETIDO) {
+            this.status = StatusTrabalho.EM_AVALIACAO;
+            return true;
+        }
+        return false;
+    }
+
+    // Reanexa uma avaliação já registrada (ex.: carregada da persistência), sem as regras de status.
+    public synchronized void restaurarAvaliacao(Avaliacao avaliacao) {
+        if (avaliacao == null) throw new IllegalArgumentException("Avaliação não pode ser nula.");
+        this.avaliacoes.add(avaliacao);
+        this.resumoNotas = resumoNotas.com(avaliacao.getNota());
+    }
+
+    /**
+     * Decide o trabalho pelas notas: se estiver EM_AVALIACAO com pelo menos {@code minimoAvaliacoes}
+     * avaliações, passa para APROVADO (média maior ou igual a {@code notaMinima}) ou REPROVADO.
+     * A verificação e a troca são atômicas em relação a novas avaliações e mudanças de status.
+     * @return O novo status, ou null se o trabalho não pôde ser decidido.
+     */
+    public synchronized StatusTrabalho decidirPorNotas(int minimoAvaliacoes, double notaMinima) {
+        ResumoNotas resumo = this.resumoNotas;
+        if (this.status != StatusTrabalho.EM_AVALIACAO || resumo.quantidade() < minimoAvaliacoes) {
+            return null;
+        }
+        this.status = resumo.soma() / resumo.quantidade() >= notaMinima ? StatusTrabalho.APROVADO : StatusTrabalho.REPROVADO;
+        return this.status;
+    }
+
+    // Passa de SUBMETIDO para EM_AVALIACAO (ex.: ao designar avaliador); não mexe nos demais status.
+    // Retorna true se o status mudou.
+    public synchronized boolean iniciarAvaliacao() {
         if (this.status == StatusTrabalho.SUBMETIDO) {
             this.status = StatusTrabalho.EM_AVALIACAO;
+            return true;
         }
+        return false;
     }
 
     public boolean foiAprovado() {
@@ -92,11 +145,11 @@ public class Trabalho  implements Identifiable<String>{
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Trabalho trabalho = (Trabalho) o;
-        return Objects.equals(id, trabalho.id);
+        return id.equals(trabalho.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 }
@@ -0,0 +1,76 @@
+package facade;
+
+/**
+ * As operações públicas da {@link SGEAFacade}, instrumentadas pelas métricas da fachada.
+ * Cada uma é identificada nas métricas pelo nome do método correspondente.
+ */
+enum FacadeOperation {
+
+    CRIAR_SNAPSHOT("criarSnapshot"),
+    ARQUIVAR_EVENTOS_ENCERRADOS("arquivarEventosEncerrados"),
+    CADASTRAR_PARTICIPANTE("cadastrarParticipante"),
+    IMPORTAR_PARTICIPANTES("importarParticipantes"),
+    GET_PARTICIPANTE_BY_ID("getParticipanteById"),
+    LISTAR_TODOS_PARTICIPANTES("listarTodosParticipantes"),
+    PAGINAR_TODOS_PARTICIPANTES("paginarTodosParticipantes"),
+    PERCORRER_TODOS_PARTICIPANTES("percorrerTodosParticipantes"),
+    BUSCAR_PARTICIPANTES_POR_NOME("buscarParticipantesPorNome"),
+    ATUALIZAR_PARTICIPANTE("atualizarParticipante"),
+    LISTAR_EVENTOS_DISPONIVEIS_PARA_INSCRICAO("listarEventosDisponiveisParaInscricao"),
+    PAGINAR_EVENTOS_DISPONIVEIS_PARA_INSCRICAO("paginarEventosDisponiveisParaInscricao"),
+    PAGINAR_EVENTOS_POR_PERIODO("paginarEventosPorPeriodo"),
+    LISTAR_TODOS_EVENTOS("listarTodosEventos"),
+    PAGINAR_TODOS_EVENTOS("paginarTodosEventos"),
+    PERCORRER_TODOS_EVENTOS("percorrerTodosEventos"),
+    INSCREVER_EM_EVENTO("inscreverEmEvento"),
+    INSCREVER_EM_LOTE("inscreverEmLote"),
+    CANCELAR_INSCRICAO("cancelarInscricao"),
+    ENTRAR_LISTA_ESPERA("entrarListaEspera"),
+    LISTAR_INSCRICOES_POR_PARTICIPANTE("listarInscricoesPorParticipante"),
+    PAGINAR_INSCRICOES_POR_PARTICIPANTE("paginarInscricoesPorParticipante"),
+    PERCORRER_INSCRICOES_POR_PARTICIPANTE("percorrerInscricoesPorParticipante"),
+    SUBMETER_TRABALHO("submeterTrabalho"),
+    LISTAR_TRABALHOS_POR_EVENTO("listarTrabalhosPorEvento"),
+    PAGINAR_TRABALHOS_POR_EVENTO("paginarTrabalhosPorEvento"),
+    PERCORRER_TRABALHOS_POR_EVENTO("percorrerTrabalhosPorEvento"),
+    GET_TRABALHO_BY_ID("getTrabalhoById"),
+    CADASTRAR_EVENTO("cadastrarEvento"),
+    GET_EVENTO_BY_ID("getEventoById"),
+    DEFINIR_PERIODO_SUBMISSAO_TRABALHOS("definirPeriodoSubmissaoTrabalhos"),
+    ATUALIZAR_DETALHES_EVENTO("atualizarDetalhesEvento"),
+    VISUALIZAR_INSCRITOS_EVENTO("visualizarInscritosEvento"),
+    PAGINAR_INSCRITOS_EVENTO("paginarInscritosEvento"),
+    PERCORRER_INSCRITOS_EVENTO("percorrerInscritosEvento"),
+    CONFIRMAR_PRESENCA("confirmarPresenca"),
+    DESIGNAR_AVALIADOR_PARA_TRABALHO("designarAvaliadorParaTrabalho"),
+    REGISTRAR_AVALIACAO("registrarAvaliacao"),
+    LISTAR_AVALIACOES_POR_TRABALHO("listarAvaliacoesPorTrabalho"),
+    PAGINAR_AVALIACOES_POR_TRABALHO("paginarAvaliacoesPorTrabalho"),
+    PERCORRER_AVALIACOES_POR_TRABALHO("percorrerAvaliacoesPorTrabalho"),
+    ATUALIZAR_STATUS_TRABALHO("atualizarStatusTrabalho"),
+    DECIDIR_TRABALHOS_DO_EVENTO("decidirTrabalhosDoEvento"),
+    EMITIR_CERTIFICADOS_PARTICIPACAO_EVENTO("emitirCertificadosParticipacaoEvento"),
+    EMITIR_CERTIFICADOS_APRESENTACAO_TRABALHO_EVENTO("emitirCertificadosApresentacaoTrabalhoEvento"),
+    EMITIR_CERTIFICADO_ORGANIZADOR_EVENTO("emitirCertificadoOrganizadorEvento"),
+    GET_CERTIFICADO_BY_CODIGO_VALIDACAO("getCertificadoByCodigoValidacao"),
+    LISTAR_CERTIFICADOS_POR_PARTICIPANTE("listarCertificadosPorParticipante"),
+    PAGINAR_CERTIFICADOS_POR_PARTICIPANTE("paginarCertificadosPorParticipante"),
+    PERCORRER_CERTIFICADOS_POR_PARTICIPANTE("percorrerCertificadosPorParticipante"),
+    LISTAR_TRABALHOS_POR_AUTOR("listarTrabalhosPorAutor"),
+    PAGINAR_TRABALHOS_POR_AUTOR("paginarTrabalhosPorAutor"),
+    PERCORRER_TRABALHOS_POR_AUTOR("percorrerTrabalhosPorAutor"),
+    OBTER_ESTATISTICAS_EVENTO("obterEstatisticasEvento"),
+    LISTAR_EVENTOS_POR_ORGANIZADOR("listarEventosPorOrganizador"),
+    PAGINAR_EVENTOS_POR_ORGANIZADOR("paginarEventosPorOrganizador"),
+    PERCORRER_EVENTOS_POR_ORGANIZADOR("percorrerEventosPorOrganizador");
+
+    private final String nome;
+
+    FacadeOperation(String nome) {
+        this.nome = nome;
+    }
+
+    String getNome() {
+        return nome;
+    }
+}
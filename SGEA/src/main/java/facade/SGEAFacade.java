@@ -2,9 +2,17 @@ package facade;
 
 import controller.AvaliacaoController;
 import controller.CertificadoController;
+import controller.CriterioDecisao;
+import controller.DadosParticipante;
+import controller.EstatisticasEvento;
+import controller.EstatisticasEventos;
 import controller.EventoController;
 import controller.InscricaoController;
 import controller.ParticipanteController;
+import controller.ResultadoDecisao;
+import controller.ResultadoEmissao;
+import controller.ResultadoImportacao;
+import controller.ResultadoInscricao;
 import controller.TrabalhoController;
 import domain.Avaliacao;
 import domain.Certificado;
@@ -14,21 +22,40 @@ import domain.Participante;
 import domain.Trabalho;
 import domain.enums.StatusTrabalho;
 import domain.enums.TipoPerfil;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import metrics.MetricsRegistry;
+import metrics.OperationStats;
+import persistence.PersistenceManager;
+import persistence.WalConfig;
 import repository.AvaliacaoRepository;
+import repository.BaseRepository;
 import repository.CertificadoRepository;
 import repository.EventoRepository;
+import repository.IdGenerator;
 import repository.InscricaoRepository;
+import repository.Pagina;
 import repository.ParticipanteRepository;
 import repository.TrabalhoRepository;
+import repository.Uid;
+import repository.ValidationCodeGenerator;
+
+import static facade.FacadeOperation.*;
 
 /**
  *
  * @author enio1
  */
-public class SGEAFacade {
+public class SGEAFacade implements AutoCloseable {
 
     // Repositórios
     private final ParticipanteRepository participanteRepository;
@@ -46,7 +73,29 @@ public class SGEAFacade {
     private final AvaliacaoController avaliacaoController;
     private final CertificadoController certificadoController;
 
+    // Painel de cada evento, mantido pelos controllers a cada alteração
+    private final EstatisticasEventos estatisticasEventos;
+
+    // Persistência em disco (null quando o sistema roda apenas em memória)
+    private PersistenceManager persistenceManager;
+
+    // Métricas das operações, sempre ligadas: cada chamada registra latência e erros sem alocar.
+    private final MetricsRegistry metricas = new MetricsRegistry("sgea_facade");
+    private final OperationStats[] estatisticas = new OperationStats[FacadeOperation.values().length];
+
     public SGEAFacade() {
+        this(IdGenerator.uuidV7(), ValidationCodeGenerator.hex());
+    }
+
+    /**
+     * Cria a fachada em memória com geradores próprios de IDs e de códigos de validação.
+     * @param ids A fonte dos IDs das entidades criadas.
+     * @param codigos A fonte dos códigos de validação dos certificados.
+     */
+    public SGEAFacade(IdGenerator ids, ValidationCodeGenerator codigos) {
+        if (ids == null || codigos == null) {
+            throw new IllegalArgumentException("Geradores de IDs e de códigos não podem ser nulos.");
+        }
         // Inicialização dos Repositórios
         this.participanteRepository = new ParticipanteRepository();
         this.eventoRepository = new EventoRepository();
@@ -55,134 +104,473 @@ public class SGEAFacade {
         this.avaliacaoRepository = new AvaliacaoRepository();
         this.certificadoRepository = new CertificadoRepository();
 
+        this.estatisticasEventos = new EstatisticasEventos(eventoRepository, inscricaoRepository, trabalhoRepository,
+                avaliacaoRepository, certificadoRepository);
+
         // Inicialização dos Controllers com suas dependências de repositório
-        this.participanteController = new ParticipanteController(participanteRepository);
-        this.eventoController = new EventoController(eventoRepository, participanteRepository);
-        this.inscricaoController = new InscricaoController(inscricaoRepository, eventoRepository, participanteRepository);
-        this.trabalhoController = new TrabalhoController(trabalhoRepository, eventoRepository, participanteRepository, inscricaoRepository);
-        this.avaliacaoController = new AvaliacaoController(avaliacaoRepository, trabalhoRepository, participanteRepository);
-        this.certificadoController = new CertificadoController(certificadoRepository, eventoRepository, inscricaoRepository, trabalhoRepository, participanteRepository);
+        this.participanteController = new ParticipanteController(participanteRepository, ids);
+        this.eventoController = new EventoController(eventoRepository, participanteRepository, inscricaoRepository, estatisticasEventos, ids);
+        this.inscricaoController = new InscricaoController(inscricaoRepository, eventoRepository, participanteRepository, estatisticasEventos, ids);
+        this.trabalhoController = new TrabalhoController(trabalhoRepository, eventoRepository, participanteRepository, inscricaoRepository, estatisticasEventos, ids);
+        this.avaliacaoController = new AvaliacaoController(avaliacaoRepository, trabalhoRepository, participanteRepository, estatisticasEventos, ids);
+        this.certificadoController = new CertificadoController(certificadoRepository, eventoRepository, inscricaoRepository, trabalhoRepository, participanteRepository, estatisticasEventos, ids, codigos);
+
+        for (FacadeOperation op : FacadeOperation.values()) {
+            estatisticas[op.ordinal()] = metricas.operation(op.getNome());
+        }
+        registrarMedidores(participanteRepository, eventoRepository, inscricaoRepository, trabalhoRepository,
+                avaliacaoRepository, certificadoRepository);
+    }
+
+    /**
+     * Cria a fachada com persistência em disco: o log de escrita antecipada do diretório configurado
+     * é reaplicado e, a partir daí, toda alteração nos repositórios é registrada nele.
+     * @param config A configuração do log.
+     * @throws IOException se o log não puder ser lido ou aberto.
+     */
+    public SGEAFacade(WalConfig config) throws IOException {
+        this(config, IdGenerator.uuidV7(), ValidationCodeGenerator.hex());
+    }
+
+    /**
+     * Cria a fachada com persistência em disco e geradores próprios de IDs e de códigos de validação.
+     * @param config A configuração do log.
+     * @param ids A fonte dos IDs das entidades criadas.
+     * @param codigos A fonte dos códigos de validação dos certificados.
+     * @throws IOException se o log não puder ser lido ou aberto.
+     */
+    public SGEAFacade(WalConfig config, IdGenerator ids, ValidationCodeGenerator codigos) throws IOException {
+        this(ids, codigos);
+        if (config == null) {
+            throw new IllegalArgumentException("Configuração de persistência não pode ser nula.");
+        }
+        // Se a abertura falhar, ela mesma fecha o que já tinha aberto.
+        this.persistenceManager = PersistenceManager.abrir(config, participanteRepository, eventoRepository,
+                inscricaoRepository, trabalhoRepository, avaliacaoRepository, certificadoRepository);
+        try {
+            // Os repositórios foram restaurados sem passar pelos controllers.
+            estatisticasEventos.reconstruir();
+        } catch (RuntimeException e) {
+            try {
+                persistenceManager.close();
+            } catch (IOException falhaAoFechar) {
+                e.addSuppressed(falhaAoFechar);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Grava um snapshot dos dados e apaga o histórico do log que ele torna desnecessário.
+     * @return O LSN coberto pelo snapshot.
+     * @throws IOException se o snapshot não puder ser gravado.
+     */
+    public long criarSnapshot() throws IOException {
+        return medirIO(CRIAR_SNAPSHOT, () -> {
+            if (persistenceManager == null) {
+                throw new IllegalStateException("Persistência em disco não está habilitada.");
+            }
+            return persistenceManager.criarSnapshot();
+        });
+    }
+
+    /**
+     * Move para o histórico em disco os eventos encerrados antes da data limite (e seus dependentes).
+     * Eles continuam consultáveis, por exemplo na validação de certificados, sem ocupar memória.
+     * @param limite Eventos com data de fim anterior a esta data são arquivados.
+     * @return O número de eventos arquivados.
+     * @throws IOException se o histórico não puder ser gravado.
+     */
+    public int arquivarEventosEncerrados(LocalDate limite) throws IOException {
+        return medirIO(ARQUIVAR_EVENTOS_ENCERRADOS, () -> {
+            if (persistenceManager == null) {
+                throw new IllegalStateException("Persistência em disco não está habilitada.");
+            }
+            if (limite == null) {
+                throw new IllegalArgumentException("Data limite não pode ser nula.");
+            }
+            List<Uid> arquivados = persistenceManager.arquivarEventosEncerrados(limite);
+            // As estatísticas dos eventos arquivados passam a ser recalculadas a partir do histórico.
+            arquivados.forEach(estatisticasEventos::eventoRemovido);
+            return arquivados.size();
+        });
+    }
+
+    /**
+     * Grava as alterações pendentes e fecha o log, se houver persistência em disco.
+     */
+    @Override
+    public void close() throws IOException {
+        if (persistenceManager != null) {
+            persistenceManager.close();
+            persistenceManager = null;
+        }
+    }
+
+    /**
+     * @return As métricas da fachada: chamadas, erros e latências por operação, e os medidores dos repositórios.
+     */
+    public MetricsRegistry getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * @return Uma fotografia das métricas em texto, no formato de exposição do Prometheus.
+     */
+    public String exportarMetricas() {
+        return metricas.exportar();
     }
 
     // --- Métodos da Fachada ---
     public Participante cadastrarParticipante(String nomeCompleto, String email, String instituicao, TipoPerfil tipoPerfil) {
-        return participanteController.cadastrarParticipante(nomeCompleto, email, instituicao, tipoPerfil);
+        return medir(CADASTRAR_PARTICIPANTE,
+                () -> participanteController.cadastrarParticipante(nomeCompleto, email, instituicao, tipoPerfil));
+    }
+
+    public ResultadoImportacao importarParticipantes(Stream<DadosParticipante> linhas) {
+        return medir(IMPORTAR_PARTICIPANTES, () -> participanteController.importarParticipantes(linhas));
     }
 
     public Optional<Participante> getParticipanteById(String id) {
-        return participanteController.getParticipanteById(id);
+        return medir(GET_PARTICIPANTE_BY_ID, () -> buscar(id, participanteController::getParticipanteById));
     }
 
     public List<Participante> listarTodosParticipantes() {
-        return participanteController.listarTodosParticipantes();
+        return medir(LISTAR_TODOS_PARTICIPANTES, () -> participanteController.listarTodosParticipantes());
+    }
+
+    public Pagina<Participante> paginarTodosParticipantes(String cursor, int limite) {
+        return medir(PAGINAR_TODOS_PARTICIPANTES,
+                () -> participanteController.paginarTodosParticipantes(cursor, limite));
+    }
+
+    // Nos métodos "percorrer", as métricas medem a abertura do stream; o consumo fica por conta de quem chama.
+    public Stream<Participante> percorrerTodosParticipantes() {
+        return medir(PERCORRER_TODOS_PARTICIPANTES, () -> participanteController.percorrerTodosParticipantes());
+    }
+
+    public List<Participante> buscarParticipantesPorNome(String nome, int offset, int limite) {
+        return medir(BUSCAR_PARTICIPANTES_POR_NOME, () -> participanteController.buscarPorNome(nome, offset, limite));
     }
 
     public Participante atualizarParticipante(String id, String nome, String email, String instituicao, TipoPerfil perfil) {
-        return participanteController.atualizarParticipante(id, nome, email, instituicao, perfil);
+        return medir(ATUALIZAR_PARTICIPANTE,
+                () -> participanteController.atualizarParticipante(id(id), nome, email, instituicao, perfil));
     }
 
     public List<Evento> listarEventosDisponiveisParaInscricao() {
-        return eventoController.listarEventosDisponiveisParaInscricao(LocalDate.now());
+        return medir(LISTAR_EVENTOS_DISPONIVEIS_PARA_INSCRICAO,
+                () -> eventoController.listarEventosDisponiveisParaInscricao(LocalDate.now()));
+    }
+
+    public Pagina<Evento> paginarEventosDisponiveisParaInscricao(String cursor, int limite) {
+        return medir(PAGINAR_EVENTOS_DISPONIVEIS_PARA_INSCRICAO,
+                () -> eventoController.paginarEventosDisponiveisParaInscricao(LocalDate.now(), cursor, limite));
+    }
+
+    public Pagina<Evento> paginarEventosPorPeriodo(LocalDate de, LocalDate ate, String cursor, int limite) {
+        return medir(PAGINAR_EVENTOS_POR_PERIODO,
+                () -> eventoController.paginarEventosPorPeriodo(de, ate, cursor, limite));
     }
 
     public List<Evento> listarTodosEventos() {
-        return eventoController.listarTodosEventos();
+        return medir(LISTAR_TODOS_EVENTOS, () -> eventoController.listarTodosEventos());
+    }
+
+    public Pagina<Evento> paginarTodosEventos(String cursor, int limite) {
+        return medir(PAGINAR_TODOS_EVENTOS, () -> eventoController.paginarTodosEventos(cursor, limite));
+    }
+
+    public Stream<Evento> percorrerTodosEventos() {
+        return medir(PERCORRER_TODOS_EVENTOS, () -> eventoController.percorrerTodosEventos());
     }
 
     public Inscricao inscreverEmEvento(String participanteId, String eventoId) {
-        return inscricaoController.realizarInscricao(participanteId, eventoId);
+        return medir(INSCREVER_EM_EVENTO,
+                () -> inscricaoController.realizarInscricao(id(participanteId), id(eventoId)));
+    }
+
+    public List<ResultadoInscricao> inscreverEmLote(String eventoId, Collection<String> participanteIds) {
+        return medir(INSCREVER_EM_LOTE, () -> {
+            // IDs mal formados viram rejeições na posição correspondente, em vez de abortar o lote.
+            List<Uid> ids = participanteIds == null ? null
+                    : participanteIds.stream().map(Uid::parseOrNull).collect(Collectors.toList());
+            return inscricaoController.realizarInscricoes(id(eventoId), ids);
+        });
     }
 
     public void cancelarInscricao(String inscricaoId) {
-        inscricaoController.cancelarInscricao(inscricaoId);
+        executar(CANCELAR_INSCRICAO, () -> inscricaoController.cancelarInscricao(id(inscricaoId)));
+    }
+
+    public int entrarListaEspera(String participanteId, String eventoId) {
+        return medir(ENTRAR_LISTA_ESPERA,
+                () -> inscricaoController.entrarListaEspera(id(participanteId), id(eventoId)));
     }
 
     public List<Inscricao> listarInscricoesPorParticipante(String participanteId) {
-        return inscricaoController.listarInscricoesPorParticipante(participanteId);
+        return medir(LISTAR_INSCRICOES_POR_PARTICIPANTE,
+                () -> inscricaoController.listarInscricoesPorParticipante(id(participanteId)));
+    }
+
+    public Pagina<Inscricao> paginarInscricoesPorParticipante(String participanteId, String cursor, int limite) {
+        return medir(PAGINAR_INSCRICOES_POR_PARTICIPANTE,
+                () -> inscricaoController.paginarInscricoesPorParticipante(id(participanteId), cursor, limite));
+    }
+
+    public Stream<Inscricao> percorrerInscricoesPorParticipante(String participanteId) {
+        return medir(PERCORRER_INSCRICOES_POR_PARTICIPANTE,
+                () -> inscricaoController.percorrerInscricoesPorParticipante(id(participanteId)));
     }
 
     public Trabalho submeterTrabalho(String idAutor, String eventoId, String titulo, String arquivo) {
-        return trabalhoController.submeterTrabalho(idAutor, eventoId, titulo, arquivo);
+        return medir(SUBMETER_TRABALHO,
+                () -> trabalhoController.submeterTrabalho(id(idAutor), id(eventoId), titulo, arquivo));
     }
 
     public List<Trabalho> listarTrabalhosPorEvento(String eventoId) {
-        return trabalhoController.listarTrabalhosPorEvento(eventoId);
+        return medir(LISTAR_TRABALHOS_POR_EVENTO, () -> trabalhoController.listarTrabalhosPorEvento(id(eventoId)));
+    }
+
+    public Pagina<Trabalho> paginarTrabalhosPorEvento(String eventoId, String cursor, int limite) {
+        return medir(PAGINAR_TRABALHOS_POR_EVENTO,
+                () -> trabalhoController.paginarTrabalhosPorEvento(id(eventoId), cursor, limite));
+    }
+
+    public Stream<Trabalho> percorrerTrabalhosPorEvento(String eventoId) {
+        return medir(PERCORRER_TRABALHOS_POR_EVENTO,
+                () -> trabalhoController.percorrerTrabalhosPorEvento(id(eventoId)));
     }
 
     public Optional<Trabalho> getTrabalhoById(String trabalhoId) {
-        return trabalhoRepository.findById(trabalhoId);
+        return medir(GET_TRABALHO_BY_ID, () -> buscar(trabalhoId, trabalhoRepository::findById));
     }
 
     public Evento cadastrarEvento(String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
             String local, int capacidadeMaxima, String organizadorId,
             LocalDate periodoSubmissaoInicio, LocalDate periodoSubmissaoFim) {
-        return eventoController.cadastrarEvento(nome, descricao, dataInicio, dataFim, local, capacidadeMaxima, organizadorId, periodoSubmissaoInicio, periodoSubmissaoFim);
+        return medir(CADASTRAR_EVENTO,
+                () -> eventoController.cadastrarEvento(nome, descricao, dataInicio, dataFim, local, capacidadeMaxima, id(organizadorId), periodoSubmissaoInicio, periodoSubmissaoFim));
     }
 
     public Optional<Evento> getEventoById(String eventoId) {
-        return eventoRepository.findById(eventoId);
+        return medir(GET_EVENTO_BY_ID, () -> buscar(eventoId, eventoRepository::findById));
     }
 
     public Evento definirPeriodoSubmissaoTrabalhos(String eventoId, String organizadorIdVerificacao, LocalDate inicio, LocalDate fim) {
-        return eventoController.definirPeriodoSubmissao(eventoId, organizadorIdVerificacao, inicio, fim);
+        return medir(DEFINIR_PERIODO_SUBMISSAO_TRABALHOS,
+                () -> eventoController.definirPeriodoSubmissao(id(eventoId), id(organizadorIdVerificacao), inicio, fim));
     }
 
     // UC11: Editar evento
     public Evento atualizarDetalhesEvento(String eventoId, String organizadorIdVerificacao, String nome, String descricao,
             LocalDate dataInicio, LocalDate dataFim, String local, Integer capacidade) {
-        return eventoController.atualizarDetalhesEvento(eventoId, organizadorIdVerificacao, nome, descricao, dataInicio, dataFim, local, capacidade);
+        return medir(ATUALIZAR_DETALHES_EVENTO,
+                () -> eventoController.atualizarDetalhesEvento(id(eventoId), id(organizadorIdVerificacao), nome, descricao, dataInicio, dataFim, local, capacidade));
     }
 
     // UC10: Visualiazar lista de participantes do evento
     public List<Inscricao> visualizarInscritosEvento(String eventoId) {
-        return inscricaoController.listarInscricoesPorEvento(eventoId);
+        return medir(VISUALIZAR_INSCRITOS_EVENTO, () -> inscricaoController.listarInscricoesPorEvento(id(eventoId)));
+    }
+
+    public Pagina<Inscricao> paginarInscritosEvento(String eventoId, String cursor, int limite) {
+        return medir(PAGINAR_INSCRITOS_EVENTO,
+                () -> inscricaoController.paginarInscricoesPorEvento(id(eventoId), cursor, limite));
+    }
+
+    public Stream<Inscricao> percorrerInscritosEvento(String eventoId) {
+        return medir(PERCORRER_INSCRITOS_EVENTO, () -> inscricaoController.percorrerInscricoesPorEvento(id(eventoId)));
     }
 
     public Inscricao confirmarPresenca(String inscricaoId, String organizadorId) {
-        return inscricaoController.confirmarPresenca(inscricaoId, organizadorId);
+        return medir(CONFIRMAR_PRESENCA,
+                () -> inscricaoController.confirmarPresenca(id(inscricaoId), id(organizadorId)));
     }
 
     public Trabalho designarAvaliadorParaTrabalho(String trabalhoId, String avaliadorId, String organizadorId) {
-        return trabalhoController.designarAvaliadorParaTrabalho(trabalhoId, avaliadorId, organizadorId);
+        return medir(DESIGNAR_AVALIADOR_PARA_TRABALHO,
+                () -> trabalhoController.designarAvaliadorParaTrabalho(id(trabalhoId), id(avaliadorId), id(organizadorId)));
     }
 
     public Avaliacao registrarAvaliacao(String trabalhoId, String avaliadorId, double nota, String parecer) {
-        return avaliacaoController.registrarAvaliacao(trabalhoId, avaliadorId, nota, parecer);
+        return medir(REGISTRAR_AVALIACAO,
+                () -> avaliacaoController.registrarAvaliacao(id(trabalhoId), id(avaliadorId), nota, parecer));
     }
 
     public List<Avaliacao> listarAvaliacoesPorTrabalho(String trabalhoId) {
-        return avaliacaoController.listarAvaliacoesPorTrabalho(trabalhoId);
+        return medir(LISTAR_AVALIACOES_POR_TRABALHO,
+                () -> avaliacaoController.listarAvaliacoesPorTrabalho(id(trabalhoId)));
+    }
+
+    public Pagina<Avaliacao> paginarAvaliacoesPorTrabalho(String trabalhoId, String cursor, int limite) {
+        return medir(PAGINAR_AVALIACOES_POR_TRABALHO,
+                () -> avaliacaoController.paginarAvaliacoesPorTrabalho(id(trabalhoId), cursor, limite));
+    }
+
+    public Stream<Avaliacao> percorrerAvaliacoesPorTrabalho(String trabalhoId) {
+        return medir(PERCORRER_AVALIACOES_POR_TRABALHO,
+                () -> avaliacaoController.percorrerAvaliacoesPorTrabalho(id(trabalhoId)));
     }
 
     public Trabalho atualizarStatusTrabalho(String trabalhoId, StatusTrabalho novoStatus, String responsavelId) {
-        return trabalhoController.atualizarStatusTrabalho(trabalhoId, novoStatus, responsavelId);
+        return medir(ATUALIZAR_STATUS_TRABALHO,
+                () -> trabalhoController.atualizarStatusTrabalho(id(trabalhoId), novoStatus, id(responsavelId)));
     }
 
-    public List<Certificado> emitirCertificadosParticipacaoEvento(String eventoId) {
-        return certificadoController.emitirCertificadosParticipacaoEvento(eventoId);
+    /**
+     * Decide em lote os trabalhos em avaliação de um evento: os que têm avaliações suficientes passam para
+     * APROVADO ou REPROVADO conforme a média das notas.
+     * @param eventoId O ID do evento.
+     * @param organizadorId O ID do organizador responsável pelo evento.
+     * @param criterio O número mínimo de avaliações e a média mínima de aprovação.
+     * @return Os trabalhos decididos e quantos ainda aguardam avaliações.
+     */
+    public ResultadoDecisao decidirTrabalhosDoEvento(String eventoId, String organizadorId, CriterioDecisao criterio) {
+        return medir(DECIDIR_TRABALHOS_DO_EVENTO,
+                () -> trabalhoController.decidirTrabalhosDoEvento(id(eventoId), id(organizadorId), criterio));
     }
 
-    public List<Certificado> emitirCertificadosApresentacaoTrabalhoEvento(String eventoId) {
-        return certificadoController.emitirCertificadosApresentacaoTrabalhoEvento(eventoId);
+    public ResultadoEmissao emitirCertificadosParticipacaoEvento(String eventoId) {
+        return medir(EMITIR_CERTIFICADOS_PARTICIPACAO_EVENTO,
+                () -> certificadoController.emitirCertificadosParticipacaoEvento(id(eventoId)));
+    }
+
+    public ResultadoEmissao emitirCertificadosApresentacaoTrabalhoEvento(String eventoId) {
+        return medir(EMITIR_CERTIFICADOS_APRESENTACAO_TRABALHO_EVENTO,
+                () -> certificadoController.emitirCertificadosApresentacaoTrabalhoEvento(id(eventoId)));
     }
 
     public Certificado emitirCertificadoOrganizadorEvento(String eventoId, String organizadorId) {
-        return certificadoController.emitirCertificadoOrganizador(eventoId, organizadorId);
+        return medir(EMITIR_CERTIFICADO_ORGANIZADOR_EVENTO,
+                () -> certificadoController.emitirCertificadoOrganizador(id(eventoId), id(organizadorId)));
     }
 
     public Optional<Certificado> getCertificadoByCodigoValidacao(String codigo) {
-        return certificadoRepository.findByCodigoValidacao(codigo);
+        return medir(GET_CERTIFICADO_BY_CODIGO_VALIDACAO, () -> certificadoRepository.findByCodigoValidacao(codigo));
     }
 
     public List<Certificado> listarCertificadosPorParticipante(String participanteId) {
-        return certificadoRepository.findAllByParticipanteId(participanteId);
+        return medir(LISTAR_CERTIFICADOS_POR_PARTICIPANTE,
+                () -> certificadoRepository.findAllByParticipanteId(id(participanteId)));
+    }
+
+    public Pagina<Certificado> paginarCertificadosPorParticipante(String participanteId, String cursor, int limite) {
+        return medir(PAGINAR_CERTIFICADOS_POR_PARTICIPANTE,
+                () -> certificadoRepository.findByParticipanteId(id(participanteId), cursor, limite));
+    }
+
+    public Stream<Certificado> percorrerCertificadosPorParticipante(String participanteId) {
+        return medir(PERCORRER_CERTIFICADOS_POR_PARTICIPANTE,
+                () -> certificadoRepository.streamByParticipanteId(id(participanteId)));
     }
 
     public List<Trabalho> listarTrabalhosPorAutor(String autorId) {
-        return trabalhoController.listarTrabalhosPorAutor(autorId);
+        return medir(LISTAR_TRABALHOS_POR_AUTOR, () -> trabalhoController.listarTrabalhosPorAutor(id(autorId)));
+    }
+
+    public Pagina<Trabalho> paginarTrabalhosPorAutor(String autorId, String cursor, int limite) {
+        return medir(PAGINAR_TRABALHOS_POR_AUTOR,
+                () -> trabalhoController.paginarTrabalhosPorAutor(id(autorId), cursor, limite));
+    }
+
+    public Stream<Trabalho> percorrerTrabalhosPorAutor(String autorId) {
+        return medir(PERCORRER_TRABALHOS_POR_AUTOR, () -> trabalhoController.percorrerTrabalhosPorAutor(id(autorId)));
+    }
+
+    /**
+     * Retorna o painel de um evento (inscrições, presença, trabalhos por status, nota média e certificados)
+     * em O(1), a partir dos contadores mantidos a cada alteração.
+     * @param eventoId O ID do evento.
+     * @return As estatísticas do evento.
+     */
+    public EstatisticasEvento obterEstatisticasEvento(String eventoId) {
+        return medir(OBTER_ESTATISTICAS_EVENTO, () -> estatisticasEventos.obter(id(eventoId)));
     }
 
     public List<Evento> listarEventosPorOrganizador(String organizadorId) {
-        return eventoController.listarEventosPorOrganizador(organizadorId);
+        return medir(LISTAR_EVENTOS_POR_ORGANIZADOR,
+                () -> eventoController.listarEventosPorOrganizador(id(organizadorId)));
+    }
+
+    public Pagina<Evento> paginarEventosPorOrganizador(String organizadorId, String cursor, int limite) {
+        return medir(PAGINAR_EVENTOS_POR_ORGANIZADOR,
+                () -> eventoController.paginarEventosPorOrganizador(id(organizadorId), cursor, limite));
+    }
+
+    public Stream<Evento> percorrerEventosPorOrganizador(String organizadorId) {
+        return medir(PERCORRER_EVENTOS_POR_ORGANIZADOR,
+                () -> eventoController.percorrerEventosPorOrganizador(id(organizadorId)));
+    }
+
+    // Toda operação da fachada passa por aqui: a latência e os erros são registrados sob o nome da operação.
+    private <T> T medir(FacadeOperation op, Supplier<T> operacao) {
+        long inicioNanos = System.nanoTime();
+        try {
+            return operacao.get();
+        } catch (RuntimeException e) {
+            registrarErro(op, e);
+            throw e;
+        } finally {
+            registrarChamada(op, inicioNanos);
+        }
+    }
+
+    private void executar(FacadeOperation op, Runnable operacao) {
+        medir(op, () -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    // Como medir, para as operações de disco.
+    private <T> T medirIO(FacadeOperation op, OperacaoIO<T> operacao) throws IOException {
+        long inicioNanos = System.nanoTime();
+        try {
+            return operacao.executar();
+        } catch (IOException | RuntimeException e) {
+            registrarErro(op, e);
+            throw e;
+        } finally {
+            registrarChamada(op, inicioNanos);
+        }
+    }
+
+    @FunctionalInterface
+    private interface OperacaoIO<T> {
+        T executar() throws IOException;
+    }
+
+    private void registrarChamada(FacadeOperation op, long inicioNanos) {
+        estatisticas[op.ordinal()].record(inicioNanos);
+    }
+
+    private void registrarErro(FacadeOperation op, Exception e) {
+        estatisticas[op.ordinal()].recordError(e);
+    }
+
+    // Medidores lidos só na consulta: entidades em memória e chaves de cada índice, por repositório.
+    private void registrarMedidores(BaseRepository<?, ?>... repositorios) {
+        for (BaseRepository<?, ?> repositorio : repositorios) {
+            String entidade = repositorio.getEntityName();
+            metricas.gauge("sgea_repository_entities", Map.of("repository", entidade), repositorio::count);
+            for (String indice : repositorio.indexNames()) {
+                Map<String, String> rotulos = new LinkedHashMap<>();
+                rotulos.put("repository", entidade);
+                rotulos.put("index", indice);
+                metricas.gauge("sgea_repository_index_keys", rotulos, () -> repositorio.indexKeyCount(indice));
+            }
+        }
+    }
+
+    // Os IDs chegam à fachada como texto e são convertidos uma única vez aqui; abaixo dela só circula o Uid.
+    private static Uid id(String texto) {
+        return texto == null ? null : Uid.parse(texto);
+    }
+
+    // Em buscas, um ID mal formado simplesmente não corresponde a nenhuma entidade.
+    private static <T> Optional<T> buscar(String texto, Function<Uid, Optional<T>> busca) {
+        Uid id = Uid.parseOrNull(texto);
+        return (id == null && texto != null) ? Optional.empty() : busca.apply(id);
     }
 }
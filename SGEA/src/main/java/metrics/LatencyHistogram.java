@@ -0,0 +1,149 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos, no estilo do HdrHistogram: os valores são contados em
+ * buckets log-lineares (cada potência de dois é dividida em 128 sub-buckets), o que dá erro relativo
+ * abaixo de 1% em toda a faixa de {@code long} com um array fixo de contadores.
+ * <p>
+ * O registro não aloca nem bloqueia (incremento atômico de um contador) e pode ser feito por várias
+ * threads ao mesmo tempo: os totais ficam em {@link LongAdder}s, para threads que registram juntas não
+ * disputarem a mesma linha de cache. As leituras (percentis, média) são uma fotografia aproximada
+ * enquanto houver registros concorrentes.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Valores abaixo de 2 * SUB_BUCKETS são exatos; de 2^8 a 2^62, 128 buckets por potência de dois.
+    private static final int TAMANHO = (63 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TAMANHO);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra uma latência. Valores negativos (relógio ajustado no meio da medição) contam como zero.
+     * @param nanos A latência, em nanossegundos.
+     */
+    public void record(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens.incrementAndGet(indice(valor));
+        total.increment();
+        soma.add(valor);
+        long atual = maximo.get();
+        while (valor > atual && !maximo.compareAndSet(atual, valor)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * Soma os registros de outro histograma a este (ex.: os histogramas por thread de uma medição).
+     * @param outro O histograma a somar.
+     */
+    public void add(LatencyHistogram outro) {
+        for (int i = 0; i < TAMANHO; i++) {
+            long c = outro.contagens.get(i);
+            if (c != 0) {
+                contagens.addAndGet(i, c);
+            }
+        }
+        total.add(outro.total.sum());
+        soma.add(outro.soma.sum());
+        long maxOutro = outro.maximo.get();
+        long atual = maximo.get();
+        while (maxOutro > atual && !maximo.compareAndSet(atual, maxOutro)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * Zera o histograma. Registros concorrentes ao reset podem ficar de fora ou entrar parcialmente.
+     */
+    public void reset() {
+        for (int i = 0; i < TAMANHO; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        soma.reset();
+        maximo.set(0);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getSumNanos() {
+        return soma.sum();
+    }
+
+    public long getMaxNanos() {
+        return maximo.get();
+    }
+
+    public double getMeanNanos() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) soma.sum() / n;
+    }
+
+    /**
+     * Retorna o valor do percentil informado: o maior valor equivalente do bucket onde ele cai,
+     * limitado ao máximo registrado.
+     * @param percentil O percentil, de 0 a 100 (ex.: 99.9).
+     * @return A latência do percentil, em nanossegundos (0 se o histograma estiver vazio).
+     */
+    public long getValueAtPercentile(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 100.");
+        }
+        long n = total.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * n));
+        long acumulado = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * @return Resumo em uma linha: contagem, média, p50, p99, p99.9 e máximo, em microssegundos.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d média=%.1fµs p50=%.1fµs p99=%.1fµs p99.9=%.1fµs máx=%.1fµs", getCount(),
+                getMeanNanos() / 1000.0, micros(getValueAtPercentile(50)), micros(getValueAtPercentile(99)),
+                micros(getValueAtPercentile(99.9)), micros(getMaxNanos()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    static int indice(long valor) {
+        if (valor < 2 * SUB_BUCKETS) {
+            return (int) valor;
+        }
+        int deslocamento = 63 - Long.numberOfLeadingZeros(valor) - SUB_BUCKET_BITS;
+        return deslocamento * SUB_BUCKETS + (int) (valor >>> deslocamento);
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < 2 * SUB_BUCKETS) {
+            return indice;
+        }
+        int deslocamento = indice / SUB_BUCKETS - 1;
+        long topo = indice % SUB_BUCKETS + SUB_BUCKETS;
+        return ((topo + 1) << deslocamento) - 1;
+    }
+}
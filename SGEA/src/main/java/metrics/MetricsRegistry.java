@@ -0,0 +1,180 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro das métricas de um componente: as {@link OperationStats} das suas operações e medidores
+ * (gauges) lidos sob demanda, como o número de entidades de um repositório.
+ * <p>
+ * Tudo é consultável em memória e exportável como texto no formato de exposição do Prometheus
+ * ({@link #exportar()}). As operações são registradas uma vez, na construção do componente; o
+ * caminho quente só usa a {@link OperationStats} já obtida.
+ */
+public final class MetricsRegistry {
+
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99, 0.999};
+
+    private final String prefixo;
+    private final Map<String, OperationStats> operacoes = new ConcurrentHashMap<>();
+    private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param prefixo O prefixo dos nomes das métricas de operação na exportação (ex.: "sgea_facade").
+     */
+    public MetricsRegistry(String prefixo) {
+        if (prefixo == null || prefixo.isBlank()) {
+            throw new IllegalArgumentException("Prefixo das métricas não pode ser vazio.");
+        }
+        this.prefixo = prefixo;
+    }
+
+    /**
+     * Registra uma operação, ou retorna a já registrada com o mesmo nome.
+     * @param nome O nome da operação.
+     * @return Os números da operação.
+     */
+    public OperationStats operation(String nome) {
+        return operacoes.computeIfAbsent(nome, OperationStats::new);
+    }
+
+    public Optional<OperationStats> getOperation(String nome) {
+        return Optional.ofNullable(operacoes.get(nome));
+    }
+
+    /**
+     * @return As operações registradas, em ordem alfabética.
+     */
+    public List<OperationStats> getOperations() {
+        return List.copyOf(new TreeMap<>(operacoes).values());
+    }
+
+    /**
+     * Registra um medidor.
+     * @param nome O nome da métrica (ex.: "sgea_repository_entities").
+     * @param rotulos Os rótulos que distinguem este medidor dos outros de mesmo nome.
+     * @param valor A leitura do valor atual; é chamada só na consulta, fora do caminho quente.
+     */
+    public void gauge(String nome, Map<String, String> rotulos, LongSupplier valor) {
+        if (nome == null || valor == null) {
+            throw new IllegalArgumentException("Nome e leitura do medidor não podem ser nulos.");
+        }
+        gauges.add(new Gauge(nome, rotulos == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(rotulos)), valor));
+    }
+
+    /**
+     * Lê todos os medidores.
+     * @return O valor atual de cada medidor, pela sua identificação no formato {@code nome{rotulo="valor"}}.
+     */
+    public Map<String, Long> readGauges() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (Gauge g : gauges) {
+            valores.put(g.nome() + rotulos(g.rotulos()), g.valor().getAsLong());
+        }
+        return valores;
+    }
+
+    /**
+     * Zera os números de todas as operações (os medidores refletem o estado atual e não são afetados).
+     */
+    public void reset() {
+        operacoes.values().forEach(OperationStats::reset);
+    }
+
+    /**
+     * Exporta uma fotografia das métricas como texto, no formato de exposição do Prometheus: chamadas,
+     * erros por tipo de exceção e quantis de latência (em segundos) de cada operação, seguidos dos medidores.
+     * @return O texto exportado.
+     */
+    public String exportar() {
+        StringBuilder sb = new StringBuilder();
+        List<OperationStats> ops = getOperations();
+
+        sb.append("# TYPE ").append(prefixo).append("_calls_total counter\n");
+        for (OperationStats op : ops) {
+            linha(sb, prefixo + "_calls_total", Map.of("operation", op.getNome()), Long.toString(op.getChamadas()));
+        }
+        sb.append("# TYPE ").append(prefixo).append("_errors_total counter\n");
+        for (OperationStats op : ops) {
+            for (Map.Entry<String, Long> e : op.getErrosPorTipo().entrySet()) {
+                Map<String, String> r = new LinkedHashMap<>();
+                r.put("operation", op.getNome());
+                r.put("exception", e.getKey());
+                linha(sb, prefixo + "_errors_total", r, Long.toString(e.getValue()));
+            }
+        }
+        sb.append("# TYPE ").append(prefixo).append("_latency_seconds summary\n");
+        for (OperationStats op : ops) {
+            LatencyHistogram h = op.getLatencias();
+            if (h.getCount() == 0) {
+                continue;
+            }
+            for (double q : QUANTIS) {
+                Map<String, String> r = new LinkedHashMap<>();
+                r.put("operation", op.getNome());
+                r.put("quantile", Double.toString(q));
+                linha(sb, prefixo + "_latency_seconds", r, segundos(h.getValueAtPercentile(q * 100)));
+            }
+            Map<String, String> r = Map.of("operation", op.getNome());
+            linha(sb, prefixo + "_latency_seconds_sum", r, segundos(h.getSumNanos()));
+            linha(sb, prefixo + "_latency_seconds_count", r, Long.toString(h.getCount()));
+            linha(sb, prefixo + "_latency_seconds_max", r, segundos(h.getMaxNanos()));
+        }
+
+        String ultimoNome = null;
+        for (Gauge g : ordenados()) {
+            if (!g.nome().equals(ultimoNome)) {
+                sb.append("# TYPE ").append(g.nome()).append(" gauge\n");
+                ultimoNome = g.nome();
+            }
+            linha(sb, g.nome(), g.rotulos(), Long.toString(g.valor().getAsLong()));
+        }
+        return sb.toString();
+    }
+
+    // Agrupa os medidores pelo nome (mantendo a ordem de registro dentro de cada nome), como o formato exige.
+    private List<Gauge> ordenados() {
+        Map<String, List<Gauge>> porNome = new LinkedHashMap<>();
+        for (Gauge g : gauges) {
+            porNome.computeIfAbsent(g.nome(), n -> new ArrayList<>()).add(g);
+        }
+        List<Gauge> lista = new ArrayList<>(gauges.size());
+        porNome.values().forEach(lista::addAll);
+        return lista;
+    }
+
+    private static void linha(StringBuilder sb, String nome, Map<String, String> rotulos, String valor) {
+        sb.append(nome).append(rotulos(rotulos)).append(' ').append(valor).append('\n');
+    }
+
+    private static String rotulos(Map<String, String> rotulos) {
+        if (rotulos.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, String> r : rotulos.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(r.getKey()).append("=\"")
+                    .append(r.getValue().replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String segundos(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private record Gauge(String nome, Map<String, String> rotulos, LongSupplier valor) {
+    }
+}
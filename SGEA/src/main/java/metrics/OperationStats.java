@@ -0,0 +1,73 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Números de uma operação instrumentada: chamadas, latências e erros por tipo de exceção.
+ * <p>
+ * O registro de uma chamada não aloca (histograma e contadores pré-alocados); o de um erro só aloca
+ * na primeira vez que aparece cada tipo de exceção.
+ */
+public final class OperationStats {
+
+    private final String nome;
+    private final LatencyHistogram latencias = new LatencyHistogram();
+    private final LongAdder erros = new LongAdder();
+    private final Map<Class<?>, LongAdder> errosPorTipo = new ConcurrentHashMap<>();
+
+    OperationStats(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Registra uma chamada concluída (com sucesso ou não).
+     * @param inicioNanos O {@link System#nanoTime()} do início da chamada.
+     */
+    public void record(long inicioNanos) {
+        latencias.record(System.nanoTime() - inicioNanos);
+    }
+
+    /**
+     * Registra que uma chamada terminou com a exceção informada. A chamada em si é registrada à parte,
+     * por {@link #record(long)}.
+     * @param erro A exceção lançada.
+     */
+    public void recordError(Throwable erro) {
+        erros.increment();
+        errosPorTipo.computeIfAbsent(erro.getClass(), tipo -> new LongAdder()).increment();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getChamadas() {
+        return latencias.getCount();
+    }
+
+    public long getErros() {
+        return erros.sum();
+    }
+
+    /**
+     * @return Os erros por nome simples da classe da exceção, em ordem alfabética.
+     */
+    public Map<String, Long> getErrosPorTipo() {
+        Map<String, Long> porTipo = new TreeMap<>();
+        errosPorTipo.forEach((tipo, n) -> porTipo.merge(tipo.getSimpleName(), n.sum(), Long::sum));
+        return porTipo;
+    }
+
+    public LatencyHistogram getLatencias() {
+        return latencias;
+    }
+
+    void reset() {
+        latencias.reset();
+        erros.reset();
+        errosPorTipo.values().forEach(LongAdder::reset);
+    }
+}
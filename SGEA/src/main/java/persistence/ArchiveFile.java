@@ -0,0 +1,263 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+import repository.Uid;
+
+/**
+ * Arquivo imutável de blocos, mapeado em memória e indexado por chave.
+ * <p>
+ * Formato: {@code [cabeçalho][blocos][índice]}. Cada bloco é {@code [tamanho:int][crc32:int][dados]}.
+ * O índice é um array ordenado de longs, cada um com o hash de 34 bits de uma chave nos bits altos e o
+ * deslocamento do bloco nos 30 bits baixos (por isso o arquivo é limitado a 1 GiB de blocos). A busca é
+ * binária sobre o mapeamento, sem nada do índice no heap; como o hash pode colidir, quem lê confere a
+ * chave no bloco decodificado.
+ */
+final class ArchiveFile {
+
+    private static final int MAGIC = 0x53474152; // "SGAR"
+    private static final byte VERSAO = 1;
+    private static final int CABECALHO = 4 + 1 + 4 + 8 + 4;
+    private static final int BITS_DESLOCAMENTO = 30;
+    private static final long MASCARA_DESLOCAMENTO = (1L << BITS_DESLOCAMENTO) - 1;
+    static final long TAMANHO_MAXIMO_BLOCOS = 1L << BITS_DESLOCAMENTO;
+
+    private final Path caminho;
+    private final MappedByteBuffer mapa;
+    private final int totalBlocos;
+    private final int inicioIndice;
+    private final int totalEntradas;
+
+    private ArchiveFile(Path caminho, MappedByteBuffer mapa, int totalBlocos, int inicioIndice, int totalEntradas) {
+        this.caminho = caminho;
+        this.mapa = mapa;
+        this.totalBlocos = totalBlocos;
+        this.inicioIndice = inicioIndice;
+        this.totalEntradas = totalEntradas;
+    }
+
+    /**
+     * Mapeia um arquivo já gravado (somente leitura).
+     */
+    static ArchiveFile abrir(Path caminho) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho inválido para arquivo de histórico: " + caminho);
+            }
+            // O mapeamento continua válido depois que o canal é fechado.
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (mapa.getInt(0) != MAGIC || mapa.get(4) != VERSAO) {
+                throw new IOException("Arquivo de histórico inválido ou de versão não suportada: " + caminho);
+            }
+            int totalBlocos = mapa.getInt(5);
+            long inicioIndice = mapa.getLong(9);
+            int totalEntradas = mapa.getInt(17);
+            if (inicioIndice < CABECALHO || inicioIndice + 8L * totalEntradas != tamanho) {
+                throw new IOException("Índice corrompido no arquivo de histórico: " + caminho);
+            }
+            return new ArchiveFile(caminho, mapa, totalBlocos, (int) inicioIndice, totalEntradas);
+        }
+    }
+
+    Path getCaminho() {
+        return caminho;
+    }
+
+    /**
+     * @return O número de blocos principais (os auxiliares não entram na conta).
+     */
+    int getTotalBlocos() {
+        return totalBlocos;
+    }
+
+    /**
+     * @return Os deslocamentos dos blocos associados ao hash da chave (podem incluir colisões).
+     */
+    int[] blocosComChave(Object chave) {
+        long alvo = hash(chave) << BITS_DESLOCAMENTO;
+        // Primeira entrada >= alvo.
+        int baixo = 0;
+        int alto = totalEntradas;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (entrada(meio) < alvo) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        int fim = baixo;
+        while (fim < totalEntradas && (entrada(fim) & ~MASCARA_DESLOCAMENTO) == alvo) {
+            fim++;
+        }
+        int[] deslocamentos = new int[fim - baixo];
+        for (int i = baixo; i < fim; i++) {
+            deslocamentos[i - baixo] = (int) (entrada(i) & MASCARA_DESLOCAMENTO);
+        }
+        return deslocamentos;
+    }
+
+    /**
+     * Lê os dados de um bloco, conferindo o checksum.
+     */
+    byte[] lerBloco(int deslocamento) throws IOException {
+        int tamanho = mapa.getInt(deslocamento);
+        int crcEsperado = mapa.getInt(deslocamento + 4);
+        if (tamanho < 0 || (long) deslocamento + 8 + tamanho > inicioIndice) {
+            throw new IOException("Bloco inválido em " + caminho + " na posição " + deslocamento);
+        }
+        byte[] dados = new byte[tamanho];
+        mapa.get(deslocamento + 8, dados);
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        if ((int) crc.getValue() != crcEsperado) {
+            throw new IOException("CRC inválido no bloco da posição " + deslocamento + " de " + caminho);
+        }
+        return dados;
+    }
+
+    /**
+     * Lê só o primeiro byte dos dados de um bloco, sem conferir o checksum. Quem grava os blocos pode usá-lo
+     * para distinguir tipos de bloco sem ler o bloco inteiro.
+     */
+    byte primeiroByte(int deslocamento) throws IOException {
+        if (deslocamento < CABECALHO || deslocamento + 8L >= inicioIndice) {
+            throw new IOException("Bloco inválido em " + caminho + " na posição " + deslocamento);
+        }
+        return mapa.get(deslocamento + 8);
+    }
+
+    private long entrada(int i) {
+        return mapa.getLong(inicioIndice + 8 * i);
+    }
+
+    // Chaves são IDs (hash direto dos 128 bits) ou textos, como o código de validação (FNV-1a de 64 bits).
+    // Nos dois casos, uma mistura final reduz o hash aos 34 bits altos.
+    private static long hash(Object chave) {
+        if (chave instanceof Uid id) {
+            return misturar(id.msb() * 0x9e3779b97f4a7c15L ^ id.lsb());
+        }
+        String texto = (String) chave;
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h = (h ^ texto.charAt(i)) * 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h >>> BITS_DESLOCAMENTO;
+    }
+
+    /**
+     * Grava um novo arquivo de blocos. O arquivo só fica visível com o nome final em {@link #concluir},
+     * depois de estar em disco.
+     */
+    static final class Escritor implements Closeable {
+
+        private final Path temporario;
+        private final FileChannel canal;
+        private long posicao = CABECALHO;
+        private int totalBlocos;
+        private long[] entradas = new long[1024];
+        private int totalEntradas;
+
+        Escritor(Path temporario) throws IOException {
+            this.temporario = temporario;
+            this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        /**
+         * @return true se um bloco com o tamanho informado ainda cabe neste arquivo.
+         */
+        boolean cabe(long tamanho) {
+            return posicao + 8 + tamanho <= TAMANHO_MAXIMO_BLOCOS;
+        }
+
+        boolean isVazio() {
+            return totalBlocos == 0;
+        }
+
+        /**
+         * Acrescenta um bloco, indexado pelas chaves informadas.
+         */
+        void adicionar(byte[] dados, Collection<?> chaves) throws IOException {
+            gravar(dados, chaves);
+            totalBlocos++;
+        }
+
+        /**
+         * Acrescenta um bloco auxiliar (ex.: um índice de quem usa o arquivo), indexado pelas chaves informadas
+         * como os demais, mas fora da contagem de blocos.
+         */
+        void adicionarAuxiliar(byte[] dados, Collection<?> chaves) throws IOException {
+            gravar(dados, chaves);
+        }
+
+        private void gravar(byte[] dados, Collection<?> chaves) throws IOException {
+            if (!cabe(dados.length)) {
+                throw new IllegalStateException("Bloco não cabe no arquivo de histórico.");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(dados);
+            ByteBuffer buffer = ByteBuffer.allocate(8 + dados.length);
+            buffer.putInt(dados.length).putInt((int) crc.getValue()).put(dados).flip();
+            long deslocamento = posicao;
+            while (buffer.hasRemaining()) {
+                posicao += canal.write(buffer, posicao);
+            }
+            for (Object chave : chaves) {
+                if (totalEntradas == entradas.length) {
+                    entradas = Arrays.copyOf(entradas, entradas.length * 2);
+                }
+                entradas[totalEntradas++] = (hash(chave) << BITS_DESLOCAMENTO) | deslocamento;
+            }
+        }
+
+        /**
+         * Grava o índice e o cabeçalho, força o arquivo para o disco e o publica com o nome final.
+         */
+        void concluir(Path destino) throws IOException {
+            long[] ordenadas = Arrays.copyOf(entradas, totalEntradas);
+            Arrays.sort(ordenadas);
+            ByteBuffer indice = ByteBuffer.allocate(8 * ordenadas.length);
+            for (long entrada : ordenadas) {
+                indice.putLong(entrada);
+            }
+            indice.flip();
+            long inicioIndice = posicao;
+            while (indice.hasRemaining()) {
+                posicao += canal.write(indice, posicao);
+            }
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+            cabecalho.putInt(MAGIC).put(VERSAO).putInt(totalBlocos).putLong(inicioIndice).putInt(ordenadas.length).flip();
+            canal.write(cabecalho, 0);
+            canal.force(true);
+            canal.close();
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (canal.isOpen()) {
+                canal.close();
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import repository.Uid;
+
+/**
+ * Primitivas do formato binário compacto usado pelos codecs:
+ * inteiros em tamanho variável (varint), textos em UTF-8 prefixados pelo tamanho, IDs ({@link Uid})
+ * como dois longs, datas como o dia da época em int e enums pelo ordinal. Valores nulos são
+ * representados sem custo adicional (tamanho, marcador ou ordinal zero).
+ */
+final class BinaryFormat {
+
+    private static final byte ID_NULO = 0;
+    private static final byte ID_UUID = 1;
+    private static final int DATA_NULA = Integer.MIN_VALUE;
+
+    private BinaryFormat() {
+    }
+
+    static void writeVarInt(DataOutput out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            int b = in.readByte();
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint inválido.");
+    }
+
+    // O tamanho é gravado somado de 1, para o zero representar null.
+    static void writeString(DataOutput out, String s) throws IOException {
+        if (s == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int tamanho = readVarInt(in) - 1;
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Grava um ID como um marcador seguido dos seus dois longs (17 bytes).
+     */
+    static void writeId(DataOutput out, Uid id) throws IOException {
+        if (id == null) {
+            out.writeByte(ID_NULO);
+            return;
+        }
+        out.writeByte(ID_UUID);
+        out.writeLong(id.msb());
+        out.writeLong(id.lsb());
+    }
+
+    static Uid readId(DataInput in) throws IOException {
+        byte tipo = in.readByte();
+        return switch (tipo) {
+            case ID_NULO -> null;
+            case ID_UUID -> new Uid(in.readLong(), in.readLong());
+            default -> throw new IOException("Tipo de ID inválido: " + tipo);
+        };
+    }
+
+    static void writeDate(DataOutput out, LocalDate data) throws IOException {
+        out.writeInt(data == null ? DATA_NULA : Math.toIntExact(data.toEpochDay()));
+    }
+
+    static LocalDate readDate(DataInput in) throws IOException {
+        int dia = in.readInt();
+        return dia == DATA_NULA ? null : LocalDate.ofEpochDay(dia);
+    }
+
+    // O ordinal é gravado somado de 1, para o zero representar null.
+    static void writeEnum(DataOutput out, Enum<?> valor) throws IOException {
+        out.writeByte(valor == null ? 0 : valor.ordinal() + 1);
+    }
+
+    static <E extends Enum<E>> E readEnum(DataInput in, E[] valores) throws IOException {
+        int ordinal = (in.readByte() & 0xFF) - 1;
+        if (ordinal < 0) {
+            return null;
+        }
+        if (ordinal >= valores.length) {
+            throw new IOException("Ordinal inválido: " + ordinal);
+        }
+        return valores[ordinal];
+    }
+}
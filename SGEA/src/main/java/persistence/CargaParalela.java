@@ -0,0 +1,106 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executa em paralelo as tarefas da restauração (ex.: os blocos de uma seção do snapshot), num pool
+ * próprio que existe só durante a abertura. {@link #aguardar} separa as etapas dependentes: as entidades
+ * de uma seção referenciam as das seções anteriores, que precisam estar carregadas.
+ * <p>
+ * O número de tarefas pendentes é limitado, para a leitura do arquivo não acumular blocos na memória
+ * mais depressa do que eles são aplicados. Com um único processador as tarefas rodam na própria thread.
+ */
+final class CargaParalela implements AutoCloseable {
+
+    /** Uma tarefa da restauração. */
+    interface Tarefa {
+        void executar() throws IOException;
+    }
+
+    private final ExecutorService pool;
+    private final Semaphore vagas;
+    private final List<Future<?>> pendentes = new ArrayList<>();
+
+    CargaParalela(int threads) {
+        if (threads <= 1) {
+            this.pool = null;
+            this.vagas = null;
+        } else {
+            this.pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "sgea-restauracao");
+                t.setDaemon(true);
+                return t;
+            });
+            this.vagas = new Semaphore(2 * threads);
+        }
+    }
+
+    /**
+     * Agenda uma tarefa; se já houver muitas pendentes, aguarda uma delas terminar.
+     * @throws IOException se a tarefa falhar (sem pool) ou a espera for interrompida.
+     */
+    void executar(Tarefa tarefa) throws IOException {
+        if (pool == null) {
+            tarefa.executar();
+            return;
+        }
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Restauração interrompida.");
+        }
+        pendentes.add(pool.submit(() -> {
+            try {
+                tarefa.executar();
+                return null;
+            } finally {
+                vagas.release();
+            }
+        }));
+    }
+
+    /**
+     * Aguarda todas as tarefas agendadas até aqui.
+     * @throws IOException se alguma tarefa falhou com IOException ou a espera foi interrompida.
+     */
+    void aguardar() throws IOException {
+        try {
+            for (Future<?> pendente : pendentes) {
+                pendente.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Restauração interrompida.");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Falha na restauração.", causa);
+        } finally {
+            pendentes.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
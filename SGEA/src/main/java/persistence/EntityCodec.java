@@ -0,0 +1,22 @@
+package persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codificação binária de uma entidade de domínio para a persistência.
+ * Referências a outras entidades são gravadas apenas pelo ID e resolvidas na decodificação.
+ *
+ * @param <T> Tipo da entidade.
+ */
+public interface EntityCodec<T> {
+
+    void encode(T entidade, DataOutput out) throws IOException;
+
+    /**
+     * Decodifica uma entidade. Se ela já existir no repositório, a instância existente é atualizada
+     * (preservando as referências do grafo); se for nova, é criada e vinculada aos seus agregados.
+     */
+    T decode(DataInput in) throws IOException;
+}
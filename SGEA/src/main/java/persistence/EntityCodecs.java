@@ -0,0 +1,317 @@
+package persistence;
+
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.Trabalho;
+import domain.enums.StatusInscricao;
+import domain.enums.StatusTrabalho;
+import domain.enums.TipoCertificado;
+import domain.enums.TipoPerfil;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import repository.AvaliacaoRepository;
+import repository.CertificadoRepository;
+import repository.EventoRepository;
+import repository.InscricaoRepository;
+import repository.ParticipanteRepository;
+import repository.TrabalhoRepository;
+import repository.Uid;
+
+import static persistence.BinaryFormat.readDate;
+import static persistence.BinaryFormat.readEnum;
+import static persistence.BinaryFormat.readId;
+import static persistence.BinaryFormat.readString;
+import static persistence.BinaryFormat.readVarInt;
+import static persistence.BinaryFormat.writeDate;
+import static persistence.BinaryFormat.writeEnum;
+import static persistence.BinaryFormat.writeId;
+import static persistence.BinaryFormat.writeString;
+import static persistence.BinaryFormat.writeVarInt;
+
+/**
+ * Codecs das seis entidades de domínio, no formato compacto de {@link BinaryFormat}. Cada entidade
+ * começa com a versão do seu formato; as referências a outras entidades são gravadas como IDs e
+ * resolvidas nos repositórios informados, que devem ser carregados na ordem de dependência
+ * (o log e os snapshots já garantem isso).
+ */
+final class EntityCodecs {
+
+    static final byte VERSAO = 1;
+
+    // Cópias únicas de values(), que cria um array novo a cada chamada.
+    private static final TipoPerfil[] PERFIS = TipoPerfil.values();
+    private static final StatusInscricao[] STATUS_INSCRICAO = StatusInscricao.values();
+    private static final StatusTrabalho[] STATUS_TRABALHO = StatusTrabalho.values();
+    private static final TipoCertificado[] TIPOS_CERTIFICADO = TipoCertificado.values();
+
+    final EntityCodec<Participante> participante;
+    final EntityCodec<Evento> evento;
+    final EntityCodec<Inscricao> inscricao;
+    final EntityCodec<Trabalho> trabalho;
+    final EntityCodec<Avaliacao> avaliacao;
+    final EntityCodec<Certificado> certificado;
+
+    /**
+     * Busca de uma entidade pelo ID, usada para resolver referências e reaproveitar instâncias existentes.
+     */
+    @FunctionalInterface
+    interface Busca<T> {
+        Optional<T> porId(Uid id);
+    }
+
+    EntityCodecs(ParticipanteRepository participantes, EventoRepository eventos, InscricaoRepository inscricoes,
+            TrabalhoRepository trabalhos, AvaliacaoRepository avaliacoes, CertificadoRepository certificados) {
+        this(participantes::findById, eventos::findById, inscricoes::findById, trabalhos::findById,
+                avaliacoes::findById, certificados::findById);
+    }
+
+    EntityCodecs(Busca<Participante> participantes, Busca<Evento> eventos, Busca<Inscricao> inscricoes,
+            Busca<Trabalho> trabalhos, Busca<Avaliacao> avaliacoes, Busca<Certificado> certificados) {
+
+        this.participante = new EntityCodec<>() {
+            @Override
+            public void encode(Participante p, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, p.getId());
+                writeString(out, p.getNomeCompleto());
+                writeString(out, p.getEmail());
+                writeString(out, p.getInstituicao());
+                writeEnum(out, p.getTipoPerfil());
+            }
+
+            @Override
+            public Participante decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                String nome = readString(in);
+                String email = readString(in);
+                String instituicao = readString(in);
+                TipoPerfil perfil = readEnum(in, PERFIS);
+                Optional<Participante> existente = participantes.porId(id);
+                if (existente.isEmpty()) {
+                    return new Participante(id, nome, email, instituicao, perfil);
+                }
+                Participante p = existente.get();
+                p.setNomeCompleto(nome);
+                p.setEmail(email);
+                p.setInstituicao(instituicao);
+                p.setTipoPerfil(perfil);
+                return p;
+            }
+        };
+
+        this.evento = new EntityCodec<>() {
+            @Override
+            public void encode(Evento e, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, e.getId());
+                writeString(out, e.getNome());
+                writeString(out, e.getDescricao());
+                writeDate(out, e.getDataInicio());
+                writeDate(out, e.getDataFim());
+                writeString(out, e.getLocal());
+                writeVarInt(out, e.getCapacidadeMaxima());
+                writeDate(out, e.getPeriodoSubmissaoInicio());
+                writeDate(out, e.getPeriodoSubmissaoFim());
+                writeId(out, e.getOrganizadorResponsavel().getId());
+                List<Participante> espera = e.getListaEspera();
+                writeVarInt(out, espera.size());
+                for (Participante p : espera) {
+                    writeId(out, p.getId());
+                }
+            }
+
+            @Override
+            public Evento decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                String nome = readString(in);
+                String descricao = readString(in);
+                LocalDate dataInicio = readDate(in);
+                LocalDate dataFim = readDate(in);
+                String local = readString(in);
+                int capacidade = readVarInt(in);
+                LocalDate submissaoInicio = readDate(in);
+                LocalDate submissaoFim = readDate(in);
+                Participante organizador = resolver(participantes, readId(in));
+                int tamanhoEspera = readVarInt(in);
+                List<Participante> espera = new ArrayList<>(tamanhoEspera);
+                for (int i = 0; i < tamanhoEspera; i++) {
+                    espera.add(resolver(participantes, readId(in)));
+                }
+                Evento e = eventos.porId(id)
+                        .orElseGet(() -> new Evento(id, nome, descricao, dataInicio, dataFim, local, capacidade, organizador));
+                e.setNome(nome);
+                e.setDescricao(descricao);
+                e.setDataInicio(dataInicio);
+                e.setDataFim(dataFim);
+                e.setLocal(local);
+                e.setCapacidadeMaxima(capacidade);
+                e.setOrganizadorResponsavel(organizador);
+                e.setPeriodoSubmissao(submissaoInicio, submissaoFim);
+                e.definirListaEsperaInterna(espera);
+                return e;
+            }
+        };
+
+        this.inscricao = new EntityCodec<>() {
+            @Override
+            public void encode(Inscricao i, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, i.getId());
+                writeDate(out, i.getDataInscricao());
+                writeEnum(out, i.getStatus());
+                out.writeBoolean(i.isPresencaConfirmada());
+                writeId(out, i.getEvento().getId());
+                writeId(out, i.getParticipante().getId());
+            }
+
+            @Override
+            public Inscricao decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                LocalDate data = readDate(in);
+                StatusInscricao status = readEnum(in, STATUS_INSCRICAO);
+                boolean presenca = in.readBoolean();
+                Evento e = resolver(eventos, readId(in));
+                Participante p = resolver(participantes, readId(in));
+                Optional<Inscricao> existente = inscricoes.porId(id);
+                if (existente.isEmpty()) {
+                    Inscricao nova = new Inscricao(id, data, e, p, status, presenca);
+                    e.adicionarInscricaoInterna(nova);
+                    return nova;
+                }
+                // A presença só pode mudar com a inscrição ativa, então é ajustada antes e depois do status.
+                Inscricao i = existente.get();
+                if (i.getStatus() == StatusInscricao.ATIVA && i.isPresencaConfirmada() != presenca) {
+                    i.setPresencaConfirmada(presenca);
+                }
+                i.setStatus(status);
+                if (i.getStatus() == StatusInscricao.ATIVA && i.isPresencaConfirmada() != presenca) {
+                    i.setPresencaConfirmada(presenca);
+                }
+                return i;
+            }
+        };
+
+        this.trabalho = new EntityCodec<>() {
+            @Override
+            public void encode(Trabalho t, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, t.getId());
+                writeString(out, t.getTitulo());
+                writeString(out, t.getArquivo());
+                writeEnum(out, t.getStatus());
+                writeDate(out, t.getDataSubmissao());
+                writeId(out, t.getEvento().getId());
+                writeId(out, t.getAutor().getId());
+            }
+
+            @Override
+            public Trabalho decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                String titulo = readString(in);
+                String arquivo = readString(in);
+                StatusTrabalho status = readEnum(in, STATUS_TRABALHO);
+                LocalDate dataSubmissao = readDate(in);
+                Evento e = resolver(eventos, readId(in));
+                Participante autor = resolver(participantes, readId(in));
+                Optional<Trabalho> existente = trabalhos.porId(id);
+                if (existente.isEmpty()) {
+                    Trabalho novo = new Trabalho(id, titulo, arquivo, status, dataSubmissao, e, autor);
+                    e.adicionarTrabalhoInterno(novo);
+                    return novo;
+                }
+                Trabalho t = existente.get();
+                t.setTitulo(titulo);
+                t.setArquivo(arquivo);
+                t.setStatus(status);
+                return t;
+            }
+        };
+
+        this.avaliacao = new EntityCodec<>() {
+            @Override
+            public void encode(Avaliacao a, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, a.getId());
+                out.writeDouble(a.getNota());
+                writeString(out, a.getComentarios());
+                writeDate(out, a.getDataAvaliacao());
+                writeId(out, a.getTrabalho().getId());
+                writeId(out, a.getAvaliador().getId());
+            }
+
+            @Override
+            public Avaliacao decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                double nota = in.readDouble();
+                String comentarios = readString(in);
+                LocalDate data = readDate(in);
+                Trabalho t = resolver(trabalhos, readId(in));
+                Participante avaliador = resolver(participantes, readId(in));
+                Optional<Avaliacao> existente = avaliacoes.porId(id);
+                if (existente.isPresent()) {
+                    return existente.get(); // avaliações são imutáveis
+                }
+                Avaliacao nova = new Avaliacao(id, nota, comentarios, data, t, avaliador);
+                t.restaurarAvaliacao(nova);
+                return nova;
+            }
+        };
+
+        this.certificado = new EntityCodec<>() {
+            @Override
+            public void encode(Certificado c, DataOutput out) throws IOException {
+                out.writeByte(VERSAO);
+                writeId(out, c.getId());
+                writeString(out, c.getCodigoValidacao());
+                writeDate(out, c.getDataEmissao());
+                writeEnum(out, c.getTipo());
+                writeId(out, c.getParticipante().getId());
+                writeId(out, c.getEvento().getId());
+                writeId(out, c.getTrabalho() == null ? null : c.getTrabalho().getId());
+            }
+
+            @Override
+            public Certificado decode(DataInput in) throws IOException {
+                lerVersao(in);
+                Uid id = readId(in);
+                String codigo = readString(in);
+                LocalDate data = readDate(in);
+                TipoCertificado tipo = readEnum(in, TIPOS_CERTIFICADO);
+                Participante p = resolver(participantes, readId(in));
+                Evento e = resolver(eventos, readId(in));
+                Uid trabalhoId = readId(in);
+                Trabalho t = trabalhoId == null ? null : resolver(trabalhos, trabalhoId);
+                // Certificados são imutáveis.
+                return certificados.porId(id).orElseGet(() -> new Certificado(id, codigo, data, tipo, p, e, t));
+            }
+        };
+    }
+
+    private static void lerVersao(DataInput in) throws IOException {
+        byte versao = in.readByte();
+        if (versao != VERSAO) {
+            throw new IOException("Versão de entidade não suportada: " + versao);
+        }
+    }
+
+    private static <T> T resolver(Busca<T> busca, Uid id) throws IOException {
+        Optional<T> entidade = busca.porId(id);
+        if (entidade.isEmpty()) {
+            throw new IOException("Referência a entidade inexistente no log: " + id);
+        }
+        return entidade.get();
+    }
+}
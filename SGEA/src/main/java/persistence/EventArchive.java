@@ -0,0 +1,459 @@
+package persistence;
+
+import domain.Avaliacao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Inscricao;
+import domain.Trabalho;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import repository.ArchiveStore;
+import repository.CertificadoRepository;
+import repository.Identifiable;
+import repository.ParticipanteRepository;
+import repository.Uid;
+
+import static persistence.BinaryFormat.readId;
+import static persistence.BinaryFormat.readVarInt;
+import static persistence.BinaryFormat.writeId;
+import static persistence.BinaryFormat.writeVarInt;
+
+/**
+ * Histórico de eventos encerrados, fora do heap.
+ * <p>
+ * Cada evento arquivado vira um bloco (o evento, suas inscrições, trabalhos, avaliações e certificados,
+ * no formato de {@link EntityCodecs}) em um {@link ArchiveFile} mapeado em memória. O bloco é indexado
+ * pelos IDs das entidades que contém e pelos IDs e códigos que elas referenciam, e as camadas
+ * ({@link ArchiveStore}) de cada repositório decodificam os blocos sob demanda, mantendo os mais recentes
+ * em cache. Os participantes referenciados têm, em cada arquivo, um bloco auxiliar pequeno com os IDs dos
+ * eventos em que aparecem: uma busca pelo participante lê esse bloco e decodifica só os blocos desses
+ * eventos, e um participante sem eventos arquivados não decodifica nada. As entidades lidas do histórico formam um grafo próprio e devem ser tratadas como somente leitura.
+ * Os participantes não são arquivados: as referências a eles são resolvidas no repositório em memória.
+ */
+public final class EventArchive {
+
+    private static final String PREFIXO = "archive-";
+    private static final String SUFIXO = ".dat";
+    private static final int BLOCOS_EM_CACHE = 256;
+    // Primeiro byte dos dados de cada bloco.
+    private static final byte BLOCO_EVENTO = 1;
+    private static final byte BLOCO_PARTICIPANTE = 2;
+    // Limite do tamanho de um bloco de participante: cabeçalho do bloco, tipo, ID e quantidade; mais um ID por evento.
+    private static final int TAMANHO_BLOCO_PARTICIPANTE = 8 + 1 + 17 + 5;
+    private static final int TAMANHO_ID = 17;
+
+    private final Path diretorio;
+    private final ParticipanteRepository participantes;
+    private final EntityCodecs codecsGravacao;
+    // Mais recente primeiro; substituída por inteiro a cada arquivamento.
+    private volatile List<ArchiveFile> arquivos;
+    private final Map<ChaveBloco, Bloco> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(BLOCOS_EM_CACHE * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ChaveBloco, Bloco> maisAntigo) {
+                    return size() > BLOCOS_EM_CACHE;
+                }
+            });
+
+    private final Camada<Evento> eventos = new Camada<>(Bloco::eventos);
+    private final Camada<Inscricao> inscricoes = new Camada<>(Bloco::inscricoes);
+    private final Camada<Trabalho> trabalhos = new Camada<>(Bloco::trabalhos);
+    private final Camada<Avaliacao> avaliacoes = new Camada<>(Bloco::avaliacoes);
+    private final Camada<Certificado> certificados = new Camada<>(Bloco::certificados);
+
+    private EventArchive(Path diretorio, ParticipanteRepository participantes, List<ArchiveFile> arquivos) {
+        this.diretorio = diretorio;
+        this.participantes = participantes;
+        this.arquivos = arquivos;
+        // A codificação não resolve referências: as buscas só existem para a decodificação.
+        this.codecsGravacao = new EntityCodecs(participantes::findById, id -> Optional.empty(), id -> Optional.empty(),
+                id -> Optional.empty(), id -> Optional.empty(), id -> Optional.empty());
+    }
+
+    /**
+     * Mapeia os arquivos de histórico existentes no diretório.
+     * @param diretorio O diretório dos dados.
+     * @param participantes O repositório onde as referências a participantes são resolvidas.
+     */
+    public static EventArchive abrir(Path diretorio, ParticipanteRepository participantes) throws IOException {
+        Files.createDirectories(diretorio);
+        List<ArchiveFile> arquivos = new ArrayList<>();
+        try (Stream<Path> lista = Files.list(diretorio)) {
+            List<Path> caminhos = lista
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO) && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted(Collections.reverseOrder())
+                    .collect(Collectors.toList());
+            for (Path caminho : caminhos) {
+                arquivos.add(ArchiveFile.abrir(caminho));
+            }
+        }
+        return new EventArchive(diretorio, participantes, List.copyOf(arquivos));
+    }
+
+    public ArchiveStore<Evento, Uid> eventos() {
+        return eventos;
+    }
+
+    public ArchiveStore<Inscricao, Uid> inscricoes() {
+        return inscricoes;
+    }
+
+    public ArchiveStore<Trabalho, Uid> trabalhos() {
+        return trabalhos;
+    }
+
+    public ArchiveStore<Avaliacao, Uid> avaliacoes() {
+        return avaliacoes;
+    }
+
+    public ArchiveStore<Certificado, Uid> certificados() {
+        return certificados;
+    }
+
+    /**
+     * @return O número de eventos no histórico.
+     */
+    public int getTotalEventos() {
+        return arquivos.stream().mapToInt(ArchiveFile::getTotalBlocos).sum();
+    }
+
+    /**
+     * Grava os eventos e seus dependentes em novos arquivos de histórico e os torna consultáveis.
+     * Ao retornar, os arquivos estão em disco; cabe a quem chama remover as entidades dos repositórios.
+     * @param encerrados Os eventos a arquivar.
+     * @param certificadoRepository O repositório de onde vêm os certificados de cada evento.
+     */
+    public synchronized void arquivar(Collection<Evento> encerrados, CertificadoRepository certificadoRepository) throws IOException {
+        if (encerrados.isEmpty()) {
+            return;
+        }
+        List<ArchiveFile> novos = new ArrayList<>();
+        ArchiveFile.Escritor escritor = null;
+        // Eventos de cada participante no arquivo em gravação; viram os blocos de participante ao concluí-lo.
+        Map<Uid, List<Uid>> eventosPorParticipante = new LinkedHashMap<>();
+        long tamanhoBlocosParticipante = 0;
+        try {
+            for (Evento evento : encerrados) {
+                Set<Object> chaves = new LinkedHashSet<>();
+                Set<Uid> participantesDoEvento = new LinkedHashSet<>();
+                byte[] dados = codificar(evento, certificadoRepository.findAllByEventoId(evento.getId()), chaves,
+                        participantesDoEvento);
+                long acrescimo = acrescimoBlocosParticipante(eventosPorParticipante, participantesDoEvento);
+                if (escritor != null && !escritor.cabe(dados.length + tamanhoBlocosParticipante + acrescimo)) {
+                    novos.add(publicar(escritor, eventosPorParticipante));
+                    escritor = null;
+                    eventosPorParticipante.clear();
+                    tamanhoBlocosParticipante = 0;
+                    acrescimo = acrescimoBlocosParticipante(eventosPorParticipante, participantesDoEvento);
+                }
+                if (escritor == null) {
+                    escritor = new ArchiveFile.Escritor(diretorio.resolve(PREFIXO + "novo.tmp"));
+                }
+                escritor.adicionar(dados, chaves);
+                tamanhoBlocosParticipante += acrescimo;
+                for (Uid participante : participantesDoEvento) {
+                    eventosPorParticipante.computeIfAbsent(participante, p -> new ArrayList<>(1)).add(evento.getId());
+                }
+            }
+            if (escritor != null && !escritor.isVazio()) {
+                novos.add(publicar(escritor, eventosPorParticipante));
+            }
+        } finally {
+            if (escritor != null) {
+                escritor.close();
+            }
+        }
+        List<ArchiveFile> todos = new ArrayList<>(novos.size() + arquivos.size());
+        for (int i = novos.size() - 1; i >= 0; i--) {
+            todos.add(novos.get(i));
+        }
+        todos.addAll(arquivos);
+        arquivos = List.copyOf(todos);
+    }
+
+    private ArchiveFile publicar(ArchiveFile.Escritor escritor, Map<Uid, List<Uid>> eventosPorParticipante)
+            throws IOException {
+        for (Map.Entry<Uid, List<Uid>> participante : eventosPorParticipante.entrySet()) {
+            escritor.adicionarAuxiliar(codificarParticipante(participante.getKey(), participante.getValue()),
+                    List.of(participante.getKey()));
+        }
+        Path destino = diretorio.resolve(proximoNome());
+        escritor.concluir(destino);
+        return ArchiveFile.abrir(destino);
+    }
+
+    // Nomes em ordem crescente de criação: archive-<número com 10 dígitos>.dat
+    private String proximoNome() throws IOException {
+        long ultimo = 0;
+        try (Stream<Path> lista = Files.list(diretorio)) {
+            for (Path p : (Iterable<Path>) lista::iterator) {
+                String nome = p.getFileName().toString();
+                if (nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO)) {
+                    ultimo = Math.max(ultimo, Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length())));
+                }
+            }
+        }
+        return String.format("%s%010d%s", PREFIXO, ultimo + 1, SUFIXO);
+    }
+
+    // Quanto os blocos de participante do arquivo crescem com um evento desses participantes.
+    private static long acrescimoBlocosParticipante(Map<Uid, List<Uid>> eventosPorParticipante, Set<Uid> participantes) {
+        long acrescimo = 0;
+        for (Uid participante : participantes) {
+            acrescimo += TAMANHO_ID + (eventosPorParticipante.containsKey(participante) ? 0 : TAMANHO_BLOCO_PARTICIPANTE);
+        }
+        return acrescimo;
+    }
+
+    private static byte[] codificarParticipante(Uid participante, List<Uid> eventosDoParticipante) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(TAMANHO_BLOCO_PARTICIPANTE + TAMANHO_ID * eventosDoParticipante.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(BLOCO_PARTICIPANTE);
+        writeId(out, participante);
+        writeVarInt(out, eventosDoParticipante.size());
+        for (Uid evento : eventosDoParticipante) {
+            writeId(out, evento);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Os eventos de um bloco de participante, ou nenhum se o bloco é de outra chave (colisão de hash).
+    private static List<Uid> lerEventosDoParticipante(byte[] dados, Object participante) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(dados));
+        if (in.readByte() != BLOCO_PARTICIPANTE || !participante.equals(readId(in))) {
+            return List.of();
+        }
+        int quantidade = readVarInt(in);
+        List<Uid> eventosDoParticipante = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            eventosDoParticipante.add(readId(in));
+        }
+        return eventosDoParticipante;
+    }
+
+    // Os participantes referenciados pelo evento não entram nas chaves do bloco: vão para os blocos de participante.
+    private byte[] codificar(Evento evento, List<Certificado> certificadosDoEvento, Set<Object> chaves,
+            Set<Uid> participantesDoEvento) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(BLOCO_EVENTO);
+        codecsGravacao.evento.encode(evento, out);
+        chaves.add(evento.getId());
+        participantesDoEvento.add(evento.getOrganizadorResponsavel().getId());
+
+        List<Inscricao> inscricoesDoEvento = evento.getInscricoes();
+        writeVarInt(out, inscricoesDoEvento.size());
+        for (Inscricao i : inscricoesDoEvento) {
+            codecsGravacao.inscricao.encode(i, out);
+            chaves.add(i.getId());
+            participantesDoEvento.add(i.getParticipante().getId());
+        }
+        List<Trabalho> trabalhosDoEvento = evento.getTrabalhos();
+        List<Avaliacao> avaliacoesDoEvento = new ArrayList<>();
+        writeVarInt(out, trabalhosDoEvento.size());
+        for (Trabalho t : trabalhosDoEvento) {
+            codecsGravacao.trabalho.encode(t, out);
+            chaves.add(t.getId());
+            participantesDoEvento.add(t.getAutor().getId());
+            avaliacoesDoEvento.addAll(t.getAvaliacoes());
+        }
+        writeVarInt(out, avaliacoesDoEvento.size());
+        for (Avaliacao a : avaliacoesDoEvento) {
+            codecsGravacao.avaliacao.encode(a, out);
+            chaves.add(a.getId());
+            participantesDoEvento.add(a.getAvaliador().getId());
+        }
+        writeVarInt(out, certificadosDoEvento.size());
+        for (Certificado c : certificadosDoEvento) {
+            codecsGravacao.certificado.encode(c, out);
+            chaves.add(c.getId());
+            participantesDoEvento.add(c.getParticipante().getId());
+            chaves.add(c.getCodigoValidacao());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Decodifica um bloco em um grafo próprio: as referências internas são resolvidas no próprio bloco.
+    private Bloco decodificar(byte[] dados) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(dados));
+        if (in.readByte() != BLOCO_EVENTO) {
+            throw new IOException("Bloco de evento inválido no histórico.");
+        }
+        Map<Uid, Evento> evento = new HashMap<>(2);
+        Map<Uid, Inscricao> inscricoesDoBloco = new HashMap<>();
+        Map<Uid, Trabalho> trabalhosDoBloco = new HashMap<>();
+        Map<Uid, Avaliacao> avaliacoesDoBloco = new HashMap<>();
+        Map<Uid, Certificado> certificadosDoBloco = new HashMap<>();
+        EntityCodecs codecs = new EntityCodecs(participantes::findById, buscaEm(evento), buscaEm(inscricoesDoBloco),
+                buscaEm(trabalhosDoBloco), buscaEm(avaliacoesDoBloco), buscaEm(certificadosDoBloco));
+
+        Evento e = codecs.evento.decode(in);
+        evento.put(e.getId(), e);
+        lerTodos(in, codecs.inscricao, inscricoesDoBloco);
+        lerTodos(in, codecs.trabalho, trabalhosDoBloco);
+        lerTodos(in, codecs.avaliacao, avaliacoesDoBloco);
+        lerTodos(in, codecs.certificado, certificadosDoBloco);
+        return new Bloco(
+                new Secao<>(evento, ev -> Stream.of(ev.getOrganizadorResponsavel().getId())),
+                new Secao<>(inscricoesDoBloco, i -> Stream.of(i.getEvento().getId(), i.getParticipante().getId())),
+                new Secao<>(trabalhosDoBloco, t -> Stream.of(t.getEvento().getId(), t.getAutor().getId())),
+                new Secao<>(avaliacoesDoBloco, a -> Stream.of(a.getTrabalho().getId(), a.getAvaliador().getId())),
+                new Secao<>(certificadosDoBloco, c -> Stream.of(c.getEvento().getId(), c.getParticipante().getId(),
+                        c.getCodigoValidacao())));
+    }
+
+    private static <T extends Identifiable<Uid>> void lerTodos(DataInputStream in, EntityCodec<T> codec, Map<Uid, T> destino)
+            throws IOException {
+        int quantidade = readVarInt(in);
+        for (int i = 0; i < quantidade; i++) {
+            T entidade = codec.decode(in);
+            destino.put(entidade.getId(), entidade);
+        }
+    }
+
+    private static <T> EntityCodecs.Busca<T> buscaEm(Map<Uid, T> mapa) {
+        return id -> Optional.ofNullable(mapa.get(id));
+    }
+
+    // Blocos de evento associados à chave, do arquivo mais recente para o mais antigo, sem decodificá-los. A chave de
+    // um participante leva ao seu bloco de participante em cada arquivo e, por ele, aos blocos dos seus eventos.
+    private List<ChaveBloco> localizar(Object chave) {
+        List<ChaveBloco> blocos = new ArrayList<>(1);
+        try {
+            for (ArchiveFile arquivo : arquivos) {
+                for (int deslocamento : arquivo.blocosComChave(chave)) {
+                    if (arquivo.primeiroByte(deslocamento) == BLOCO_EVENTO) {
+                        blocos.add(new ChaveBloco(arquivo, deslocamento));
+                        continue;
+                    }
+                    for (Uid eventoId : lerEventosDoParticipante(arquivo.lerBloco(deslocamento), chave)) {
+                        for (int blocoEvento : arquivo.blocosComChave(eventoId)) {
+                            if (arquivo.primeiroByte(blocoEvento) == BLOCO_EVENTO) {
+                                blocos.add(new ChaveBloco(arquivo, blocoEvento));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o histórico de eventos.", e);
+        }
+        return blocos;
+    }
+
+    private Bloco bloco(ChaveBloco chave) {
+        Bloco bloco = cache.get(chave);
+        if (bloco == null) {
+            try {
+                bloco = decodificar(chave.arquivo().lerBloco(chave.deslocamento()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler o histórico de eventos.", e);
+            }
+            cache.put(chave, bloco);
+        }
+        return bloco;
+    }
+
+    private record ChaveBloco(ArchiveFile arquivo, int deslocamento) {
+    }
+
+    private record Bloco(Secao<Evento> eventos, Secao<Inscricao> inscricoes, Secao<Trabalho> trabalhos,
+            Secao<Avaliacao> avaliacoes, Secao<Certificado> certificados) {
+    }
+
+    // As entidades de um tipo dentro de um bloco, por ID e pelas chaves que referenciam.
+    private static final class Secao<T extends Identifiable<Uid>> {
+
+        private final Map<Uid, T> porId;
+        private final Map<Object, List<T>> porChave = new HashMap<>();
+
+        Secao(Map<Uid, T> porId, Function<T, Stream<?>> chaves) {
+            this.porId = porId;
+            for (T entidade : porId.values()) {
+                chaves.apply(entidade).forEach(chave -> porChave.computeIfAbsent(chave, k -> new ArrayList<>(1)).add(entidade));
+            }
+        }
+    }
+
+    // Camada de arquivo de um repositório: enxerga as entidades de um tipo dentro dos blocos.
+    private final class Camada<T extends Identifiable<Uid>> implements ArchiveStore<T, Uid> {
+
+        private final Function<Bloco, Secao<T>> secao;
+
+        Camada(Function<Bloco, Secao<T>> secao) {
+            this.secao = secao;
+        }
+
+        @Override
+        public Optional<T> findById(Uid id) {
+            for (ChaveBloco chave : localizar(id)) {
+                T entidade = secao.apply(bloco(chave)).porId.get(id);
+                if (entidade != null) {
+                    return Optional.of(entidade);
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public List<T> findCandidates(Object chave) {
+            if (!(chave instanceof Uid || chave instanceof String)) {
+                return List.of();
+            }
+            return candidatas(localizar(chave), chave);
+        }
+
+        // Só os blocos que têm as duas chaves são decodificados.
+        @Override
+        public List<T> findCandidates(Object chave, Object outraChave) {
+            if (!(chave instanceof Uid || chave instanceof String) || !(outraChave instanceof Uid || outraChave instanceof String)) {
+                return List.of();
+            }
+            List<ChaveBloco> blocos = localizar(chave);
+            if (!blocos.isEmpty()) {
+                Set<ChaveBloco> comOutraChave = new HashSet<>(localizar(outraChave));
+                blocos.removeIf(bloco -> !comOutraChave.contains(bloco));
+            }
+            return candidatas(blocos, chave);
+        }
+
+        private List<T> candidatas(List<ChaveBloco> blocos, Object chave) {
+            if (blocos.isEmpty()) {
+                return List.of();
+            }
+            if (blocos.size() == 1) {
+                return secao.apply(bloco(blocos.get(0))).porChave.getOrDefault(chave, List.of());
+            }
+            // Um mesmo ID pode estar em mais de um arquivo (arquivamento interrompido e refeito): vale o mais recente.
+            Map<Uid, T> porId = new LinkedHashMap<>();
+            for (ChaveBloco bloco : blocos) {
+                for (T entidade : secao.apply(bloco(bloco)).porChave.getOrDefault(chave, List.of())) {
+                    porId.putIfAbsent(entidade.getId(), entidade);
+                }
+            }
+            return new ArrayList<>(porId.values());
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import domain.Avaliacao;
+import domain.Evento;
+import domain.Trabalho;
+import repository.AvaliacaoRepository;
+import repository.BaseRepository;
+import repository.CertificadoRepository;
+import repository.ChangeLog;
+import repository.EventoRepository;
+import repository.Identifiable;
+import repository.InscricaoRepository;
+import repository.ParticipanteRepository;
+import repository.TrabalhoRepository;
+import repository.Uid;
+
+/**
+ * Liga os repositórios a um {@link WriteAheadLog}: na abertura, reaplica o log sobre os repositórios
+ * (vazios) e, a partir daí, registra no log cada salvamento e remoção feitos neles.
+ * <p>
+ * Cada registro do log contém a operação, o repositório de destino e a entidade (ou o ID, na remoção).
+ * <p>
+ * Para a inicialização não crescer com o histórico, {@link #criarSnapshot} grava periodicamente o estado
+ * dos repositórios e apaga os segmentos do log já cobertos. O snapshot não bloqueia as escritas: ele é
+ * "difuso" (cada entidade é copiada no estado em que estiver ao ser lida, possivelmente posterior ao LSN
+ * do snapshot), e por isso a inicialização reaplica o log a partir desse LSN. Como cada registro contém o
+ * estado completo da entidade, reaplicar uma alteração já refletida no snapshot não muda o resultado.
+ * Já o contrário não pode acontecer: toda alteração registrada até o LSN do snapshot precisa estar aplicada
+ * aos repositórios antes da captura, senão ela se perde junto com o segmento descartado.
+ * <p>
+ * A restauração do snapshot usa todos os processadores: as seções seguem a ordem de dependência, mas os
+ * blocos de cada seção são aplicados em paralelo. O custo dominante é reconstruir os índices em memória
+ * (o de texto dos nomes é atualizado sob uma trava única) e a coleta de lixo, então a inicialização ainda
+ * cresce linearmente com o número de entidades. Uma meta de poucos segundos para milhões de entidades
+ * não é atingida com estes índices; ela fica como limitação aceita, e não como pendência.
+ */
+public final class PersistenceManager implements AutoCloseable {
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+
+    private static final byte REPO_PARTICIPANTE = 1;
+    private static final byte REPO_EVENTO = 2;
+    private static final byte REPO_INSCRICAO = 3;
+    private static final byte REPO_TRABALHO = 4;
+    private static final byte REPO_AVALIACAO = 5;
+    private static final byte REPO_CERTIFICADO = 6;
+
+    private static final byte FIM_SNAPSHOT = 0;
+    // Cada seção do snapshot é dividida em blocos independentes, restaurados em paralelo.
+    private static final int ENTIDADES_POR_BLOCO = 4096;
+
+    private final Destino<?>[] destinos = new Destino<?>[REPO_CERTIFICADO + 1];
+    private final Path diretorio;
+    private final EventArchive historico;
+    private final EventoRepository eventos;
+    private final InscricaoRepository inscricoes;
+    private final TrabalhoRepository trabalhos;
+    private final AvaliacaoRepository avaliacoes;
+    private final CertificadoRepository certificados;
+    private WriteAheadLog wal;
+    private ScheduledExecutorService agendador;
+    // Leitura: registro e aplicação de uma alteração (ChangeLog.apply). Escrita: rotação do log no snapshot.
+    private final ReadWriteLock aplicacao = new ReentrantReadWriteLock();
+
+    private PersistenceManager(Path diretorio, EventArchive historico, EventoRepository eventos, InscricaoRepository inscricoes,
+            TrabalhoRepository trabalhos, AvaliacaoRepository avaliacoes, CertificadoRepository certificados) {
+        this.diretorio = diretorio;
+        this.historico = historico;
+        this.eventos = eventos;
+        this.inscricoes = inscricoes;
+        this.trabalhos = trabalhos;
+        this.avaliacoes = avaliacoes;
+        this.certificados = certificados;
+    }
+
+    /**
+     * Carrega o snapshot mais recente do diretório configurado, reaplica o log a partir dele e passa a
+     * registrar as alterações dos repositórios. Os repositórios devem estar vazios.
+     * @throws IOException se o log não puder ser lido ou aberto.
+     */
+    public static PersistenceManager abrir(WalConfig config, ParticipanteRepository participantes, EventoRepository eventos,
+            InscricaoRepository inscricoes, TrabalhoRepository trabalhos, AvaliacaoRepository avaliacoes,
+            CertificadoRepository certificados) throws IOException {
+        // O histórico é ligado antes de tudo: o snapshot e o log podem referenciar eventos já arquivados.
+        EventArchive historico = EventArchive.abrir(config.diretorio(), participantes);
+        eventos.setArchive(historico.eventos());
+        inscricoes.setArchive(historico.inscricoes());
+        trabalhos.setArchive(historico.trabalhos());
+        avaliacoes.setArchive(historico.avaliacoes());
+        certificados.setArchive(historico.certificados());
+
+        EntityCodecs codecs = new EntityCodecs(participantes, eventos, inscricoes, trabalhos, avaliacoes, certificados);
+        PersistenceManager manager = new PersistenceManager(config.diretorio(), historico, eventos, inscricoes, trabalhos,
+                avaliacoes, certificados);
+        manager.destinos[REPO_PARTICIPANTE] = new Destino<>(REPO_PARTICIPANTE, participantes, codecs.participante);
+        manager.destinos[REPO_EVENTO] = new Destino<>(REPO_EVENTO, eventos, codecs.evento);
+        manager.destinos[REPO_INSCRICAO] = new Destino<>(REPO_INSCRICAO, inscricoes, codecs.inscricao);
+        manager.destinos[REPO_TRABALHO] = new Destino<>(REPO_TRABALHO, trabalhos, codecs.trabalho);
+        manager.destinos[REPO_AVALIACAO] = new Destino<>(REPO_AVALIACAO, avaliacoes, codecs.avaliacao);
+        manager.destinos[REPO_CERTIFICADO] = new Destino<>(REPO_CERTIFICADO, certificados, codecs.certificado);
+
+        // Durante a restauração os índices únicos ficam suspensos: o snapshot difuso e o log podem ter,
+        // temporariamente, a mesma chave em duas entidades (ex.: um email trocado entre participantes).
+        for (int i = 1; i < manager.destinos.length; i++) {
+            manager.destinos[i].repositorio.suspendUniqueIndexes();
+        }
+        try {
+            try (CargaParalela carga = new CargaParalela(Runtime.getRuntime().availableProcessors())) {
+                long lsnSnapshot = 0;
+                Optional<Path> snapshot = SnapshotFiles.maisRecente(config.diretorio());
+                if (snapshot.isPresent()) {
+                    lsnSnapshot = SnapshotFiles.ler(snapshot.get(), in -> manager.carregarSnapshot(in, carga));
+                }
+                // Os repositórios ainda não têm ChangeLog aqui, então a reaplicação não gera novos registros.
+                // Ela é sequencial: cada registro pode depender dos anteriores.
+                manager.wal = WriteAheadLog.abrir(config, lsnSnapshot, (dados, lsn) -> manager.reaplicar(dados));
+                for (int i = 1; i < manager.destinos.length; i++) {
+                    BaseRepository<?, Uid> repositorio = manager.destinos[i].repositorio;
+                    carga.executar(repositorio::rebuildUniqueIndexes);
+                }
+                carga.aguardar();
+            }
+            for (int i = 1; i < manager.destinos.length; i++) {
+                manager.destinos[i].conectar(manager.wal, manager.aplicacao);
+            }
+
+            if (!config.intervaloSnapshot().isZero()) {
+                manager.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "sgea-snapshot");
+                    t.setDaemon(true);
+                    return t;
+                });
+                long intervalo = config.intervaloSnapshot().toMillis();
+                manager.agendador.scheduleWithFixedDelay(manager::snapshotAgendado, intervalo, intervalo, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException | RuntimeException e) {
+            manager.fecharAposFalha(e);
+            throw e;
+        }
+        return manager;
+    }
+
+    /**
+     * Grava um snapshot de todos os repositórios sem bloquear as escritas e apaga os segmentos do log
+     * e os snapshots anteriores que ele torna desnecessários.
+     * @return O LSN coberto pelo snapshot.
+     * @throws IOException se o snapshot não puder ser gravado (o log continua íntegro nesse caso).
+     */
+    public synchronized long criarSnapshot() throws IOException {
+        // Tudo até este LSN está em disco, em segmentos que não recebem mais registros, e já está aplicado
+        // aos repositórios: a rotação espera as alterações em andamento, que registram e aplicam juntas.
+        long lsn;
+        aplicacao.writeLock().lock();
+        try {
+            lsn = wal.rotacionar();
+        } finally {
+            aplicacao.writeLock().unlock();
+        }
+
+        // A captura segue a ordem inversa de dependência (certificados primeiro, participantes por último):
+        // toda entidade referenciada por uma entidade capturada já existia e é capturada depois dela.
+        SecaoSnapshot[] secoes = new SecaoSnapshot[destinos.length];
+        for (int i = destinos.length - 1; i >= 1; i--) {
+            secoes[i] = destinos[i].capturar();
+        }
+        SnapshotFiles.gravar(diretorio, lsn, out -> {
+            for (int i = 1; i < secoes.length; i++) {
+                secoes[i].gravar(out);
+            }
+            out.writeByte(FIM_SNAPSHOT);
+        });
+
+        wal.descartarSegmentosAte(lsn);
+        SnapshotFiles.descartarAnteriores(diretorio, lsn);
+        return lsn;
+    }
+
+    /**
+     * Move para o histórico em disco os eventos que terminaram antes da data limite, com suas inscrições,
+     * trabalhos, avaliações e certificados. Eles continuam acessíveis pelas buscas por ID e por índice dos
+     * repositórios, mas deixam de ocupar o heap e passam a ser somente leitura.
+     * @param limite Eventos com data de fim anterior a esta data são arquivados.
+     * @return Os IDs dos eventos arquivados.
+     * @throws IOException se o histórico não puder ser gravado (nesse caso nada é removido dos repositórios).
+     */
+    public synchronized List<Uid> arquivarEventosEncerrados(LocalDate limite) throws IOException {
+        List<Evento> encerrados = eventos.findAllTerminadosAntes(limite);
+        if (encerrados.isEmpty()) {
+            return List.of();
+        }
+        historico.arquivar(encerrados, certificados);
+
+        // Os dependentes saem antes do evento, na ordem inversa da criação.
+        for (Evento evento : encerrados) {
+            List<Trabalho> trabalhosDoEvento = evento.getTrabalhos();
+            certificados.deleteAllById(ids(certificados.findAllByEventoId(evento.getId())));
+            avaliacoes.deleteAllById(trabalhosDoEvento.stream()
+                    .flatMap(t -> t.getAvaliacoes().stream())
+                    .map(Avaliacao::getId)
+                    .collect(Collectors.toList()));
+            trabalhos.deleteAllById(ids(trabalhosDoEvento));
+            inscricoes.deleteAllById(ids(evento.getInscricoes()));
+            eventos.deleteById(evento.getId());
+        }
+        return ids(encerrados);
+    }
+
+    /**
+     * @return O número de eventos no histórico em disco.
+     */
+    public int getTotalEventosArquivados() {
+        return historico.getTotalEventos();
+    }
+
+    private static List<Uid> ids(List<? extends Identifiable<Uid>> entidades) {
+        return entidades.stream().map(Identifiable::getId).collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (agendador != null) {
+            agendador.shutdown();
+        }
+        for (int i = 1; i < destinos.length; i++) {
+            destinos[i].repositorio.setChangeLog(null);
+        }
+        wal.close();
+    }
+
+    // Uma abertura que falhou depois de abrir o log não pode deixá-lo aberto (com o canal e a thread de gravação).
+    private void fecharAposFalha(Exception falha) {
+        if (wal == null) {
+            return;
+        }
+        try {
+            close();
+        } catch (IOException | RuntimeException e) {
+            falha.addSuppressed(e);
+        }
+    }
+
+    private void snapshotAgendado() {
+        try {
+            criarSnapshot();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Falha ao gravar o snapshot: " + e.getMessage());
+        }
+    }
+
+    private void carregarSnapshot(DataInput in, CargaParalela carga) throws IOException {
+        for (byte repo = in.readByte(); repo != FIM_SNAPSHOT; repo = in.readByte()) {
+            if (repo < 1 || repo >= destinos.length) {
+                throw new IOException("Repositório desconhecido no snapshot: " + repo);
+            }
+            destinos[repo].carregar(in, carga);
+            // As entidades das próximas seções referenciam as desta.
+            carga.aguardar();
+        }
+    }
+
+    private void reaplicar(byte[] dados) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(dados));
+            byte op = in.readByte();
+            byte repo = in.readByte();
+            if (repo < 1 || repo >= destinos.length) {
+                throw new IOException("Repositório desconhecido no log: " + repo);
+            }
+            Destino<?> destino = destinos[repo];
+            switch (op) {
+                case OP_SAVE -> destino.reaplicarSave(in);
+                case OP_DELETE -> destino.repositorio.deleteById(BinaryFormat.readId(in));
+                default -> throw new IOException("Operação desconhecida no log: " + op);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao reaplicar o log de escrita antecipada.", e);
+        }
+    }
+
+    // Parte de um snapshot já capturada, a ser gravada.
+    private interface SecaoSnapshot {
+        void gravar(DataOutput out) throws IOException;
+    }
+
+    // Um repositório e o codec de sua entidade; também é o ChangeLog do repositório.
+    private static final class Destino<T extends Identifiable<Uid>> implements ChangeLog<T, Uid> {
+
+        private final byte tag;
+        private final BaseRepository<T, Uid> repositorio;
+        private final EntityCodec<T> codec;
+        private WriteAheadLog wal;
+        private ReadWriteLock aplicacao;
+
+        Destino(byte tag, BaseRepository<T, Uid> repositorio, EntityCodec<T> codec) {
+            this.tag = tag;
+            this.repositorio = repositorio;
+            this.codec = codec;
+        }
+
+        void conectar(WriteAheadLog wal, ReadWriteLock aplicacao) {
+            this.wal = wal;
+            this.aplicacao = aplicacao;
+            repositorio.setChangeLog(this);
+        }
+
+        void reaplicarSave(DataInputStream in) throws IOException {
+            repositorio.save(codec.decode(in));
+        }
+
+        // Em ordem de ID: na restauração, as inserções nos índices ordenados (skip lists) seguem sempre o
+        // mesmo caminho, já em cache, em vez de saltar para um ponto aleatório a cada entidade.
+        SecaoSnapshot capturar() {
+            List<T> entidades = repositorio.findAllOrderedById();
+            return out -> {
+                out.writeByte(tag);
+                int blocos = (entidades.size() + ENTIDADES_POR_BLOCO - 1) / ENTIDADES_POR_BLOCO;
+                out.writeInt(blocos);
+                ByteArrayOutputStream bloco = new ByteArrayOutputStream(1 << 16);
+                DataOutputStream dados = new DataOutputStream(bloco);
+                for (int inicio = 0; inicio < entidades.size(); inicio += ENTIDADES_POR_BLOCO) {
+                    bloco.reset();
+                    for (T entidade : entidades.subList(inicio, Math.min(entidades.size(), inicio + ENTIDADES_POR_BLOCO))) {
+                        codec.encode(entidade, dados);
+                    }
+                    out.writeInt(bloco.size());
+                    out.write(bloco.toByteArray());
+                }
+            };
+        }
+
+        // Os blocos da seção são lidos em sequência e decodificados e salvos em paralelo.
+        void carregar(DataInput in, CargaParalela carga) throws IOException {
+            int blocos = in.readInt();
+            for (int i = 0; i < blocos; i++) {
+                byte[] bloco = new byte[in.readInt()];
+                in.readFully(bloco);
+                carga.executar(() -> {
+                    DataInputStream dados = new DataInputStream(new ByteArrayInputStream(bloco));
+                    while (dados.available() > 0) {
+                        repositorio.save(codec.decode(dados));
+                    }
+                });
+            }
+        }
+
+        @Override
+        public long logSave(T entity) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(OP_SAVE);
+                out.writeByte(tag);
+                codec.encode(entity, out);
+                return wal.append(bytes.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao registrar a entidade no log.", e);
+            }
+        }
+
+        @Override
+        public long logDelete(Uid id) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(OP_DELETE);
+                out.writeByte(tag);
+                BinaryFormat.writeId(out, id);
+                return wal.append(bytes.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao registrar a remoção no log.", e);
+            }
+        }
+
+        @Override
+        public void sync(long marker) {
+            wal.sync(marker);
+        }
+
+        @Override
+        public void apply(Runnable change) {
+            aplicacao.readLock().lock();
+            try {
+                change.run();
+            } finally {
+                aplicacao.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Arquivos de snapshot: cada um é nomeado pelo LSN do último registro do log que ele cobre e contém
+ * {@code [magic][versão][lsn][conteúdo][crc32]}. O arquivo é gravado com outro nome e só renomeado
+ * depois de estar em disco, então um snapshot visível está sempre completo.
+ */
+final class SnapshotFiles {
+
+    private static final String PREFIXO = "snapshot-";
+    private static final String SUFIXO = ".snap";
+    private static final int MAGIC = 0x53474541; // "SGEA"
+    private static final byte VERSAO = 1;
+
+    /** Grava o conteúdo de um snapshot. */
+    interface Escritor {
+        void gravar(DataOutput out) throws IOException;
+    }
+
+    /** Lê o conteúdo de um snapshot. */
+    interface Leitor {
+        void ler(DataInput in) throws IOException;
+    }
+
+    private SnapshotFiles() {
+    }
+
+    /**
+     * Grava um snapshot de forma atômica e durável.
+     * @param diretorio O diretório dos dados.
+     * @param lsn O LSN do último registro do log refletido no snapshot.
+     * @param conteudo O escritor do conteúdo.
+     * @return O arquivo gravado.
+     */
+    static Path gravar(Path diretorio, long lsn, Escritor conteudo) throws IOException {
+        Path destino = diretorio.resolve(nome(lsn));
+        Path temporario = diretorio.resolve(nome(lsn) + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream arquivo = new BufferedOutputStream(Channels.newOutputStream(canal), 1 << 16);
+            CheckedOutputStream verificado = new CheckedOutputStream(arquivo, new CRC32());
+            DataOutputStream out = new DataOutputStream(verificado);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSAO);
+            out.writeLong(lsn);
+            conteudo.gravar(out);
+            out.flush();
+            new DataOutputStream(arquivo).writeLong(verificado.getChecksum().getValue());
+            arquivo.flush();
+            canal.force(true);
+        }
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+        forcarDiretorio(diretorio);
+        return destino;
+    }
+
+    /**
+     * Lê um snapshot, validando o cabeçalho e o checksum.
+     * @return O LSN coberto pelo snapshot.
+     * @throws IOException se o arquivo estiver corrompido.
+     */
+    static long ler(Path arquivo, Leitor leitor) throws IOException {
+        try (BufferedInputStream bruto = new BufferedInputStream(Files.newInputStream(arquivo), 1 << 16)) {
+            CheckedInputStream verificado = new CheckedInputStream(bruto, new CRC32());
+            DataInputStream in = new DataInputStream(verificado);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot: " + arquivo);
+            }
+            byte versao = in.readByte();
+            if (versao != VERSAO) {
+                throw new IOException("Versão de snapshot não suportada: " + versao);
+            }
+            long lsn = in.readLong();
+            leitor.ler(in);
+            long esperado = verificado.getChecksum().getValue();
+            if (new DataInputStream(bruto).readLong() != esperado) {
+                throw new IOException("Checksum inválido no snapshot " + arquivo);
+            }
+            return lsn;
+        }
+    }
+
+    /**
+     * @return O snapshot mais recente do diretório, se houver.
+     */
+    static Optional<Path> maisRecente(Path diretorio) throws IOException {
+        List<Path> snapshots = listar(diretorio);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Apaga os snapshots anteriores ao do LSN informado.
+     */
+    static void descartarAnteriores(Path diretorio, long lsn) throws IOException {
+        for (Path snapshot : listar(diretorio)) {
+            if (lsn(snapshot) < lsn) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private static List<Path> listar(Path diretorio) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO) && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long lsn(Path snapshot) {
+        String nome = snapshot.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static String nome(long lsn) {
+        return String.format("%s%020d%s", PREFIXO, lsn, SUFIXO);
+    }
+
+    // Garante que a renomeação do arquivo esteja em disco (nem todo sistema permite abrir o diretório).
+    private static void forcarDiretorio(Path diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException ignorada) {
+            // melhor esforço
+        }
+    }
+}
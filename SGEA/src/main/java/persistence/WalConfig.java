@@ -0,0 +1,40 @@
+package persistence;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuração do log de escrita antecipada (WAL).
+ *
+ * @param diretorio Diretório onde os arquivos do log são gravados.
+ * @param fsyncSincrono Se true, cada operação só retorna depois que seu registro estiver em disco
+ *        (fsync em group commit); se false, o fsync é feito em segundo plano a cada {@code intervaloGroupCommit}.
+ * @param intervaloGroupCommit Janela de espera antes de cada fsync, para agrupar mais registros no mesmo lote.
+ * @param intervaloSnapshot Intervalo entre snapshots automáticos, após os quais os segmentos antigos do log são
+ *        apagados; {@link Duration#ZERO} desativa os snapshots automáticos.
+ */
+public record WalConfig(Path diretorio, boolean fsyncSincrono, Duration intervaloGroupCommit, Duration intervaloSnapshot) {
+
+    public WalConfig {
+        if (diretorio == null) {
+            throw new IllegalArgumentException("Diretório do log não pode ser nulo.");
+        }
+        if (intervaloGroupCommit == null || intervaloGroupCommit.isNegative()) {
+            throw new IllegalArgumentException("Intervalo de group commit inválido.");
+        }
+        if (!fsyncSincrono && intervaloGroupCommit.isZero()) {
+            throw new IllegalArgumentException("O modo assíncrono exige um intervalo de group commit positivo.");
+        }
+        if (intervaloSnapshot == null || intervaloSnapshot.isNegative()) {
+            throw new IllegalArgumentException("Intervalo de snapshot inválido.");
+        }
+    }
+
+    /**
+     * Configuração padrão: fsync síncrono, agrupando os registros que chegam enquanto um fsync está em andamento,
+     * e um snapshot a cada 5 minutos.
+     */
+    public static WalConfig padrao(Path diretorio) {
+        return new WalConfig(diretorio, true, Duration.ZERO, Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,350 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita antecipada (WAL) apenas de acréscimo, gravado por um {@link FileChannel}.
+ * <p>
+ * Cada registro é gravado como {@code [tamanho:int][crc32:int][dados]} e recebe um número de sequência
+ * (LSN) crescente. Os registros são acumulados em memória e gravados em lote com um único fsync
+ * (group commit): quem chama {@link #sync} enquanto outro fsync está em andamento é atendido pelo
+ * próximo lote, em vez de fazer o seu próprio.
+ * <p>
+ * O log é dividido em segmentos, cada um nomeado pelo LSN do seu primeiro registro. Um novo segmento é
+ * iniciado por {@link #rotacionar}, e os segmentos já cobertos por um snapshot podem ser apagados com
+ * {@link #descartarSegmentosAte}.
+ * <p>
+ * Se a gravação de um lote falhar, o log passa a recusar novos registros: o arquivo pode ter ficado com
+ * um lote parcial, e nenhum registro posterior pode ser considerado durável. A falha (inclusive a de um
+ * lote gravado em segundo plano) é relatada por {@link #append} e {@link #sync} a partir daí.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+    private static final String PREFIXO = "wal-";
+    private static final String SUFIXO = ".log";
+    private static final int TAMANHO_MAXIMO_REGISTRO = 64 * 1024 * 1024;
+
+    private final WalConfig config;
+    // Protegido por lockFsync.
+    private FileChannel canal;
+    private final ReentrantLock lockFsync = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    // Protegidos por "this".
+    private ByteArrayOutputStream pendente = new ByteArrayOutputStream(64 * 1024);
+    private long ultimoLsn;
+    private boolean fechado;
+
+    private volatile long lsnDuravel;
+    // Primeira falha de gravação; depois dela o log não aceita mais registros.
+    private volatile IOException falha;
+
+    private WriteAheadLog(WalConfig config, FileChannel canal, long ultimoLsn) {
+        this.config = config;
+        this.canal = canal;
+        this.ultimoLsn = ultimoLsn;
+        this.lsnDuravel = ultimoLsn;
+        if (config.fsyncSincrono()) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sgea-wal-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+            long intervalo = config.intervaloGroupCommit().toNanos();
+            this.flusher.scheduleWithFixedDelay(this::flushAgendado, intervalo, intervalo, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Abre o log no diretório configurado, reaplicando antes os registros posteriores a {@code lsnInicial}.
+     * Um registro final incompleto (gravação interrompida) é descartado.
+     * @param config A configuração do log.
+     * @param lsnInicial O LSN até o qual o estado já foi restaurado (por um snapshot), ou 0.
+     * @param aplicador Recebe os dados e o LSN de cada registro, em ordem.
+     * @return O log aberto, pronto para novos registros.
+     * @throws IOException se o diretório não puder ser lido ou o log estiver corrompido ou incompleto.
+     */
+    public static WriteAheadLog abrir(WalConfig config, long lsnInicial, ObjLongConsumer<byte[]> aplicador) throws IOException {
+        Path diretorio = config.diretorio();
+        Files.createDirectories(diretorio);
+        List<Path> segmentos = listarSegmentos(diretorio);
+        if (!segmentos.isEmpty() && primeiroLsn(segmentos.get(0)) > lsnInicial + 1) {
+            throw new IOException("Log incompleto: faltam registros entre o LSN " + lsnInicial + " e o segmento " + segmentos.get(0));
+        }
+        long lsn = lsnInicial;
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean ultimo = i == segmentos.size() - 1;
+            lsn = Math.max(lsn, reaplicarSegmento(segmentos.get(i), ultimo, lsnInicial, aplicador));
+        }
+        Path atual = segmentos.isEmpty() ? diretorio.resolve(nomeSegmento(lsnInicial + 1)) : segmentos.get(segmentos.size() - 1);
+        FileChannel canal = FileChannel.open(atual, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            canal.position(canal.size());
+            return new WriteAheadLog(config, canal, lsn);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Acrescenta um registro ao log (ainda não durável).
+     * @param dados O conteúdo do registro.
+     * @return O LSN do registro, a ser passado para {@link #sync}.
+     */
+    public long append(byte[] dados) {
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        synchronized (this) {
+            if (fechado) {
+                throw new IllegalStateException("Log de escrita antecipada fechado.");
+            }
+            verificarFalha();
+            escreverInt(pendente, dados.length);
+            escreverInt(pendente, (int) crc.getValue());
+            pendente.write(dados, 0, dados.length);
+            return ++ultimoLsn;
+        }
+    }
+
+    /**
+     * Aguarda até o registro com o LSN informado estar em disco. No modo assíncrono retorna imediatamente.
+     * @throws UncheckedIOException se uma gravação do log já falhou, inclusive em segundo plano.
+     */
+    public void sync(long lsn) {
+        if (lsnDuravel >= lsn) {
+            return;
+        }
+        verificarFalha();
+        if (flusher != null) {
+            return;
+        }
+        lockFsync.lock();
+        try {
+            if (lsnDuravel >= lsn) {
+                return; // coberto pelo lote de outra thread
+            }
+            long atraso = config.intervaloGroupCommit().toNanos();
+            if (atraso > 0) {
+                LockSupport.parkNanos(atraso); // deixa mais registros entrarem neste lote
+            }
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o log de escrita antecipada.", e);
+        } finally {
+            lockFsync.unlock();
+        }
+    }
+
+    /**
+     * Grava os registros pendentes e passa a acrescentar os próximos em um novo segmento.
+     * @return O LSN do último registro do segmento encerrado: todos os registros até ele estão em disco.
+     * @throws IOException se o log não puder ser gravado.
+     */
+    public long rotacionar() throws IOException {
+        lockFsync.lock();
+        try {
+            long ultimoGravado = flush();
+            synchronized (this) {
+                if (fechado) {
+                    throw new IllegalStateException("Log de escrita antecipada fechado.");
+                }
+            }
+            // Registros acrescentados depois do flush têm LSN maior e vão para o novo segmento.
+            FileChannel novo = FileChannel.open(config.diretorio().resolve(nomeSegmento(ultimoGravado + 1)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            canal.close();
+            canal = novo;
+            canal.position(canal.size());
+            return ultimoGravado;
+        } finally {
+            lockFsync.unlock();
+        }
+    }
+
+    /**
+     * Apaga os segmentos cujos registros têm todos LSN menor ou igual ao informado. O segmento atual nunca é apagado.
+     * @param lsn O LSN até o qual o estado está preservado em outro lugar (ex.: um snapshot durável).
+     * @return O número de segmentos apagados.
+     * @throws IOException se um segmento não puder ser apagado.
+     */
+    public int descartarSegmentosAte(long lsn) throws IOException {
+        List<Path> segmentos = listarSegmentos(config.diretorio());
+        int apagados = 0;
+        for (int i = 0; i < segmentos.size() - 1; i++) {
+            // O segmento i termina logo antes do primeiro registro do segmento i + 1.
+            if (primeiroLsn(segmentos.get(i + 1)) - 1 <= lsn) {
+                Files.deleteIfExists(segmentos.get(i));
+                apagados++;
+            }
+        }
+        return apagados;
+    }
+
+    /**
+     * @return O LSN do último registro acrescentado.
+     */
+    public synchronized long getUltimoLsn() {
+        return ultimoLsn;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        lockFsync.lock();
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                fechado = true;
+            }
+            try {
+                canal.close();
+            } finally {
+                lockFsync.unlock();
+            }
+        }
+    }
+
+    // Deve ser chamado com lockFsync. Retorna o LSN do último registro gravado.
+    // Se a gravação falhar, o log fica marcado como falho e o lote nunca é dado como durável.
+    private long flush() throws IOException {
+        if (falha != null) {
+            throw new IOException("Log de escrita antecipada desativado por uma falha de gravação anterior.", falha);
+        }
+        byte[] lote;
+        long ate;
+        synchronized (this) {
+            if (fechado || pendente.size() == 0) {
+                return ultimoLsn;
+            }
+            lote = pendente.toByteArray();
+            pendente = new ByteArrayOutputStream(Math.max(64 * 1024, lote.length));
+            ate = ultimoLsn;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lote);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        } catch (IOException e) {
+            falha = e;
+            throw e;
+        }
+        lsnDuravel = ate;
+        return ate;
+    }
+
+    // A falha fica registrada por flush e é relatada na próxima chamada de append ou sync.
+    private void flushAgendado() {
+        lockFsync.lock();
+        try {
+            flush();
+        } catch (IOException e) {
+            // já registrada em "falha"
+        } finally {
+            lockFsync.unlock();
+        }
+    }
+
+    private void verificarFalha() {
+        IOException f = falha;
+        if (f != null) {
+            throw new UncheckedIOException("Log de escrita antecipada desativado após uma falha de gravação.", f);
+        }
+    }
+
+    private static long reaplicarSegmento(Path segmento, boolean ultimo, long lsnInicial,
+            ObjLongConsumer<byte[]> aplicador) throws IOException {
+        long lsn = primeiroLsn(segmento) - 1;
+        long posicaoValida = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmento), 1 << 16))) {
+            while (true) {
+                int tamanho;
+                try {
+                    tamanho = in.readInt();
+                } catch (EOFException fim) {
+                    return lsn; // fim normal do segmento
+                }
+                try {
+                    if (tamanho < 0 || tamanho > TAMANHO_MAXIMO_REGISTRO) {
+                        throw new IOException("Tamanho de registro inválido: " + tamanho);
+                    }
+                    int crcEsperado = in.readInt();
+                    byte[] dados = new byte[tamanho];
+                    in.readFully(dados);
+                    CRC32 crc = new CRC32();
+                    crc.update(dados);
+                    if ((int) crc.getValue() != crcEsperado) {
+                        throw new IOException("CRC inválido no registro " + (lsn + 1));
+                    }
+                    if (++lsn > lsnInicial) {
+                        aplicador.accept(dados, lsn);
+                    }
+                    posicaoValida += 8 + tamanho;
+                } catch (IOException registroInvalido) {
+                    if (!ultimo) {
+                        throw new IOException("Log corrompido em " + segmento + ": " + registroInvalido.getMessage(), registroInvalido);
+                    }
+                    break;
+                }
+            }
+        }
+        // Gravação interrompida no fim do último segmento: descarta o registro incompleto.
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(posicaoValida);
+        }
+        return lsn;
+    }
+
+    private static List<Path> listarSegmentos(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO) && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // O nome do segmento contém o LSN do seu primeiro registro.
+    private static long primeiroLsn(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static String nomeSegmento(long primeiroLsn) {
+        return String.format("%s%020d%s", PREFIXO, primeiroLsn, SUFIXO);
+    }
+
+    private static void escreverInt(ByteArrayOutputStream out, int v) {
+        out.write(v >>> 24);
+        out.write(v >>> 16);
+        out.write(v >>> 8);
+        out.write(v);
+    }
+}
@@ -0,0 +1,36 @@
+package repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Camada de arquivo de um repositório: entidades históricas retiradas da memória, mas ainda consultáveis.
+ * O repositório recorre a ela quando uma busca por ID ou por índice não encontra (ou não esgota) o resultado
+ * entre as entidades em memória.
+ *
+ * @param <T> Tipo da entidade.
+ * @param <ID> Tipo do ID da entidade.
+ */
+public interface ArchiveStore<T, ID> {
+
+    /**
+     * Busca uma entidade arquivada pelo ID.
+     */
+    Optional<T> findById(ID id);
+
+    /**
+     * Retorna as entidades arquivadas que podem ter a chave informada em algum índice (ex.: as inscrições
+     * de um evento ou de um participante arquivado). O resultado pode conter entidades a mais: o repositório
+     * as filtra pelo índice consultado.
+     */
+    List<T> findCandidates(Object key);
+
+    /**
+     * Retorna as entidades arquivadas que podem ter as duas chaves informadas (ex.: as inscrições de um
+     * participante em um evento). Como em {@link #findCandidates(Object)}, o resultado pode conter entidades a
+     * mais; a implementação padrão retorna as candidatas da primeira chave.
+     */
+    default List<T> findCandidates(Object key, Object otherKey) {
+        return findCandidates(key);
+    }
+}
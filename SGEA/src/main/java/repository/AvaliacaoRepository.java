@@ -2,26 +2,33 @@ package repository;
 
 import domain.Avaliacao;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class AvaliacaoRepository extends BaseRepository<Avaliacao, String> {
+public final class AvaliacaoRepository extends BaseRepository<Avaliacao, Uid> {
+
+    private static final String IDX_TRABALHO = "trabalhoId";
+    private static final String IDX_AVALIADOR = "avaliadorId";
 
     public AvaliacaoRepository() {
-        super(Avaliacao.class);
+        super(Avaliacao.class, Uid::parse);
+        addIndex(IDX_TRABALHO, a -> a.getTrabalho().getId());
+        addIndex(IDX_AVALIADOR, a -> a.getAvaliador().getId());
     }
 
     // Métodos específicos
-    public List<Avaliacao> findAllByTrabalhoId(String trabalhoId) {
-        if (trabalhoId == null) return List.of();
-        return entities.values().stream()
-                .filter(a -> a.getTrabalho().getId().equals(trabalhoId))
-                .collect(Collectors.toList());
+    public List<Avaliacao> findAllByTrabalhoId(Uid trabalhoId) {
+        return findAllByIndex(IDX_TRABALHO, trabalhoId);
+    }
+
+    public Stream<Avaliacao> streamByTrabalhoId(Uid trabalhoId) {
+        return streamByIndex(IDX_TRABALHO, trabalhoId);
+    }
+
+    public Pagina<Avaliacao> findByTrabalhoId(Uid trabalhoId, String cursor, int limite) {
+        return findPageByIndex(IDX_TRABALHO, trabalhoId, cursor, limite);
     }
 
-    public List<Avaliacao> findAllByAvaliadorId(String avaliadorId) {
-        if (avaliadorId == null) return List.of();
-        return entities.values().stream()
-                .filter(a -> a.getAvaliador().getId().equals(avaliadorId))
-                .collect(Collectors.toList());
+    public List<Avaliacao> findAllByAvaliadorId(Uid avaliadorId) {
+        return findAllByIndex(IDX_AVALIADOR, avaliadorId);
     }
-}
\ No newline at end of file
+}
@@ -1,23 +1,45 @@
 package repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
-public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
+public abstract class BaseRepository<T extends Identifiable<ID>, ID extends Comparable<? super ID>> {
 
     protected final Map<ID, T> entities = new ConcurrentHashMap<>();
+    // As mesmas entidades em ordem de ID, para a paginação por cursor sem copiar o mapa.
+    private final NavigableMap<ID, T> entitiesById = new ConcurrentSkipListMap<>();
+    private final Map<String, SecondaryIndex<T, ID>> indexes = new ConcurrentHashMap<>();
+    private final Map<String, UniqueIndex<T, ID>> uniqueIndexes = new ConcurrentHashMap<>();
+    private final Map<String, TrigramIndex<T, ID>> textIndexes = new ConcurrentHashMap<>();
+    private final Map<String, SortedIndex<T, ID, ?>> sortedIndexes = new ConcurrentHashMap<>();
     private final String entityName;
+    private volatile ChangeLog<T, ID> changeLog;
+    private volatile boolean uniqueIndexesSuspended;
+    private volatile ArchiveStore<T, ID> archive;
+    private final Function<String, ID> idParser;
 
     /**
      * Construtor para a classe base do repositório.
      * @param clazz A classe da entidade, usada para mensagens de erro.
+     * @param idParser Converte o texto de um ID de volta ao ID (usado para ler os cursores de paginação).
      */
-    protected BaseRepository(Class<T> clazz) {
+    protected BaseRepository(Class<T> clazz, Function<String, ID> idParser) {
         // Usa o nome simples da classe para mensagens de erro mais claras.
         this.entityName = clazz.getSimpleName();
+        this.idParser = idParser;
     }
 
     /**
@@ -25,8 +47,65 @@ public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
      * @param entity A entidade a ser salva.
      * @return A entidade salva.
      * @throws IllegalArgumentException se a entidade ou seu ID for nulo.
+     * @throws DuplicateKeyException se a entidade violar um índice único.
      */
     public T save(T entity) {
+        ChangeLog<T, ID> log = this.changeLog;
+        long marker = put(entity, null, null, log);
+        if (log != null) {
+            log.sync(marker);
+        }
+        return entity;
+    }
+
+    /**
+     * Altera e salva uma entidade sem expor uma alteração que viole um índice único: a alteração é aplicada
+     * primeiro a uma cópia, as chaves únicas da cópia são reservadas para a entidade, a cópia é registrada
+     * no registro externo e só então a própria entidade é alterada. Se a reserva ou o registro falhar,
+     * a entidade e os índices ficam como estavam.
+     * @param entity A entidade, como está no repositório.
+     * @param copy Cria uma cópia independente da entidade (mesmo ID), usada para reservar as chaves e no registro.
+     * @param change A alteração.
+     * @return A entidade alterada e salva.
+     * @throws IllegalArgumentException se a entidade ou seu ID for nulo.
+     * @throws DuplicateKeyException se a alteração violar um índice único.
+     */
+    public T update(T entity, UnaryOperator<T> copy, Consumer<? super T> change) {
+        if (copy == null || change == null) {
+            throw new IllegalArgumentException("Cópia e alteração de " + this.entityName + " não podem ser nulas.");
+        }
+        ChangeLog<T, ID> log = this.changeLog;
+        long marker = put(entity, copy, change, log);
+        if (log != null) {
+            log.sync(marker);
+        }
+        return entity;
+    }
+
+    /**
+     * Salva várias entidades, na ordem dada, aguardando o registro externo uma única vez no final.
+     * Se uma entidade falhar (ex.: violar um índice único), as anteriores continuam salvas e a exceção é propagada.
+     * @param batch As entidades a serem salvas.
+     * @throws IllegalArgumentException se alguma entidade ou seu ID for nulo.
+     * @throws DuplicateKeyException se alguma entidade violar um índice único.
+     */
+    public void saveAll(Collection<? extends T> batch) {
+        ChangeLog<T, ID> log = this.changeLog;
+        long ultimoMarker = 0;
+        try {
+            for (T entity : batch) {
+                ultimoMarker = Math.max(ultimoMarker, put(entity, null, null, log));
+            }
+        } finally {
+            if (log != null && ultimoMarker != 0) {
+                log.sync(ultimoMarker);
+            }
+        }
+    }
+
+    // Salva a entidade e seus índices, aplicando antes a alteração (se houver) como em update;
+    // retorna o marcador do registro externo, ou 0.
+    private long put(T entity, UnaryOperator<T> copy, Consumer<? super T> change, ChangeLog<T, ID> log) {
         if (entity == null) {
             throw new IllegalArgumentException(this.entityName + " não pode ser nulo(a).");
         }
@@ -34,8 +113,46 @@ public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
         if (entityId == null) {
             throw new IllegalArgumentException(this.entityName + " ID não pode ser nulo para salvar.");
         }
-        entities.put(entityId, entity);
-        return entity;
+        boolean checkUnique = !uniqueIndexesSuspended;
+        long[] marker = new long[1];
+        // compute serializa as operações sobre o mesmo ID, mantendo os índices (e o log) consistentes com o mapa.
+        Runnable aplicar = () -> entities.compute(entityId, (id, atual) -> {
+            // Com alteração, as chaves e o registro vêm da cópia alterada; a entidade só muda depois de registrada.
+            T changed = change == null ? entity : copy.apply(entity);
+            if (change != null) {
+                change.accept(changed);
+            }
+            if (checkUnique) {
+                claimUniqueKeys(changed, entity);
+            }
+            if (log != null) {
+                try {
+                    marker[0] = log.logSave(changed);
+                } catch (RuntimeException e) {
+                    if (checkUnique) {
+                        uniqueIndexes.values().forEach(index -> index.rollback(changed, entity));
+                    }
+                    throw e;
+                }
+            }
+            if (change != null) {
+                change.accept(entity);
+            }
+            if (checkUnique) {
+                uniqueIndexes.values().forEach(index -> index.commit(entity));
+            }
+            indexes.values().forEach(index -> index.put(entity));
+            textIndexes.values().forEach(index -> index.put(entity));
+            sortedIndexes.values().forEach(index -> index.put(entity));
+            entitiesById.put(id, entity);
+            return entity;
+        });
+        if (log != null) {
+            log.apply(aplicar);
+        } else {
+            aplicar.run();
+        }
+        return marker[0];
     }
 
     /**
@@ -47,24 +164,92 @@ public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
         if (id == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(entities.get(id));
+        T entity = entities.get(id);
+        if (entity == null) {
+            ArchiveStore<T, ID> arquivo = this.archive;
+            return arquivo == null ? Optional.empty() : arquivo.findById(id);
+        }
+        return Optional.of(entity);
+    }
+
+    /**
+     * Busca uma entidade para alterá-la. Só as entidades em memória podem ser alteradas: as arquivadas são
+     * cópias somente leitura do histórico.
+     * @param id O ID da entidade.
+     * @return Um Optional contendo a entidade em memória, ou Optional.empty() se ela não existir.
+     * @throws IllegalStateException se a entidade estiver arquivada.
+     */
+    public Optional<T> findForUpdateById(ID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        T entity = entities.get(id);
+        ArchiveStore<T, ID> arquivo = this.archive;
+        if (entity == null && arquivo != null && arquivo.findById(id).isPresent()) {
+            throw new IllegalStateException(this.entityName + " com ID " + id + " está arquivado(a) e não pode ser alterado(a).");
+        }
+        return Optional.ofNullable(entity);
     }
 
     /**
-     * Retorna todas as entidades do repositório.
+     * Retorna todas as entidades do repositório em memória (as arquivadas não são incluídas).
      * @return Uma lista de todas as entidades.
      */
     public List<T> findAll() {
         return new ArrayList<>(entities.values());
     }
 
+    /**
+     * Retorna todas as entidades do repositório em memória, em ordem de ID.
+     * @return Uma lista das entidades, ordenada por ID.
+     */
+    public List<T> findAllOrderedById() {
+        return new ArrayList<>(entitiesById.values());
+    }
+
+    /**
+     * Percorre as entidades em memória sem copiá-las (sem ordem definida). O stream é fracamente consistente:
+     * reflete as alterações feitas durante o percurso, mas nunca falha por causa delas.
+     * @return Um stream preguiçoso das entidades.
+     */
+    public Stream<T> streamAll() {
+        return entities.values().stream();
+    }
+
+    /**
+     * Percorre as entidades em memória sem copiá-las, em ordem de ID. Como em {@link #streamAll()}, o stream
+     * é fracamente consistente.
+     * @return Um stream preguiçoso das entidades, ordenado por ID.
+     */
+    public Stream<T> streamAllOrderedById() {
+        return entitiesById.values().stream();
+    }
+
+    /**
+     * Retorna uma página das entidades em memória, em ordem de ID, em O(log n + limite).
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limit O número máximo de entidades da página.
+     * @return A página de entidades.
+     * @throws IllegalArgumentException se o cursor for inválido ou o limite não for positivo.
+     */
+    public Pagina<T> findAll(String cursor, int limit) {
+        checkPageLimit(limit);
+        ID afterId = parseCursor(cursor);
+        Iterator<T> ordenadas = (afterId == null ? entitiesById : entitiesById.tailMap(afterId, false)).values().iterator();
+        return page(ordenadas, limit);
+    }
+
     /**
      * Verifica se uma entidade com o ID fornecido existe.
      * @param id O ID da entidade.
      * @return true se existir, false caso contrário.
      */
     public boolean existsById(ID id) {
-        return id != null && entities.containsKey(id);
+        if (id == null) {
+            return false;
+        }
+        ArchiveStore<T, ID> arquivo = this.archive;
+        return entities.containsKey(id) || (arquivo != null && arquivo.findById(id).isPresent());
     }
 
     /**
@@ -73,7 +258,7 @@ public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
      */
     public void delete(T entity) {
         if (entity != null && entity.getId() != null) {
-            entities.remove(entity.getId());
+            deleteById(entity.getId());
         }
     }
 
@@ -83,15 +268,452 @@ public abstract class BaseRepository<T extends Identifiable<ID>, ID> {
      */
     public void deleteById(ID id) {
         if (id != null) {
-            entities.remove(id);
+            ChangeLog<T, ID> log = this.changeLog;
+            long marker = remove(id, log);
+            if (log != null && marker != 0) {
+                log.sync(marker);
+            }
+        }
+    }
+
+    /**
+     * Deleta várias entidades pelos seus IDs, aguardando o registro externo uma única vez no final.
+     * @param ids Os IDs das entidades a serem deletadas.
+     */
+    public void deleteAllById(Collection<ID> ids) {
+        ChangeLog<T, ID> log = this.changeLog;
+        long ultimoMarker = 0;
+        for (ID id : ids) {
+            if (id != null) {
+                ultimoMarker = Math.max(ultimoMarker, remove(id, log));
+            }
+        }
+        if (log != null && ultimoMarker != 0) {
+            log.sync(ultimoMarker);
+        }
+    }
+
+    // Remove a entidade e seus índices; retorna o marcador do registro externo, ou 0.
+    private long remove(ID id, ChangeLog<T, ID> log) {
+        long[] marker = new long[1];
+        Runnable aplicar = () -> entities.computeIfPresent(id, (k, atual) -> {
+            if (log != null) {
+                marker[0] = log.logDelete(k);
+            }
+            uniqueIndexes.values().forEach(index -> index.remove(k));
+            indexes.values().forEach(index -> index.remove(k));
+            textIndexes.values().forEach(index -> index.remove(k));
+            sortedIndexes.values().forEach(index -> index.remove(k));
+            entitiesById.remove(k);
+            return null;
+        });
+        if (log != null) {
+            log.apply(aplicar);
+        } else {
+            aplicar.run();
         }
+        return marker[0];
     }
 
     /**
-     * Conta o número total de entidades no repositório.
+     * Conta o número total de entidades do repositório em memória.
      * @return O número de entidades.
      */
     public long count() {
         return entities.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return O nome da entidade do repositório (nome simples da classe).
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * @return Os nomes dos índices registrados (secundários, únicos, de texto e ordenados), em ordem alfabética.
+     */
+    public List<String> indexNames() {
+        List<String> nomes = new ArrayList<>(indexes.keySet());
+        nomes.addAll(uniqueIndexes.keySet());
+        nomes.addAll(textIndexes.keySet());
+        nomes.addAll(sortedIndexes.keySet());
+        nomes.sort(null);
+        return nomes;
+    }
+
+    /**
+     * Retorna o tamanho de um índice: o número de chaves distintas em memória (as entidades arquivadas
+     * não entram na conta). Num índice de texto, as chaves são os trigramas; num índice ordenado, as
+     * entradas (uma por entidade).
+     * @param name O nome do índice.
+     * @return O número de chaves do índice.
+     */
+    public int indexKeyCount(String name) {
+        SecondaryIndex<T, ID> index = indexes.get(name);
+        if (index != null) {
+            return index.keyCount();
+        }
+        SortedIndex<T, ID, ?> sortedIndex = sortedIndexes.get(name);
+        if (sortedIndex != null) {
+            return sortedIndex.keyCount();
+        }
+        TrigramIndex<T, ID> textIndex = textIndexes.get(name);
+        return textIndex != null ? textIndex.keyCount() : uniqueIndex(name).keyCount();
+    }
+
+    /**
+     * Define o registro externo das alterações deste repositório (ex.: persistência em disco).
+     * @param changeLog O registro a ser usado, ou null para manter o repositório apenas em memória.
+     */
+    public void setChangeLog(ChangeLog<T, ID> changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Define a camada de arquivo do repositório. As buscas por ID e por índice passam a consultá-la quando
+     * não encontram o resultado em memória; {@link #findAll} e {@link #count} continuam apenas em memória.
+     * @param archive A camada de arquivo, ou null para não usar nenhuma.
+     */
+    public void setArchive(ArchiveStore<T, ID> archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Suspende os índices únicos, esvaziando-os. Usado durante a restauração do repositório a partir de
+     * um snapshot e do log, cujos estados intermediários podem ter chaves repetidas temporariamente.
+     * Enquanto suspensos, as buscas por índice único não encontram nada.
+     */
+    public void suspendUniqueIndexes() {
+        uniqueIndexesSuspended = true;
+        uniqueIndexes.values().forEach(UniqueIndex::clear);
+    }
+
+    /**
+     * Reconstrói os índices únicos a partir das entidades atuais e volta a verificá-los nos salvamentos.
+     * Não deve ser chamado com salvamentos concorrentes.
+     * @throws DuplicateKeyException se duas entidades tiverem a mesma chave única.
+     */
+    public void rebuildUniqueIndexes() {
+        uniqueIndexes.values().forEach(UniqueIndex::clear);
+        for (T entity : entities.values()) {
+            claimUniqueKeys(entity, entity);
+            uniqueIndexes.values().forEach(index -> index.commit(entity));
+        }
+        uniqueIndexesSuspended = false;
+    }
+
+    /**
+     * Registra um índice secundário. Deve ser chamado no construtor do repositório específico,
+     * antes de qualquer entidade ser salva.
+     * @param name O nome do índice.
+     * @param keyExtractor Função que extrai a chave de indexação de uma entidade (chaves nulas não são indexadas).
+     */
+    protected final void addIndex(String name, Function<T, ?> keyExtractor) {
+        checkIndexName(name);
+        indexes.put(name, new SecondaryIndex<>(keyExtractor));
+    }
+
+    /**
+     * Busca as entidades associadas a uma chave de um índice secundário, incluindo as arquivadas com a mesma chave.
+     * @param name O nome do índice.
+     * @param key A chave buscada.
+     * @return Uma lista com as entidades encontradas, ou uma lista vazia.
+     */
+    protected final List<T> findAllByIndex(String name, Object key) {
+        SecondaryIndex<T, ID> index = secondaryIndex(name);
+        List<T> encontradas = index.get(key);
+        List<T> arquivadas = archivedMatches(index, key);
+        if (!arquivadas.isEmpty()) {
+            encontradas = new ArrayList<>(encontradas);
+            encontradas.addAll(arquivadas);
+        }
+        return encontradas;
+    }
+
+    /**
+     * Percorre, sem copiar, as entidades associadas a uma chave de um índice secundário (em ordem de ID),
+     * seguidas das arquivadas com a mesma chave.
+     * @param name O nome do índice.
+     * @param key A chave buscada.
+     * @return Um stream preguiçoso das entidades.
+     */
+    protected final Stream<T> streamByIndex(String name, Object key) {
+        SecondaryIndex<T, ID> index = secondaryIndex(name);
+        // As arquivadas só são lidas se o consumidor chegar ao fim das que estão em memória.
+        return Stream.concat(index.stream(key), Stream.of(key).flatMap(k -> archivedMatches(index, k).stream()));
+    }
+
+    /**
+     * Retorna uma página das entidades associadas a uma chave de um índice secundário, em ordem de ID,
+     * incluindo as arquivadas com a mesma chave.
+     * @param name O nome do índice.
+     * @param key A chave buscada.
+     * @param cursor O cursor devolvido na página anterior, ou null para a primeira página.
+     * @param limit O número máximo de entidades da página.
+     * @return A página de entidades.
+     * @throws IllegalArgumentException se o cursor for inválido ou o limite não for positivo.
+     */
+    protected final Pagina<T> findPageByIndex(String name, Object key, String cursor, int limit) {
+        SecondaryIndex<T, ID> index = secondaryIndex(name);
+        checkPageLimit(limit);
+        ID afterId = parseCursor(cursor);
+        List<T> arquivadas = new ArrayList<>(archivedMatches(index, key));
+        if (arquivadas.isEmpty()) {
+            return page(index.iterator(key, afterId), limit);
+        }
+        arquivadas.removeIf(t -> afterId != null && t.getId().compareTo(afterId) <= 0);
+        arquivadas.sort(Comparator.comparing(Identifiable::getId));
+        return page(mergeById(index.iterator(key, afterId), arquivadas.iterator()), limit);
+    }
+
+    /**
+     * Busca as entidades associadas ao mesmo tempo a uma chave de um índice secundário e a uma chave de outro
+     * (ex.: as inscrições de um participante em um evento), incluindo as arquivadas. No arquivo, só as entidades
+     * que podem ter as duas chaves são lidas.
+     * @param name O nome do primeiro índice, percorrido em memória.
+     * @param key A chave buscada no primeiro índice.
+     * @param otherName O nome do segundo índice.
+     * @param otherKey A chave buscada no segundo índice.
+     * @return Uma lista com as entidades encontradas, ou uma lista vazia.
+     */
+    protected final List<T> findAllByIndexes(String name, Object key, String otherName, Object otherKey) {
+        SecondaryIndex<T, ID> index = secondaryIndex(name);
+        SecondaryIndex<T, ID> other = secondaryIndex(otherName);
+        List<T> encontradas = new ArrayList<>();
+        for (T t : index.get(key)) {
+            if (other.matches(t, otherKey)) {
+                encontradas.add(t);
+            }
+        }
+        ArchiveStore<T, ID> arquivo = this.archive;
+        if (arquivo == null || key == null || otherKey == null) {
+            return encontradas;
+        }
+        for (T candidata : arquivo.findCandidates(key, otherKey)) {
+            if (index.matches(candidata, key) && other.matches(candidata, otherKey) && !entities.containsKey(candidata.getId())) {
+                encontradas.add(candidata);
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Registra um índice único. Deve ser chamado no construtor do repositório específico,
+     * antes de qualquer entidade ser salva.
+     * @param name O nome do índice.
+     * @param keyExtractor Função que extrai a chave única de uma entidade (chaves nulas não são indexadas).
+     */
+    protected final void addUniqueIndex(String name, Function<T, ?> keyExtractor) {
+        checkIndexName(name);
+        uniqueIndexes.put(name, new UniqueIndex<>(name, keyExtractor));
+    }
+
+    /**
+     * Busca a entidade associada a uma chave de um índice único, em O(1) entre as entidades em memória.
+     * @param name O nome do índice.
+     * @param key A chave buscada.
+     * @return Um Optional contendo a entidade se encontrada, ou Optional.empty() caso contrário.
+     */
+    protected final Optional<T> findByUniqueIndex(String name, Object key) {
+        UniqueIndex<T, ID> index = uniqueIndex(name);
+        Optional<T> encontrada = index.get(key);
+        ArchiveStore<T, ID> arquivo = this.archive;
+        if (encontrada.isPresent() || arquivo == null || key == null) {
+            return encontrada;
+        }
+        return arquivo.findCandidates(key).stream()
+                .filter(candidata -> index.matches(candidata, key))
+                .findFirst();
+    }
+
+    /**
+     * Verifica se uma chave já está em uso em um índice único.
+     * @param name O nome do índice.
+     * @param key A chave buscada.
+     * @return true se a chave pertencer a alguma entidade, false caso contrário.
+     */
+    protected final boolean existsByUniqueIndex(String name, Object key) {
+        return uniqueIndex(name).containsKey(key) || (archive != null && findByUniqueIndex(name, key).isPresent());
+    }
+
+    /**
+     * Registra um índice de texto (trigramas, sem distinção de acentos e maiúsculas), para buscas por trecho.
+     * Deve ser chamado no construtor do repositório específico, antes de qualquer entidade ser salva.
+     * Como os demais índices, só acompanha as entidades em memória e é atualizado a cada {@link #save}.
+     * @param name O nome do índice.
+     * @param textExtractor Função que extrai o texto indexado de uma entidade (textos nulos não são indexados).
+     */
+    protected final void addTextIndex(String name, Function<T, String> textExtractor) {
+        checkIndexName(name);
+        textIndexes.put(name, new TrigramIndex<>(textExtractor));
+    }
+
+    /**
+     * Busca as entidades cujo texto indexado contém o trecho, ordenadas por relevância (ver {@link TrigramIndex}).
+     * @param name O nome do índice de texto.
+     * @param query O trecho buscado.
+     * @param offset Quantos resultados pular.
+     * @param limit O número máximo de resultados.
+     * @return A página de resultados.
+     */
+    protected final List<T> searchTextIndex(String name, String query, int offset, int limit) {
+        TrigramIndex<T, ID> index = textIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Índice '" + name + "' não registrado em " + this.entityName + ".");
+        }
+        return index.search(query, offset, limit);
+    }
+
+    /**
+     * Registra um índice ordenado, para buscas por faixa de chave paginadas por cursor. Deve ser chamado
+     * no construtor do repositório específico, antes de qualquer entidade ser salva. Como os demais índices,
+     * só acompanha as entidades em memória e é atualizado a cada {@link #save}.
+     * @param name O nome do índice.
+     * @param keyExtractor Função que extrai a chave de ordenação de uma entidade (chaves nulas não são indexadas).
+     * @param idOrder A ordem dos IDs, usada no desempate entre entidades com a mesma chave.
+     */
+    protected final <K extends Comparable<? super K>> void addSortedIndex(String name, Function<T, K> keyExtractor,
+            Comparator<? super ID> idOrder) {
+        checkIndexName(name);
+        sortedIndexes.put(name, new SortedIndex<>(keyExtractor, idOrder));
+    }
+
+    /**
+     * Busca as entidades de uma faixa de um índice ordenado, em ordem crescente de chave (e de ID, no empate),
+     * em O(log n + k). Limites nulos deixam a faixa aberta daquele lado.
+     * @param name O nome do índice ordenado.
+     * @param from O início da faixa (inclusivo), ou null.
+     * @param to O fim da faixa (inclusivo), ou null.
+     * @param afterKey A chave da última entidade da página anterior, ou null na primeira página.
+     * @param afterId O ID da última entidade da página anterior.
+     * @param limit O número máximo de entidades.
+     * @return As entidades encontradas.
+     */
+    @SuppressWarnings("unchecked")
+    protected final <K extends Comparable<? super K>> List<T> findRangeBySortedIndex(String name, K from, K to,
+            K afterKey, ID afterId, int limit) {
+        SortedIndex<T, ID, K> index = (SortedIndex<T, ID, K>) sortedIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Índice '" + name + "' não registrado em " + this.entityName + ".");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limite da busca não pode ser negativo.");
+        }
+        return index.range(from, true, to, true, afterKey, afterId, limit);
+    }
+
+    private void checkIndexName(String name) {
+        if (indexes.containsKey(name) || uniqueIndexes.containsKey(name) || textIndexes.containsKey(name)
+                || sortedIndexes.containsKey(name)) {
+            throw new IllegalStateException("Índice '" + name + "' já registrado em " + this.entityName + ".");
+        }
+    }
+
+    private SecondaryIndex<T, ID> secondaryIndex(String name) {
+        SecondaryIndex<T, ID> index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Índice '" + name + "' não registrado em " + this.entityName + ".");
+        }
+        return index;
+    }
+
+    // As entidades arquivadas com a chave no índice. Uma entidade em memória prevalece sobre a cópia
+    // arquivada com o mesmo ID.
+    private List<T> archivedMatches(SecondaryIndex<T, ID> index, Object key) {
+        ArchiveStore<T, ID> arquivo = this.archive;
+        if (arquivo == null || key == null) {
+            return List.of();
+        }
+        List<T> encontradas = new ArrayList<>();
+        for (T candidata : arquivo.findCandidates(key)) {
+            if (index.matches(candidata, key) && !entities.containsKey(candidata.getId())) {
+                encontradas.add(candidata);
+            }
+        }
+        return encontradas;
+    }
+
+    private static void checkPageLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limite da página deve ser positivo.");
+        }
+    }
+
+    private ID parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return idParser.apply(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+
+    // Monta a página com até "limit" entidades; o cursor é o ID da última, se houver mais depois dela.
+    private Pagina<T> page(Iterator<T> ordenadas, int limit) {
+        List<T> itens = new ArrayList<>(Math.min(limit, 64));
+        while (itens.size() < limit && ordenadas.hasNext()) {
+            itens.add(ordenadas.next());
+        }
+        String proximoCursor = ordenadas.hasNext() ? String.valueOf(itens.get(itens.size() - 1).getId()) : null;
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    // Intercala duas sequências já ordenadas por ID.
+    private Iterator<T> mergeById(Iterator<T> a, Iterator<T> b) {
+        return new Iterator<>() {
+            private T proximaA = a.hasNext() ? a.next() : null;
+            private T proximaB = b.hasNext() ? b.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return proximaA != null || proximaB != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T proxima;
+                if (proximaB == null || (proximaA != null && proximaA.getId().compareTo(proximaB.getId()) <= 0)) {
+                    proxima = proximaA;
+                    proximaA = a.hasNext() ? a.next() : null;
+                } else {
+                    proxima = proximaB;
+                    proximaB = b.hasNext() ? b.next() : null;
+                }
+                return proxima;
+            }
+        };
+    }
+
+    private UniqueIndex<T, ID> uniqueIndex(String name) {
+        UniqueIndex<T, ID> index = uniqueIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Índice '" + name + "' não registrado em " + this.entityName + ".");
+        }
+        return index;
+    }
+
+    // Reserva para a entidade as chaves de todos os índices únicos, extraídas de keySource (a própria entidade
+    // ou uma cópia alterada); se alguma colidir (também com uma entidade arquivada), desfaz as reservas já feitas.
+    private void claimUniqueKeys(T keySource, T entity) {
+        List<UniqueIndex<T, ID>> reservados = new ArrayList<>(uniqueIndexes.size());
+        ArchiveStore<T, ID> arquivo = this.archive;
+        try {
+            for (UniqueIndex<T, ID> index : uniqueIndexes.values()) {
+                index.claim(keySource, entity, this.entityName);
+                reservados.add(index);
+                if (arquivo != null) {
+                    index.checkArchived(keySource, arquivo, this.entityName);
+                }
+            }
+        } catch (DuplicateKeyException e) {
+            reservados.forEach(index -> index.rollback(keySource, entity));
+            throw e;
+        }
+    }
+}
@@ -1,35 +1,68 @@
 package repository;
 
 import domain.Certificado;
+import domain.enums.TipoCertificado;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class CertificadoRepository extends BaseRepository<Certificado, String> {
+public final class CertificadoRepository extends BaseRepository<Certificado, Uid> {
+
+    private static final String IDX_PARTICIPANTE = "participanteId";
+    private static final String IDX_EVENTO = "eventoId";
+    private static final String IDX_CODIGO_VALIDACAO = "codigoValidacao";
+    private static final String IDX_EMISSAO = "emissao";
 
     public CertificadoRepository() {
-        super(Certificado.class);
+        super(Certificado.class, Uid::parse);
+        addIndex(IDX_PARTICIPANTE, c -> c.getParticipante().getId());
+        addIndex(IDX_EVENTO, c -> c.getEvento().getId());
+        addUniqueIndex(IDX_CODIGO_VALIDACAO, Certificado::getCodigoValidacao);
+        // Um certificado por participante, evento, tipo e trabalho: barra emissões concorrentes do mesmo certificado.
+        addUniqueIndex(IDX_EMISSAO, Emissao::de);
     }
 
     // Métodos específicos
     public Optional<Certificado> findByCodigoValidacao(String codigo) {
         if (codigo == null || codigo.trim().isEmpty()) return Optional.empty();
-        return entities.values().stream()
-                .filter(c -> c.getCodigoValidacao().equals(codigo))
-                .findFirst();
+        return findByUniqueIndex(IDX_CODIGO_VALIDACAO, codigo);
+    }
+
+    public boolean existsByCodigoValidacao(String codigo) {
+        return existsByUniqueIndex(IDX_CODIGO_VALIDACAO, codigo);
+    }
+
+    /**
+     * Verifica se já existe um certificado para o mesmo participante, evento, tipo e trabalho.
+     * @param certificado O certificado de onde a chave é extraída.
+     * @return true se a emissão já existir (com este ou com outro certificado).
+     */
+    public boolean existsByEmissao(Certificado certificado) {
+        return existsByUniqueIndex(IDX_EMISSAO, Emissao.de(certificado));
+    }
+
+    public List<Certificado> findAllByParticipanteId(Uid participanteId) {
+        return findAllByIndex(IDX_PARTICIPANTE, participanteId);
+    }
+
+    public Stream<Certificado> streamByParticipanteId(Uid participanteId) {
+        return streamByIndex(IDX_PARTICIPANTE, participanteId);
     }
 
-    public List<Certificado> findAllByParticipanteId(String participanteId) {
-        if (participanteId == null) return List.of();
-        return entities.values().stream()
-                .filter(c -> c.getParticipante().getId().equals(participanteId))
-                .collect(Collectors.toList());
+    public Pagina<Certificado> findByParticipanteId(Uid participanteId, String cursor, int limite) {
+        return findPageByIndex(IDX_PARTICIPANTE, participanteId, cursor, limite);
     }
 
-    public List<Certificado> findAllByEventoId(String eventoId) {
-        if (eventoId == null) return List.of();
-        return entities.values().stream()
-                .filter(c -> c.getEvento().getId().equals(eventoId))
-                .collect(Collectors.toList());
+    public List<Certificado> findAllByEventoId(Uid eventoId) {
+        return findAllByIndex(IDX_EVENTO, eventoId);
+    }
+
+    // Chave do índice de emissão; o trabalho só existe nos certificados de apresentação.
+    private record Emissao(Uid participanteId, Uid eventoId, TipoCertificado tipo, Uid trabalhoId) {
+
+        static Emissao de(Certificado c) {
+            return new Emissao(c.getParticipante().getId(), c.getEvento().getId(), c.getTipo(),
+                    c.getTrabalho() == null ? null : c.getTrabalho().getId());
+        }
     }
-}
\ No newline at end of file
+}
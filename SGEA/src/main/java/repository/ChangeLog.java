@@ -0,0 +1,40 @@
+package repository;
+
+/**
+ * Registro externo das alterações de um repositório (ex.: um log de escrita antecipada em disco).
+ * Os métodos de registro são chamados durante o salvamento/remoção, dentro de {@link #apply} e na mesma
+ * ordem em que as alterações são aplicadas ao repositório; {@link #sync} é chamado em seguida, fora da
+ * seção crítica.
+ *
+ * @param <T> Tipo da entidade.
+ * @param <ID> Tipo do ID da entidade.
+ */
+public interface ChangeLog<T, ID> {
+
+    /**
+     * Registra o salvamento de uma entidade.
+     * @return Um marcador do registro, a ser passado para {@link #sync}.
+     */
+    long logSave(T entity);
+
+    /**
+     * Registra a remoção de uma entidade.
+     * @return Um marcador do registro, a ser passado para {@link #sync}.
+     */
+    long logDelete(ID id);
+
+    /**
+     * Aguarda até que o registro marcado (e todos os anteriores) estejam duráveis.
+     */
+    void sync(long marker);
+
+    /**
+     * Executa a aplicação de uma alteração ao repositório: o registro e a atualização do mapa e dos índices.
+     * Uma implementação pode usá-lo para saber quando um registro já está visível no repositório
+     * (ex.: para um snapshot não ver um registro cuja alteração ainda não foi aplicada).
+     * @param change A aplicação da alteração.
+     */
+    default void apply(Runnable change) {
+        change.run();
+    }
+}
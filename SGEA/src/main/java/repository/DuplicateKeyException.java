@@ -0,0 +1,13 @@
+package repository;
+
+/**
+ * Lançada quando o salvamento de uma entidade violaria um índice único do repositório.
+ */
+public class DuplicateKeyException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateKeyException(String message) {
+        super(message);
+    }
+}
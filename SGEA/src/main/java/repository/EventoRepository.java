@@ -1,26 +1,100 @@
 package repository;
 import domain.Evento;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-public class EventoRepository extends BaseRepository<Evento, String> {
+public final class EventoRepository extends BaseRepository<Evento, Uid> {
+
+    private static final String IDX_ORGANIZADOR = "organizadorId";
+    private static final String IDX_DATA_INICIO = "dataInicio";
+    private static final String IDX_DATA_FIM = "dataFim";
 
     public EventoRepository() {
-        super(Evento.class);
+        super(Evento.class, Uid::parse);
+        addIndex(IDX_ORGANIZADOR, e -> e.getOrganizadorResponsavel().getId());
+        addSortedIndex(IDX_DATA_INICIO, Evento::getDataInicio, Comparator.naturalOrder());
+        addSortedIndex(IDX_DATA_FIM, Evento::getDataFim, Comparator.naturalOrder());
     }
 
     // Métodos específicos
+
+    /**
+     * @return Os eventos que começam depois de hoje, do mais próximo ao mais distante.
+     */
     public List<Evento> findAllDisponiveisParaInscricao(LocalDate hoje) {
-        return entities.values().stream()
-                .filter(e -> e.getDataInicio().isAfter(hoje))
-                .collect(Collectors.toList());
-    }
-    
-    public List<Evento> findAllByOrganizadorId(String organizadorId) {
-    if (organizadorId == null) return List.of();
-    return entities.values().stream()
-            .filter(e -> e.getOrganizadorResponsavel().getId().equals(organizadorId))
-            .collect(Collectors.toList());
+        return findRangeBySortedIndex(IDX_DATA_INICIO, hoje.plusDays(1), null, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Versão paginada de {@link #findAllDisponiveisParaInscricao}, em O(log n + limite) por página.
+     * @param hoje A data de referência.
+     * @param cursor O cursor da página anterior, ou null para a primeira página.
+     * @param limite O número máximo de eventos da página.
+     * @return A página de eventos.
+     */
+    public Pagina<Evento> findDisponiveisParaInscricao(LocalDate hoje, String cursor, int limite) {
+        return findIniciandoEntre(hoje.plusDays(1), null, cursor, limite);
+    }
+
+    /**
+     * Busca, em ordem de data de início, os eventos que começam dentro de uma janela de datas.
+     * @param de O primeiro dia da janela (inclusivo), ou null para não limitar.
+     * @param ate O último dia da janela (inclusivo), ou null para não limitar.
+     * @param cursor O cursor da página anterior, ou null para a primeira página.
+     * @param limite O número máximo de eventos da página.
+     * @return A página de eventos.
+     */
+    public Pagina<Evento> findIniciandoEntre(LocalDate de, LocalDate ate, String cursor, int limite) {
+        return paginar(IDX_DATA_INICIO, Evento::getDataInicio, de, ate, cursor, limite);
+    }
+
+    /**
+     * @return Os eventos que terminaram antes da data limite, do mais antigo ao mais recente.
+     */
+    public List<Evento> findAllTerminadosAntes(LocalDate limite) {
+        return findRangeBySortedIndex(IDX_DATA_FIM, null, limite.minusDays(1), null, null, Integer.MAX_VALUE);
+    }
+
+    public List<Evento> findAllByOrganizadorId(Uid organizadorId) {
+        return findAllByIndex(IDX_ORGANIZADOR, organizadorId);
+    }
+
+    public Stream<Evento> streamByOrganizadorId(Uid organizadorId) {
+        return streamByIndex(IDX_ORGANIZADOR, organizadorId);
+    }
+
+    public Pagina<Evento> findByOrganizadorId(Uid organizadorId, String cursor, int limite) {
+        return findPageByIndex(IDX_ORGANIZADOR, organizadorId, cursor, limite);
+    }
+
+    // O cursor é "<data>_<id>" do último evento entregue: a posição dele no índice, mesmo que o evento mude depois.
+    private Pagina<Evento> paginar(String indice, Function<Evento, LocalDate> chave,
+            LocalDate de, LocalDate ate, String cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite da página deve ser positivo.");
+        }
+        LocalDate depoisDe = null;
+        Uid depoisDoId = null;
+        if (cursor != null) {
+            int separador = cursor.indexOf('_');
+            try {
+                depoisDe = LocalDate.parse(cursor.substring(0, Math.max(separador, 0)));
+                depoisDoId = Uid.parse(cursor.substring(separador + 1));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+        }
+        // Um item a mais indica se existe próxima página.
+        List<Evento> eventos = findRangeBySortedIndex(indice, de, ate, depoisDe, depoisDoId, Math.max(limite, limite + 1));
+        if (eventos.size() <= limite) {
+            return new Pagina<>(eventos, null);
+        }
+        List<Evento> itens = eventos.subList(0, limite);
+        Evento ultimo = itens.get(limite - 1);
+        return new Pagina<>(List.copyOf(itens), chave.apply(ultimo) + "_" + ultimo.getId());
+    }
 }
-}
\ No newline at end of file
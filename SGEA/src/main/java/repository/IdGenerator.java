@@ -0,0 +1,28 @@
+package repository;
+
+/**
+ * Fonte dos IDs de entidades novas. As entidades recebem o ID pronto no construtor; quem as cria
+ * (os controllers) obtém o ID do gerador injetado pela fachada.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * @return Um ID ainda não usado.
+     */
+    Uid nextId();
+
+    /**
+     * @return Um gerador de UUIDs versão 7 (ordenados pelo tempo de criação).
+     */
+    static IdGenerator uuidV7() {
+        return new UuidV7Generator();
+    }
+
+    /**
+     * @return Um gerador de UUIDs versão 4 (totalmente aleatórios).
+     */
+    static IdGenerator random() {
+        return Uid::random;
+    }
+}
@@ -3,39 +3,53 @@ package repository;
 import domain.Inscricao;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class InscricaoRepository extends BaseRepository<Inscricao, String> {
+public final class InscricaoRepository extends BaseRepository<Inscricao, Uid> {
+
+    private static final String IDX_EVENTO = "eventoId";
+    private static final String IDX_PARTICIPANTE = "participanteId";
 
     public InscricaoRepository() {
-        super(Inscricao.class);
+        super(Inscricao.class, Uid::parse);
+        addIndex(IDX_EVENTO, i -> i.getEvento().getId());
+        addIndex(IDX_PARTICIPANTE, i -> i.getParticipante().getId());
     }
 
     // Métodos específicos
-    public List<Inscricao> findAllByEventoId(String eventoId) {
-        if (eventoId == null) return List.of();
-        return entities.values().stream()
-                .filter(i -> i.getEvento().getId().equals(eventoId))
-                .collect(Collectors.toList());
+    public List<Inscricao> findAllByEventoId(Uid eventoId) {
+        return findAllByIndex(IDX_EVENTO, eventoId);
+    }
+
+    public Stream<Inscricao> streamByEventoId(Uid eventoId) {
+        return streamByIndex(IDX_EVENTO, eventoId);
+    }
+
+    public Pagina<Inscricao> findByEventoId(Uid eventoId, String cursor, int limite) {
+        return findPageByIndex(IDX_EVENTO, eventoId, cursor, limite);
+    }
+
+    public List<Inscricao> findAllByParticipanteId(Uid participanteId) {
+        return findAllByIndex(IDX_PARTICIPANTE, participanteId);
+    }
+
+    public Stream<Inscricao> streamByParticipanteId(Uid participanteId) {
+        return streamByIndex(IDX_PARTICIPANTE, participanteId);
     }
 
-    public List<Inscricao> findAllByParticipanteId(String participanteId) {
-        if (participanteId == null) return List.of();
-        return entities.values().stream()
-                .filter(i -> i.getParticipante().getId().equals(participanteId))
-                .collect(Collectors.toList());
+    public Pagina<Inscricao> findByParticipanteId(Uid participanteId, String cursor, int limite) {
+        return findPageByIndex(IDX_PARTICIPANTE, participanteId, cursor, limite);
     }
 
-    public Optional<Inscricao> findByParticipanteIdAndEventoId(String participanteId, String eventoId) {
+    public Optional<Inscricao> findByParticipanteIdAndEventoId(Uid participanteId, Uid eventoId) {
         if (participanteId == null || eventoId == null) return Optional.empty();
-        return entities.values().stream()
-                .filter(i -> i.getParticipante().getId().equals(participanteId) &&
-                              i.getEvento().getId().equals(eventoId))
-                .findFirst();
+        // O bucket do participante é pequeno (suas inscrições), então o filtro pelo evento é barato; no arquivo,
+        // só o bloco do evento é lido, e só se o participante aparece nele.
+        return findAllByIndexes(IDX_PARTICIPANTE, participanteId, IDX_EVENTO, eventoId).stream().findFirst();
     }
     
     @Override
-    public void deleteById(String id) {
+    public void deleteById(Uid id) {
         super.deleteById(id);
     }
-}
\ No newline at end of file
+}
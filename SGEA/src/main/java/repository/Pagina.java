@@ -0,0 +1,21 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados de uma busca paginada por cursor.
+ * <p>
+ * O cursor é opaco para quem chama: basta repassá-lo à mesma busca para obter a página seguinte.
+ * Ele marca a posição do último item entregue, então itens incluídos ou removidos entre uma página
+ * e outra não fazem a paginação repetir nem pular os demais.
+ *
+ * @param itens Os itens desta página.
+ * @param proximoCursor O cursor da página seguinte, ou null se esta for a última.
+ * @param <T> Tipo dos itens.
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
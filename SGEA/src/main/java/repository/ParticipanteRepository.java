@@ -2,21 +2,56 @@ package repository;
 
 import domain.Participante;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-public class ParticipanteRepository extends BaseRepository<Participante, String> {
+public final class ParticipanteRepository extends BaseRepository<Participante, Uid> {
+
+    private static final String IDX_EMAIL = "email";
+    private static final String IDX_NOME = "nome";
 
     public ParticipanteRepository() {
-        super(Participante.class); 
+        super(Participante.class, Uid::parse); 
+        addUniqueIndex(IDX_EMAIL, p -> normalizarEmail(p.getEmail()));
+        addTextIndex(IDX_NOME, Participante::getNomeCompleto);
     }
 
+    /**
+     * Busca participantes cujo nome contém o trecho, sem distinção de acentos e maiúsculas,
+     * do mais ao menos relevante (nome que começa com o trecho primeiro).
+     * @param nome O trecho do nome; vazio retorna todos os participantes.
+     * @return Os participantes encontrados.
+     */
     public List<Participante> findByNomeContendo(String nome) {
+        return findByNomeContendo(nome, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Versão paginada de {@link #findByNomeContendo(String)}.
+     * @param nome O trecho do nome; vazio retorna todos os participantes, em ordem de ID.
+     * @param offset Quantos resultados pular.
+     * @param limite O número máximo de resultados.
+     * @return A página de participantes encontrados.
+     */
+    public List<Participante> findByNomeContendo(String nome, int offset, int limite) {
         if (nome == null || nome.trim().isEmpty()) {
-            return findAll(); 
+            // Em ordem de ID, para que as páginas sejam estáveis entre chamadas.
+            return streamAllOrderedById().skip(offset).limit(limite).collect(Collectors.toList());
         }
-        String nomeLower = nome.toLowerCase();
-        return entities.values().stream()
-                .filter(p -> p.getNomeCompleto().toLowerCase().contains(nomeLower))
-                .collect(Collectors.toList());
+        return searchTextIndex(IDX_NOME, nome, offset, limite);
+    }
+
+    public Optional<Participante> findByEmail(String email) {
+        return findByUniqueIndex(IDX_EMAIL, normalizarEmail(email));
+    }
+
+    public boolean existsByEmail(String email) {
+        return existsByUniqueIndex(IDX_EMAIL, normalizarEmail(email));
+    }
+
+    // Emails são únicos sem distinção de maiúsculas/minúsculas.
+    private static String normalizarEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
     }
-}
\ No newline at end of file
+}
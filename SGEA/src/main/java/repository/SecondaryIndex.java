@@ -0,0 +1,125 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Índice secundário em memória de um repositório.
+ * Agrupa as entidades em "buckets" pela chave extraída de cada uma (ex.: o ID do evento
+ * de uma inscrição), permitindo buscas por chave em O(1) em vez de varrer todas as entidades.
+ * Cada bucket é mantido em ordem de ID, para ser percorrido ou paginado sem cópia.
+ *
+ * @param <T> Tipo da entidade indexada.
+ * @param <ID> Tipo do ID da entidade.
+ */
+class SecondaryIndex<T extends Identifiable<ID>, ID extends Comparable<? super ID>> {
+
+    private final Function<T, ?> keyExtractor;
+    private final Map<Object, NavigableMap<ID, T>> buckets = new ConcurrentHashMap<>();
+    // Última chave indexada de cada entidade, para retirá-la do bucket antigo quando a chave mudar.
+    private final Map<ID, Object> keysById = new ConcurrentHashMap<>();
+
+    SecondaryIndex(Function<T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Indexa (ou reindexa) uma entidade com a chave atual.
+     * @param entity A entidade salva no repositório.
+     */
+    void put(T entity) {
+        ID id = entity.getId();
+        Object newKey = keyExtractor.apply(entity);
+        Object oldKey = (newKey == null) ? keysById.remove(id) : keysById.put(id, newKey);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            removeFromBucket(oldKey, id);
+        }
+        if (newKey != null) {
+            buckets.compute(newKey, (k, bucket) -> {
+                if (bucket == null) {
+                    bucket = new ConcurrentSkipListMap<>();
+                }
+                bucket.put(id, entity);
+                return bucket;
+            });
+        }
+    }
+
+    /**
+     * Remove uma entidade do índice.
+     * @param id O ID da entidade removida do repositório.
+     */
+    void remove(ID id) {
+        Object oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            removeFromBucket(oldKey, id);
+        }
+    }
+
+    /**
+     * Retorna as entidades associadas a uma chave.
+     * @param key A chave buscada.
+     * @return Uma lista (cópia) com as entidades do bucket, ou uma lista vazia.
+     */
+    List<T> get(Object key) {
+        if (key == null) {
+            return List.of();
+        }
+        Map<ID, T> bucket = buckets.get(key);
+        return bucket == null ? List.of() : new ArrayList<>(bucket.values());
+    }
+
+    /**
+     * Percorre, sem copiar, as entidades associadas a uma chave, em ordem de ID.
+     * @param key A chave buscada.
+     * @return Um stream fracamente consistente do bucket, ou um stream vazio.
+     */
+    Stream<T> stream(Object key) {
+        Map<ID, T> bucket = key == null ? null : buckets.get(key);
+        return bucket == null ? Stream.empty() : bucket.values().stream();
+    }
+
+    /**
+     * Percorre, sem copiar, as entidades associadas a uma chave com ID maior que o informado, em ordem de ID.
+     * @param key A chave buscada.
+     * @param afterId O ID a partir do qual (exclusivo) percorrer, ou null para percorrer o bucket inteiro.
+     * @return Um iterador fracamente consistente.
+     */
+    Iterator<T> iterator(Object key, ID afterId) {
+        NavigableMap<ID, T> bucket = key == null ? null : buckets.get(key);
+        if (bucket == null) {
+            return Collections.emptyIterator();
+        }
+        return (afterId == null ? bucket : bucket.tailMap(afterId, false)).values().iterator();
+    }
+
+    /**
+     * @return true se a chave atual da entidade for a informada.
+     */
+    boolean matches(T entity, Object key) {
+        return key != null && key.equals(keyExtractor.apply(entity));
+    }
+
+    /**
+     * @return O número de chaves distintas no índice.
+     */
+    int keyCount() {
+        return buckets.size();
+    }
+
+    private void removeFromBucket(Object key, ID id) {
+        // Buckets vazios são descartados para o índice não crescer com chaves mortas.
+        buckets.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(id);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Índice ordenado em memória de um repositório, para buscas por faixa (ex.: eventos que começam
+ * depois de uma data). As entidades ficam numa {@link ConcurrentSkipListMap} ordenada pela chave e,
+ * no empate, pelo ID; uma faixa é localizada em O(log n) e percorrida sem copiar o resto do índice.
+ * A posição (chave, ID) da última entidade de uma página serve de cursor para a próxima.
+ *
+ * @param <T> Tipo da entidade indexada.
+ * @param <ID> Tipo do ID da entidade.
+ * @param <K> Tipo da chave de ordenação.
+ */
+class SortedIndex<T extends Identifiable<ID>, ID, K extends Comparable<? super K>> {
+
+    // Posição no índice. Sem ID (lado -1 ou +1), marca o começo ou o fim das entradas de uma chave.
+    private record Posicao<K, ID>(K key, ID id, int lado) {
+    }
+
+    private final Function<T, K> keyExtractor;
+    private final Comparator<Posicao<K, ID>> ordem;
+    private final NavigableMap<Posicao<K, ID>, T> entries;
+    // Última chave indexada de cada entidade, para retirar a entrada antiga quando a chave mudar.
+    private final Map<ID, K> keysById = new ConcurrentHashMap<>();
+
+    SortedIndex(Function<T, K> keyExtractor, Comparator<? super ID> idOrder) {
+        this.keyExtractor = keyExtractor;
+        this.ordem = (a, b) -> {
+            int c = a.key().compareTo(b.key());
+            if (c != 0) {
+                return c;
+            }
+            if (a.id() != null && b.id() != null) {
+                return idOrder.compare(a.id(), b.id());
+            }
+            return Integer.compare(a.lado(), b.lado());
+        };
+        this.entries = new ConcurrentSkipListMap<>(ordem);
+    }
+
+    /**
+     * Indexa (ou reindexa) uma entidade com a chave atual.
+     * @param entity A entidade salva no repositório.
+     */
+    void put(T entity) {
+        ID id = entity.getId();
+        K newKey = keyExtractor.apply(entity);
+        K oldKey = (newKey == null) ? keysById.remove(id) : keysById.put(id, newKey);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            entries.remove(new Posicao<>(oldKey, id, 0));
+        }
+        if (newKey != null) {
+            entries.put(new Posicao<>(newKey, id, 0), entity);
+        }
+    }
+
+    /**
+     * Remove uma entidade do índice.
+     * @param id O ID da entidade removida do repositório.
+     */
+    void remove(ID id) {
+        K oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            entries.remove(new Posicao<>(oldKey, id, 0));
+        }
+    }
+
+    /**
+     * Percorre uma faixa do índice em ordem crescente de chave (e de ID, no empate).
+     * @param from O início da faixa, ou null para começar do menor valor.
+     * @param fromInclusive Se entidades com chave igual a {@code from} entram na faixa.
+     * @param to O fim da faixa, ou null para ir até o maior valor.
+     * @param toInclusive Se entidades com chave igual a {@code to} entram na faixa.
+     * @param afterKey A chave da última entidade da página anterior, ou null para começar do início da faixa.
+     * @param afterId O ID da última entidade da página anterior (usado junto com {@code afterKey}).
+     * @param limit O número máximo de entidades retornadas.
+     * @return As entidades da faixa, depois do cursor, até o limite.
+     */
+    List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive, K afterKey, ID afterId, int limit) {
+        Posicao<K, ID> inicio = from == null ? null : new Posicao<>(from, null, fromInclusive ? -1 : 1);
+        boolean inicioInclusivo = true;
+        if (afterKey != null) {
+            Posicao<K, ID> cursor = new Posicao<>(afterKey, afterId, 0);
+            if (inicio == null || ordem.compare(cursor, inicio) >= 0) {
+                inicio = cursor;
+                inicioInclusivo = false;
+            }
+        }
+        Posicao<K, ID> fim = to == null ? null : new Posicao<>(to, null, toInclusive ? 1 : -1);
+        NavigableMap<Posicao<K, ID>, T> faixa;
+        if (inicio != null && fim != null) {
+            if (ordem.compare(inicio, fim) >= 0) {
+                return List.of();
+            }
+            faixa = entries.subMap(inicio, inicioInclusivo, fim, false);
+        } else if (inicio != null) {
+            faixa = entries.tailMap(inicio, inicioInclusivo);
+        } else if (fim != null) {
+            faixa = entries.headMap(fim, false);
+        } else {
+            faixa = entries;
+        }
+        List<T> encontradas = new ArrayList<>(Math.min(limit, 64));
+        for (T entity : faixa.values()) {
+            if (encontradas.size() >= limit) {
+                break;
+            }
+            encontradas.add(entity);
+        }
+        return encontradas;
+    }
+
+    /**
+     * @return O número de entidades no índice.
+     */
+    int keyCount() {
+        return keysById.size();
+    }
+}
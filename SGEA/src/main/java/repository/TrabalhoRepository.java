@@ -4,32 +4,49 @@ import domain.Trabalho;
 import domain.enums.StatusTrabalho;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class TrabalhoRepository extends BaseRepository<Trabalho, String> {
+public final class TrabalhoRepository extends BaseRepository<Trabalho, Uid> {
+
+    private static final String IDX_EVENTO = "eventoId";
+    private static final String IDX_AUTOR = "autorId";
 
     public TrabalhoRepository() {
-        super(Trabalho.class);
+        super(Trabalho.class, Uid::parse);
+        addIndex(IDX_EVENTO, t -> t.getEvento().getId());
+        addIndex(IDX_AUTOR, t -> t.getAutor().getId());
     }
 
     // Métodos específicos
-    public List<Trabalho> findAllByEventoId(String eventoId) {
-        if (eventoId == null) return List.of();
-        return entities.values().stream()
-                .filter(t -> t.getEvento().getId().equals(eventoId))
-                .collect(Collectors.toList());
+    public List<Trabalho> findAllByEventoId(Uid eventoId) {
+        return findAllByIndex(IDX_EVENTO, eventoId);
     }
 
-    public List<Trabalho> findAllByAutorId(String autorId) {
-        if (autorId == null) return List.of();
-        return entities.values().stream()
-                .filter(t -> t.getAutor().getId().equals(autorId))
-                .collect(Collectors.toList());
+    public Stream<Trabalho> streamByEventoId(Uid eventoId) {
+        return streamByIndex(IDX_EVENTO, eventoId);
+    }
+
+    public Pagina<Trabalho> findByEventoId(Uid eventoId, String cursor, int limite) {
+        return findPageByIndex(IDX_EVENTO, eventoId, cursor, limite);
+    }
+
+    public List<Trabalho> findAllByAutorId(Uid autorId) {
+        return findAllByIndex(IDX_AUTOR, autorId);
+    }
+
+    public Stream<Trabalho> streamByAutorId(Uid autorId) {
+        return streamByIndex(IDX_AUTOR, autorId);
+    }
+
+    public Pagina<Trabalho> findByAutorId(Uid autorId, String cursor, int limite) {
+        return findPageByIndex(IDX_AUTOR, autorId, cursor, limite);
     }
 
-    public List<Trabalho> findAllByStatusAndEventoId(StatusTrabalho status, String eventoId) {
+    public List<Trabalho> findAllByStatusAndEventoId(StatusTrabalho status, Uid eventoId) {
         if (status == null || eventoId == null) return List.of();
-        return entities.values().stream()
-                .filter(t -> t.getEvento().getId().equals(eventoId) && t.getStatus() == status)
+        // O status muda sem passar pelo repositório, por isso é filtrado sobre o bucket do evento.
+        return findAllByIndex(IDX_EVENTO, eventoId).stream()
+                .filter(t -> t.getStatus() == status)
                 .collect(Collectors.toList());
     }
 }
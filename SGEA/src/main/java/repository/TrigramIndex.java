@@ -0,0 +1,481 @@
+package repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Índice de texto em memória de um repositório, para buscas por trecho (ex.: parte do nome).
+ * <p>
+ * O texto de cada entidade é "dobrado" ({@link #fold}): sem acentos, em minúsculas e com pontuação
+ * trocada por espaço, então "João" e "joao" se equivalem. Cada trigrama (trecho de 3 caracteres) do
+ * texto dobrado aponta para as entidades que o contêm, em listas ordenadas separadas pelo comprimento
+ * do texto. Uma busca intersecta as listas dos trigramas do trecho procurado e confirma cada candidata
+ * no texto dobrado, sem varrer o repositório nem alocar uma string por entidade.
+ * <p>
+ * Os resultados são ordenados por relevância: primeiro os textos em que o trecho começa uma palavra,
+ * depois aqueles em que ele aparece no meio de uma palavra; dentro de cada grupo, os textos mais
+ * curtos (e, no mesmo comprimento, os que começam com o trecho, depois os indexados há mais tempo).
+ * Como as listas são separadas por comprimento, a busca percorre os comprimentos em ordem crescente
+ * e para assim que completa a página pedida, mesmo que o trecho apareça em boa parte das entidades.
+ * Trechos de 1 ou 2 caracteres só casam com início de palavra.
+ * <p>
+ * Leituras e escritas são protegidas por um {@link ReadWriteLock}: as buscas correm em paralelo e
+ * cada escrita (inclusão, renomeação ou remoção de uma entidade) é curta.
+ *
+ * @param <T> Tipo da entidade indexada.
+ * @param <ID> Tipo do ID da entidade.
+ */
+class TrigramIndex<T extends Identifiable<ID>, ID> {
+
+    // Comprimentos acima disso dividem a mesma lista (a ordenação entre eles vira só por antiguidade).
+    private static final int COMPRIMENTO_MAXIMO = 255;
+    private static final int GRUPO_INICIO_DE_PALAVRA = 0;
+    private static final int GRUPO_MEIO_DE_PALAVRA = 1;
+
+    private final Function<T, String> textExtractor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Cada entidade ocupa uma posição ("slot"); as listas guardam slots em ordem crescente.
+    // Slots não são reaproveitados, então novas entidades (e renomeadas) sempre entram no fim das listas.
+    private final Map<ID, Integer> slotsById = new HashMap<>();
+    private final Map<Long, Trigram> trigrams = new HashMap<>();
+    private Object[] entities = new Object[1024];
+    private String[] folded = new String[1024];
+    private int nextSlot;
+
+    TrigramIndex(Function<T, String> textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    /**
+     * Indexa (ou reindexa) uma entidade com o texto atual.
+     * @param entity A entidade salva no repositório.
+     */
+    void put(T entity) {
+        String texto = textExtractor.apply(entity);
+        String novo = texto == null ? "" : fold(texto);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(entity.getId());
+            if (slot != null && novo.equals(folded[slot])) {
+                entities[slot] = entity;
+                return;
+            }
+            if (slot != null) {
+                removeSlot(slot);
+            }
+            if (novo.isEmpty()) {
+                slotsById.remove(entity.getId());
+                return;
+            }
+            int novoSlot = allocate(entity, novo);
+            slotsById.put(entity.getId(), novoSlot);
+            int comprimento = bucket(novo);
+            for (long chave : keys(novo)) {
+                trigrams.computeIfAbsent(chave, k -> new Trigram()).postings(comprimento).append(novoSlot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma entidade do índice.
+     * @param id O ID da entidade removida do repositório.
+     */
+    void remove(ID id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as entidades cujo texto contém o trecho informado, ordenadas por relevância.
+     * @param query O trecho buscado (acentos e maiúsculas são ignorados).
+     * @param offset Quantos resultados pular (paginação).
+     * @param limit O número máximo de resultados.
+     * @return A página de resultados; vazia se o trecho não tiver letras nem dígitos.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset e limite da busca não podem ser negativos.");
+        }
+        String trecho = query == null ? "" : fold(query);
+        if (trecho.isEmpty() || limit == 0) {
+            return List.of();
+        }
+        int k = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        TopK melhores = new TopK(k);
+        lock.readLock().lock();
+        try {
+            // Início de palavra: o trecho precedido de espaço (no índice, todo texto começa com espaço).
+            long[] chavesTrecho = trecho.length() < 3 ? new long[0] : trigramsOf(trecho);
+            long inicioPalavra = trecho.length() == 1 ? wordStartKey(trecho.charAt(0))
+                    : trigram(' ', trecho.charAt(0), trecho.charAt(1));
+            long[] chavesInicio = Arrays.copyOf(chavesTrecho, chavesTrecho.length + 1);
+            chavesInicio[chavesTrecho.length] = inicioPalavra;
+            collect(chavesInicio, GRUPO_INICIO_DE_PALAVRA, trecho, melhores);
+            if (melhores.size() < k && chavesTrecho.length > 0) {
+                collect(chavesTrecho, GRUPO_MEIO_DE_PALAVRA, trecho, melhores);
+            }
+            long[] ordenados = melhores.sorted();
+            List<T> pagina = new ArrayList<>(Math.max(0, ordenados.length - offset));
+            for (int i = offset; i < ordenados.length; i++) {
+                pagina.add((T) entities[(int) ordenados[i]]);
+            }
+            return pagina;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return O número de chaves (trigramas e inícios de palavra) distintas no índice.
+     */
+    int keyCount() {
+        lock.readLock().lock();
+        try {
+            return trigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dobra um texto para indexação e busca: remove acentos (ex.: "ç" vira "c"), passa para minúsculas,
+     * troca tudo que não for letra ou dígito por espaço e junta espaços repetidos.
+     * @param texto O texto original.
+     * @return O texto dobrado, sem espaços nas pontas.
+     */
+    static String fold(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposto.length());
+        boolean espacoPendente = false;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (espacoPendente && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                espacoPendente = false;
+                sb.append(Character.toLowerCase(c));
+            } else {
+                espacoPendente = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    // Percorre os comprimentos em ordem crescente, intersectando as listas das chaves em cada um.
+    // Os resultados de um comprimento são sempre mais relevantes que os do seguinte, dentro do mesmo
+    // grupo, então a busca para no primeiro comprimento em que a página estiver completa.
+    private void collect(long[] chaves, int grupo, String trecho, TopK melhores) {
+        Trigram[] entradas = new Trigram[chaves.length];
+        int maiorComprimento = COMPRIMENTO_MAXIMO;
+        for (int i = 0; i < chaves.length; i++) {
+            entradas[i] = trigrams.get(chaves[i]);
+            if (entradas[i] == null) {
+                return;
+            }
+            maiorComprimento = Math.min(maiorComprimento, entradas[i].porComprimento.length - 1);
+        }
+        Postings[] listas = new Postings[chaves.length];
+        int[] posicoes = new int[chaves.length];
+        comprimentos:
+        for (int comprimento = Math.min(trecho.length(), COMPRIMENTO_MAXIMO); comprimento <= maiorComprimento; comprimento++) {
+            for (int i = 0; i < entradas.length; i++) {
+                listas[i] = entradas[i].porComprimento[comprimento];
+                if (listas[i] == null || listas[i].size == 0) {
+                    continue comprimentos;
+                }
+            }
+            Arrays.sort(listas, (a, b) -> Integer.compare(a.size, b.size));
+            intersect(listas, posicoes, grupo, trecho, melhores);
+            if (melhores.isFull()) {
+                return;
+            }
+        }
+    }
+
+    // Percorre a menor lista e procura cada slot nas demais por busca exponencial, que avança só para a frente.
+    private void intersect(Postings[] listas, int[] posicoes, int grupo, String trecho, TopK melhores) {
+        Arrays.fill(posicoes, 0);
+        Postings menor = listas[0];
+        proximo:
+        for (int i = 0; i < menor.size; i++) {
+            int slot = menor.slots[i];
+            for (int j = 1; j < listas.length; j++) {
+                posicoes[j] = listas[j].seek(slot, posicoes[j]);
+                if (posicoes[j] >= listas[j].size) {
+                    return;
+                }
+                if (listas[j].slots[posicoes[j]] != slot) {
+                    continue proximo;
+                }
+            }
+            consider(melhores, slot, grupo, trecho);
+        }
+    }
+
+    // Confirma a candidata no texto dobrado e a classifica; as que não forem do grupo buscado são descartadas.
+    private void consider(TopK melhores, int slot, int grupo, String trecho) {
+        String texto = folded[slot];
+        int pos = texto.indexOf(trecho);
+        if (pos < 0) {
+            return;
+        }
+        boolean comeca = pos == 0;
+        boolean inicioDePalavra = comeca;
+        while (!inicioDePalavra && pos >= 0) {
+            inicioDePalavra = texto.charAt(pos - 1) == ' ';
+            pos = texto.indexOf(trecho, pos + 1);
+        }
+        if ((grupo == GRUPO_INICIO_DE_PALAVRA) != inicioDePalavra) {
+            return;
+        }
+        // Relevância nos 32 bits altos (grupo, comprimento, começa com o trecho) e o slot no desempate.
+        long relevancia = (long) grupo << 9 | (long) bucket(texto) << 1 | (comeca ? 0 : 1);
+        melhores.offer(relevancia << 32 | slot);
+    }
+
+    // Chaves de um texto dobrado: seus trigramas, com um espaço antes e depois do texto (para marcar o
+    // início e o fim das palavras das pontas), e uma chave para a primeira letra de cada palavra.
+    private static long[] keys(String texto) {
+        String comBordas = " " + texto + " ";
+        long[] deTrigramas = trigramsOf(comBordas);
+        long[] chaves = Arrays.copyOf(deTrigramas, deTrigramas.length + texto.length());
+        int n = deTrigramas.length;
+        for (int i = 0; i < texto.length(); i++) {
+            if (i == 0 || texto.charAt(i - 1) == ' ') {
+                chaves[n++] = wordStartKey(texto.charAt(i));
+            }
+        }
+        return distinct(chaves, n);
+    }
+
+    private static long[] trigramsOf(String texto) {
+        int n = Math.max(0, texto.length() - 2);
+        long[] chaves = new long[n];
+        for (int i = 0; i < n; i++) {
+            chaves[i] = trigram(texto.charAt(i), texto.charAt(i + 1), texto.charAt(i + 2));
+        }
+        return distinct(chaves, n);
+    }
+
+    // Cada chave é um long com 16 bits por caractere.
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    // O caractere 0 nunca aparece num texto dobrado, então não colide com um trigrama de verdade.
+    private static long wordStartKey(char c) {
+        return trigram('\0', ' ', c);
+    }
+
+    private static long[] distinct(long[] chaves, int n) {
+        Arrays.sort(chaves, 0, n);
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (distintos == 0 || chaves[distintos - 1] != chaves[i]) {
+                chaves[distintos++] = chaves[i];
+            }
+        }
+        return Arrays.copyOf(chaves, distintos);
+    }
+
+    private static int bucket(String texto) {
+        return Math.min(texto.length(), COMPRIMENTO_MAXIMO);
+    }
+
+    private int allocate(T entity, String texto) {
+        if (nextSlot == entities.length) {
+            entities = Arrays.copyOf(entities, entities.length * 2);
+            folded = Arrays.copyOf(folded, folded.length * 2);
+        }
+        entities[nextSlot] = entity;
+        folded[nextSlot] = texto;
+        return nextSlot++;
+    }
+
+    private void removeSlot(int slot) {
+        String texto = folded[slot];
+        int comprimento = bucket(texto);
+        for (long chave : keys(texto)) {
+            Trigram entrada = trigrams.get(chave);
+            if (entrada != null && entrada.remove(comprimento, slot)) {
+                trigrams.remove(chave);
+            }
+        }
+        entities[slot] = null;
+        folded[slot] = null;
+    }
+
+    /**
+     * As listas de uma chave, uma por comprimento de texto.
+     */
+    private static final class Trigram {
+
+        Postings[] porComprimento = new Postings[0];
+        int total;
+
+        Postings postings(int comprimento) {
+            if (comprimento >= porComprimento.length) {
+                porComprimento = Arrays.copyOf(porComprimento, comprimento + 1);
+            }
+            Postings lista = porComprimento[comprimento];
+            if (lista == null) {
+                lista = porComprimento[comprimento] = new Postings();
+            }
+            total++;
+            return lista;
+        }
+
+        // Retorna true se a chave ficou sem nenhuma entidade.
+        boolean remove(int comprimento, int slot) {
+            Postings lista = comprimento < porComprimento.length ? porComprimento[comprimento] : null;
+            if (lista != null && lista.remove(slot)) {
+                if (lista.size == 0) {
+                    porComprimento[comprimento] = null;
+                }
+                total--;
+            }
+            return total == 0;
+        }
+    }
+
+    /**
+     * Lista crescente de slots de um trigrama.
+     */
+    private static final class Postings {
+
+        int[] slots = new int[4];
+        int size;
+
+        void append(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            int i = Arrays.binarySearch(slots, 0, size, slot);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        // Primeira posição a partir de "inicio" com slot >= alvo (ou size, se não houver).
+        int seek(int alvo, int inicio) {
+            int passo = 1;
+            int fim = inicio;
+            while (fim < size && slots[fim] < alvo) {
+                inicio = fim + 1;
+                fim += passo;
+                passo <<= 1;
+            }
+            int i = Arrays.binarySearch(slots, inicio, Math.min(fim + 1, size), alvo);
+            return i >= 0 ? i : -i - 1;
+        }
+    }
+
+    /**
+     * Os k menores valores vistos (max-heap limitado), sem alocar por candidato.
+     */
+    private static final class TopK {
+
+        private final int k;
+        private long[] heap = new long[16];
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+        }
+
+        void offer(long valor) {
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, Integer.MAX_VALUE - 8));
+                }
+                heap[size] = valor;
+                subir(size++);
+            } else if (valor < heap[0]) {
+                heap[0] = valor;
+                descer(0);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isFull() {
+            return size == k;
+        }
+
+        long[] sorted() {
+            long[] ordenados = Arrays.copyOf(heap, size);
+            Arrays.sort(ordenados);
+            for (int i = 0; i < ordenados.length; i++) {
+                ordenados[i] = (int) ordenados[i]; // mantém só o slot
+            }
+            return ordenados;
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (heap[pai] >= heap[i]) {
+                    return;
+                }
+                trocar(pai, i);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int maior = i;
+                int esq = 2 * i + 1;
+                int dir = esq + 1;
+                if (esq < size && heap[esq] > heap[maior]) {
+                    maior = esq;
+                }
+                if (dir < size && heap[dir] > heap[maior]) {
+                    maior = dir;
+                }
+                if (maior == i) {
+                    return;
+                }
+                trocar(i, maior);
+                i = maior;
+            }
+        }
+
+        private void trocar(int a, int b) {
+            long t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package repository;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificador compacto de 128 bits das entidades, guardado como dois {@code long}.
+ * <p>
+ * Substitui o ID em texto (36 caracteres) como chave dos repositórios e índices: ocupa 32 bytes em vez
+ * de mais de 80, e {@code hashCode}/{@code equals} comparam dois números em vez de percorrer a string.
+ * A forma textual (UUID canônico) só é produzida ao exibir o ID ou expô-lo pela fachada.
+ */
+public record Uid(long msb, long lsb) implements Comparable<Uid> {
+
+    /**
+     * @return Um novo ID aleatório (UUID versão 4).
+     */
+    public static Uid random() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;                    // versão 4
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variante IETF
+        return new Uid(msb, lsb);
+    }
+
+    /**
+     * Converte a forma textual de um ID.
+     * @param texto O ID no formato UUID canônico.
+     * @return O ID correspondente.
+     * @throws IllegalArgumentException se o texto for nulo ou não for um ID válido.
+     */
+    public static Uid parse(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo.");
+        }
+        try {
+            UUID uuid = UUID.fromString(texto.trim());
+            return new Uid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ID inválido: " + texto);
+        }
+    }
+
+    /**
+     * Versão tolerante de {@link #parse}, para buscas: um texto inválido simplesmente não corresponde a nenhuma entidade.
+     * @return O ID, ou null se o texto for nulo ou inválido.
+     */
+    public static Uid parseOrNull(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return parse(texto);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        // Mistura os 128 bits; os IDs aleatórios já são bem distribuídos.
+        long h = msb ^ lsb;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Uid other && msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public int compareTo(Uid o) {
+        int c = Long.compareUnsigned(msb, o.msb);
+        return c != 0 ? c : Long.compareUnsigned(lsb, o.lsb);
+    }
+
+    @Override
+    public String toString() {
+        return new UUID(msb, lsb).toString();
+    }
+}
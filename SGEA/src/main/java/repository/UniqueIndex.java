@@ -0,0 +1,128 @@
+package repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice único em memória de um repositório.
+ * Associa cada chave a no máximo uma entidade, com busca em O(1), e rejeita
+ * no momento da inserção uma chave que já pertence a outra entidade.
+ *
+ * @param <T> Tipo da entidade indexada.
+ * @param <ID> Tipo do ID da entidade.
+ */
+class UniqueIndex<T extends Identifiable<ID>, ID> {
+
+    private final String name;
+    private final Function<T, ?> keyExtractor;
+    private final Map<Object, T> entitiesByKey = new ConcurrentHashMap<>();
+    // Última chave confirmada de cada entidade, para liberá-la quando a chave mudar.
+    private final Map<ID, Object> keysById = new ConcurrentHashMap<>();
+
+    UniqueIndex(String name, Function<T, ?> keyExtractor) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Reserva a chave de forma atômica. A chave é extraída de keySource, que é a própria entidade ou
+     * outra instância dela (ex.: uma cópia já alterada).
+     * @param keySource A instância de onde a chave é extraída (mesmo ID da entidade).
+     * @param entity A entidade sendo salva, que fica associada à chave.
+     * @param entityName O nome da entidade, para a mensagem de erro.
+     * @throws DuplicateKeyException se a chave já pertencer a outra entidade.
+     */
+    void claim(T keySource, T entity, String entityName) {
+        Object key = keyExtractor.apply(keySource);
+        if (key == null) {
+            return;
+        }
+        T atual = entitiesByKey.merge(key, entity,
+                (existente, nova) -> existente.getId().equals(nova.getId()) ? nova : existente);
+        if (!atual.getId().equals(entity.getId())) {
+            throw new DuplicateKeyException(entityName + " com " + name + " '" + key + "' já existe.");
+        }
+    }
+
+    /**
+     * Verifica se a chave atual da entidade já pertence a outra entidade arquivada.
+     * @throws DuplicateKeyException se pertencer.
+     */
+    void checkArchived(T entity, ArchiveStore<T, ID> archive, String entityName) {
+        Object key = keyExtractor.apply(entity);
+        if (key == null) {
+            return;
+        }
+        for (T arquivada : archive.findCandidates(key)) {
+            if (!arquivada.getId().equals(entity.getId()) && key.equals(keyExtractor.apply(arquivada))) {
+                throw new DuplicateKeyException(entityName + " com " + name + " '" + key + "' já existe.");
+            }
+        }
+    }
+
+    /**
+     * Desfaz a reserva feita por {@link #claim} (chave extraída de keySource) quando o salvamento é abortado.
+     * A chave só é liberada se não estiver confirmada para a própria entidade.
+     */
+    void rollback(T keySource, T entity) {
+        Object key = keyExtractor.apply(keySource);
+        if (key != null && !key.equals(keysById.get(entity.getId()))) {
+            entitiesByKey.remove(key, entity);
+        }
+    }
+
+    /**
+     * Confirma a chave reservada e libera a chave anterior da entidade, se mudou.
+     */
+    void commit(T entity) {
+        ID id = entity.getId();
+        Object newKey = keyExtractor.apply(entity);
+        Object oldKey = (newKey == null) ? keysById.remove(id) : keysById.put(id, newKey);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            entitiesByKey.computeIfPresent(oldKey, (k, e) -> e.getId().equals(id) ? null : e);
+        }
+    }
+
+    /**
+     * Remove uma entidade do índice.
+     * @param id O ID da entidade removida do repositório.
+     */
+    void remove(ID id) {
+        Object oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            entitiesByKey.computeIfPresent(oldKey, (k, e) -> e.getId().equals(id) ? null : e);
+        }
+    }
+
+    /**
+     * Esvazia o índice.
+     */
+    void clear() {
+        entitiesByKey.clear();
+        keysById.clear();
+    }
+
+    Optional<T> get(Object key) {
+        return key == null ? Optional.empty() : Optional.ofNullable(entitiesByKey.get(key));
+    }
+
+    boolean containsKey(Object key) {
+        return key != null && entitiesByKey.containsKey(key);
+    }
+
+    /**
+     * @return true se a chave atual da entidade for a informada.
+     */
+    boolean matches(T entity, Object key) {
+        return key != null && key.equals(keyExtractor.apply(entity));
+    }
+
+    /**
+     * @return O número de chaves no índice.
+     */
+    int keyCount() {
+        return entitiesByKey.size();
+    }
+}
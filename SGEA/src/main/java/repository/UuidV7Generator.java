@@ -0,0 +1,36 @@
+package repository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs versão 7 (RFC 9562): os 48 bits altos são o instante em milissegundos, então IDs criados
+ * em sequência ficam próximos nos índices ordenados e nos arquivos. Os 12 bits seguintes são um contador
+ * dentro do mesmo milissegundo, o que torna os IDs deste gerador estritamente crescentes; o restante vem
+ * de {@link ThreadLocalRandom}, sem a contenção do {@code SecureRandom} usado por {@code UUID.randomUUID()}.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int BITS_CONTADOR = 12;
+
+    // Último valor emitido: instante em ms nos bits altos, contador nos 12 bits baixos.
+    private final AtomicLong ultimo = new AtomicLong();
+
+    @Override
+    public Uid nextId() {
+        long agora = System.currentTimeMillis() << BITS_CONTADOR;
+        long anterior;
+        long atual;
+        do {
+            anterior = ultimo.get();
+            // Mais de 4096 IDs no mesmo milissegundo avançam para o próximo: a ordem vale mais que a precisão.
+            atual = Math.max(anterior + 1, agora);
+        } while (!ultimo.compareAndSet(anterior, atual));
+
+        long instante = atual >>> BITS_CONTADOR;
+        long contador = atual & ((1L << BITS_CONTADOR) - 1);
+        long msb = (instante << 16) | 0x7000L | contador;                                          // versão 7
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variante IETF
+        return new Uid(msb, lsb);
+    }
+}
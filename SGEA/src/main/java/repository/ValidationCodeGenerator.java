@@ -0,0 +1,26 @@
+package repository;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fonte dos códigos de validação dos certificados. O gerador só propõe códigos: a unicidade é conferida
+ * por quem emite o certificado, contra o índice único do repositório.
+ */
+@FunctionalInterface
+public interface ValidationCodeGenerator {
+
+    /**
+     * @return Um novo código candidato.
+     */
+    String nextCode();
+
+    /**
+     * @return O gerador padrão: 8 dígitos hexadecimais maiúsculos (o formato dos códigos já emitidos),
+     * tirados de {@link ThreadLocalRandom}.
+     */
+    static ValidationCodeGenerator hex() {
+        HexFormat formato = HexFormat.of().withUpperCase();
+        return () -> formato.toHexDigits(ThreadLocalRandom.current().nextInt());
+    }
+}
@@ -0,0 +1,285 @@
+package workload;
+
+import domain.Inscricao;
+import domain.Trabalho;
+import domain.enums.TipoPerfil;
+import facade.SGEAFacade;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import metrics.LatencyHistogram;
+import persistence.WalConfig;
+import repository.Uid;
+
+/**
+ * Driver de carga: várias threads clientes chamam a {@link SGEAFacade} sem pausa, sorteando cada
+ * operação pelo {@link OperationMix} e os alvos (participante, evento, trabalho, código) a partir de
+ * um {@link Workload}. Cada cliente mede as suas chamadas em histogramas próprios, somados no fim,
+ * para a medição não disputar contadores entre threads.
+ * <p>
+ * Execução pela linha de comando (opções no formato {@code --chave=valor}):
+ * <pre>
+ * java -Xmx4g -cp target/classes workload.LoadDriver --participantes=1000000 --eventos=10000 \
+ *     --threads=8 --aquecimento=10 --duracao=60 --mix=signup=5,enroll=30,cancel=10,submit=10,review=10,validate=35
+ * </pre>
+ * Com {@code --dados=<diretório>} a fachada persiste em disco (WAL padrão), medindo também o custo do log.
+ */
+public final class LoadDriver {
+
+    // Trabalhos submetidos pelo próprio cliente que ele guarda para avaliar depois.
+    private static final int MAX_TRABALHOS_PROPRIOS = 1024;
+    private static final Pattern TRECHO_VARIAVEL =
+            Pattern.compile("'[^']*'|[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|\\d+");
+
+    private final SGEAFacade facade;
+    private final Workload workload;
+    private final OperationMix mix;
+    private final int threads;
+    // Próxima inscrição pré-gerada a cancelar; compartilhada para cada uma ser cancelada uma única vez.
+    private final AtomicInteger proximaInscricao = new AtomicInteger();
+
+    public LoadDriver(SGEAFacade facade, Workload workload, OperationMix mix, int threads) {
+        if (facade == null || workload == null || mix == null) {
+            throw new IllegalArgumentException("Fachada, massa de dados e perfil de operações não podem ser nulos.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser positivo.");
+        }
+        this.facade = facade;
+        this.workload = workload;
+        this.mix = mix;
+        this.threads = threads;
+    }
+
+    /**
+     * Executa a carga: um período de aquecimento (não medido) seguido do período medido.
+     * @param aquecimento A duração do aquecimento.
+     * @param medicao A duração da medição.
+     * @return O relatório do período medido.
+     * @throws InterruptedException se a thread for interrompida esperando os clientes.
+     */
+    public LoadReport executar(Duration aquecimento, Duration medicao) throws InterruptedException {
+        if (aquecimento == null || medicao == null || aquecimento.isNegative() || medicao.isNegative() || medicao.isZero()) {
+            throw new IllegalArgumentException("Durações de aquecimento e medição inválidas.");
+        }
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Cliente> clientes = new ArrayList<>(threads);
+        List<Thread> threadsClientes = new ArrayList<>(threads);
+        SplittableRandom sementes = new SplittableRandom(workload.spec.semente());
+        for (int i = 0; i < threads; i++) {
+            Cliente cliente = new Cliente(i, sementes.split(), largada);
+            clientes.add(cliente);
+            threadsClientes.add(Thread.ofPlatform().name("carga-" + i).start(cliente));
+        }
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento.toNanos();
+        long fim = inicioMedicao + medicao.toNanos();
+        for (Cliente c : clientes) {
+            c.inicioMedicao = inicioMedicao;
+            c.fim = fim;
+        }
+        largada.countDown();
+        for (Thread t : threadsClientes) {
+            t.join();
+        }
+        LoadReport relatorio = new LoadReport(medicao.toNanos(), threads);
+        for (Cliente c : clientes) {
+            if (c.falha != null) {
+                throw new IllegalStateException("Cliente de carga " + c.indice + " falhou.", c.falha);
+            }
+            relatorio.somar(c.latencias, c.erros);
+        }
+        return relatorio;
+    }
+
+    private final class Cliente implements Runnable {
+
+        final int indice;
+        final SplittableRandom random;
+        final CountDownLatch largada;
+        final LatencyHistogram[] latencias = new LatencyHistogram[Operation.values().length];
+        final List<Map<String, Long>> erros = new ArrayList<>(Operation.values().length);
+        // Inscrições feitas por este cliente, canceladas antes das pré-geradas (a mais recente primeiro).
+        final ArrayDeque<Uid> minhasInscricoes = new ArrayDeque<>();
+        final List<String> meusTrabalhos = new ArrayList<>();
+        long cadastros;
+        // Escritos antes da largada; a contagem regressiva do latch os publica para esta thread.
+        long inicioMedicao;
+        long fim;
+        Throwable falha;
+
+        Cliente(int indice, SplittableRandom random, CountDownLatch largada) {
+            this.indice = indice;
+            this.random = random;
+            this.largada = largada;
+            for (int i = 0; i < latencias.length; i++) {
+                latencias[i] = new LatencyHistogram();
+                erros.add(new HashMap<>());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                largada.await();
+                long agora;
+                while ((agora = System.nanoTime()) < fim) {
+                    executar(mix.sortear(random), agora >= inicioMedicao);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                falha = t;
+            }
+        }
+
+        private void executar(Operation op, boolean medir) {
+            Workload w = workload;
+            long t0;
+            RuntimeException erro = null;
+            switch (op) {
+                case SIGNUP -> {
+                    String email = "carga-" + indice + "-" + (cadastros++) + "@carga.sgea.test";
+                    t0 = System.nanoTime();
+                    try {
+                        facade.cadastrarParticipante("Participante da carga", email, "Instituição", TipoPerfil.PARTICIPANTE);
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                case ENROLL -> {
+                    if (w.eventosFuturos.length == 0) {
+                        return;
+                    }
+                    String participante = w.participantes[random.nextInt(w.participantes.length)];
+                    String evento = w.eventosFuturos[w.popularidade.sample(random) - 1];
+                    t0 = System.nanoTime();
+                    try {
+                        Inscricao inscricao = facade.inscreverEmEvento(participante, evento);
+                        minhasInscricoes.push(inscricao.getId());
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                case CANCEL -> {
+                    Uid inscricao = minhasInscricoes.pollFirst();
+                    if (inscricao == null) {
+                        int i = proximaInscricao.getAndIncrement();
+                        if (i >= w.inscricoes.length) {
+                            return; // nada mais a cancelar
+                        }
+                        inscricao = w.inscricoes[i];
+                    }
+                    String id = inscricao.toString();
+                    t0 = System.nanoTime();
+                    try {
+                        facade.cancelarInscricao(id);
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                case SUBMIT -> {
+                    if (w.inscricoes.length == 0) {
+                        return;
+                    }
+                    int i = random.nextInt(w.inscricoes.length);
+                    String autor = w.participantes[w.inscricaoParticipante[i]];
+                    String evento = w.eventosFuturos[w.inscricaoEvento[i]];
+                    t0 = System.nanoTime();
+                    try {
+                        Trabalho trabalho = facade.submeterTrabalho(autor, evento, "Trabalho da carga", "carga.pdf");
+                        if (meusTrabalhos.size() < MAX_TRABALHOS_PROPRIOS) {
+                            meusTrabalhos.add(trabalho.getId().toString());
+                        }
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                case REVIEW -> {
+                    boolean proprio = !meusTrabalhos.isEmpty() && (w.trabalhos.length == 0 || random.nextBoolean());
+                    if (!proprio && w.trabalhos.length == 0) {
+                        return;
+                    }
+                    String trabalho = proprio ? meusTrabalhos.get(random.nextInt(meusTrabalhos.size()))
+                            : w.trabalhos[random.nextInt(w.trabalhos.length)];
+                    String avaliador = w.avaliadores[random.nextInt(w.avaliadores.length)];
+                    double nota = random.nextInt(11);
+                    t0 = System.nanoTime();
+                    try {
+                        facade.registrarAvaliacao(trabalho, avaliador, nota, "Parecer da carga");
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                case VALIDATE_CERTIFICATE -> {
+                    String codigo = (w.codigosCertificado.length == 0 || random.nextInt(10) == 0)
+                            ? HexFormat.of().withUpperCase().toHexDigits(random.nextInt())
+                            : w.codigosCertificado[random.nextInt(w.codigosCertificado.length)];
+                    t0 = System.nanoTime();
+                    try {
+                        facade.getCertificadoByCodigoValidacao(codigo);
+                    } catch (RuntimeException e) {
+                        erro = e;
+                    }
+                }
+                default -> throw new IllegalStateException("Operação sem implementação: " + op);
+            }
+            long duracao = System.nanoTime() - t0;
+            if (medir) {
+                latencias[op.ordinal()].record(duracao);
+                if (erro != null) {
+                    erros.get(op.ordinal()).merge(tipoDoErro(erro), 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    // Agrupa os erros pelo tipo e pela mensagem sem as partes variáveis (nomes, IDs, números).
+    private static String tipoDoErro(RuntimeException e) {
+        String mensagem = e.getMessage() == null ? "" : TRECHO_VARIAVEL.matcher(e.getMessage()).replaceAll("#");
+        return e.getClass().getSimpleName() + ": " + mensagem;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Opção inválida (use --chave=valor): " + arg);
+            }
+            opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        WorkloadSpec padrao = WorkloadSpec.padrao(Long.parseLong(opcoes.getOrDefault("semente", "42")));
+        WorkloadSpec spec = new WorkloadSpec(
+                Integer.parseInt(opcoes.getOrDefault("participantes", String.valueOf(padrao.participantes()))),
+                Integer.parseInt(opcoes.getOrDefault("eventos", String.valueOf(padrao.eventos()))),
+                Double.parseDouble(opcoes.getOrDefault("zipf", String.valueOf(padrao.expoenteZipf()))),
+                padrao.inscricoesPorParticipante(), padrao.fracaoEventosEncerrados(), padrao.fracaoAutores(),
+                padrao.avaliacoesPorTrabalho(), padrao.semente());
+        int threads = Integer.parseInt(opcoes.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Duration aquecimento = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("aquecimento", "10")));
+        Duration duracao = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("duracao", "60")));
+        OperationMix mix = opcoes.containsKey("mix") ? OperationMix.parse(opcoes.get("mix")) : OperationMix.padrao();
+        String dados = opcoes.get("dados");
+
+        try (SGEAFacade facade = dados == null ? new SGEAFacade() : new SGEAFacade(WalConfig.padrao(Path.of(dados)))) {
+            System.out.println("Gerando massa de dados: " + spec);
+            Workload workload = WorkloadGenerator.gerar(facade, spec);
+            System.out.println("Massa gerada: " + workload);
+            System.out.println("Perfil de operações: " + mix + " | aquecimento " + aquecimento.toSeconds()
+                    + "s | medição " + duracao.toSeconds() + "s");
+            LoadReport relatorio = new LoadDriver(facade, workload, mix, threads).executar(aquecimento, duracao);
+            System.out.print(relatorio.formatar());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package workload;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import metrics.LatencyHistogram;
+
+/**
+ * Resultado de uma execução do {@link LoadDriver}: por operação, o número de chamadas, a vazão,
+ * as latências (de todas as chamadas, com sucesso ou não) e os erros por tipo de exceção.
+ * Os erros incluem as rejeições por regra de negócio (evento lotado, prazo expirado etc.).
+ */
+public final class LoadReport {
+
+    private final long duracaoNanos;
+    private final int threads;
+    private final Map<Operation, LatencyHistogram> latencias = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, Long>> erros = new EnumMap<>(Operation.class);
+
+    LoadReport(long duracaoNanos, int threads) {
+        this.duracaoNanos = duracaoNanos;
+        this.threads = threads;
+        for (Operation op : Operation.values()) {
+            latencias.put(op, new LatencyHistogram());
+            erros.put(op, new TreeMap<>());
+        }
+    }
+
+    // Soma os números de um cliente (thread) do driver.
+    void somar(LatencyHistogram[] latenciasCliente, List<Map<String, Long>> errosCliente) {
+        for (Operation op : Operation.values()) {
+            latencias.get(op).add(latenciasCliente[op.ordinal()]);
+            errosCliente.get(op.ordinal()).forEach((tipo, n) -> erros.get(op).merge(tipo, n, Long::sum));
+        }
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    public LatencyHistogram getLatencias(Operation op) {
+        return latencias.get(op);
+    }
+
+    public Map<String, Long> getErros(Operation op) {
+        return Collections.unmodifiableMap(erros.get(op));
+    }
+
+    public long getTotalErros(Operation op) {
+        long total = 0;
+        for (long n : erros.get(op).values()) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * @return Chamadas por segundo da operação no período medido.
+     */
+    public double getVazao(Operation op) {
+        return duracaoNanos == 0 ? 0 : latencias.get(op).getCount() * 1e9 / duracaoNanos;
+    }
+
+    /**
+     * @return O relatório em texto: uma linha por operação e, abaixo, os erros por tipo.
+     */
+    public String formatar() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Medição de %.1fs com %d threads%n", duracaoNanos / 1e9, threads));
+        sb.append(String.format("%-10s %10s %10s %8s %10s %10s %10s %10s%n",
+                "operação", "chamadas", "ops/s", "erros", "p50(µs)", "p99(µs)", "p99.9(µs)", "máx(µs)"));
+        LatencyHistogram geral = new LatencyHistogram();
+        long errosGerais = 0;
+        for (Operation op : Operation.values()) {
+            LatencyHistogram h = latencias.get(op);
+            if (h.getCount() == 0) {
+                continue;
+            }
+            geral.add(h);
+            errosGerais += getTotalErros(op);
+            linha(sb, op.getChave(), h, getVazao(op), getTotalErros(op));
+        }
+        linha(sb, "total", geral, duracaoNanos == 0 ? 0 : geral.getCount() * 1e9 / duracaoNanos, errosGerais);
+        for (Operation op : Operation.values()) {
+            erros.get(op).forEach((tipo, n) -> sb.append(String.format("  %s: %d x %s%n", op.getChave(), n, tipo)));
+        }
+        return sb.toString();
+    }
+
+    private static void linha(StringBuilder sb, String nome, LatencyHistogram h, double vazao, long erros) {
+        sb.append(String.format("%-10s %10d %10.0f %8d %10.1f %10.1f %10.1f %10.1f%n", nome, h.getCount(), vazao, erros,
+                h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(99) / 1e3,
+                h.getValueAtPercentile(99.9) / 1e3, h.getMaxNanos() / 1e3));
+    }
+}
@@ -0,0 +1,48 @@
+package workload;
+
+/**
+ * Operações que o {@link LoadDriver} reproduz, cada uma uma chamada à fachada.
+ */
+public enum Operation {
+
+    /** Cadastro de um participante novo. */
+    SIGNUP("signup", 5),
+    /** Inscrição de um participante num evento futuro sorteado pela popularidade. */
+    ENROLL("enroll", 30),
+    /** Cancelamento de uma inscrição ativa. */
+    CANCEL("cancel", 10),
+    /** Submissão de um trabalho por um inscrito. */
+    SUBMIT("submit", 10),
+    /** Registro de uma avaliação num trabalho em avaliação. */
+    REVIEW("review", 10),
+    /** Validação de um código de certificado (10% dos códigos não existem). */
+    VALIDATE_CERTIFICATE("validate", 35);
+
+    private final String chave;
+    private final int pesoPadrao;
+
+    Operation(String chave, int pesoPadrao) {
+        this.chave = chave;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    /**
+     * @return O nome curto da operação, usado no perfil de operações e no relatório.
+     */
+    public String getChave() {
+        return chave;
+    }
+
+    public int getPesoPadrao() {
+        return pesoPadrao;
+    }
+
+    public static Operation porChave(String chave) {
+        for (Operation op : values()) {
+            if (op.chave.equalsIgnoreCase(chave)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: " + chave);
+    }
+}
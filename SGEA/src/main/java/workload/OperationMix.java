@@ -0,0 +1,95 @@
+package workload;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Perfil de operações do {@link LoadDriver}: o peso relativo de cada {@link Operation}.
+ */
+public final class OperationMix {
+
+    private static final Operation[] OPERACOES = Operation.values();
+
+    private final int[] pesos = new int[OPERACOES.length];
+    // Pesos acumulados, para o sorteio por busca linear (são poucas operações).
+    private final int[] acumulados = new int[OPERACOES.length];
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> pesosPorOperacao) {
+        int soma = 0;
+        for (Operation op : OPERACOES) {
+            int peso = pesosPorOperacao.getOrDefault(op, 0);
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso da operação " + op.getChave() + " não pode ser negativo.");
+            }
+            pesos[op.ordinal()] = peso;
+            soma += peso;
+            acumulados[op.ordinal()] = soma;
+        }
+        if (soma == 0) {
+            throw new IllegalArgumentException("O perfil precisa de pelo menos uma operação com peso positivo.");
+        }
+        this.total = soma;
+    }
+
+    /**
+     * @return O perfil padrão, com os pesos de {@link Operation#getPesoPadrao()}.
+     */
+    public static OperationMix padrao() {
+        Map<Operation, Integer> pesos = new EnumMap<>(Operation.class);
+        for (Operation op : OPERACOES) {
+            pesos.put(op, op.getPesoPadrao());
+        }
+        return new OperationMix(pesos);
+    }
+
+    /**
+     * Lê um perfil no formato {@code signup=5,enroll=30,...}; operações omitidas ficam com peso zero.
+     * @param texto O perfil em texto.
+     * @return O perfil lido.
+     */
+    public static OperationMix parse(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("Perfil de operações não pode ser vazio.");
+        }
+        Map<Operation, Integer> pesos = new EnumMap<>(Operation.class);
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split("=");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida no perfil de operações: " + parte);
+            }
+            try {
+                pesos.put(Operation.porChave(chaveValor[0].trim()), Integer.parseInt(chaveValor[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Peso inválido no perfil de operações: " + parte);
+            }
+        }
+        return new OperationMix(pesos);
+    }
+
+    public Operation sortear(RandomGenerator random) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < acumulados.length; i++) {
+            if (r < acumulados[i]) {
+                return OPERACOES[i];
+            }
+        }
+        throw new IllegalStateException("Sorteio fora dos pesos do perfil.");
+    }
+
+    public int getPeso(Operation op) {
+        return pesos[op.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation op : OPERACOES) {
+            if (pesos[op.ordinal()] > 0) {
+                sb.append(sb.length() == 0 ? "" : ",").append(op.getChave()).append('=').append(pesos[op.ordinal()]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package workload;
+
+import repository.Uid;
+
+/**
+ * Massa de dados gerada por {@link WorkloadGenerator}: os IDs e códigos que o {@link LoadDriver} usa
+ * para montar as requisições. Só é lida depois de gerada, por isso pode ser compartilhada entre threads.
+ * <p>
+ * Os IDs ficam em texto, como chegam à fachada; as inscrições ficam como {@link Uid} por serem a
+ * maior coleção (e só são convertidas na hora de cancelar).
+ */
+public final class Workload {
+
+    final WorkloadSpec spec;
+    final String[] participantes;
+    final String[] avaliadores;
+    // Eventos futuros (abertos a inscrições e submissões), do mais popular para o menos popular.
+    final String[] eventosFuturos;
+    final ZipfDistribution popularidade;
+    // Inscrições ativas em eventos futuros: ID e posições do participante e do evento nos arrays acima.
+    final Uid[] inscricoes;
+    final int[] inscricaoParticipante;
+    final int[] inscricaoEvento;
+    // Trabalhos ainda abertos a avaliação.
+    final String[] trabalhos;
+    final String[] codigosCertificado;
+    final long duracaoNanos;
+
+    Workload(WorkloadSpec spec, String[] participantes, String[] avaliadores, String[] eventosFuturos,
+            Uid[] inscricoes, int[] inscricaoParticipante, int[] inscricaoEvento, String[] trabalhos,
+            String[] codigosCertificado, long duracaoNanos) {
+        this.spec = spec;
+        this.participantes = participantes;
+        this.avaliadores = avaliadores;
+        this.eventosFuturos = eventosFuturos;
+        this.popularidade = new ZipfDistribution(Math.max(1, eventosFuturos.length), spec.expoenteZipf());
+        this.inscricoes = inscricoes;
+        this.inscricaoParticipante = inscricaoParticipante;
+        this.inscricaoEvento = inscricaoEvento;
+        this.trabalhos = trabalhos;
+        this.codigosCertificado = codigosCertificado;
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public WorkloadSpec getSpec() {
+        return spec;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d participantes, %d avaliadores, %d eventos futuros, %d inscrições ativas em eventos futuros,"
+                + " %d trabalhos em avaliação, %d certificados (gerada em %.1fs)", participantes.length, avaliadores.length,
+                eventosFuturos.length, inscricoes.length, trabalhos.length, codigosCertificado.length, duracaoNanos / 1e9);
+    }
+}
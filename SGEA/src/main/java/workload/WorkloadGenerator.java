@@ -0,0 +1,209 @@
+package workload;
+
+import controller.ResultadoInscricao;
+import domain.Certificado;
+import domain.Evento;
+import domain.Trabalho;
+import domain.enums.TipoPerfil;
+import facade.SGEAFacade;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import repository.Uid;
+
+/**
+ * Gera uma massa de dados em escala realista passando pela {@link SGEAFacade}, com as mesmas regras de
+ * negócio de um uso real: participantes, eventos com popularidade Zipf, inscrições, presenças e
+ * certificados nos eventos encerrados, trabalhos submetidos e avaliações.
+ * <p>
+ * A estrutura é determinística pela semente de {@link WorkloadSpec}: quem se inscreve onde, quem
+ * submete e quem avalia. As inscrições são feitas em lote por evento, e a capacidade de cada evento
+ * acompanha a demanda esperada pelo seu posto de popularidade, de modo que os mais disputados lotam.
+ */
+public final class WorkloadGenerator {
+
+    private static final double FRACAO_PRESENTES = 0.7;
+
+    private WorkloadGenerator() {
+    }
+
+    /**
+     * Gera a massa de dados na fachada informada.
+     * @param facade A fachada onde os dados são criados (normalmente vazia: os emails gerados são fixos).
+     * @param spec Os parâmetros da massa.
+     * @return Os IDs e códigos gerados, para o {@link LoadDriver}.
+     */
+    public static Workload gerar(SGEAFacade facade, WorkloadSpec spec) {
+        if (facade == null || spec == null) {
+            throw new IllegalArgumentException("Fachada e especificação não podem ser nulas.");
+        }
+        long inicio = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.semente());
+        LocalDate hoje = LocalDate.now();
+
+        int especiais = spec.participantes() / 1000 + 1;
+        String[] organizadores = cadastrar(facade, especiais, "organizador", TipoPerfil.ORGANIZADOR);
+        String[] avaliadores = cadastrar(facade, especiais, "avaliador", TipoPerfil.AVALIADOR);
+        String[] participantes = cadastrar(facade, spec.participantes(), "participante", TipoPerfil.PARTICIPANTE);
+
+        // Eventos, do mais popular (posto 1) para o menos popular.
+        int totalEventos = spec.eventos();
+        double harmonico = 0;
+        for (int k = 1; k <= totalEventos; k++) {
+            harmonico += Math.pow(k, -spec.expoenteZipf());
+        }
+        double demandaTotal = (double) spec.participantes() * spec.inscricoesPorParticipante();
+        String[] eventos = new String[totalEventos];
+        int[] posicaoFuturo = new int[totalEventos]; // posição em eventosFuturos, ou -1 se encerrado
+        List<String> futuros = new ArrayList<>();
+        List<String> organizadorDoFuturo = new ArrayList<>();
+        for (int k = 0; k < totalEventos; k++) {
+            boolean encerrado = random.nextDouble() < spec.fracaoEventosEncerrados();
+            double demanda = demandaTotal * Math.pow(k + 1, -spec.expoenteZipf()) / harmonico;
+            // Capacidade entre 90% e 160% da demanda esperada: só parte dos eventos lota na geração.
+            int capacidade = (int) Math.min(Integer.MAX_VALUE, Math.max(10, Math.round(demanda * (0.9 + 0.7 * random.nextDouble()))));
+            String organizador = organizadores[k % organizadores.length];
+            LocalDate dataInicio = encerrado ? hoje.minusDays(10 + random.nextInt(50)) : hoje.plusDays(30 + random.nextInt(90));
+            LocalDate fimSubmissao = encerrado ? null : hoje.plusDays(20);
+            Evento evento = facade.cadastrarEvento("Evento " + (k + 1), "Evento gerado para carga", dataInicio,
+                    dataInicio.plusDays(1 + random.nextInt(4)), "Auditório " + (k % 50), capacidade, organizador,
+                    encerrado ? null : hoje.minusDays(10), fimSubmissao);
+            eventos[k] = evento.getId().toString();
+            posicaoFuturo[k] = encerrado ? -1 : futuros.size();
+            if (!encerrado) {
+                futuros.add(eventos[k]);
+                organizadorDoFuturo.add(organizador);
+            }
+        }
+
+        // Escolhas de cada participante, agrupadas por evento (CSR: inicioLote[k]..inicioLote[k+1]).
+        ZipfDistribution zipf = new ZipfDistribution(totalEventos, spec.expoenteZipf());
+        int porParticipante = spec.inscricoesPorParticipante();
+        int[] escolhas = new int[participantes.length * porParticipante];
+        int[] inicioLote = new int[totalEventos + 1];
+        for (int p = 0; p < participantes.length; p++) {
+            for (int j = 0; j < porParticipante; j++) {
+                int evento = escolherDistinto(zipf, random, escolhas, p * porParticipante, j);
+                escolhas[p * porParticipante + j] = evento;
+                if (evento >= 0) {
+                    inicioLote[evento + 1]++;
+                }
+            }
+        }
+        for (int k = 0; k < totalEventos; k++) {
+            inicioLote[k + 1] += inicioLote[k];
+        }
+        int[] membros = new int[inicioLote[totalEventos]];
+        int[] preenchidos = Arrays.copyOf(inicioLote, totalEventos);
+        for (int i = 0; i < escolhas.length; i++) {
+            if (escolhas[i] >= 0) {
+                membros[preenchidos[escolhas[i]]++] = i / porParticipante;
+            }
+        }
+        escolhas = null;
+
+        Uid[] inscricoes = new Uid[membros.length];
+        int[] inscricaoParticipante = new int[membros.length];
+        int[] inscricaoEvento = new int[membros.length];
+        int ativas = 0;
+        List<String> codigos = new ArrayList<>();
+        for (int k = 0; k < totalEventos; k++) {
+            List<String> lote = new ArrayList<>(inicioLote[k + 1] - inicioLote[k]);
+            for (int i = inicioLote[k]; i < inicioLote[k + 1]; i++) {
+                lote.add(participantes[membros[i]]);
+            }
+            List<ResultadoInscricao> resultados = facade.inscreverEmLote(eventos[k], lote);
+            boolean encerrado = posicaoFuturo[k] < 0;
+            for (int i = 0; i < resultados.size(); i++) {
+                ResultadoInscricao r = resultados.get(i);
+                if (!r.isSucesso()) {
+                    continue; // evento lotado
+                }
+                if (encerrado) {
+                    if (random.nextDouble() < FRACAO_PRESENTES) {
+                        facade.confirmarPresenca(r.inscricao().getId().toString(), organizadores[k % organizadores.length]);
+                    }
+                } else {
+                    inscricoes[ativas] = r.inscricao().getId();
+                    inscricaoParticipante[ativas] = membros[inicioLote[k] + i];
+                    inscricaoEvento[ativas] = posicaoFuturo[k];
+                    ativas++;
+                }
+            }
+            if (encerrado) {
+                for (Certificado c : facade.emitirCertificadosParticipacaoEvento(eventos[k]).certificados()) {
+                    codigos.add(c.getCodigoValidacao());
+                }
+            }
+        }
+        membros = null;
+
+        // Trabalhos de uma fração dos inscritos em eventos futuros, cada um com suas avaliações.
+        List<String> trabalhos = new ArrayList<>();
+        for (int i = 0; i < ativas; i++) {
+            if (random.nextDouble() >= spec.fracaoAutores()) {
+                continue;
+            }
+            int evento = inscricaoEvento[i];
+            Trabalho trabalho = facade.submeterTrabalho(participantes[inscricaoParticipante[i]], futuros.get(evento),
+                    "Trabalho " + trabalhos.size(), "trabalho-" + trabalhos.size() + ".pdf");
+            String trabalhoId = trabalho.getId().toString();
+            for (int a = 0; a < spec.avaliacoesPorTrabalho(); a++) {
+                String avaliador = avaliadores[random.nextInt(avaliadores.length)];
+                facade.designarAvaliadorParaTrabalho(trabalhoId, avaliador, organizadorDoFuturo.get(evento));
+                facade.registrarAvaliacao(trabalhoId, avaliador, random.nextInt(11), "Parecer gerado para carga");
+            }
+            trabalhos.add(trabalhoId);
+        }
+
+        // Embaralha as inscrições para os cancelamentos do driver se espalharem pelos eventos.
+        for (int i = ativas - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            trocar(inscricoes, inscricaoParticipante, inscricaoEvento, i, j);
+        }
+
+        return new Workload(spec, participantes, avaliadores, futuros.toArray(String[]::new),
+                Arrays.copyOf(inscricoes, ativas), Arrays.copyOf(inscricaoParticipante, ativas),
+                Arrays.copyOf(inscricaoEvento, ativas), trabalhos.toArray(String[]::new),
+                codigos.toArray(String[]::new), System.nanoTime() - inicio);
+    }
+
+    private static String[] cadastrar(SGEAFacade facade, int quantidade, String prefixo, TipoPerfil perfil) {
+        String[] ids = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ids[i] = facade.cadastrarParticipante(Character.toUpperCase(prefixo.charAt(0)) + prefixo.substring(1) + " " + i,
+                    prefixo + i + "@carga.sgea.test", "Instituição " + (i % 200), perfil).getId().toString();
+        }
+        return ids;
+    }
+
+    // Sorteia um evento ainda não escolhido pelo participante; desiste (-1) após algumas colisões,
+    // o que só acontece quando a popularidade está muito concentrada.
+    private static int escolherDistinto(ZipfDistribution zipf, SplittableRandom random, int[] escolhas, int base, int j) {
+        for (int tentativa = 0; tentativa < 16; tentativa++) {
+            int evento = zipf.sample(random) - 1;
+            boolean repetido = false;
+            for (int i = 0; i < j && !repetido; i++) {
+                repetido = escolhas[base + i] == evento;
+            }
+            if (!repetido) {
+                return evento;
+            }
+        }
+        return -1;
+    }
+
+    private static void trocar(Uid[] ids, int[] participantes, int[] eventos, int i, int j) {
+        Uid id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        int p = participantes[i];
+        participantes[i] = participantes[j];
+        participantes[j] = p;
+        int e = eventos[i];
+        eventos[i] = eventos[j];
+        eventos[j] = e;
+    }
+}
@@ -0,0 +1,53 @@
+package workload;
+
+/**
+ * Parâmetros da massa de dados gerada por {@link WorkloadGenerator}.
+ *
+ * @param participantes Número de participantes comuns; organizadores e avaliadores são N/1000 + 1 cada.
+ * @param eventos Número de eventos.
+ * @param expoenteZipf Expoente da popularidade dos eventos (1.0 = Zipf clássica): o evento de posto k
+ *        recebe inscrições proporcionais a 1/k^s.
+ * @param inscricoesPorParticipante Em quantos eventos (distintos) cada participante tenta se inscrever.
+ * @param fracaoEventosEncerrados Fração dos eventos que já terminou (com presenças e certificados emitidos).
+ * @param fracaoAutores Fração das inscrições em eventos futuros que submete um trabalho.
+ * @param avaliacoesPorTrabalho Número de avaliações registradas em cada trabalho submetido.
+ * @param semente Semente de todas as escolhas aleatórias; a mesma semente gera a mesma estrutura
+ *        (os IDs, gerados pela fachada, mudam a cada execução).
+ */
+public record WorkloadSpec(int participantes, int eventos, double expoenteZipf, int inscricoesPorParticipante,
+        double fracaoEventosEncerrados, double fracaoAutores, int avaliacoesPorTrabalho, long semente) {
+
+    public WorkloadSpec {
+        if (participantes < 1 || eventos < 1) {
+            throw new IllegalArgumentException("Número de participantes e de eventos deve ser positivo.");
+        }
+        if (!(expoenteZipf > 0)) {
+            throw new IllegalArgumentException("Expoente da distribuição de Zipf deve ser positivo.");
+        }
+        if (inscricoesPorParticipante < 0 || inscricoesPorParticipante > eventos) {
+            throw new IllegalArgumentException("Inscrições por participante devem estar entre 0 e o número de eventos.");
+        }
+        if (fracaoEventosEncerrados < 0 || fracaoEventosEncerrados > 1 || fracaoAutores < 0 || fracaoAutores > 1) {
+            throw new IllegalArgumentException("Frações devem estar entre 0 e 1.");
+        }
+        if (avaliacoesPorTrabalho < 0) {
+            throw new IllegalArgumentException("Avaliações por trabalho não podem ser negativas.");
+        }
+    }
+
+    /**
+     * Escala de referência: 1M participantes, 10 mil eventos com popularidade Zipf (s = 1),
+     * 2 inscrições por participante, 20% dos eventos encerrados, 5% de autores e 2 avaliações por trabalho.
+     */
+    public static WorkloadSpec padrao(long semente) {
+        return new WorkloadSpec(1_000_000, 10_000, 1.0, 2, 0.2, 0.05, 2, semente);
+    }
+
+    /**
+     * @return Esta especificação com outro número de participantes e de eventos (mesmas proporções).
+     */
+    public WorkloadSpec comEscala(int participantes, int eventos) {
+        return new WorkloadSpec(participantes, eventos, expoenteZipf, Math.min(inscricoesPorParticipante, eventos),
+                fracaoEventosEncerrados, fracaoAutores, avaliacoesPorTrabalho, semente);
+    }
+}
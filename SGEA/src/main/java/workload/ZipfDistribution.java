@@ -0,0 +1,90 @@
+package workload;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribuição de Zipf sobre os postos 1..n: o posto k é sorteado com probabilidade proporcional a
+ * 1/k^s. Usa o método de rejeição-inversão de Hörmann e Derflinger, que sorteia em tempo constante
+ * sem tabela de probabilidades acumuladas (importante para n na casa dos milhões).
+ * <p>
+ * Imutável; a aleatoriedade vem do gerador passado a cada sorteio, para cada thread usar o seu.
+ */
+public final class ZipfDistribution {
+
+    private final int n;
+    private final double expoente;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    /**
+     * @param n O número de postos (n &gt;= 1).
+     * @param expoente O expoente s (&gt; 0); 1.0 é a lei de Zipf clássica, valores maiores concentram mais.
+     */
+    public ZipfDistribution(int n, double expoente) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Número de elementos deve ser positivo.");
+        }
+        if (!(expoente > 0)) {
+            throw new IllegalArgumentException("Expoente da distribuição de Zipf deve ser positivo.");
+        }
+        this.n = n;
+        this.expoente = expoente;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInversa(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Sorteia um posto.
+     * @param random A fonte de aleatoriedade.
+     * @return Um posto entre 1 e n; o posto 1 é o mais frequente.
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInversa(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    // H(x): primitiva de h(x) = 1/x^s, deslocada para ser contínua em s = 1.
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return auxiliar2((1 - expoente) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-expoente * Math.log(x));
+    }
+
+    private double hIntegralInversa(double x) {
+        double t = x * (1 - expoente);
+        if (t < -1) {
+            t = -1; // erro de arredondamento perto do limite do domínio
+        }
+        return Math.exp(auxiliar1(t) * x);
+    }
+
+    // log(1 + x) / x, estável perto de zero.
+    private static double auxiliar1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    // (exp(x) - 1) / x, estável perto de zero.
+    private static double auxiliar2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3.0) * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,112 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.Evento;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository.AvaliacaoRepository;
+import repository.CertificadoRepository;
+import repository.EventoRepository;
+import repository.IdGenerator;
+import repository.InscricaoRepository;
+import repository.ParticipanteRepository;
+import repository.TrabalhoRepository;
+import repository.Uid;
+
+/**
+ * Inscrição em lote: as vagas são reservadas de uma vez, sem ultrapassar a capacidade, e a lista de espera
+ * é atendida antes do lote.
+ */
+class InscricaoControllerTest {
+
+    private static final LocalDate INICIO = LocalDate.now().plusDays(30);
+
+    private ParticipanteRepository participanteRepository;
+    private EventoRepository eventoRepository;
+    private InscricaoRepository inscricaoRepository;
+    private InscricaoController controller;
+    private Evento evento;
+
+    @BeforeEach
+    void preparar() {
+        participanteRepository = new ParticipanteRepository();
+        eventoRepository = new EventoRepository();
+        inscricaoRepository = new InscricaoRepository();
+        EstatisticasEventos estatisticas = new EstatisticasEventos(eventoRepository, inscricaoRepository,
+                new TrabalhoRepository(), new AvaliacaoRepository(), new CertificadoRepository());
+        controller = new InscricaoController(inscricaoRepository, eventoRepository, participanteRepository,
+                estatisticas, IdGenerator.random());
+        Participante organizador = participante("Organizador", TipoPerfil.ORGANIZADOR);
+        evento = eventoRepository.save(new Evento(Uid.random(), "Semana", "Descrição", INICIO, INICIO.plusDays(2),
+                "Auditório", 3, organizador));
+    }
+
+    @Test
+    void loteMaiorQueACapacidadeOcupaSoAsVagasLivres() {
+        List<Uid> ids = participantes(5);
+
+        List<ResultadoInscricao> resultados = controller.realizarInscricoes(evento.getId(), ids);
+
+        assertEquals(5, resultados.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ids.get(i), resultados.get(i).participanteId());
+            assertEquals(i < 3, resultados.get(i).isSucesso());
+        }
+        assertNotNull(resultados.get(4).erro());
+        assertEquals(3, evento.getTotalInscricoesAtivas());
+        assertTrue(evento.isLotado());
+        assertEquals(3, inscricaoRepository.findAllByEventoId(evento.getId()).size());
+    }
+
+    @Test
+    void duplicadosEDesconhecidosSaoRejeitadosSemOcuparVaga() {
+        List<Uid> ids = participantes(2);
+        controller.realizarInscricoes(evento.getId(), List.of(ids.get(0)));
+
+        List<ResultadoInscricao> resultados = controller.realizarInscricoes(evento.getId(),
+                List.of(ids.get(0), ids.get(1), ids.get(1), Uid.random()));
+
+        assertFalse(resultados.get(0).isSucesso());
+        assertTrue(resultados.get(1).isSucesso());
+        assertFalse(resultados.get(2).isSucesso());
+        assertFalse(resultados.get(3).isSucesso());
+        assertEquals(2, evento.getTotalInscricoesAtivas());
+    }
+
+    @Test
+    void listaDeEsperaTemPrioridadeSobreOLote() {
+        List<Uid> ids = participantes(6);
+        controller.realizarInscricoes(evento.getId(), ids.subList(0, 3));
+        controller.entrarListaEspera(ids.get(3), evento.getId());
+        evento.setCapacidadeMaxima(5); // abre duas vagas sem promover a fila
+
+        List<ResultadoInscricao> resultados = controller.realizarInscricoes(evento.getId(), ids.subList(4, 6));
+
+        assertTrue(evento.getListaEspera().isEmpty());
+        assertTrue(evento.isParticipanteInscritoAtivo(participanteRepository.findById(ids.get(3)).orElseThrow()));
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertEquals(5, evento.getTotalInscricoesAtivas());
+    }
+
+    private List<Uid> participantes(int quantidade) {
+        List<Uid> ids = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(participanteRepository.save(participante("Participante" + i, TipoPerfil.PARTICIPANTE)).getId());
+        }
+        return ids;
+    }
+
+    private static Participante participante(String nome, TipoPerfil perfil) {
+        return new Participante(Uid.random(), nome, nome.toLowerCase() + "@exemplo.com", "Universidade", perfil);
+    }
+}
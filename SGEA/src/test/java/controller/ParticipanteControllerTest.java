@@ -0,0 +1,75 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.enums.TipoPerfil;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository.IdGenerator;
+import repository.ParticipanteRepository;
+
+/**
+ * Importação em lote: linhas inválidas são reportadas sem abortar o lote e as válidas são salvas em blocos.
+ */
+class ParticipanteControllerTest {
+
+    private ParticipanteRepository repositorio;
+    private ParticipanteController controller;
+
+    @BeforeEach
+    void preparar() {
+        repositorio = new ParticipanteRepository();
+        controller = new ParticipanteController(repositorio, IdGenerator.random());
+    }
+
+    @Test
+    void linhasInvalidasSaoReportadasSemAbortarOLote() {
+        controller.cadastrarParticipante("Ana", "ana@exemplo.com", "Universidade", TipoPerfil.PARTICIPANTE);
+
+        ResultadoImportacao resultado = controller.importarParticipantes(Stream.of(
+                dados("Bia", "bia@exemplo.com"),
+                dados("Ana de novo", "ANA@exemplo.com"),
+                null,
+                dados("", "vazio@exemplo.com"),
+                dados("Sem arroba", "semarroba"),
+                dados("Bia repetida", "Bia@Exemplo.com"),
+                dados("Caio", "caio@exemplo.com")));
+
+        assertEquals(7, resultado.totalLinhas());
+        assertEquals(2, resultado.importados());
+        assertEquals(5, resultado.rejeitados());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L),
+                resultado.erros().stream().map(ResultadoImportacao.Erro::linha).collect(Collectors.toList()));
+        assertEquals(3, repositorio.count());
+        assertTrue(repositorio.existsByEmail("bia@exemplo.com"));
+        assertTrue(repositorio.existsByEmail("caio@exemplo.com"));
+    }
+
+    @Test
+    void loteMaiorQueUmBlocoImportaTodasAsLinhas() {
+        ResultadoImportacao resultado = controller.importarParticipantes(LongStream.range(0, 1500)
+                .mapToObj(i -> dados("Participante " + i, "p" + (i % 1200) + "@exemplo.com")));
+
+        assertEquals(1500, resultado.totalLinhas());
+        assertEquals(1200, resultado.importados());
+        assertEquals(300, resultado.rejeitados());
+        assertEquals(300, resultado.erros().size());
+        assertEquals(1200, repositorio.count());
+    }
+
+    @Test
+    void linhasNulasSaoRejeitadas() {
+        assertThrows(IllegalArgumentException.class, () -> controller.importarParticipantes(null));
+        assertEquals(0, controller.importarParticipantes(Stream.empty()).totalLinhas());
+    }
+
+    private static DadosParticipante dados(String nome, String email) {
+        return new DadosParticipante(nome, email, "Universidade", TipoPerfil.PARTICIPANTE);
+    }
+}
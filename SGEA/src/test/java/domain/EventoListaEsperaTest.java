@@ -0,0 +1,107 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.enums.StatusInscricao;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository.IdGenerator;
+import repository.Uid;
+
+/**
+ * Lista de espera: entrada só com o evento lotado e promoção na ordem de chegada, por cancelamento ou
+ * aumento de capacidade.
+ */
+class EventoListaEsperaTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2030, 5, 10);
+
+    private final IdGenerator ids = IdGenerator.random();
+    private Evento evento;
+    private Participante ana;
+    private Participante bia;
+    private Participante caio;
+    private Inscricao inscricaoAna;
+
+    @BeforeEach
+    void preparar() {
+        Participante organizador = participante("Organizador", TipoPerfil.ORGANIZADOR);
+        evento = new Evento(Uid.random(), "Semana", "Descrição", INICIO, INICIO.plusDays(2), "Auditório", 1, organizador);
+        ana = participante("Ana", TipoPerfil.PARTICIPANTE);
+        bia = participante("Bia", TipoPerfil.PARTICIPANTE);
+        caio = participante("Caio", TipoPerfil.PARTICIPANTE);
+        inscricaoAna = new Inscricao(Uid.random(), INICIO.minusDays(5), evento, ana);
+        evento.reservarVaga(inscricaoAna);
+    }
+
+    @Test
+    void entradaNaFilaExigeEventoLotadoESemRepeticao() {
+        assertThrows(IllegalStateException.class, () -> evento.entrarListaEspera(ana));
+        assertEquals(1, evento.entrarListaEspera(bia));
+        assertThrows(IllegalStateException.class, () -> evento.entrarListaEspera(bia));
+
+        evento.alterarCapacidadeMaxima(3, ids);
+
+        assertThrows(IllegalStateException.class, () -> evento.entrarListaEspera(caio));
+    }
+
+    @Test
+    void cancelamentoRepassaAVagaAoPrimeiroDaFila() {
+        evento.entrarListaEspera(bia);
+        evento.entrarListaEspera(caio);
+
+        Inscricao promovida = evento.cancelarInscricao(inscricaoAna, ids).orElseThrow();
+
+        assertEquals(StatusInscricao.CANCELADA, inscricaoAna.getStatus());
+        assertEquals(bia, promovida.getParticipante());
+        assertEquals(StatusInscricao.ATIVA, promovida.getStatus());
+        assertEquals(List.of(caio), evento.getListaEspera());
+        assertEquals(1, evento.getTotalInscricoesAtivas());
+    }
+
+    @Test
+    void cancelamentoSemFilaDevolveAVaga() {
+        assertTrue(evento.cancelarInscricao(inscricaoAna, ids).isEmpty());
+
+        assertEquals(0, evento.getTotalInscricoesAtivas());
+        assertThrows(IllegalStateException.class, () -> evento.cancelarInscricao(inscricaoAna, ids));
+    }
+
+    @Test
+    void aumentoDeCapacidadePromoveAFilaEmOrdem() {
+        evento.entrarListaEspera(bia);
+        evento.entrarListaEspera(caio);
+
+        List<Inscricao> promovidas = evento.alterarCapacidadeMaxima(2, ids);
+
+        assertEquals(List.of(bia), participantes(promovidas));
+        assertEquals(List.of(caio), evento.getListaEspera());
+        assertEquals(List.of(caio), participantes(evento.alterarCapacidadeMaxima(5, ids)));
+        assertEquals(3, evento.getTotalInscricoesAtivas());
+        assertEquals(0, evento.getTamanhoListaEspera());
+    }
+
+    @Test
+    void capacidadeMenorQueAsInscricoesAtivasERejeitada() {
+        evento.alterarCapacidadeMaxima(2, ids);
+        evento.reservarVaga(new Inscricao(Uid.random(), INICIO.minusDays(1), evento, bia));
+
+        assertThrows(IllegalStateException.class, () -> evento.alterarCapacidadeMaxima(1, ids));
+        assertThrows(IllegalArgumentException.class, () -> evento.alterarCapacidadeMaxima(0, ids));
+        assertEquals(2, evento.getCapacidadeMaxima());
+    }
+
+    private static List<Participante> participantes(List<Inscricao> inscricoes) {
+        return inscricoes.stream().map(Inscricao::getParticipante).collect(Collectors.toList());
+    }
+
+    private static Participante participante(String nome, TipoPerfil perfil) {
+        return new Participante(Uid.random(), nome, nome.toLowerCase() + "@exemplo.com", "Universidade", perfil);
+    }
+}
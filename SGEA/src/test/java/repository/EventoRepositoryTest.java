@@ -0,0 +1,103 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import domain.Evento;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Índices ordenados por data de início e de fim: janelas com limites inclusivos, ordem por data e páginas
+ * estáveis entre eventos da mesma data.
+ */
+class EventoRepositoryTest {
+
+    private static final LocalDate DIA = LocalDate.of(2030, 5, 10);
+
+    private EventoRepository repositorio;
+    private Participante organizador;
+
+    @BeforeEach
+    void preparar() {
+        repositorio = new EventoRepository();
+        organizador = new Participante(Uid.random(), "Organizador", "org@exemplo.com", "Universidade", TipoPerfil.ORGANIZADOR);
+    }
+
+    @Test
+    void janelaDeInicioTemLimitesInclusivosEOrdemPorData() {
+        Evento depois = salvar("Depois", DIA.plusDays(3), 1);
+        Evento primeiro = salvar("Primeiro", DIA, 0);
+        Evento meio = salvar("Meio", DIA.plusDays(1), 5);
+        salvar("Antes", DIA.minusDays(1), 0);
+        Evento fora = salvar("Fora", DIA.plusDays(4), 0);
+
+        Pagina<Evento> pagina = repositorio.findIniciandoEntre(DIA, DIA.plusDays(3), null, 10);
+
+        assertEquals(List.of(primeiro, meio, depois), pagina.itens());
+        assertFalse(pagina.temProxima());
+        assertEquals(5, repositorio.findIniciandoEntre(null, null, null, 10).itens().size());
+        assertEquals(List.of(meio, depois, fora), repositorio.findAllDisponiveisParaInscricao(DIA));
+    }
+
+    @Test
+    void paginasPercorremEventosDaMesmaDataSemRepetir() {
+        List<Evento> esperados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            esperados.add(salvar("Evento " + i, DIA, 0));
+        }
+
+        List<Evento> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<Evento> pagina = repositorio.findIniciandoEntre(DIA, DIA, cursor, 3);
+            vistos.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertEquals(7, vistos.size());
+        assertEquals(esperados.stream().collect(Collectors.toSet()), vistos.stream().collect(Collectors.toSet()));
+        assertThrows(IllegalArgumentException.class, () -> repositorio.findIniciandoEntre(DIA, DIA, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repositorio.findIniciandoEntre(DIA, DIA, "invalido", 3));
+    }
+
+    @Test
+    void terminadosAntesExcluiADataLimite() {
+        Evento antigo = salvar("Antigo", DIA.minusDays(10), 2);
+        Evento recente = salvar("Recente", DIA.minusDays(3), 2);
+        salvar("Termina no limite", DIA.minusDays(1), 1);
+
+        assertEquals(List.of(antigo, recente), repositorio.findAllTerminadosAntes(DIA));
+    }
+
+    @Test
+    void mudancaDeDataMoveOEventoNosIndices() {
+        Evento evento = salvar("Adiado", DIA, 1);
+
+        evento.setDataInicio(DIA.plusDays(20));
+        evento.setDataFim(DIA.plusDays(21));
+        repositorio.save(evento);
+
+        assertEquals(List.of(), repositorio.findIniciandoEntre(DIA, DIA.plusDays(19), null, 10).itens());
+        assertEquals(List.of(evento), repositorio.findIniciandoEntre(DIA.plusDays(20), null, null, 10).itens());
+        assertEquals(List.of(), repositorio.findAllTerminadosAntes(DIA.plusDays(21)));
+
+        repositorio.deleteById(evento.getId());
+
+        assertEquals(List.of(), repositorio.findIniciandoEntre(null, null, null, 10).itens());
+        assertNull(repositorio.findIniciandoEntre(null, null, null, 10).proximoCursor());
+    }
+
+    private Evento salvar(String nome, LocalDate inicio, int duracao) {
+        return repositorio.save(new Evento(Uid.random(), nome, "Descrição", inicio, inicio.plusDays(duracao),
+                "Auditório", 10, organizador));
+    }
+}
@@ -0,0 +1,93 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Índices secundários: as buscas por evento e por participante seguem os salvamentos e as remoções.
+ */
+class InscricaoRepositoryTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2030, 5, 10);
+
+    private InscricaoRepository repositorio;
+    private Participante organizador;
+
+    @BeforeEach
+    void preparar() {
+        repositorio = new InscricaoRepository();
+        organizador = participante("Organizador", TipoPerfil.ORGANIZADOR);
+    }
+
+    @Test
+    void buscaPorEventoEPorParticipanteRetornaSoAsInscricoesDaChave() {
+        Evento e1 = evento("E1");
+        Evento e2 = evento("E2");
+        Participante ana = participante("Ana", TipoPerfil.PARTICIPANTE);
+        Participante bia = participante("Bia", TipoPerfil.PARTICIPANTE);
+        Inscricao anaE1 = repositorio.save(inscricao(e1, ana));
+        Inscricao biaE1 = repositorio.save(inscricao(e1, bia));
+        Inscricao anaE2 = repositorio.save(inscricao(e2, ana));
+
+        assertEquals(Set.of(anaE1, biaE1), Set.copyOf(repositorio.findAllByEventoId(e1.getId())));
+        assertEquals(List.of(anaE2), repositorio.findAllByEventoId(e2.getId()));
+        assertEquals(Set.of(anaE1, anaE2), Set.copyOf(repositorio.findAllByParticipanteId(ana.getId())));
+        assertEquals(Set.of(anaE1, anaE2),
+                repositorio.streamByParticipanteId(ana.getId()).collect(Collectors.toSet()));
+        assertEquals(anaE2, repositorio.findByParticipanteIdAndEventoId(ana.getId(), e2.getId()).orElseThrow());
+        assertTrue(repositorio.findByParticipanteIdAndEventoId(bia.getId(), e2.getId()).isEmpty());
+        assertTrue(repositorio.findAllByEventoId(Uid.random()).isEmpty());
+    }
+
+    @Test
+    void remocaoTiraAInscricaoDosIndices() {
+        Evento evento = evento("E");
+        Participante ana = participante("Ana", TipoPerfil.PARTICIPANTE);
+        Inscricao inscricao = repositorio.save(inscricao(evento, ana));
+
+        repositorio.deleteById(inscricao.getId());
+
+        assertTrue(repositorio.findAllByEventoId(evento.getId()).isEmpty());
+        assertTrue(repositorio.findAllByParticipanteId(ana.getId()).isEmpty());
+        assertEquals(0, repositorio.indexKeyCount("eventoId"));
+        assertEquals(0, repositorio.indexKeyCount("participanteId"));
+    }
+
+    @Test
+    void salvarComChaveAlteradaMoveAEntidadeDeBucket() {
+        EventoRepository eventos = new EventoRepository();
+        Participante outro = participante("Outro", TipoPerfil.ORGANIZADOR);
+        Evento evento = eventos.save(evento("E"));
+
+        evento.setOrganizadorResponsavel(outro);
+        eventos.save(evento);
+
+        assertTrue(eventos.findAllByOrganizadorId(organizador.getId()).isEmpty());
+        assertEquals(List.of(evento), eventos.findAllByOrganizadorId(outro.getId()));
+    }
+
+    private Evento evento(String nome) {
+        return new Evento(Uid.random(), nome, "Descrição", INICIO, INICIO.plusDays(2), "Auditório", 10, organizador);
+    }
+
+    private static Participante participante(String nome, TipoPerfil perfil) {
+        return new Participante(Uid.random(), nome, nome.toLowerCase() + "@exemplo.com", "Universidade", perfil);
+    }
+
+    private static Inscricao inscricao(Evento evento, Participante participante) {
+        Inscricao inscricao = new Inscricao(Uid.random(), INICIO.minusDays(5), evento, participante);
+        evento.reservarVaga(inscricao);
+        return inscricao;
+    }
+}
@@ -0,0 +1,111 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.Evento;
+import domain.Inscricao;
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Paginação por cursor: as páginas seguem a ordem de ID, cobrem todas as entidades sem repetir nenhuma e
+ * continuam do ponto certo mesmo com remoções entre uma página e outra.
+ */
+class PaginacaoTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2030, 5, 10);
+
+    private ParticipanteRepository participantes;
+    private List<Participante> salvos;
+
+    @BeforeEach
+    void preparar() {
+        participantes = new ParticipanteRepository();
+        salvos = new ArrayList<>();
+        IdGenerator ids = IdGenerator.random();
+        for (int i = 0; i < 25; i++) {
+            salvos.add(participantes.save(participante(ids.nextId(), "Participante" + i)));
+        }
+        salvos.sort(Comparator.comparing(Participante::getId));
+    }
+
+    @Test
+    void paginasCobremTodasAsEntidadesEmOrdemDeId() {
+        List<Participante> vistos = percorrer(cursor -> participantes.findAll(cursor, 10));
+
+        assertEquals(salvos, vistos);
+        assertEquals(25, participantes.findAll(null, 30).itens().size());
+        assertFalse(participantes.findAll(null, 25).temProxima());
+    }
+
+    @Test
+    void remocaoEntrePaginasNaoRepeteNemPulaEntidades() {
+        Pagina<Participante> primeira = participantes.findAll(null, 10);
+        participantes.deleteById(primeira.itens().get(9).getId());
+        participantes.deleteById(salvos.get(15).getId());
+
+        List<Participante> resto = percorrer(
+                cursor -> participantes.findAll(cursor == null ? primeira.proximoCursor() : cursor, 10));
+
+        List<Participante> esperados = new ArrayList<>(salvos.subList(10, 25));
+        esperados.remove(salvos.get(15));
+        assertEquals(esperados, resto);
+    }
+
+    @Test
+    void paginasDeUmIndiceSecundarioSoTrazemAsEntidadesDaChave() {
+        Participante organizador = salvos.get(0);
+        Evento evento = new Evento(Uid.random(), "Semana", "Descrição", INICIO, INICIO.plusDays(2), "Auditório", 30, organizador);
+        Evento outro = new Evento(Uid.random(), "Outro", "Descrição", INICIO, INICIO.plusDays(2), "Auditório", 30, organizador);
+        InscricaoRepository inscricoes = new InscricaoRepository();
+        for (Participante p : salvos) {
+            inscricoes.save(inscricao(evento, p));
+            inscricoes.save(inscricao(outro, p));
+        }
+
+        List<Inscricao> doEvento = percorrer(cursor -> inscricoes.findByEventoId(evento.getId(), cursor, 7));
+
+        assertEquals(25, doEvento.size());
+        assertTrue(doEvento.stream().allMatch(i -> i.getEvento() == evento));
+        assertEquals(doEvento.stream().sorted(Comparator.comparing(Inscricao::getId)).collect(Collectors.toList()), doEvento);
+    }
+
+    @Test
+    void cursorOuLimiteInvalidosSaoRejeitados() {
+        assertThrows(IllegalArgumentException.class, () -> participantes.findAll(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> participantes.findAll("nao-e-um-id", 10));
+        assertThrows(IllegalArgumentException.class, () -> new InscricaoRepository().findByEventoId(Uid.random(), null, -1));
+    }
+
+    private static <T> List<T> percorrer(Function<String, Pagina<T>> buscar) {
+        List<T> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<T> pagina = buscar.apply(cursor);
+            vistos.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return vistos;
+    }
+
+    private static Inscricao inscricao(Evento evento, Participante participante) {
+        Inscricao inscricao = new Inscricao(Uid.random(), INICIO.minusDays(5), evento, participante);
+        evento.reservarVaga(inscricao);
+        return inscricao;
+    }
+
+    private static Participante participante(Uid id, String nome) {
+        return new Participante(id, nome, nome.toLowerCase() + "@exemplo.com", "Universidade", TipoPerfil.PARTICIPANTE);
+    }
+}
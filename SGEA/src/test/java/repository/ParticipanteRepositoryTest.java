@@ -0,0 +1,123 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import domain.Participante;
+import domain.enums.TipoPerfil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Índice único de email: a chave é reivindicada no salvamento e devolvida quando o registro da alteração falha.
+ */
+class ParticipanteRepositoryTest {
+
+    private ParticipanteRepository repositorio;
+
+    @BeforeEach
+    void preparar() {
+        repositorio = new ParticipanteRepository();
+    }
+
+    @Test
+    void emailDuplicadoERejeitadoSemDistinguirMaiusculas() {
+        Participante ana = repositorio.save(participante("ana@exemplo.com"));
+
+        assertThrows(DuplicateKeyException.class, () -> repositorio.save(participante("ANA@exemplo.com")));
+
+        assertEquals(1, repositorio.count());
+        assertSame(ana, repositorio.findByEmail("Ana@Exemplo.com").orElseThrow());
+    }
+
+    @Test
+    void trocaDeEmailLiberaOAnterior() {
+        Participante ana = repositorio.save(participante("ana@exemplo.com"));
+
+        repositorio.update(ana, ParticipanteRepositoryTest::copia, p -> p.setEmail("ana.silva@exemplo.com"));
+
+        assertFalse(repositorio.existsByEmail("ana@exemplo.com"));
+        assertSame(ana, repositorio.findByEmail("ana.silva@exemplo.com").orElseThrow());
+        repositorio.save(participante("ana@exemplo.com"));
+    }
+
+    @Test
+    void falhaNoRegistroDevolveOEmailNovoEMantemOAntigo() {
+        Participante ana = repositorio.save(participante("ana@exemplo.com"));
+        repositorio.setChangeLog(new ChangeLog<>() {
+            @Override
+            public long logSave(Participante entity) {
+                throw new IllegalStateException("disco cheio");
+            }
+
+            @Override
+            public long logDelete(Uid id) {
+                return 0;
+            }
+
+            @Override
+            public void sync(long marker) {
+            }
+        });
+
+        assertThrows(IllegalStateException.class,
+                () -> repositorio.update(ana, ParticipanteRepositoryTest::copia, p -> p.setEmail("novo@exemplo.com")));
+
+        assertEquals("ana@exemplo.com", ana.getEmail());
+        assertSame(ana, repositorio.findByEmail("ana@exemplo.com").orElseThrow());
+        assertFalse(repositorio.existsByEmail("novo@exemplo.com"));
+        repositorio.setChangeLog(null);
+        repositorio.save(participante("novo@exemplo.com"));
+    }
+
+    @Test
+    void salvamentosConcorrentesDoMesmoEmailTemUmVencedor() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        repositorio.save(participante("disputado@exemplo.com"));
+                        return true;
+                    } catch (DuplicateKeyException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+            int vencedores = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(10, TimeUnit.SECONDS)) {
+                    vencedores++;
+                }
+            }
+            assertEquals(1, vencedores);
+            assertEquals(1, repositorio.count());
+            assertTrue(repositorio.existsByEmail("disputado@exemplo.com"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Participante participante(String email) {
+        return new Participante(Uid.random(), "Ana Silva", email, "Universidade", TipoPerfil.PARTICIPANTE);
+    }
+
+    private static Participante copia(Participante p) {
+        return new Participante(p.getId(), p.getNomeCompleto(), p.getEmail(), p.getInstituicao(), p.getTipoPerfil());
+    }
+}